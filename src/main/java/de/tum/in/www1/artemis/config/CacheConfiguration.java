@@ -26,6 +26,11 @@ import com.hazelcast.core.Hazelcast;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.spring.context.SpringManagedContext;
 
+import de.tum.in.www1.artemis.repository.CachedUserRepository;
+import de.tum.in.www1.artemis.repository.UserRepository;
+import de.tum.in.www1.artemis.service.CourseDashboardCacheService;
+import de.tum.in.www1.artemis.service.exam.ExamScoresCacheService;
+import de.tum.in.www1.artemis.service.programming.ProgrammingExerciseGradingService;
 import de.tum.in.www1.artemis.service.scheduled.quiz.QuizScheduleService;
 import tech.jhipster.config.JHipsterProperties;
 import tech.jhipster.config.cache.PrefixedKeyGenerator;
@@ -155,6 +160,12 @@ public class CacheConfiguration {
         }
         config.getMapConfigs().put("default", initializeDefaultMapConfig(jHipsterProperties));
         config.getMapConfigs().put("de.tum.in.www1.artemis.domain.*", initializeDomainMapConfig(jHipsterProperties));
+        // the grading statistics are removed when results change, the time to live covers changes of feedbacks without a change of their result
+        config.getMapConfigs().put(ProgrammingExerciseGradingService.GRADING_STATISTICS_CACHE, initializeDomainMapConfig(jHipsterProperties));
+        config.getMapConfigs().put(UserRepository.USERS_CACHE, new MapConfig().setTimeToLiveSeconds(CachedUserRepository.USERS_CACHE_TIME_TO_LIVE_SECONDS));
+        config.getMapConfigs().put(CourseDashboardCacheService.COURSE_DASHBOARD_CACHE,
+                new MapConfig().setTimeToLiveSeconds(CourseDashboardCacheService.COURSE_DASHBOARD_CACHE_TIME_TO_LIVE_SECONDS));
+        config.getMapConfigs().put(ExamScoresCacheService.EXAM_SCORES_CACHE, new MapConfig().setTimeToLiveSeconds(ExamScoresCacheService.EXAM_SCORES_CACHE_TIME_TO_LIVE_SECONDS));
 
         QuizScheduleService.configureHazelcast(config);
 
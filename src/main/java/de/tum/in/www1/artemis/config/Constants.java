@@ -203,6 +203,8 @@ public final class Constants {
 
     public static final int HAZELCAST_QUIZ_EXERCISE_CACHE_SERIALIZER_ID = 1;
 
+    public static final int HAZELCAST_QUIZ_SUBMISSION_SERIALIZER_ID = 2;
+
     public static final String VERSION_CONTROL_URL = "versionControlUrl";
 
     public static final String USE_EXTERNAL = "useExternal";
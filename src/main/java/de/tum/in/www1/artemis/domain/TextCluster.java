@@ -149,6 +149,9 @@ public class TextCluster extends DomainObject {
     // region Binary Cast
     @SuppressWarnings("unchecked")
     private <T> T castFromBinary(byte[] data) {
+        if (data == null) {
+            return null;
+        }
         final ByteArrayInputStream bais = new ByteArrayInputStream(data);
         try (final ObjectInputStream ois = new ObjectInputStream(bais)) {
             return (T) ois.readObject();
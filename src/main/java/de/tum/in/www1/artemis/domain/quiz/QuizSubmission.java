@@ -9,6 +9,7 @@ import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonView;
 
 import de.tum.in.www1.artemis.domain.Submission;
@@ -32,6 +33,14 @@ public class QuizSubmission extends Submission {
     @JsonView(QuizView.Before.class)
     private Set<SubmittedAnswer> submittedAnswers = new HashSet<>();
 
+    /**
+     * Increasing number set by the client for each save of a live quiz, used to drop saves that arrive out of order. It is only cached and not persisted.
+     * NOTE: the Hibernate module of Jackson ignores transient fields without a Jackson annotation, so the sequence number would neither be read from nor written to JSON
+     */
+    @Transient
+    @JsonProperty
+    private Long sequenceNumber;
+
     public Double getScoreInPoints() {
         return scoreInPoints;
     }
@@ -54,6 +63,14 @@ public class QuizSubmission extends Submission {
         return this;
     }
 
+    public Long getSequenceNumber() {
+        return sequenceNumber;
+    }
+
+    public void setSequenceNumber(Long sequenceNumber) {
+        this.sequenceNumber = sequenceNumber;
+    }
+
     public QuizSubmission addSubmittedAnswers(SubmittedAnswer submittedAnswer) {
         this.submittedAnswers.add(submittedAnswer);
         submittedAnswer.setSubmission(this);
@@ -111,6 +128,9 @@ public class QuizSubmission extends Submission {
             // search for submitted answer for this quizQuestion
             SubmittedAnswer submittedAnswer = getSubmittedAnswerForQuestion(quizQuestion);
             if (submittedAnswer != null) {
+                // the scoring depends on the settings of the question (e.g. the letter case for short answers), so we use the question of the quiz exercise and not the
+                // question of the submitted answer, which might only contain the id (e.g. for cached submissions)
+                submittedAnswer.setQuizQuestion(quizQuestion);
                 submittedAnswer.setScoreInPoints(quizQuestion.scoreForAnswer(submittedAnswer));
             }
         }
@@ -0,0 +1,9 @@
+package de.tum.in.www1.artemis.domain.statistics;
+
+import java.time.ZonedDateTime;
+
+/**
+ * The number of entries (e.g. submissions) of an exercise with the same timestamp, used to roll up the statistics per exercise.
+ */
+public record ExerciseStatisticsEntry(Long exerciseId, ZonedDateTime date, long amount) {
+}
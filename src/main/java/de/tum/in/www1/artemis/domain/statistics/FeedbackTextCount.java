@@ -0,0 +1,8 @@
+package de.tum.in.www1.artemis.domain.statistics;
+
+/**
+ * The number of feedbacks with the given text and outcome, e.g. the number of students that passed a test case.
+ */
+// we have to use upper case Boolean here, because Feedback.positive can also take the value null
+public record FeedbackTextCount(String text, Boolean positive, long count) {
+}
@@ -0,0 +1,7 @@
+package de.tum.in.www1.artemis.domain.statistics;
+
+/**
+ * The number of feedbacks with the given text of a single result, e.g. the number of static code analysis issues of a category.
+ */
+public record ResultFeedbackTextCount(Long resultId, String text, long count) {
+}
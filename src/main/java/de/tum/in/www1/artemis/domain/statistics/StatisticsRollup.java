@@ -0,0 +1,75 @@
+package de.tum.in.www1.artemis.domain.statistics;
+
+import java.time.ZonedDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+import javax.persistence.*;
+
+import de.tum.in.www1.artemis.domain.DomainObject;
+import de.tum.in.www1.artemis.domain.enumeration.GraphType;
+import de.tum.in.www1.artemis.domain.enumeration.StatisticsBucket;
+
+/**
+ * The number of entries of a graph type for one exercise within one hour or one day, so that the statistics pages do not have to count the raw entries again on every request.
+ * The rollups are maintained by the StatisticsRollupScheduleService. Day buckets start at midnight in the time zone of the server.
+ */
+@Entity
+@Table(name = "statistics_rollup")
+public class StatisticsRollup extends DomainObject {
+
+    /**
+     * The graph types whose entries are rolled up. The other graph types count distinct users or rows of small tables and are still calculated from the raw entries.
+     */
+    public static final Set<GraphType> ROLLED_UP_GRAPH_TYPES = EnumSet.of(GraphType.SUBMISSIONS, GraphType.CREATED_RESULTS, GraphType.CREATED_FEEDBACKS);
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "graph_type", nullable = false)
+    private GraphType graphType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "bucket", nullable = false)
+    private StatisticsBucket bucket;
+
+    // no foreign key, so that exercises can be deleted without deleting their rollups first, the rollups of deleted exercises are removed by the rollup job
+    @Column(name = "exercise_id", nullable = false)
+    private Long exerciseId;
+
+    @Column(name = "bucket_start", nullable = false)
+    private ZonedDateTime bucketStart;
+
+    @Column(name = "amount", nullable = false)
+    private long amount;
+
+    public StatisticsRollup() {
+        // empty constructor for Hibernate
+    }
+
+    public StatisticsRollup(GraphType graphType, StatisticsBucket bucket, Long exerciseId, ZonedDateTime bucketStart, long amount) {
+        this.graphType = graphType;
+        this.bucket = bucket;
+        this.exerciseId = exerciseId;
+        this.bucketStart = bucketStart;
+        this.amount = amount;
+    }
+
+    public GraphType getGraphType() {
+        return graphType;
+    }
+
+    public StatisticsBucket getBucket() {
+        return bucket;
+    }
+
+    public Long getExerciseId() {
+        return exerciseId;
+    }
+
+    public ZonedDateTime getBucketStart() {
+        return bucketStart;
+    }
+
+    public long getAmount() {
+        return amount;
+    }
+}
@@ -0,0 +1,44 @@
+package de.tum.in.www1.artemis.domain.statistics;
+
+import java.time.ZonedDateTime;
+
+import javax.persistence.*;
+
+import de.tum.in.www1.artemis.domain.enumeration.GraphType;
+
+/**
+ * Stores up to which point in time the entries of a graph type are rolled up. All entries before this point are contained in the {@link StatisticsRollup}s, all later entries
+ * have to be counted from the raw entries.
+ */
+@Entity
+@Table(name = "statistics_rollup_progress")
+public class StatisticsRollupProgress {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "graph_type")
+    private GraphType graphType;
+
+    @Column(name = "rolled_up_until", nullable = false)
+    private ZonedDateTime rolledUpUntil;
+
+    public StatisticsRollupProgress() {
+        // empty constructor for Hibernate
+    }
+
+    public StatisticsRollupProgress(GraphType graphType) {
+        this.graphType = graphType;
+    }
+
+    public GraphType getGraphType() {
+        return graphType;
+    }
+
+    public ZonedDateTime getRolledUpUntil() {
+        return rolledUpUntil;
+    }
+
+    public void setRolledUpUntil(ZonedDateTime rolledUpUntil) {
+        this.rolledUpUntil = rolledUpUntil;
+    }
+}
@@ -0,0 +1,43 @@
+package de.tum.in.www1.artemis.repository;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import de.tum.in.www1.artemis.domain.User;
+
+/**
+ * Caches the user with groups and authorities by login, see {@link UserRepository#getUserWithGroupsAndAuthorities()}.
+ * <p>
+ * Within a request, the same user is returned for every call. Between requests, the user is cached in the distributed {@link UserRepository#USERS_CACHE} for a short time.
+ * Cached users are evicted whenever the user entity changes, see {@link de.tum.in.www1.artemis.service.listeners.UserListener}.
+ * <p>
+ * Cached users are detached copies, changes to them are not saved automatically. Within an active transaction, the cache is therefore bypassed and the managed user is loaded
+ * from the database, so that transactional callers can change the user or load its lazy associations as before.
+ */
+public interface CachedUserRepository {
+
+    // the time to live covers changes of other server instances that happen between the eviction and the commit of their transaction
+    int USERS_CACHE_TIME_TO_LIVE_SECONDS = 30;
+
+    /**
+     * Returns the cached user with groups and authorities or loads the user and caches it. Within an active transaction, the user is always loaded and not cached.
+     *
+     * @param login      the login of the user
+     * @param userLoader loads the user with groups and authorities from the database
+     * @return the user with groups and authorities or empty if no user with the given login exists
+     */
+    Optional<User> findCachedUserWithGroupsAndAuthorities(String login, Supplier<Optional<User>> userLoader);
+
+    /**
+     * Removes the user with the given login from the cache, e.g. because its groups or authorities changed.
+     * If a transaction is active, the user is removed again after the transaction was completed.
+     *
+     * @param login the login of the user
+     */
+    void evictCachedUser(String login);
+
+    /**
+     * Removes all users from the cache.
+     */
+    void evictAllCachedUsers();
+}
@@ -0,0 +1,92 @@
+package de.tum.in.www1.artemis.repository;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import de.tum.in.www1.artemis.domain.User;
+
+/**
+ * Implementation of the {@link CachedUserRepository} fragment of the {@link UserRepository}.
+ * <p>
+ * The distributed cache returns a copy of the user for every call, so that changes of one request do not affect other requests. The cache is bypassed within a
+ * transaction.
+ */
+public class CachedUserRepositoryImpl implements CachedUserRepository {
+
+    private static final String REQUEST_ATTRIBUTE_PREFIX = CachedUserRepository.class.getName() + ".";
+
+    private final CacheManager cacheManager;
+
+    public CachedUserRepositoryImpl(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public Optional<User> findCachedUserWithGroupsAndAuthorities(String login, Supplier<Optional<User>> userLoader) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // callers in a transaction get the managed user, so that they can change it or navigate its lazy associations
+            return userLoader.get();
+        }
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null && requestAttributes.getAttribute(REQUEST_ATTRIBUTE_PREFIX + login, RequestAttributes.SCOPE_REQUEST) instanceof User user) {
+            return Optional.of(user);
+        }
+
+        User user = getCache().get(login, User.class);
+        if (user == null) {
+            Optional<User> loadedUser = userLoader.get();
+            if (loadedUser.isEmpty()) {
+                return loadedUser;
+            }
+            user = loadedUser.get();
+            getCache().put(login, user);
+        }
+        if (requestAttributes != null) {
+            requestAttributes.setAttribute(REQUEST_ATTRIBUTE_PREFIX + login, user, RequestAttributes.SCOPE_REQUEST);
+        }
+        return Optional.of(user);
+    }
+
+    @Override
+    public void evictCachedUser(String login) {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null) {
+            requestAttributes.removeAttribute(REQUEST_ATTRIBUTE_PREFIX + login, RequestAttributes.SCOPE_REQUEST);
+        }
+        getCache().evict(login);
+        // another request might cache the user again before the changes are committed, therefore we remove it again afterwards
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCompletion(int status) {
+                    getCache().evict(login);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void evictAllCachedUsers() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null) {
+            for (String attributeName : requestAttributes.getAttributeNames(RequestAttributes.SCOPE_REQUEST)) {
+                if (attributeName.startsWith(REQUEST_ATTRIBUTE_PREFIX)) {
+                    requestAttributes.removeAttribute(attributeName, RequestAttributes.SCOPE_REQUEST);
+                }
+            }
+        }
+        getCache().clear();
+    }
+
+    private Cache getCache() {
+        return cacheManager.getCache(UserRepository.USERS_CACHE);
+    }
+}
@@ -57,15 +57,21 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
             """)
     List<Course> findAllActive(@Param("now") ZonedDateTime now);
 
-    @EntityGraph(type = LOAD, attributePaths = { "lectures", "lectures.attachments", "exams" })
     @Query("""
-            SELECT DISTINCT c FROM Course c
+            SELECT c.id FROM Course c
             WHERE (c.startDate <= :#{#now}
             	OR c.startDate IS NULL)
             AND (c.endDate >= :#{#now}
             	OR c.endDate IS NULL)
             """)
-    List<Course> findAllActiveWithLecturesAndExams(@Param("now") ZonedDateTime now);
+    Set<Long> findAllActiveIds(@Param("now") ZonedDateTime now);
+
+    @EntityGraph(type = LOAD, attributePaths = { "lectures", "lectures.attachments", "exams" })
+    @Query("""
+            SELECT DISTINCT c FROM Course c
+            WHERE c.id IN :#{#courseIds}
+            """)
+    List<Course> findAllWithLecturesAndExamsByIdIn(@Param("courseIds") Set<Long> courseIds);
 
     @EntityGraph(type = LOAD, attributePaths = { "lectures", "lectures.attachments", "exams" })
     Optional<Course> findWithEagerLecturesAndExamsById(long courseId);
@@ -210,15 +216,6 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
                 .collect(Collectors.toSet());
     }
 
-    /**
-     * Get all the courses.
-     *
-     * @return the list of entities
-     */
-    default List<Course> findAllActiveWithLecturesAndExams() {
-        return findAllActiveWithLecturesAndExams(ZonedDateTime.now());
-    }
-
     /**
      * Get all the courses to register with eagerly loaded organizations.
      *
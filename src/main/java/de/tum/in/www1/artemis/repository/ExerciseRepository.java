@@ -34,6 +34,13 @@ public interface ExerciseRepository extends JpaRepository<Exercise, Long> {
             """)
     Set<Exercise> findByCourseIdWithCategories(@Param("courseId") Long courseId);
 
+    @Query("""
+            SELECT DISTINCT e FROM Exercise e
+            LEFT JOIN FETCH e.categories
+            WHERE e.course.id IN :#{#courseIds}
+            """)
+    Set<Exercise> findAllByCourseIdsWithCategories(@Param("courseIds") Set<Long> courseIds);
+
     @Query("""
                 SELECT e
                 FROM Exercise e LEFT JOIN FETCH e.categories WHERE
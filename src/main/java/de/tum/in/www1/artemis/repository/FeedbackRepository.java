@@ -22,6 +22,8 @@ import de.tum.in.www1.artemis.domain.*;
 import de.tum.in.www1.artemis.domain.enumeration.FeedbackType;
 import de.tum.in.www1.artemis.domain.enumeration.ProgrammingLanguage;
 import de.tum.in.www1.artemis.domain.enumeration.StaticCodeAnalysisTool;
+import de.tum.in.www1.artemis.domain.statistics.FeedbackTextCount;
+import de.tum.in.www1.artemis.domain.statistics.ResultFeedbackTextCount;
 import de.tum.in.www1.artemis.service.dto.StaticCodeAnalysisReportDTO;
 
 /**
@@ -45,6 +47,53 @@ public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
     @Query("select feedback from Feedback feedback where feedback.gradingInstruction.id in :gradingInstructionsIds")
     List<Feedback> findFeedbackByGradingInstructionIds(@Param("gradingInstructionsIds") List<Long> gradingInstructionsIds);
 
+    /**
+     * Counts the automatic feedbacks of the latest result of each student in the given exercise per text and outcome, i.e. the number of students that passed and failed each
+     * test case. The latest results are the ones of {@link ResultRepository#findLatestAutomaticResultsWithEagerFeedbacksForExercise(Long)}.
+     *
+     * @param exerciseId the id of the exercise
+     * @return the number of feedbacks per text and outcome
+     */
+    @Query("""
+            select new de.tum.in.www1.artemis.domain.statistics.FeedbackTextCount(f.text, f.positive, count(f))
+            from Feedback f
+            where f.type = 'AUTOMATIC'
+                and f.result.id in (select r.id from Result r
+                    where r.completionDate =
+                        (select max(rr.completionDate) from Result rr
+                            where rr.assessmentType = 'AUTOMATIC'
+                            and rr.participation.exercise.id = :exerciseId
+                            and rr.participation.student.id = r.participation.student.id)
+                    and r.participation.exercise.id = :exerciseId
+                    and r.participation.student.id IS NOT NULL)
+            group by f.text, f.positive
+            """)
+    List<FeedbackTextCount> countAutomaticFeedbacksOfLatestResultsByTextAndPositive(@Param("exerciseId") Long exerciseId);
+
+    /**
+     * Counts the static code analysis feedbacks of the latest result of each student in the given exercise per result and text, i.e. the number of issues of each category.
+     * The latest results are the ones of {@link ResultRepository#findLatestAutomaticResultsWithEagerFeedbacksForExercise(Long)}.
+     *
+     * @param exerciseId the id of the exercise
+     * @return the number of static code analysis feedbacks per result and text
+     */
+    @Query("""
+            select new de.tum.in.www1.artemis.domain.statistics.ResultFeedbackTextCount(f.result.id, f.text, count(f))
+            from Feedback f
+            where f.type = 'AUTOMATIC'
+                and f.text like 'SCAFeedbackIdentifier:%'
+                and f.result.id in (select r.id from Result r
+                    where r.completionDate =
+                        (select max(rr.completionDate) from Result rr
+                            where rr.assessmentType = 'AUTOMATIC'
+                            and rr.participation.exercise.id = :exerciseId
+                            and rr.participation.student.id = r.participation.student.id)
+                    and r.participation.exercise.id = :exerciseId
+                    and r.participation.student.id IS NOT NULL)
+            group by f.result.id, f.text
+            """)
+    List<ResultFeedbackTextCount> countStaticCodeAnalysisFeedbacksOfLatestResultsByResultAndText(@Param("exerciseId") Long exerciseId);
+
     /**
      * Delete all feedbacks that belong to the given result
      * @param resultId the Id of the result where the feedbacks should be deleted
@@ -72,17 +121,34 @@ public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
     }
 
     /**
-     * Find all existing Feedback Elements referencing a text block part of a TextCluster.
-     *
-     * @param cluster TextCluster requesting existing Feedbacks for.
-     * @return Map<TextBlockId, Feedback>
+     * Interface used to define return type for `findAllReferencingClusteredTextBlocksByExerciseId`
      */
-    default Map<String, Feedback> getFeedbackForTextExerciseInCluster(TextCluster cluster) {
-        final List<String> references = cluster.getBlocks().stream().map(TextBlock::getId).collect(toList());
-        final TextExercise exercise = cluster.getExercise();
-        return findByReferenceInAndResult_Submission_Participation_Exercise(references, exercise).parallelStream().collect(toMap(Feedback::getReference, feedback -> feedback));
+    interface TextBlockFeedback {
+
+        String getReference();
+
+        Double getCredits();
+
+        String getDetailText();
+
+        GradingInstruction getGradingInstruction();
     }
 
+    /**
+     * Finds the feedback elements of the given exercise that reference a clustered text block. Only the attributes needed for feedback suggestions are loaded, not the results.
+     *
+     * @param exerciseId the id of the text exercise
+     * @return the feedback elements referencing a clustered text block
+     */
+    @Query("""
+            SELECT f.reference as reference, f.credits as credits, f.detailText as detailText, gi as gradingInstruction
+            FROM Feedback f
+            LEFT JOIN f.gradingInstruction gi
+            WHERE f.result.submission.participation.exercise.id = :exerciseId
+            AND f.reference IN (SELECT tb.id FROM TextBlock tb WHERE tb.cluster.exercise.id = :exerciseId)
+            """)
+    List<TextBlockFeedback> findAllReferencingClusteredTextBlocksByExerciseId(@Param("exerciseId") Long exerciseId);
+
     /**
      * Transforms static code analysis reports to feedback objects.
      * As we reuse the Feedback entity to store static code analysis findings, a mapping to those attributes
@@ -1,5 +1,6 @@
 package de.tum.in.www1.artemis.repository;
 
+import java.util.Collection;
 import java.util.Set;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -22,4 +23,18 @@ public interface NotificationSettingRepository extends JpaRepository<Notificatio
             WHERE user.id = :#{#userId}
             """)
     Set<NotificationSetting> findAllNotificationSettingsForRecipientWithId(@Param("userId") long userId);
+
+    /**
+     * Finds the notification settings of all given recipients at once, e.g. for the recipients of a group notification.
+     *
+     * @param userIds the ids of the recipients
+     * @return the notification settings of the recipients
+     */
+    @Query("""
+            SELECT notificationSetting
+            FROM NotificationSetting notificationSetting
+            LEFT JOIN FETCH notificationSetting.user user
+            WHERE user.id IN :#{#userIds}
+            """)
+    Set<NotificationSetting> findAllNotificationSettingsForRecipientsWithIds(@Param("userIds") Collection<Long> userIds);
 }
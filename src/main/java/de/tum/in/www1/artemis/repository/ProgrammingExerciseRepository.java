@@ -374,6 +374,29 @@ public interface ProgrammingExerciseRepository extends JpaRepository<Programming
             """)
     long countAssessmentsByExerciseIdSubmitted(@Param("exerciseId") Long exerciseId);
 
+    /**
+     * In distinction to other exercise types, students can have multiple submissions in a programming exercise.
+     * We therefore count the distinct participations that have an assessed submission.
+     *
+     * @param exerciseIds the exercise ids we are interested in
+     * @return the number of distinct assessed participations for each of the exercises, exercises without assessments are not included
+     */
+    @Query("""
+            SELECT new de.tum.in.www1.artemis.domain.assessment.dashboard.ExerciseMapEntry(
+                p.exercise.id,
+                count(DISTINCT p)
+            )
+            FROM ProgrammingExerciseStudentParticipation p
+            LEFT JOIN p.results r
+            WHERE p.exercise.id IN :exerciseIds
+                AND r.submission.submitted = TRUE
+                AND (r.submission.type <> 'ILLEGAL' OR r.submission.type IS NULL)
+                AND r.assessor IS NOT NULL
+                AND r.completionDate IS NOT NULL
+            GROUP BY p.exercise.id
+            """)
+    List<ExerciseMapEntry> countAssessmentsByExerciseIdsSubmitted(@Param("exerciseIds") Set<Long> exerciseIds);
+
     /**
      * In distinction to other exercise types, students can have multiple submissions in a programming exercise.
      * We therefore have to check here that a submission exists, that was submitted before the deadline.
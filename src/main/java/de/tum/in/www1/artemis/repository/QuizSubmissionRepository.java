@@ -1,5 +1,11 @@
 package de.tum.in.www1.artemis.repository;
 
+import static org.springframework.data.jpa.repository.EntityGraph.EntityGraphType.LOAD;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -12,4 +18,12 @@ import de.tum.in.www1.artemis.domain.quiz.QuizSubmission;
 @Repository
 public interface QuizSubmissionRepository extends JpaRepository<QuizSubmission, Long> {
 
+    /**
+     * Load all quiz submissions with the given ids together with their submitted answers in one query.
+     *
+     * @param submissionIds the ids of the quiz submissions that should be loaded from the database
+     * @return the list of quiz submissions with their submitted answers
+     */
+    @EntityGraph(type = LOAD, attributePaths = { "submittedAnswers" })
+    List<QuizSubmission> findWithEagerSubmittedAnswersByIdIn(Collection<Long> submissionIds);
 }
@@ -2,6 +2,7 @@ package de.tum.in.www1.artemis.repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -33,18 +34,26 @@ public interface RatingRepository extends JpaRepository<Rating, Long> {
 
     List<Rating> findAllByResult_Participation_Exercise_Course_Id(Long courseId);
 
+    /**
+     * Get the average tutor rating and the number of tutor ratings of the given exercises.
+     *
+     * @param exerciseIds the ids of the exercises
+     * @return the rating counts of the exercises, exercises without completed results are not included
+     */
     @Query("""
                 SELECT new de.tum.in.www1.artemis.domain.assessment.dashboard.ExerciseRatingCount(
+                    e.id,
                     cast(sum(ra.rating) as double) / sum(case when ra.rating is not null then 1 else 0 end),
                     sum(case when ra.rating is not null then 1 else 0 end))
                 FROM
                     Result r JOIN r.participation p JOIN p.exercise e
-                    LEFT JOIN FETCH Rating ra ON ra.result = r.id
+                    LEFT JOIN Rating ra ON ra.result = r.id
                 WHERE
                     r.completionDate is not null AND
-                    e.id = :#{#exerciseId}
+                    e.id IN :#{#exerciseIds}
+                GROUP BY e.id
             """)
-    ExerciseRatingCount averageRatingByExerciseId(@Param("exerciseId") Long exerciseId);
+    List<ExerciseRatingCount> averageRatingByExerciseIds(@Param("exerciseIds") Set<Long> exerciseIds);
 
     /**
      * Count all ratings given to submissions for the given course.
@@ -5,6 +5,7 @@ import static org.springframework.data.jpa.repository.EntityGraph.EntityGraphTyp
 
 import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.stream.Collectors;
 
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -13,6 +14,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import de.tum.in.www1.artemis.domain.*;
+import de.tum.in.www1.artemis.domain.assessment.dashboard.ExerciseMapEntry;
 import de.tum.in.www1.artemis.domain.assessment.dashboard.ResultCount;
 import de.tum.in.www1.artemis.domain.enumeration.AssessmentType;
 import de.tum.in.www1.artemis.domain.leaderboard.tutor.TutorLeaderboardAssessments;
@@ -46,6 +48,9 @@ public interface ResultRepository extends JpaRepository<Result, Long> {
     @EntityGraph(type = LOAD, attributePaths = { "submission", "feedbacks" })
     List<Result> findWithEagerSubmissionAndFeedbackByParticipationExerciseId(Long exerciseId);
 
+    @EntityGraph(type = LOAD, attributePaths = { "participation", "participation.exercise" })
+    List<Result> findWithEagerParticipationAndExerciseByIdIn(Collection<Long> resultIds);
+
     @EntityGraph(type = LOAD, attributePaths = { "submission", "feedbacks", "participation" })
     List<Result> findWithEagerSubmissionAndFeedbackAndParticipationByParticipationExerciseId(Long exerciseId);
 
@@ -68,6 +73,24 @@ public interface ResultRepository extends JpaRepository<Result, Long> {
               """)
     List<Result> findLatestAutomaticResultsWithEagerFeedbacksForExercise(@Param("exerciseId") Long exerciseId);
 
+    /**
+     * Count the latest results for each participation in an exercise, see {@link #findLatestAutomaticResultsWithEagerFeedbacksForExercise(Long)}.
+     *
+     * @param exerciseId the id of the exercise
+     * @return the number of latest results.
+     */
+    @Query("""
+            select count(r) from Result r
+            where r.completionDate =
+                (select max(rr.completionDate) from Result rr
+                    where rr.assessmentType = 'AUTOMATIC'
+                    and rr.participation.exercise.id = :exerciseId
+                    and rr.participation.student.id = r.participation.student.id)
+                and r.participation.exercise.id = :exerciseId
+                and r.participation.student.id IS NOT NULL
+              """)
+    long countLatestAutomaticResultsForExercise(@Param("exerciseId") Long exerciseId);
+
     @EntityGraph(type = LOAD, attributePaths = "feedbacks")
     Optional<Result> findFirstWithFeedbacksByParticipationIdOrderByCompletionDateDesc(Long participationId);
 
@@ -160,6 +183,24 @@ public interface ResultRepository extends JpaRepository<Result, Long> {
             """)
     long countNumberOfFinishedAssessmentsForExercise(@Param("exerciseId") Long exerciseId);
 
+    /**
+     * Gets the number of participations with a finished assessment before the due date for each of the given exercises.
+     *
+     * @param exerciseIds the ids of the exercises
+     * @return the number of assessed participations for each of the exercises, exercises without assessments are not included
+     */
+    @Query("""
+            SELECT new de.tum.in.www1.artemis.domain.assessment.dashboard.ExerciseMapEntry(e.id, COUNT(DISTINCT p))
+            FROM StudentParticipation p JOIN p.results r JOIN p.exercise e
+            WHERE e.id IN :exerciseIds
+                AND r.assessor IS NOT NULL
+                AND r.rated = TRUE
+                AND r.completionDate IS NOT NULL
+                AND (e.dueDate IS NULL OR r.submission.submissionDate <= e.dueDate)
+            GROUP BY e.id
+            """)
+    List<ExerciseMapEntry> countNumberOfFinishedAssessmentsByExerciseIds(@Param("exerciseIds") Set<Long> exerciseIds);
+
     /**
      * Gets the number of assessments with a rated result set by an assessor for an exercise
      *
@@ -203,6 +244,23 @@ public interface ResultRepository extends JpaRepository<Result, Long> {
             """)
     List<Long> countNumberOfFinishedAssessmentsByExerciseIdIgnoreTestRuns(@Param("exerciseId") Long exerciseId);
 
+    /**
+     * @param exerciseIds ids of the exercises
+     * @return for each studentParticipation of the exercises an entry with the exercise id and the count of its manual assessments
+     */
+    @Query("""
+            SELECT new de.tum.in.www1.artemis.domain.assessment.dashboard.ExerciseMapEntry(p.exercise.id, COUNT(r.id))
+            FROM StudentParticipation p JOIN p.submissions s JOIN s.results r
+            WHERE p.exercise.id IN :exerciseIds
+                AND p.testRun = FALSE
+                AND s.submitted = TRUE
+                AND r.completionDate IS NOT NULL
+                AND r.rated = TRUE
+                AND r.assessor IS NOT NULL
+                GROUP BY p.exercise.id, p.id
+            """)
+    List<ExerciseMapEntry> countNumberOfFinishedAssessmentsByExerciseIdsIgnoreTestRuns(@Param("exerciseIds") Set<Long> exerciseIds);
+
     @Query("""
             SELECT r
                 FROM StudentParticipation p join p.submissions s join s.results r
@@ -327,6 +385,23 @@ public interface ResultRepository extends JpaRepository<Result, Long> {
      */
     boolean existsByParticipation_ExerciseId(long exerciseId);
 
+    /**
+     * Use this method only for exams!
+     * Given exam exercises, return the number of assessments that have been finished for each exercise and each correction round of its exam
+     *
+     * @param exercises - the exam exercises we are interested in
+     * @return for each exercise id an array of the number of assessments for the exercise for a given correction round
+     */
+    default Map<Long, DueDateStat[]> countNumberOfFinishedAssessmentsForExamExercisesForCorrectionRounds(Set<Exercise> exercises) {
+        Set<Long> exerciseIds = exercises.stream().map(Exercise::getId).collect(Collectors.toSet());
+        // here we receive a list which contains an entry for each student participation of the exercises.
+        // the value simply is the number of already created and submitted manual results, so the number is either 1 or 2
+        Map<Long, List<Long>> countListsByExerciseId = countNumberOfFinishedAssessmentsByExerciseIdsIgnoreTestRuns(exerciseIds).stream()
+                .collect(Collectors.groupingBy(ExerciseMapEntry::getKey, Collectors.mapping(ExerciseMapEntry::getValue, Collectors.toList())));
+        return exercises.stream().collect(Collectors.toMap(Exercise::getId, exercise -> convertDatabaseResponseToDueDateStats(
+                countListsByExerciseId.getOrDefault(exercise.getId(), List.of()), exercise.getExerciseGroup().getExam().getNumberOfCorrectionRoundsInExam())));
+    }
+
     /**
      * Use this method only for exams!
      * Given an exerciseId and the number of correctionRounds, return the number of assessments that have been finished, for that exerciseId and each correctionRound
@@ -20,6 +20,7 @@ import de.tum.in.www1.artemis.domain.enumeration.GraphType;
 import de.tum.in.www1.artemis.domain.enumeration.SpanType;
 import de.tum.in.www1.artemis.domain.enumeration.StatisticsView;
 import de.tum.in.www1.artemis.domain.statistics.CourseStatisticsAverageScore;
+import de.tum.in.www1.artemis.domain.statistics.ExerciseStatisticsEntry;
 import de.tum.in.www1.artemis.domain.statistics.StatisticsEntry;
 
 /**
@@ -417,6 +418,57 @@ public interface StatisticsRepository extends JpaRepository<User, Long> {
             """)
     List<Long> findExerciseIdsByCourseId(@Param("courseId") Long courseId);
 
+    @Query("""
+            select
+            new de.tum.in.www1.artemis.domain.statistics.ExerciseStatisticsEntry(
+                s.participation.exercise.id,
+                s.submissionDate,
+                count(s.id)
+                )
+            from Submission s
+            where s.submissionDate >= :startDate and s.submissionDate < :endDate
+            group by s.participation.exercise.id, s.submissionDate
+            """)
+    List<ExerciseStatisticsEntry> getSubmissionsPerExercise(@Param("startDate") ZonedDateTime startDate, @Param("endDate") ZonedDateTime endDate);
+
+    @Query("""
+            select
+            new de.tum.in.www1.artemis.domain.statistics.ExerciseStatisticsEntry(
+                r.participation.exercise.id,
+                r.completionDate,
+                count(r.id)
+                )
+            from Result r
+            where r.completionDate >= :startDate and r.completionDate < :endDate
+            group by r.participation.exercise.id, r.completionDate
+            """)
+    List<ExerciseStatisticsEntry> getCreatedResultsPerExercise(@Param("startDate") ZonedDateTime startDate, @Param("endDate") ZonedDateTime endDate);
+
+    @Query("""
+            select
+            new de.tum.in.www1.artemis.domain.statistics.ExerciseStatisticsEntry(
+                r.participation.exercise.id,
+                r.completionDate,
+                sum(size(r.feedbacks))
+                )
+            from Result r
+            where r.completionDate >= :startDate and r.completionDate < :endDate
+            group by r.participation.exercise.id, r.completionDate
+            """)
+    List<ExerciseStatisticsEntry> getResultFeedbacksPerExercise(@Param("startDate") ZonedDateTime startDate, @Param("endDate") ZonedDateTime endDate);
+
+    @Query("""
+            select min(s.submissionDate)
+            from Submission s
+            """)
+    ZonedDateTime findEarliestSubmissionDate();
+
+    @Query("""
+            select min(r.completionDate)
+            from Result r
+            """)
+    ZonedDateTime findEarliestResultCompletionDate();
+
     @Query("""
             select e
             from Exercise e
@@ -0,0 +1,14 @@
+package de.tum.in.www1.artemis.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import de.tum.in.www1.artemis.domain.enumeration.GraphType;
+import de.tum.in.www1.artemis.domain.statistics.StatisticsRollupProgress;
+
+/**
+ * Spring Data JPA repository for the StatisticsRollupProgress entity.
+ */
+@Repository
+public interface StatisticsRollupProgressRepository extends JpaRepository<StatisticsRollupProgress, GraphType> {
+}
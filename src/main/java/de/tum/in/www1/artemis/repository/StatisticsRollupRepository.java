@@ -0,0 +1,98 @@
+package de.tum.in.www1.artemis.repository;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import de.tum.in.www1.artemis.domain.enumeration.GraphType;
+import de.tum.in.www1.artemis.domain.enumeration.StatisticsBucket;
+import de.tum.in.www1.artemis.domain.statistics.StatisticsEntry;
+import de.tum.in.www1.artemis.domain.statistics.StatisticsRollup;
+
+/**
+ * Spring Data JPA repository for the StatisticsRollup entity.
+ */
+@Repository
+public interface StatisticsRollupRepository extends JpaRepository<StatisticsRollup, Long> {
+
+    @Query("""
+            select
+            new de.tum.in.www1.artemis.domain.statistics.StatisticsEntry(
+                r.bucketStart,
+                sum(r.amount)
+                )
+            from StatisticsRollup r, Exercise e
+            left join e.course c
+            where r.exerciseId = e.id and r.graphType = :graphType and r.bucket = :bucket and r.bucketStart >= :startDate and r.bucketStart < :endDate
+            and (e.exerciseGroup is not null or c.testCourse = false)
+            group by r.bucketStart
+            order by r.bucketStart asc
+            """)
+    List<StatisticsEntry> getRolledUpEntries(@Param("graphType") GraphType graphType, @Param("bucket") StatisticsBucket bucket, @Param("startDate") ZonedDateTime startDate,
+            @Param("endDate") ZonedDateTime endDate);
+
+    @Query("""
+            select
+            new de.tum.in.www1.artemis.domain.statistics.StatisticsEntry(
+                r.bucketStart,
+                sum(r.amount)
+                )
+            from StatisticsRollup r
+            where r.graphType = :graphType and r.bucket = :bucket and r.bucketStart >= :startDate and r.bucketStart < :endDate and r.exerciseId in :exerciseIds
+            group by r.bucketStart
+            order by r.bucketStart asc
+            """)
+    List<StatisticsEntry> getRolledUpEntriesForCourse(@Param("graphType") GraphType graphType, @Param("bucket") StatisticsBucket bucket,
+            @Param("startDate") ZonedDateTime startDate, @Param("endDate") ZonedDateTime endDate, @Param("exerciseIds") List<Long> exerciseIds);
+
+    @Query("""
+            select
+            new de.tum.in.www1.artemis.domain.statistics.StatisticsEntry(
+                r.bucketStart,
+                sum(r.amount)
+                )
+            from StatisticsRollup r
+            where r.graphType = :graphType and r.bucket = :bucket and r.bucketStart >= :startDate and r.bucketStart < :endDate and r.exerciseId = :exerciseId
+            group by r.bucketStart
+            order by r.bucketStart asc
+            """)
+    List<StatisticsEntry> getRolledUpEntriesForExercise(@Param("graphType") GraphType graphType, @Param("bucket") StatisticsBucket bucket,
+            @Param("startDate") ZonedDateTime startDate, @Param("endDate") ZonedDateTime endDate, @Param("exerciseId") Long exerciseId);
+
+    @Modifying
+    @Transactional // ok because of modifying query
+    @Query("""
+            delete from StatisticsRollup r
+            where r.graphType = :graphType and r.bucketStart >= :startDate and r.bucketStart < :endDate
+            """)
+    void deleteByGraphTypeAndBucketStartBetween(@Param("graphType") GraphType graphType, @Param("startDate") ZonedDateTime startDate, @Param("endDate") ZonedDateTime endDate);
+
+    @Modifying
+    @Transactional // ok because of modifying query
+    @Query("""
+            delete from StatisticsRollup r
+            where not exists (select e.id from Exercise e where e.id = r.exerciseId)
+            """)
+    int deleteRollupsOfDeletedExercises();
+
+    /**
+     * Replaces all rollups of the given graph type that start in the given time range with the given rollups. Both happens in one transaction, so that the statistics never
+     * miss the entries of the time range.
+     *
+     * @param graphType the graph type of the rollups
+     * @param startDate the start of the time range (inclusive)
+     * @param endDate   the end of the time range (exclusive)
+     * @param rollups   the recalculated rollups of the time range
+     */
+    @Transactional // ok because the old rollups must not be deleted without saving the new ones
+    default void replaceRollups(GraphType graphType, ZonedDateTime startDate, ZonedDateTime endDate, List<StatisticsRollup> rollups) {
+        deleteByGraphTypeAndBucketStartBetween(graphType, startDate, endDate);
+        saveAll(rollups);
+    }
+}
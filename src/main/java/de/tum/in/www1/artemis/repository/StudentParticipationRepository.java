@@ -78,6 +78,14 @@ public interface StudentParticipationRepository extends JpaRepository<StudentPar
             """)
     Optional<StudentParticipation> findWithEagerLegalSubmissionsByExerciseIdAndStudentLogin(@Param("exerciseId") Long exerciseId, @Param("username") String username);
 
+    @Query("""
+            SELECT DISTINCT p.student.login FROM StudentParticipation p
+            JOIN p.submissions s
+            WHERE p.exercise.id = :#{#exerciseId}
+                AND s.submitted = true
+            """)
+    Set<String> findLoginsOfStudentsWithSubmittedSubmissionByExerciseId(@Param("exerciseId") Long exerciseId);
+
     @Query("""
             SELECT DISTINCT p FROM StudentParticipation p
             LEFT JOIN FETCH p.submissions s
@@ -218,6 +226,24 @@ public interface StudentParticipationRepository extends JpaRepository<StudentPar
             """)
     Optional<StudentParticipation> findByIdWithLatestAutomaticResultAndFeedbacks(@Param("participationId") Long participationId);
 
+    /**
+     * Get the given participations with each latest {@link AssessmentType#AUTOMATIC} result and feedbacks (determined by id).
+     *
+     * @param participationIds the ids of the participations.
+     * @return the participations that have an automatic result.
+     */
+    @Query("""
+            select distinct p from StudentParticipation p
+            left join fetch p.results r
+            left join fetch r.feedbacks
+            left join fetch r.submission s
+            where p.id in :#{#participationIds}
+                and (r.id = (select max(pr.id) from p.results pr
+                    left join pr.submission prs
+                    where pr.assessmentType = 'AUTOMATIC' and (prs.type <> 'ILLEGAL' or prs.type is null)))
+            """)
+    List<StudentParticipation> findByIdsWithLatestAutomaticResultAndFeedbacks(@Param("participationIds") Collection<Long> participationIds);
+
     // Manual result can either be from type MANUAL or SEMI_AUTOMATIC
     @Query("""
             select distinct p from StudentParticipation p
@@ -230,6 +256,25 @@ public interface StudentParticipationRepository extends JpaRepository<StudentPar
             """)
     List<StudentParticipation> findByExerciseIdWithManualResultAndFeedbacks(@Param("exerciseId") Long exerciseId);
 
+    // Manual result can either be from type MANUAL or SEMI_AUTOMATIC
+    @Query("""
+            select distinct p from StudentParticipation p
+            left join fetch p.results r
+            left join fetch r.feedbacks
+            left join fetch r.submission s
+            where p.id in :#{#participationIds}
+                 and (s.type <> 'ILLEGAL' or s.type is null)
+                 and (r.assessmentType = 'MANUAL' or r.assessmentType = 'SEMI_AUTOMATIC')
+            """)
+    List<StudentParticipation> findByIdsWithManualResultAndFeedbacks(@Param("participationIds") Collection<Long> participationIds);
+
+    @Query("""
+            select p.id from StudentParticipation p
+            where p.exercise.id = :#{#exerciseId}
+            order by p.id
+            """)
+    List<Long> findIdsByExerciseId(@Param("exerciseId") Long exerciseId);
+
     default List<StudentParticipation> findByExerciseIdWithManualResultAndFeedbacksWithoutIndividualDueDate(Long exerciseId) {
         return findByExerciseIdWithManualResultAndFeedbacks(exerciseId).stream().filter(participation -> participation.getIndividualDueDate() == null).toList();
     }
@@ -328,21 +373,19 @@ public interface StudentParticipationRepository extends JpaRepository<StudentPar
     Optional<StudentParticipation> findByExerciseIdAndTeamIdWithLatestResult(@Param("exerciseId") Long exerciseId, @Param("teamId") Long teamId);
 
     /**
-     * Find all participations of submissions that are submitted and do not already have a manual result and do not belong to test runs.
-     * No manual result means that no user has started an assessment for the corresponding submission yet.
+     * Find the ids of the latest submissions of all participations that are submitted, do not already have a manual result for the given correction round and do not belong
+     * to test runs. No manual result means that no user has started an assessment for the corresponding submission yet.
+     * Only the ids are loaded, so that a tutor requesting a new submission to assess does not load the submissions, results and feedbacks of the whole exercise.
      *
-     * If a student can have multiple submissions per exercise type, the latest not {@link de.tum.in.www1.artemis.domain.enumeration.SubmissionType#ILLEGAL} ILLEGAL submission (by id) will be returned.
-     *
-     * @param correctionRound the correction round the fetched results should belong to
-     * @param exerciseId      the exercise id the participations should belong to
-     * @return a list of participations including their submitted submissions that do not have a manual result
+     * @param exerciseId        the exercise id the participations should belong to
+     * @param correctionRound   the correction round the fetched results should belong to
+     * @param tutorId           the id of the tutor, submissions the tutor assessed in an earlier correction round are excluded
+     * @param onlyBeforeDueDate whether only submissions submitted before the (individual) due date should be returned
+     * @return the ids of the latest submissions that do not have a manual result
      */
     @Query("""
-            SELECT DISTINCT p FROM StudentParticipation p
-            LEFT JOIN FETCH p.submissions submission
-            LEFT JOIN FETCH submission.results result
-            LEFT JOIN FETCH result.feedbacks feedbacks
-            LEFT JOIN FETCH result.assessor
+            SELECT submission.id FROM StudentParticipation p
+            JOIN p.submissions submission
             WHERE p.exercise.id = :#{#exerciseId}
             AND p.testRun = FALSE
             AND 0L = (SELECT COUNT(r2)
@@ -360,11 +403,18 @@ public interface StudentParticipationRepository extends JpaRepository<StudentPar
             AND :#{#correctionRound} = (SELECT COUNT (prs)
                             FROM p.results prs
                             WHERE prs.assessmentType IN ('MANUAL', 'SEMI_AUTOMATIC'))
+            AND NOT EXISTS (SELECT r3 FROM Result r3
+                            WHERE r3.submission = submission
+                                AND r3.assessor.id = :#{#tutorId}
+                                AND r3.assessmentType IN ('MANUAL', 'SEMI_AUTOMATIC'))
             AND submission.submitted = true
             AND submission.id = (SELECT max(id) FROM p.submissions)
+            AND (:#{#onlyBeforeDueDate} = FALSE
+                OR COALESCE(p.individualDueDate, p.exercise.dueDate) IS NULL
+                OR submission.submissionDate < COALESCE(p.individualDueDate, p.exercise.dueDate))
             """)
-    List<StudentParticipation> findByExerciseIdWithLatestSubmissionWithoutManualResultsAndIgnoreTestRunParticipation(@Param("exerciseId") Long exerciseId,
-            @Param("correctionRound") long correctionRound);
+    List<Long> findLatestSubmissionIdsWithoutManualResultsAndIgnoreTestRunParticipation(@Param("exerciseId") Long exerciseId, @Param("correctionRound") long correctionRound,
+            @Param("tutorId") Long tutorId, @Param("onlyBeforeDueDate") boolean onlyBeforeDueDate);
 
     // TODO SE This one need to be improved.
     /**
@@ -390,21 +440,47 @@ public interface StudentParticipationRepository extends JpaRepository<StudentPar
             """)
     List<StudentParticipation> findByExerciseIdWithLatestSubmissionWithoutManualResults(@Param("exerciseId") Long exerciseId);
 
+    /**
+     * Find the ids of the latest submissions of all participations that are submitted, do not already have a manual result and whose (individual) due date has passed.
+     * Only the ids are loaded, so that a tutor requesting a new submission to assess does not load the submissions, results and feedbacks of the whole exercise.
+     *
+     * @param exerciseId        the exercise id the participations should belong to
+     * @param now               the current date, participations with a later individual due date are ignored
+     * @param onlyBeforeDueDate whether only submissions submitted before the (individual) due date should be returned
+     * @return the ids of the latest submissions that do not have a manual result
+     */
     @Query("""
-            SELECT DISTINCT p FROM Participation p
-            LEFT JOIN FETCH p.submissions s
-            LEFT JOIN FETCH s.results r
-            LEFT JOIN FETCH r.feedbacks
+            SELECT s.id FROM Participation p
+            JOIN p.submissions s
             WHERE p.exercise.id = :#{#exerciseId}
             AND (p.individualDueDate IS NULL OR p.individualDueDate <= :#{#now})
             AND NOT EXISTS
                 (SELECT prs FROM p.results prs
                     WHERE prs.assessmentType IN ('MANUAL', 'SEMI_AUTOMATIC'))
-                    AND s.submitted = true
-                    AND s.id = (SELECT max(id) FROM p.submissions)
+            AND s.submitted = true
+            AND s.id = (SELECT max(id) FROM p.submissions)
+            AND (:#{#onlyBeforeDueDate} = FALSE
+                OR COALESCE(p.individualDueDate, p.exercise.dueDate) IS NULL
+                OR s.submissionDate < COALESCE(p.individualDueDate, p.exercise.dueDate))
+            """)
+    List<Long> findLatestSubmissionIdsWithoutManualResultsWithPassedIndividualDueDate(@Param("exerciseId") Long exerciseId, @Param("now") ZonedDateTime now,
+            @Param("onlyBeforeDueDate") boolean onlyBeforeDueDate);
+
+    /**
+     * Find the participation of the given submission with only this submission, its results, their feedbacks and assessors.
+     *
+     * @param submissionId the id of the submission
+     * @return the participation with the submission, or an empty Optional if the submission does not exist
+     */
+    @Query("""
+            SELECT DISTINCT p FROM StudentParticipation p
+            LEFT JOIN FETCH p.submissions s
+            LEFT JOIN FETCH s.results r
+            LEFT JOIN FETCH r.feedbacks
+            LEFT JOIN FETCH r.assessor
+            WHERE s.id = :#{#submissionId}
             """)
-    List<StudentParticipation> findByExerciseIdWithLatestSubmissionWithoutManualResultsWithPassedIndividualDueDate(@Param("exerciseId") Long exerciseId,
-            @Param("now") ZonedDateTime now);
+    Optional<StudentParticipation> findWithSubmissionAndResultsAndFeedbacksAndAssessorBySubmissionId(@Param("submissionId") Long submissionId);
 
     @Query("""
             select p from Participation p
@@ -4,6 +4,7 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -54,6 +55,9 @@ public interface TeamRepository extends JpaRepository<Team, Long> {
     @Query(value = "select student.id, team.id from Team team left join team.students student where team.exercise.id = :#{#exerciseId} and student.id in :#{#userIds}")
     List<long[]> findAssignedUserIdsWithTeamIdsByExerciseIdAndUserIds(@Param("exerciseId") Long exerciseId, @Param("userIds") List<Long> userIds);
 
+    @Query(value = "select team.exercise.id, team.id from Team team left join team.students student where team.exercise.id in :#{#exerciseIds} and student.id = :#{#userId}")
+    List<long[]> findExerciseIdsWithTeamIdsByExerciseIdsAndUserId(@Param("exerciseIds") Set<Long> exerciseIds, @Param("userId") Long userId);
+
     @Query(value = "select distinct team from Team team left join fetch team.students where team.exercise.id = :#{#exerciseId}")
     List<Team> findAllByExerciseIdWithEagerStudents(@Param("exerciseId") Long exerciseId);
 
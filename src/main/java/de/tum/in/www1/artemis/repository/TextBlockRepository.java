@@ -33,6 +33,60 @@ public interface TextBlockRepository extends JpaRepository<TextBlock, String> {
 
     void deleteAllBySubmission_Id(Long submissionId);
 
+    /**
+     * Interface used to define return type for `findOpenTextBlocksWithClusterByExerciseId`
+     */
+    interface TextBlockIdAndClusterId {
+
+        String getBlockId();
+
+        Long getClusterId();
+    }
+
+    /**
+     * Finds the ids of all clustered text blocks of the given exercise whose submission does not have a result yet, together with the id of their cluster.
+     *
+     * @param exerciseId the id of the text exercise
+     * @return the ids of the open text blocks and their clusters
+     */
+    @Query("""
+            SELECT tb.id as blockId, tb.cluster.id as clusterId
+            FROM TextBlock tb
+            WHERE tb.cluster.exercise.id = :exerciseId
+            AND NOT EXISTS (SELECT r.id FROM Result r WHERE r.submission.id = tb.submission.id)
+            """)
+    List<TextBlockIdAndClusterId> findOpenTextBlocksWithClusterByExerciseId(@Param("exerciseId") Long exerciseId);
+
+    /**
+     * Interface used to define return type for `findAllClusteredByExerciseId`
+     */
+    interface ClusteredTextBlock {
+
+        String getBlockId();
+
+        Long getClusterId();
+
+        Integer getPositionInCluster();
+
+        Long getSubmissionId();
+
+        Long getParticipationId();
+    }
+
+    /**
+     * Finds all clustered text blocks of the given exercise with the ids of their cluster, submission and participation.
+     *
+     * @param exerciseId the id of the text exercise
+     * @return the clustered text blocks of the exercise
+     */
+    @Query("""
+            SELECT tb.id as blockId, tb.cluster.id as clusterId, tb.positionInCluster as positionInCluster, s.id as submissionId, s.participation.id as participationId
+            FROM TextBlock tb
+            JOIN tb.submission s
+            WHERE tb.cluster.exercise.id = :exerciseId
+            """)
+    List<ClusteredTextBlock> findAllClusteredByExerciseId(@Param("exerciseId") Long exerciseId);
+
     /**
      * Interface used to define return type for `countOtherBlocksInClusterBySubmissionId`
      */
@@ -31,6 +31,12 @@ public interface TextClusterRepository extends JpaRepository<TextCluster, Long>
     @EntityGraph(type = LOAD, attributePaths = { "blocks", "blocks.submission", "blocks.submission.results" })
     List<TextCluster> findAllByExercise(TextExercise exercise);
 
+    @Query("SELECT cluster.id FROM TextCluster cluster WHERE cluster.exercise.id = :exerciseId")
+    List<Long> findAllIdsByExerciseId(@Param("exerciseId") Long exerciseId);
+
+    @Query("SELECT cluster FROM TextCluster cluster WHERE cluster.exercise.id = :exerciseId")
+    List<TextCluster> findAllWithoutBlocksByExerciseId(@Param("exerciseId") Long exerciseId);
+
     @EntityGraph(type = LOAD, attributePaths = { "exercise" })
     Optional<TextCluster> findWithEagerExerciseById(Long clusterId);
 
@@ -27,7 +27,7 @@ import de.tum.in.www1.artemis.web.rest.errors.EntityNotFoundException;
  * Spring Data JPA repository for the User entity.
  */
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, CachedUserRepository {
 
     String USERS_CACHE = "users";
 
@@ -43,6 +43,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findOneByLogin(String login);
 
+    List<User> findAllByLoginIn(Collection<String> logins);
+
     @EntityGraph(type = LOAD, attributePaths = { "groups", "authorities" })
     Optional<User> findOneWithGroupsAndAuthoritiesByRegistrationNumber(String registrationNumber);
 
@@ -215,13 +217,14 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     /**
      * Get user with user groups and authorities of currently logged in user
+     * The user is cached, see {@link CachedUserRepository}
      *
      * @return currently logged in user
      */
     @NotNull
     default User getUserWithGroupsAndAuthorities() {
         String currentUserLogin = getCurrentUserLogin();
-        Optional<User> user = findOneWithGroupsAndAuthoritiesByLogin(currentUserLogin);
+        Optional<User> user = findCachedUserWithGroupsAndAuthorities(currentUserLogin, () -> findOneWithGroupsAndAuthoritiesByLogin(currentUserLogin));
         return unwrapOptionalUser(user, currentUserLogin);
     }
 
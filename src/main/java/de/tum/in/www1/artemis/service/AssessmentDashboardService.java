@@ -1,6 +1,7 @@
 package de.tum.in.www1.artemis.service;
 
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -11,6 +12,7 @@ import de.tum.in.www1.artemis.domain.ExampleSubmission;
 import de.tum.in.www1.artemis.domain.Exercise;
 import de.tum.in.www1.artemis.domain.ProgrammingExercise;
 import de.tum.in.www1.artemis.domain.assessment.dashboard.ExerciseMapEntry;
+import de.tum.in.www1.artemis.domain.assessment.dashboard.ExerciseRatingCount;
 import de.tum.in.www1.artemis.domain.enumeration.TutorParticipationStatus;
 import de.tum.in.www1.artemis.domain.participation.TutorParticipation;
 import de.tum.in.www1.artemis.repository.*;
@@ -49,16 +51,15 @@ public class AssessmentDashboardService {
 
     /**
      * Prepares the exercises for the assessment dashboard by setting the tutor participations and statistics
-     * This is very slow as each iteration takes about 2.5 s
+     * The statistics of all exercises are fetched together, so the number of queries does not depend on the number of exercises
      * @param exercises exercises to be prepared for the assessment dashboard
      * @param tutorParticipations participations of the tutors
      * @param examMode flag should be set for exam dashboard
      */
     public void generateStatisticsForExercisesForAssessmentDashboard(Set<Exercise> exercises, List<TutorParticipation> tutorParticipations, boolean examMode) {
         log.debug("generateStatisticsForExercisesForAssessmentDashboard invoked");
-        // start measures performance of each individual query, start2 measures performance of one loop iteration
+        // start measures performance of each individual query
         long start = System.nanoTime();
-        long start2 = System.nanoTime();
         long startComplete = System.nanoTime();
         Set<Exercise> programmingExerciseIds = exercises.stream().filter(exercise -> exercise instanceof ProgrammingExercise).collect(Collectors.toSet());
         Set<Exercise> nonProgrammingExerciseIds = exercises.stream().filter(exercise -> !(exercise instanceof ProgrammingExercise)).collect(Collectors.toSet());
@@ -71,49 +72,24 @@ public class AssessmentDashboardService {
         log.debug("Finished >> assessmentDashboardService.calculateNumberOfSubmissions all << in {}", TimeLogUtil.formatDurationFrom(start));
         start = System.nanoTime();
 
-        // NOTE: similar to calculateNumberOfSubmissions the number of assessments could be calculated outside the loop for a performance boost.
-        // This won't be as straight forward as we have to consider correction rounds
+        calculateNumberOfAssessments(programmingExerciseIds, nonProgrammingExerciseIds, examMode);
+        log.debug("Finished >> assessmentDashboardService.calculateNumberOfAssessments all << in {}", TimeLogUtil.formatDurationFrom(start));
+        start = System.nanoTime();
+
+        Set<Long> exerciseIds = exercises.stream().map(Exercise::getId).collect(Collectors.toSet());
+        // Do not provide example submissions without any assessment
+        Map<Long, Set<ExampleSubmission>> exampleSubmissionsByExerciseId = exampleSubmissionRepository.findAllWithResultByExerciseIdIn(exerciseIds).stream()
+                .filter(exampleSubmission -> exampleSubmission.getSubmission() != null && exampleSubmission.getSubmission().getLatestResult() != null)
+                .collect(Collectors.groupingBy(exampleSubmission -> exampleSubmission.getExercise().getId(), Collectors.toSet()));
+        log.debug("Finished >> exampleSubmissionRepository.findAllWithResultByExerciseIdIn all << in {}", TimeLogUtil.formatDurationFrom(start));
+        start = System.nanoTime();
+
+        Map<Long, ExerciseRatingCount> ratingsByExerciseId = ratingService.averageRatingByExerciseIds(exerciseIds).stream()
+                .collect(Collectors.toMap(ExerciseRatingCount::exerciseId, Function.identity()));
+        log.debug("Finished >> ratingService.averageRatingByExerciseIds all << in {}", TimeLogUtil.formatDurationFrom(start));
 
-        // parts of this loop can possibly still be extracted
         for (Exercise exercise : exercises) {
-            DueDateStat totalNumberOfAssessments;
-
-            if (exercise instanceof ProgrammingExercise) {
-                totalNumberOfAssessments = new DueDateStat(programmingExerciseRepository.countAssessmentsByExerciseIdSubmitted(exercise.getId(), examMode), 0L);
-                log.debug("Finished >> programmingExerciseRepository.countAssessmentsByExerciseIdSubmitted << call for exercise {} in {}", exercise.getId(),
-                        TimeLogUtil.formatDurationFrom(start));
-            }
-            else {
-                totalNumberOfAssessments = resultRepository.countNumberOfFinishedAssessmentsForExercise(exercise.getId(), examMode);
-                log.debug("Finished >> resultRepository.countNumberOfFinishedAssessmentsForExercise << call for exercise {} in {}", exercise.getId(),
-                        TimeLogUtil.formatDurationFrom(start));
-            }
-            start = System.nanoTime();
-
-            final DueDateStat[] numberOfAssessmentsOfCorrectionRounds;
-            if (examMode) {
-                // set number of corrections specific to each correction round
-                int numberOfCorrectionRounds = exercise.getExerciseGroup().getExam().getNumberOfCorrectionRoundsInExam();
-                numberOfAssessmentsOfCorrectionRounds = resultRepository.countNumberOfFinishedAssessmentsForExamExerciseForCorrectionRounds(exercise, numberOfCorrectionRounds);
-                log.debug("Finished >> resultRepository.countNumberOfFinishedAssessmentsForExamExerciseForCorrectionRounds << call for exercise {} in {}", exercise.getId(),
-                        TimeLogUtil.formatDurationFrom(start));
-            }
-            else {
-                // no examMode here, so correction rounds defaults to 1 and is the same as totalNumberOfAssessments
-                numberOfAssessmentsOfCorrectionRounds = new DueDateStat[] { totalNumberOfAssessments };
-            }
-
-            exercise.setNumberOfAssessmentsOfCorrectionRounds(numberOfAssessmentsOfCorrectionRounds);
-            exercise.setTotalNumberOfAssessments(numberOfAssessmentsOfCorrectionRounds[0]);
-            start = System.nanoTime();
-            Set<ExampleSubmission> exampleSubmissions = exampleSubmissionRepository.findAllWithResultByExerciseId(exercise.getId());
-
-            log.debug("Finished >> exampleSubmissionRepository.findAllWithResultByExerciseId << call for course {} in {}", exercise.getId(), TimeLogUtil.formatDurationFrom(start));
-            start = System.nanoTime();
-
-            // Do not provide example submissions without any assessment
-            exampleSubmissions.removeIf(exampleSubmission -> exampleSubmission.getSubmission() == null || exampleSubmission.getSubmission().getLatestResult() == null);
-            exercise.setExampleSubmissions(exampleSubmissions);
+            exercise.setExampleSubmissions(exampleSubmissionsByExerciseId.getOrDefault(exercise.getId(), new HashSet<>()));
 
             TutorParticipation tutorParticipation = tutorParticipations.stream().filter(participation -> participation.getAssessedExercise().getId().equals(exercise.getId()))
                     .findFirst().orElseGet(() -> {
@@ -123,15 +99,48 @@ public class AssessmentDashboardService {
                     });
             exercise.setTutorParticipations(Collections.singleton(tutorParticipation));
 
-            var exerciseRating = ratingService.averageRatingByExerciseId(exercise.getId());
-            exercise.setAverageRating(exerciseRating.averageRating());
-            exercise.setNumberOfRatings(exerciseRating.numberOfRatings());
-
-            log.debug("Finished >> assessmentDashboardLoopIteration << call for exercise {} in {}", exercise.getId(), TimeLogUtil.formatDurationFrom(start2));
+            // exercises without completed results have no ratings
+            var exerciseRating = ratingsByExerciseId.get(exercise.getId());
+            exercise.setAverageRating(exerciseRating != null ? exerciseRating.averageRating() : null);
+            exercise.setNumberOfRatings(exerciseRating != null ? exerciseRating.numberOfRatings() : null);
         }
         log.debug("Finished >> generateStatisticsForExercisesForAssessmentDashboard << call in {}", TimeLogUtil.formatDurationFrom(startComplete));
     }
 
+    /**
+     * This method fetches and stores the number of assessments for each exercise and for each correction round.
+     * @param programmingExercises          - the programming-exercises, for which the number of assessments should be fetched
+     * @param nonProgrammingExercises       - the exercises, which are not programming-exercises, for which the number of assessments should be fetched
+     * @param examMode                      - if the exercises are part of an exam
+     */
+    private void calculateNumberOfAssessments(Set<Exercise> programmingExercises, Set<Exercise> nonProgrammingExercises, boolean examMode) {
+        if (examMode) {
+            // set number of corrections specific to each correction round, the total number of assessments is the number of the first correction round
+            Set<Exercise> exercises = new HashSet<>(programmingExercises);
+            exercises.addAll(nonProgrammingExercises);
+            var numberOfAssessmentsOfCorrectionRoundsMap = resultRepository.countNumberOfFinishedAssessmentsForExamExercisesForCorrectionRounds(exercises);
+            exercises.forEach(exercise -> setNumberOfAssessments(exercise, numberOfAssessmentsOfCorrectionRoundsMap.get(exercise.getId())));
+            return;
+        }
+
+        Set<Long> programmingExerciseIds = programmingExercises.stream().map(Exercise::getId).collect(Collectors.toSet());
+        Set<Long> nonProgrammingExerciseIds = nonProgrammingExercises.stream().map(Exercise::getId).collect(Collectors.toSet());
+        var programmingAssessmentMap = programmingExerciseRepository.countAssessmentsByExerciseIdsSubmitted(programmingExerciseIds).stream()
+                .collect(Collectors.toMap(ExerciseMapEntry::getKey, ExerciseMapEntry::getValue));
+        var assessmentMap = resultRepository.countNumberOfFinishedAssessmentsByExerciseIds(nonProgrammingExerciseIds).stream()
+                .collect(Collectors.toMap(ExerciseMapEntry::getKey, ExerciseMapEntry::getValue));
+
+        // no examMode here, so correction rounds defaults to 1 and is the same as totalNumberOfAssessments
+        programmingExercises
+                .forEach(exercise -> setNumberOfAssessments(exercise, new DueDateStat[] { new DueDateStat(programmingAssessmentMap.getOrDefault(exercise.getId(), 0L), 0L) }));
+        nonProgrammingExercises.forEach(exercise -> setNumberOfAssessments(exercise, new DueDateStat[] { new DueDateStat(assessmentMap.getOrDefault(exercise.getId(), 0L), 0L) }));
+    }
+
+    private void setNumberOfAssessments(Exercise exercise, DueDateStat[] numberOfAssessmentsOfCorrectionRounds) {
+        exercise.setNumberOfAssessmentsOfCorrectionRounds(numberOfAssessmentsOfCorrectionRounds);
+        exercise.setTotalNumberOfAssessments(numberOfAssessmentsOfCorrectionRounds[0]);
+    }
+
     /**
      * This method fetches and stores the number of submissions for each exercise.
      * @param programmingExercises          - the programming-exercises, for which the number of submissions should be fetched
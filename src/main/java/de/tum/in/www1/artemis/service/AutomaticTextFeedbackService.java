@@ -1,20 +1,25 @@
 package de.tum.in.www1.artemis.service;
 
-import static java.util.Comparator.comparing;
 import static java.util.stream.Collectors.toList;
 
+import java.time.Duration;
 import java.util.*;
 
 import javax.validation.constraints.NotNull;
 
 import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import de.tum.in.www1.artemis.domain.*;
 import de.tum.in.www1.artemis.domain.enumeration.FeedbackType;
 import de.tum.in.www1.artemis.repository.FeedbackRepository;
+import de.tum.in.www1.artemis.repository.FeedbackRepository.TextBlockFeedback;
 import de.tum.in.www1.artemis.repository.TextBlockRepository;
+import de.tum.in.www1.artemis.repository.TextClusterRepository;
+import de.tum.in.www1.artemis.service.TextClusterFeedbackIndex.SimilarTextBlock;
+import de.tum.in.www1.artemis.service.util.BoundedLocalCache;
 
 @Service
 @Profile("athene")
@@ -24,11 +29,25 @@ public class AutomaticTextFeedbackService {
 
     private static final double DISTANCE_THRESHOLD = 1;
 
+    // feedback saved on other server instances is only suggested once the index is rebuilt
+    private static final long MAXIMUM_INDEX_AGE_IN_MILLIS = 60 * 1000;
+
+    // indices of exercises that are not assessed anymore, e.g. because the assessment due date passed, are removed after this time
+    private static final Duration MAXIMUM_INDEX_IDLE_TIME = Duration.ofMinutes(30);
+
+    private static final int MAXIMUM_NUMBER_OF_INDICES = 100;
+
     private final TextBlockRepository textBlockRepository;
 
-    public AutomaticTextFeedbackService(FeedbackRepository feedbackRepository, TextBlockRepository textBlockRepository) {
+    private final TextClusterRepository textClusterRepository;
+
+    // the feedback indices by the id of the exercise
+    private final BoundedLocalCache<Long, TextClusterFeedbackIndex> feedbackIndices = new BoundedLocalCache<>(MAXIMUM_NUMBER_OF_INDICES, MAXIMUM_INDEX_IDLE_TIME);
+
+    public AutomaticTextFeedbackService(FeedbackRepository feedbackRepository, TextBlockRepository textBlockRepository, TextClusterRepository textClusterRepository) {
         this.feedbackRepository = feedbackRepository;
         this.textBlockRepository = textBlockRepository;
+        this.textClusterRepository = textClusterRepository;
     }
 
     /**
@@ -50,38 +69,24 @@ public class AutomaticTextFeedbackService {
 
             // if TextBlock is part of a cluster and the cluster is not disabled, we try to find an existing Feedback Element
             if (cluster != null && !cluster.isDisabled()) {
-                // Find all Feedbacks for other Blocks in Cluster.
-                final List<TextBlock> allBlocksInCluster = cluster.getBlocks().parallelStream().filter(elem -> !elem.equals(block)).toList();
-                final Map<String, Feedback> feedbackForTextExerciseInCluster = feedbackRepository.getFeedbackForTextExerciseInCluster(cluster);
-
-                if (feedbackForTextExerciseInCluster.size() != 0) {
-                    final Optional<TextBlock> mostSimilarBlockInClusterWithFeedback = allBlocksInCluster.parallelStream()
+                final Optional<SimilarTextBlock> mostSimilarBlockInClusterWithFeedback = getFeedbackIndex(cluster.getExercise().getId())
+                        .findMostSimilarTextBlockWithFeedback(block.getId());
 
-                            // Filter all other blocks in the cluster for those with Feedback
-                            .filter(element -> feedbackForTextExerciseInCluster.containsKey(element.getId()))
+                if (mostSimilarBlockInClusterWithFeedback.isPresent() && mostSimilarBlockInClusterWithFeedback.get().distance() < DISTANCE_THRESHOLD) {
+                    final SimilarTextBlock similarBlock = mostSimilarBlockInClusterWithFeedback.get();
+                    final TextBlockFeedback similarFeedback = similarBlock.feedback();
 
-                            // Find the closest block
-                            .min(comparing(element -> cluster.distanceBetweenBlocks(block, element)));
+                    Feedback feedback = new Feedback().reference(block.getId()).credits(similarFeedback.getCredits())
+                            .suggestedFeedbackOrigin(similarBlock.blockId(), similarBlock.submissionId(), similarBlock.participationId()).type(FeedbackType.AUTOMATIC);
 
-                    if (mostSimilarBlockInClusterWithFeedback.isPresent()
-                            && cluster.distanceBetweenBlocks(block, mostSimilarBlockInClusterWithFeedback.get()) < DISTANCE_THRESHOLD) {
-                        final Feedback similarFeedback = feedbackForTextExerciseInCluster.get(mostSimilarBlockInClusterWithFeedback.get().getId());
-                        String originBlockReference = mostSimilarBlockInClusterWithFeedback.get().getId();
-                        Long originSubmissionId = mostSimilarBlockInClusterWithFeedback.get().getSubmission().getId();
-                        Long originParticipationId = mostSimilarBlockInClusterWithFeedback.get().getSubmission().getParticipation().getId();
-
-                        Feedback feedback = new Feedback().reference(block.getId()).credits(similarFeedback.getCredits())
-                                .suggestedFeedbackOrigin(originBlockReference, originSubmissionId, originParticipationId).type(FeedbackType.AUTOMATIC);
-
-                        if (similarFeedback.getGradingInstruction() != null) {
-                            feedback.setGradingInstruction(similarFeedback.getGradingInstruction());
-                        }
-                        else {
-                            feedback.setDetailText(similarFeedback.getDetailText());
-                        }
-
-                        return feedback;
+                    if (similarFeedback.getGradingInstruction() != null) {
+                        feedback.setGradingInstruction(similarFeedback.getGradingInstruction());
                     }
+                    else {
+                        feedback.setDetailText(similarFeedback.getDetailText());
+                    }
+
+                    return feedback;
                 }
             }
 
@@ -91,4 +96,30 @@ public class AutomaticTextFeedbackService {
         result.setFeedbacks(suggestedFeedback);
     }
 
+    /**
+     * Removes the feedback index of the exercise, because feedback of the exercise was saved or deleted. The index is loaded again for the next feedback suggestions.
+     *
+     * @param exerciseId the id of the text exercise
+     */
+    public void invalidateFeedbackIndex(Long exerciseId) {
+        feedbackIndices.invalidate(exerciseId);
+    }
+
+    /**
+     * Removes the feedback indices of exercises that were not assessed recently.
+     */
+    @Scheduled(fixedDelay = 60 * 1000, initialDelay = 60 * 1000)
+    public void evictIdleFeedbackIndices() {
+        feedbackIndices.evictIdleEntries();
+    }
+
+    private TextClusterFeedbackIndex getFeedbackIndex(Long exerciseId) {
+        // the index is loaded without holding a lock, so that the database queries do not block tutors of other exercises
+        return feedbackIndices.get(exerciseId, feedbackIndex -> !feedbackIndex.isOlderThan(MAXIMUM_INDEX_AGE_IN_MILLIS), this::loadFeedbackIndex);
+    }
+
+    private TextClusterFeedbackIndex loadFeedbackIndex(Long exerciseId) {
+        return new TextClusterFeedbackIndex(textClusterRepository.findAllWithoutBlocksByExerciseId(exerciseId), textBlockRepository.findAllClusteredByExerciseId(exerciseId),
+                feedbackRepository.findAllReferencingClusteredTextBlocksByExerciseId(exerciseId));
+    }
 }
@@ -1,8 +1,7 @@
 package de.tum.in.www1.artemis.service;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
@@ -16,6 +15,37 @@ import de.tum.in.www1.artemis.repository.ProgrammingSubmissionRepository;
 @Service
 public class BuildLogEntryService {
 
+    private static final Pattern ILLEGAL_REFLECTION_LOG = Pattern.compile("(?=WARNING)" + contains("An illegal reflective access operation has occurred",
+            "WARNING: Illegal reflective access by", "WARNING: Please consider reporting this to the maintainers of",
+            "to enable warnings of further illegal reflective access operations", "All illegal access operations will be denied in a future release"), Pattern.DOTALL);
+
+    /**
+     * Info, warning and error logs of Maven and the logs of pulling Docker images, which are unnecessary for all programming languages
+     */
+    private static final Pattern UNNECESSARY_BUILD_LOG = Pattern.compile(anyOf(
+            // info logs
+            Pattern.quote("[INFO]") + "(?!.*error).*", startsWith("[INFO] Downloading", "[INFO] Downloaded"),
+            // warning logs
+            startsWith("[WARNING]"),
+            // error logs
+            startsWith("[ERROR] [Help 1]", "[ERROR] For more information about the errors and possible solutions", "[ERROR] Re-run Maven using",
+                    "[ERROR] To see the full stack trace of the errors", "[ERROR] -> [Help 1]", "[ERROR] Failed to execute goal org.apache.maven.plugins"),
+            equalTo("[ERROR] "),
+            // docker image logs
+            Pattern.quote("Unable to find image '") + ".*" + Pattern.quote("' locally"), Pattern.quote("Digest: sha256:") + ".{64}",
+            startsWith("Status: Downloaded newer image for ", "Jenkins seems to be running inside container "),
+            equalTo("Jenkins does not seem to be running inside a container", "."),
+            // Each of the following is prefixed by a 12 character hash
+            ".{12}(?:" + equalTo(": Pulling fs layer", ": Waiting", ": Verifying Checksum", ": Download complete", ": Pull complete") + ")"), Pattern.DOTALL);
+
+    private static final Map<ProgrammingLanguage, Pattern> UNNECESSARY_BUILD_LOGS = new EnumMap<>(ProgrammingLanguage.class);
+
+    static {
+        for (ProgrammingLanguage programmingLanguage : ProgrammingLanguage.values()) {
+            UNNECESSARY_BUILD_LOGS.put(programmingLanguage, createUnnecessaryBuildLogPattern(programmingLanguage));
+        }
+    }
+
     private final BuildLogEntryRepository buildLogEntryRepository;
 
     private final ProgrammingSubmissionRepository programmingSubmissionRepository;
@@ -28,23 +58,24 @@ public class BuildLogEntryService {
     /**
      * Saves the build log entries in the database. The association to the programming submission is first removed and
      * after the saving restored as the relation submission->result uses an order column.
+     * All build log entries are saved together in one transaction instead of one transaction per entry.
      *
      * @param buildLogs build logs to save
      * @param programmingSubmission submission of the build logs
      * @return the saved build logs
      */
     public List<BuildLogEntry> saveBuildLogs(List<BuildLogEntry> buildLogs, ProgrammingSubmission programmingSubmission) {
-        return buildLogs.stream().map(buildLogEntry -> {
+        for (BuildLogEntry buildLogEntry : buildLogs) {
             // Truncate the log so that it fits into the database
             buildLogEntry.truncateLogToMaxLength();
             // Cut association to parent object
             buildLogEntry.setProgrammingSubmission(null);
-            // persist the BuildLogEntry object without an association to the parent object.
-            var updatedBuildLogEntry = buildLogEntryRepository.save(buildLogEntry);
-            // restore the association to the parent object
-            updatedBuildLogEntry.setProgrammingSubmission(programmingSubmission);
-            return updatedBuildLogEntry;
-        }).collect(Collectors.toList());
+        }
+        // persist the BuildLogEntry objects without an association to the parent object.
+        List<BuildLogEntry> updatedBuildLogEntries = buildLogEntryRepository.saveAll(buildLogs);
+        // restore the association to the parent object
+        updatedBuildLogEntries.forEach(updatedBuildLogEntry -> updatedBuildLogEntry.setProgrammingSubmission(programmingSubmission));
+        return updatedBuildLogEntries;
     }
 
     /**
@@ -68,10 +99,7 @@ public class BuildLogEntryService {
      * @return boolean indicating an illegal reflection log or not
      */
     public boolean isIllegalReflectionLog(String logString) {
-        return logString.startsWith("WARNING") && (logString.contains("An illegal reflective access operation has occurred")
-                || logString.contains("WARNING: Illegal reflective access by") || logString.contains("WARNING: Please consider reporting this to the maintainers of")
-                || logString.contains("to enable warnings of further illegal reflective access operations")
-                || logString.contains("All illegal access operations will be denied in a future release"));
+        return ILLEGAL_REFLECTION_LOG.matcher(logString).matches();
     }
 
     /**
@@ -82,41 +110,45 @@ public class BuildLogEntryService {
      * @return boolean indicating an unnecessary build log or not
      */
     public boolean isUnnecessaryBuildLogForProgrammingLanguage(String logString, ProgrammingLanguage programmingLanguage) {
-        boolean isInfoWarningOrErrorLog = isInfoLog(logString) || isWarningLog(logString) || isErrorLog(logString) || isDockerImageLog(logString);
+        return getUnnecessaryBuildLogPattern(programmingLanguage).matcher(logString).matches();
+    }
+
+    private static Pattern getUnnecessaryBuildLogPattern(ProgrammingLanguage programmingLanguage) {
+        return programmingLanguage != null ? UNNECESSARY_BUILD_LOGS.get(programmingLanguage) : UNNECESSARY_BUILD_LOG;
+    }
+
+    /**
+     * Combines the build logs that are unnecessary for the given programming language into one pattern, so that each log only has to be matched once
+     *
+     * @param programmingLanguage programming language of exercise
+     * @return the pattern matching all unnecessary build logs
+     */
+    private static Pattern createUnnecessaryBuildLogPattern(ProgrammingLanguage programmingLanguage) {
+        String pattern = UNNECESSARY_BUILD_LOG.pattern();
         if (ProgrammingLanguage.JAVA.equals(programmingLanguage)) {
-            return isInfoWarningOrErrorLog || logString.startsWith("Unable to publish artifact") || logString.startsWith("NOTE: Picked up JDK_JAVA_OPTIONS")
-                    || logString.startsWith("Picked up JAVA_TOOL_OPTIONS") || logString.startsWith("[withMaven]") || logString.startsWith("$ docker");
+            pattern = anyOf(pattern, startsWith("Unable to publish artifact", "NOTE: Picked up JDK_JAVA_OPTIONS", "Picked up JAVA_TOOL_OPTIONS", "[withMaven]", "$ docker"));
         }
         else if (ProgrammingLanguage.SWIFT.equals(programmingLanguage) || ProgrammingLanguage.C.equals(programmingLanguage)) {
-            return isInfoWarningOrErrorLog || logString.contains("Unable to find image") || logString.contains(": Already exists") || logString.contains(": Pull")
-                    || logString.contains(": Waiting") || logString.contains(": Verifying") || logString.contains(": Download") || logString.startsWith("Digest:")
-                    || logString.startsWith("Status:") || logString.contains("github.com");
+            pattern = anyOf(pattern, contains("Unable to find image", ": Already exists", ": Pull", ": Waiting", ": Verifying", ": Download", "github.com"),
+                    startsWith("Digest:", "Status:"));
         }
-        return isInfoWarningOrErrorLog;
+        return Pattern.compile(pattern, Pattern.DOTALL);
     }
 
-    private boolean isInfoLog(String log) {
-        return (log.startsWith("[INFO]") && !log.contains("error")) || log.startsWith("[INFO] Downloading") || log.startsWith("[INFO] Downloaded");
+    private static String anyOf(String... patterns) {
+        return String.join("|", patterns);
     }
 
-    private boolean isWarningLog(String log) {
-        return log.startsWith("[WARNING]");
+    private static String startsWith(String... prefixes) {
+        return Arrays.stream(prefixes).map(prefix -> Pattern.quote(prefix) + ".*").collect(Collectors.joining("|"));
     }
 
-    private boolean isErrorLog(String log) {
-        return log.startsWith("[ERROR] [Help 1]") || log.startsWith("[ERROR] For more information about the errors and possible solutions")
-                || log.startsWith("[ERROR] Re-run Maven using") || log.startsWith("[ERROR] To see the full stack trace of the errors") || log.startsWith("[ERROR] -> [Help 1]")
-                || log.startsWith("[ERROR] Failed to execute goal org.apache.maven.plugins") || "[ERROR] ".equals(log);
+    private static String contains(String... infixes) {
+        return ".*(?:" + Arrays.stream(infixes).map(Pattern::quote).collect(Collectors.joining("|")) + ").*";
     }
 
-    private boolean isDockerImageLog(String log) {
-        return (log.startsWith("Unable to find image '") && log.endsWith("' locally")) || (log.startsWith("Digest: sha256:") && log.length() == 79)
-                || log.startsWith("Status: Downloaded newer image for ") || "Jenkins does not seem to be running inside a container".equals(log)
-                || log.startsWith("Jenkins seems to be running inside container ") || ".".equals(log)
-                // Each of the following is prefixed by a 12 character hash, so the length is the length of the suffix + 12
-                || (log.endsWith(": Pulling fs layer") && log.length() == 30) || (log.endsWith(": Waiting") && log.length() == 21)
-                || (log.endsWith(": Verifying Checksum") && log.length() == 32) || (log.endsWith(": Download complete") && log.length() == 31)
-                || (log.endsWith(": Pull complete") && log.length() == 27);
+    private static String equalTo(String... logs) {
+        return Arrays.stream(logs).map(Pattern::quote).collect(Collectors.joining("|"));
     }
 
     /**
@@ -124,20 +156,19 @@ public class BuildLogEntryService {
      * It avoids duplicate entries and only allows not more than one empty log.
      *
      * @param programmingLanguage programming language of build log
-     * @param buildLogs           accumulated build logs
+     * @param existingLogs        the strings of the accumulated build logs
+     * @param lastLog             the string of the last accumulated build log or null if there is none
      * @param shortenedLogString  current build log string
      * @return boolean indicating a build log should be added to the overall build logs
      */
-    public boolean checkIfBuildLogIsNotADuplicate(ProgrammingLanguage programmingLanguage, List<BuildLogEntry> buildLogs, String shortenedLogString) {
+    private boolean checkIfBuildLogIsNotADuplicate(ProgrammingLanguage programmingLanguage, Set<String> existingLogs, String lastLog, String shortenedLogString) {
         // C outputs duplicate but necessary output, so we need to skip it
         boolean skipLanguage = ProgrammingLanguage.C.equals(programmingLanguage);
-        if (!skipLanguage && !buildLogs.isEmpty()) {
+        if (!skipLanguage && lastLog != null) {
             // E.g. Swift produces a lot of duplicate build logs when a build fails
-            var existingLog = buildLogs.stream().filter(log -> log.getLog().equals(shortenedLogString)).findFirst();
-            String lastLog = buildLogs.get(buildLogs.size() - 1).getLog();
             // If the log does not exist already or if the log is a single blank log add it to the build logs (avoid more than one empty log in a row)
             boolean isSingleBlankLog = shortenedLogString.isBlank() && !lastLog.isBlank();
-            return existingLog.isEmpty() || isSingleBlankLog;
+            return !existingLogs.contains(shortenedLogString) || isSingleBlankLog;
         }
         return true;
     }
@@ -150,7 +181,11 @@ public class BuildLogEntryService {
      * @return filtered build logs
      */
     public List<BuildLogEntry> removeUnnecessaryLogsForProgrammingLanguage(List<BuildLogEntry> buildLogEntries, ProgrammingLanguage programmingLanguage) {
+        Pattern unnecessaryBuildLog = getUnnecessaryBuildLogPattern(programmingLanguage);
         List<BuildLogEntry> filteredLogs = new ArrayList<>();
+        // the strings of the filtered logs, so that duplicates are found without searching all filtered logs
+        Set<String> filteredLogStrings = new HashSet<>();
+        String lastLogString = null;
         for (BuildLogEntry buildLog : buildLogEntries) {
 
             String logString = buildLog.getLog();
@@ -160,7 +195,7 @@ public class BuildLogEntryService {
             }
 
             // filter unnecessary logs and illegal reflection logs
-            if (isUnnecessaryBuildLogForProgrammingLanguage(logString, programmingLanguage) || isIllegalReflectionLog(logString)) {
+            if (unnecessaryBuildLog.matcher(logString).matches() || isIllegalReflectionLog(logString)) {
                 continue;
             }
 
@@ -170,8 +205,10 @@ public class BuildLogEntryService {
             }
 
             // Avoid duplicate log entries
-            if (checkIfBuildLogIsNotADuplicate(programmingLanguage, filteredLogs, logString)) {
+            if (checkIfBuildLogIsNotADuplicate(programmingLanguage, filteredLogStrings, lastLogString, logString)) {
                 filteredLogs.add(new BuildLogEntry(buildLog.getTime(), logString, buildLog.getProgrammingSubmission()));
+                filteredLogStrings.add(logString);
+                lastLogString = logString;
             }
         }
 
@@ -0,0 +1,104 @@
+package de.tum.in.www1.artemis.service;
+
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+
+import de.tum.in.www1.artemis.domain.Course;
+import de.tum.in.www1.artemis.domain.Exercise;
+import de.tum.in.www1.artemis.repository.CourseRepository;
+import de.tum.in.www1.artemis.repository.ExerciseRepository;
+
+/**
+ * Caches the structure of all active courses for the course dashboard, i.e. the courses with their exercises, lectures, attachments and exams.
+ * <p>
+ * The structure is the same for all users and is only filtered for the current user afterwards, see {@link CourseService#findAllActiveWithExercisesAndLecturesAndExamsForUser}.
+ * Each course is stored in a distributed map, so that reading a course returns a copy that can be filtered without affecting other requests.
+ * Courses are removed from the cache whenever one of their parts changes, see {@link de.tum.in.www1.artemis.service.listeners.CourseDashboardCacheListener}.
+ */
+@Service
+public class CourseDashboardCacheService {
+
+    public static final String COURSE_DASHBOARD_CACHE = "courseDashboardStructures";
+
+    // the time to live covers changes of the course structure that do not notify the listener, e.g. modifying queries
+    public static final int COURSE_DASHBOARD_CACHE_TIME_TO_LIVE_SECONDS = 5 * 60;
+
+    private final CourseRepository courseRepository;
+
+    private final ExerciseRepository exerciseRepository;
+
+    private final IMap<Long, Course> courseStructures;
+
+    public CourseDashboardCacheService(CourseRepository courseRepository, ExerciseRepository exerciseRepository, HazelcastInstance hazelcastInstance) {
+        this.courseRepository = courseRepository;
+        this.exerciseRepository = exerciseRepository;
+        this.courseStructures = hazelcastInstance.getMap(COURSE_DASHBOARD_CACHE);
+    }
+
+    /**
+     * Returns all currently active courses with their exercises (including categories), lectures (including attachments) and exams.
+     * Courses that are not cached yet are loaded with two queries and then cached.
+     *
+     * @return copies of all active courses that may be modified by the caller
+     */
+    public List<Course> findAllActiveWithExercisesAndLecturesAndExams() {
+        Set<Long> activeCourseIds = courseRepository.findAllActiveIds(ZonedDateTime.now());
+        if (activeCourseIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Course> courses = new ArrayList<>(courseStructures.getAll(activeCourseIds).values());
+
+        Set<Long> missingCourseIds = new HashSet<>(activeCourseIds);
+        courses.forEach(course -> missingCourseIds.remove(course.getId()));
+        if (!missingCourseIds.isEmpty()) {
+            List<Course> loadedCourses = findAllWithExercisesAndLecturesAndExams(missingCourseIds);
+            courseStructures.putAll(loadedCourses.stream().collect(Collectors.toMap(Course::getId, course -> course)));
+            courses.addAll(loadedCourses);
+        }
+        return courses;
+    }
+
+    private List<Course> findAllWithExercisesAndLecturesAndExams(Set<Long> courseIds) {
+        List<Course> courses = courseRepository.findAllWithLecturesAndExamsByIdIn(courseIds);
+        Map<Long, Set<Exercise>> exercisesByCourseId = exerciseRepository.findAllByCourseIdsWithCategories(courseIds).stream()
+                .collect(Collectors.groupingBy(exercise -> exercise.getCourseViaExerciseGroupOrCourseMember().getId(), Collectors.toSet()));
+        for (Course course : courses) {
+            course.setExercises(exercisesByCourseId.getOrDefault(course.getId(), new HashSet<>()));
+        }
+        return courses;
+    }
+
+    /**
+     * Removes the course with the given id from the cache, e.g. because one of its exercises changed.
+     * If a transaction is active, the course is removed again after the transaction was completed, because another request might cache the old course in between.
+     *
+     * @param courseId the id of the course
+     */
+    public void evictCourse(Long courseId) {
+        courseStructures.delete(courseId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCompletion(int status) {
+                    courseStructures.delete(courseId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Removes all courses from the cache.
+     */
+    public void evictAllCourses() {
+        courseStructures.clear();
+    }
+}
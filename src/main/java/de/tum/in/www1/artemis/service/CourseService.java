@@ -98,12 +98,14 @@ public class CourseService {
 
     private final StudentParticipationRepository studentParticipationRepository;
 
+    private final CourseDashboardCacheService courseDashboardCacheService;
+
     public CourseService(Environment env, ArtemisAuthenticationProvider artemisAuthenticationProvider, CourseRepository courseRepository, ExerciseService exerciseService,
             ExerciseDeletionService exerciseDeletionService, AuthorizationCheckService authCheckService, UserRepository userRepository, LectureService lectureService,
             GroupNotificationRepository groupNotificationRepository, ExerciseGroupRepository exerciseGroupRepository, AuditEventRepository auditEventRepository,
             UserService userService, LearningGoalRepository learningGoalRepository, GroupNotificationService groupNotificationService, ExamService examService,
             ExamRepository examRepository, CourseExamExportService courseExamExportService, GradingScaleRepository gradingScaleRepository,
-            StatisticsRepository statisticsRepository, StudentParticipationRepository studentParticipationRepository) {
+            StatisticsRepository statisticsRepository, StudentParticipationRepository studentParticipationRepository, CourseDashboardCacheService courseDashboardCacheService) {
         this.env = env;
         this.artemisAuthenticationProvider = artemisAuthenticationProvider;
         this.courseRepository = courseRepository;
@@ -124,6 +126,7 @@ public class CourseService {
         this.gradingScaleRepository = gradingScaleRepository;
         this.statisticsRepository = statisticsRepository;
         this.studentParticipationRepository = studentParticipationRepository;
+        this.courseDashboardCacheService = courseDashboardCacheService;
     }
 
     /**
@@ -195,12 +198,13 @@ public class CourseService {
      * @return the list of all courses including exercises, lectures and exams for the user
      */
     public List<Course> findAllActiveWithExercisesAndLecturesAndExamsForUser(User user) {
-        return courseRepository.findAllActiveWithLecturesAndExams().stream()
+        // the structure of the courses is cached for all users and only filtered for the given user here
+        return courseDashboardCacheService.findAllActiveWithExercisesAndLecturesAndExams().stream()
                 // filter old courses and courses the user should not be able to see
                 // skip old courses that have already finished
                 .filter(course -> course.getEndDate() == null || course.getEndDate().isAfter(ZonedDateTime.now())).filter(course -> isCourseVisibleForUser(user, course))
                 .peek(course -> {
-                    course.setExercises(exerciseService.findAllForCourse(course, user));
+                    course.setExercises(exerciseService.filterExercisesForCourseAndUser(course, course.getExercises(), user));
                     course.setLectures(lectureService.filterActiveAttachments(course.getLectures(), user));
                     if (authCheckService.isOnlyStudentInCourse(course, user)) {
                         course.setExams(examRepository.filterVisibleExams(course.getExams()));
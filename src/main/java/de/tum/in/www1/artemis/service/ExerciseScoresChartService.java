@@ -18,6 +18,7 @@ import de.tum.in.www1.artemis.domain.scores.TeamScore;
 import de.tum.in.www1.artemis.repository.ParticipantScoreRepository;
 import de.tum.in.www1.artemis.repository.StudentScoreRepository;
 import de.tum.in.www1.artemis.repository.TeamScoreRepository;
+import de.tum.in.www1.artemis.service.scheduled.ParticipantScoreScheduleService;
 import de.tum.in.www1.artemis.web.rest.dto.ExerciseScoresAggregatedInformation;
 import de.tum.in.www1.artemis.web.rest.dto.ExerciseScoresDTO;
 
@@ -35,11 +36,14 @@ public class ExerciseScoresChartService {
 
     private final ParticipantScoreRepository participantScoreRepository;
 
+    private final ParticipantScoreScheduleService participantScoreScheduleService;
+
     public ExerciseScoresChartService(StudentScoreRepository studentScoreRepository, TeamScoreRepository teamScoreRepository,
-            ParticipantScoreRepository participantScoreRepository) {
+            ParticipantScoreRepository participantScoreRepository, ParticipantScoreScheduleService participantScoreScheduleService) {
         this.studentScoreRepository = studentScoreRepository;
         this.teamScoreRepository = teamScoreRepository;
         this.participantScoreRepository = participantScoreRepository;
+        this.participantScoreScheduleService = participantScoreScheduleService;
     }
 
     /**
@@ -56,6 +60,7 @@ public class ExerciseScoresChartService {
         if (exercises.isEmpty()) {
             return List.of();
         }
+        participantScoreScheduleService.executeScheduledUpdatesOfExercisesAndWait(exercises.stream().map(Exercise::getId).collect(Collectors.toSet()));
         // Getting the score of the student in the exercises
         Map<Long, StudentScore> individualExerciseIdToStudentScore = getScoreOfStudentForIndividualExercises(user,
                 exercises.stream().filter(exercise -> exercise.getMode().equals(ExerciseMode.INDIVIDUAL)).collect(Collectors.toSet()));
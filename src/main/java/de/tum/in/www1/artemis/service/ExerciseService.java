@@ -279,10 +279,23 @@ public class ExerciseService {
      * @return a List of all Exercises for the given course
      */
     public Set<Exercise> findAllForCourse(Course course, User user) {
+        return filterExercisesForCourseAndUser(course, exerciseRepository.findByCourseIdWithCategories(course.getId()), user);
+    }
+
+    /**
+     * Filters the given exercises of a course for the given user, see {@link #findAllForCourse(Course, User)}.
+     * Tutors, editors and instructors see all exercises, students only see the exercises that are visible to them.
+     *
+     * @param course            corresponding course
+     * @param exercisesOfCourse all exercises of the course including their categories, which might be modified
+     * @param user              the user entity
+     * @return the exercises of the course the user is allowed to see or null if the user is not a member of the course
+     */
+    public Set<Exercise> filterExercisesForCourseAndUser(Course course, Set<Exercise> exercisesOfCourse, User user) {
         Set<Exercise> exercises = null;
         if (authCheckService.isAtLeastTeachingAssistantInCourse(course, user)) {
             // tutors/instructors/admins can see all exercises of the course
-            exercises = exerciseRepository.findByCourseIdWithCategories(course.getId());
+            exercises = exercisesOfCourse;
         }
         else if (authCheckService.isOnlyStudentInCourse(course, user)) {
 
@@ -291,7 +304,7 @@ public class ExerciseService {
                 exercises = exerciseRepository.findByCourseIdWhereLtiOutcomeUrlExists(course.getId(), user.getLogin());
             }
             else {
-                exercises = exerciseRepository.findByCourseIdWithCategories(course.getId());
+                exercises = exercisesOfCourse;
             }
 
             // students for this course might not have the right to see it, so we have to
@@ -300,9 +313,8 @@ public class ExerciseService {
         }
 
         if (exercises != null) {
+            setAssignedTeamIdsForExercisesAndUser(exercises, user);
             for (Exercise exercise : exercises) {
-                setAssignedTeamIdForExerciseAndUser(exercise, user);
-
                 // filter out questions and all statistical information about the quizPointStatistic from quizExercises (so users can't see which answer options are correct)
                 if (exercise instanceof QuizExercise quizExercise) {
                     quizExercise.filterSensitiveInformation();
@@ -484,6 +496,28 @@ public class ExerciseService {
         }
     }
 
+    /**
+     * Sets the transient attribute "studentAssignedTeamId" for all team-based exercises of the given exercises with one query
+     *
+     * @param exercises the exercises for which to set the attribute
+     * @param user      the user for which to check to which team (or no team) he belongs to
+     */
+    private void setAssignedTeamIdsForExercisesAndUser(Set<Exercise> exercises, User user) {
+        Set<Long> teamExerciseIds = exercises.stream().filter(Exercise::isTeamMode).map(Exercise::getId).collect(Collectors.toSet());
+        if (teamExerciseIds.isEmpty()) {
+            return;
+        }
+        // convert List<[exerciseId, teamId]> into Map<exerciseId -> teamId>
+        Map<Long, Long> teamIdsByExerciseId = teamRepository.findExerciseIdsWithTeamIdsByExerciseIdsAndUserId(teamExerciseIds, user.getId()).stream()
+                .collect(Collectors.toMap(exerciseIdAndTeamId -> exerciseIdAndTeamId[0], exerciseIdAndTeamId -> exerciseIdAndTeamId[1]));
+        for (Exercise exercise : exercises) {
+            if (exercise.isTeamMode()) {
+                exercise.setStudentAssignedTeamId(teamIdsByExerciseId.get(exercise.getId()));
+                exercise.setStudentAssignedTeamIdComputed(true);
+            }
+        }
+    }
+
     /**
      * Gets the exercise statistics by setting values for each field of the <code>CourseManagementOverviewExerciseStatisticsDTO</code>
      * Exercises with an assessment due date (or due date if there is no assessment due date) in the past are limited to the five most recent
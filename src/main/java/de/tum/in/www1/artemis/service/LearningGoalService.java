@@ -14,6 +14,7 @@ import de.tum.in.www1.artemis.domain.scores.ParticipantScore;
 import de.tum.in.www1.artemis.domain.scores.StudentScore;
 import de.tum.in.www1.artemis.domain.scores.TeamScore;
 import de.tum.in.www1.artemis.repository.*;
+import de.tum.in.www1.artemis.service.scheduled.ParticipantScoreScheduleService;
 import de.tum.in.www1.artemis.web.rest.dto.CourseExerciseStatisticsDTO;
 import de.tum.in.www1.artemis.web.rest.dto.CourseLearningGoalProgress;
 import de.tum.in.www1.artemis.web.rest.dto.IndividualLearningGoalProgress;
@@ -29,12 +30,15 @@ public class LearningGoalService {
 
     private final TeamScoreRepository teamScoreRepository;
 
+    private final ParticipantScoreScheduleService participantScoreScheduleService;
+
     public LearningGoalService(StudentParticipationRepository studentParticipationRepository, ExerciseRepository exerciseRepository, StudentScoreRepository studentScoreRepository,
-            TeamScoreRepository teamScoreRepository) {
+            TeamScoreRepository teamScoreRepository, ParticipantScoreScheduleService participantScoreScheduleService) {
         this.exerciseRepository = exerciseRepository;
         this.studentParticipationRepository = studentParticipationRepository;
         this.studentScoreRepository = studentScoreRepository;
         this.teamScoreRepository = teamScoreRepository;
+        this.participantScoreScheduleService = participantScoreScheduleService;
     }
 
     /**
@@ -66,6 +70,7 @@ public class LearningGoalService {
         List<Exercise> teamExercises = exerciseToLectureUnitProgress.keySet().stream().filter(Exercise::isTeamMode).collect(Collectors.toList());
 
         if (useParticipantScoreTable) {
+            participantScoreScheduleService.executeScheduledUpdatesOfExercisesAndWait(exerciseToLectureUnitProgress.keySet().stream().map(Exercise::getId).toList());
             fillInScoreAchievedByStudentUsingParticipantScores(user, exerciseToLectureUnitProgress, individualExercises, teamExercises);
         }
         else {
@@ -119,6 +124,9 @@ public class LearningGoalService {
         List<ExerciseUnit> filteredExerciseUnits = exerciseUnits.stream()
                 .filter(exerciseUnit -> exerciseUnit.getExercise() != null && exerciseUnit.getExercise().isAssessmentDueDateOver()).toList();
         List<Long> exerciseIds = filteredExerciseUnits.stream().map(exerciseUnit -> exerciseUnit.getExercise().getId()).distinct().collect(Collectors.toList());
+        if (useParticipantScoreTable) {
+            participantScoreScheduleService.executeScheduledUpdatesOfExercisesAndWait(exerciseIds);
+        }
 
         Map<Long, CourseExerciseStatisticsDTO> exerciseIdToExerciseCourseStatistics = this.exerciseRepository.calculateExerciseStatistics(exerciseIds, useParticipantScoreTable)
                 .stream().collect(Collectors.toMap(CourseExerciseStatisticsDTO::getExerciseId, courseExerciseStatisticsDTO -> courseExerciseStatisticsDTO));
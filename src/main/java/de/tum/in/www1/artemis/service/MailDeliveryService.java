@@ -0,0 +1,165 @@
+package de.tum.in.www1.artemis.service;
+
+import java.util.concurrent.*;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.mail.internet.MimeMessage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Service;
+
+import de.tum.in.www1.artemis.domain.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Delivers emails in the background, see {@link MailService#sendNotificationEmailForMultipleUsers}.
+ * <p>
+ * Emails are delivered one after another from a bounded queue, limited to a maximum number of emails per second, so that the notification of a large course does not
+ * overload the mail server. If the queue is full, new emails wait for a free place for a limited time and are only dropped (and counted in a metric) afterwards. Emails that
+ * could not be delivered are queued again with an increasing delay until the maximum number of attempts is reached.
+ */
+@Service
+public class MailDeliveryService {
+
+    private final Logger log = LoggerFactory.getLogger(MailDeliveryService.class);
+
+    private static final String METRIC_PREFIX = "artemis.mail.delivery.";
+
+    private static final long INITIAL_RETRY_DELAY_IN_SECONDS = 30;
+
+    @Value("${artemis.mail-delivery.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${artemis.mail-delivery.max-queue-wait-seconds:60}")
+    private int maxQueueWaitSeconds;
+
+    @Value("${artemis.mail-delivery.max-mails-per-second:10}")
+    private int maxMailsPerSecond;
+
+    @Value("${artemis.mail-delivery.max-attempts:3}")
+    private int maxAttempts;
+
+    private final JavaMailSender javaMailSender;
+
+    private final MeterRegistry meterRegistry;
+
+    private BlockingQueue<QueuedMail> queue;
+
+    private ScheduledExecutorService executor;
+
+    private Counter sentCounter;
+
+    private Counter retriedCounter;
+
+    private Counter failedCounter;
+
+    private Counter rejectedCounter;
+
+    private record QueuedMail(MimeMessage mimeMessage, User recipient, String subject, int attempt) {
+    }
+
+    public MailDeliveryService(JavaMailSender javaMailSender, MeterRegistry meterRegistry) {
+        this.javaMailSender = javaMailSender;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Creates the queue and starts the delivery of the queued emails.
+     */
+    @PostConstruct
+    public void init() {
+        queue = new LinkedBlockingQueue<>(queueCapacity);
+        sentCounter = Counter.builder(METRIC_PREFIX + "mails").tag("result", "sent").description("Number of delivered emails").register(meterRegistry);
+        retriedCounter = Counter.builder(METRIC_PREFIX + "mails").tag("result", "retried").description("Number of failed deliveries that are retried later")
+                .register(meterRegistry);
+        failedCounter = Counter.builder(METRIC_PREFIX + "mails").tag("result", "failed").description("Number of emails that could not be delivered in any attempt")
+                .register(meterRegistry);
+        rejectedCounter = Counter.builder(METRIC_PREFIX + "mails").tag("result", "rejected").description("Number of emails that were dropped because the queue was full")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + "queue-size", queue, BlockingQueue::size).description("Number of emails waiting for their delivery").register(meterRegistry);
+
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "mail-delivery");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // one email is delivered per interval, this limits the number of emails per second
+        long intervalInMillis = Math.max(1, 1000 / Math.max(1, maxMailsPerSecond));
+        executor.scheduleWithFixedDelay(this::deliverNextMail, intervalInMillis, intervalInMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Queues the given email for its delivery. If the queue is full, the calling thread waits until the delivery of other emails frees a place. If this takes too long, the
+     * email is dropped, counted in the metric of rejected emails and a warning is logged.
+     *
+     * @param mimeMessage the prepared email
+     * @param recipient   the recipient of the email, used for logging
+     * @param subject     the subject of the email, used for logging
+     */
+    public void queueMail(MimeMessage mimeMessage, User recipient, String subject) {
+        QueuedMail mail = new QueuedMail(mimeMessage, recipient, subject, 1);
+        try {
+            if (!queue.offer(mail, maxQueueWaitSeconds, TimeUnit.SECONDS)) {
+                rejectMail(mail);
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejectMail(mail);
+        }
+    }
+
+    private void queueRetry(QueuedMail mail) {
+        // the retry is queued by the delivery thread, which must not wait for itself to free a place
+        if (!queue.offer(mail)) {
+            rejectMail(mail);
+        }
+    }
+
+    private void rejectMail(QueuedMail mail) {
+        rejectedCounter.increment();
+        log.warn("Email with subject '{}' to user '{}' was not sent, because {} emails are already waiting for their delivery", mail.subject(), mail.recipient(), queueCapacity);
+    }
+
+    private void deliverNextMail() {
+        QueuedMail mail = queue.poll();
+        if (mail == null) {
+            return;
+        }
+        try {
+            javaMailSender.send(mail.mimeMessage());
+            sentCounter.increment();
+            log.info("Sent email with subject '{}' to User '{}'", mail.subject(), mail.recipient());
+        }
+        catch (MailException e) {
+            if (mail.attempt() < maxAttempts) {
+                retriedCounter.increment();
+                long retryDelayInSeconds = INITIAL_RETRY_DELAY_IN_SECONDS << (mail.attempt() - 1);
+                log.info("Email to user '{}' could not be sent in attempt {}, retrying in {} seconds: {}", mail.recipient(), mail.attempt(), retryDelayInSeconds, e.getMessage());
+                QueuedMail retry = new QueuedMail(mail.mimeMessage(), mail.recipient(), mail.subject(), mail.attempt() + 1);
+                executor.schedule(() -> queueRetry(retry), retryDelayInSeconds, TimeUnit.SECONDS);
+            }
+            else {
+                failedCounter.increment();
+                log.warn("Email could not be sent to user '{}'", mail.recipient(), e);
+            }
+        }
+        catch (RuntimeException e) {
+            // the scheduled delivery must not stop because of an unexpected exception
+            failedCounter.increment();
+            log.error("Email could not be sent to user '{}'", mail.recipient(), e);
+        }
+    }
+}
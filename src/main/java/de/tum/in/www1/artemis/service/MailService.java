@@ -7,6 +7,8 @@ import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import javax.mail.MessagingException;
 import javax.mail.internet.MimeMessage;
@@ -20,9 +22,11 @@ import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.web.util.HtmlUtils;
 import org.thymeleaf.context.Context;
 import org.thymeleaf.spring5.SpringTemplateEngine;
 
+import de.tum.in.www1.artemis.config.Constants;
 import de.tum.in.www1.artemis.domain.*;
 import de.tum.in.www1.artemis.domain.enumeration.NotificationType;
 import de.tum.in.www1.artemis.domain.metis.Post;
@@ -35,7 +39,7 @@ import tech.jhipster.config.JHipsterProperties;
 /**
  * Service for sending emails.
  * <p>
- * We use the @Async annotation to send emails asynchronously.
+ * We use the @Async annotation to send emails asynchronously. Notification emails for multiple users are delivered by the {@link MailDeliveryService}.
  */
 @Service
 public class MailService {
@@ -59,6 +63,8 @@ public class MailService {
 
     private final TimeService timeService;
 
+    private final MailDeliveryService mailDeliveryService;
+
     // notification related variables
 
     private static final String NOTIFICATION = "notification";
@@ -81,13 +87,17 @@ public class MailService {
     // time related variables
     private static final String TIME_SERVICE = "timeService";
 
+    // the name of the recipient in notification emails that are created once for multiple users, it is replaced with the name of each user
+    private static final String RECIPIENT_NAME_PLACEHOLDER = "ARTEMISRECIPIENTNAMEPLACEHOLDER";
+
     public MailService(JHipsterProperties jHipsterProperties, JavaMailSender javaMailSender, MessageSource messageSource, SpringTemplateEngine templateEngine,
-            TimeService timeService) {
+            TimeService timeService, MailDeliveryService mailDeliveryService) {
         this.jHipsterProperties = jHipsterProperties;
         this.javaMailSender = javaMailSender;
         this.messageSource = messageSource;
         this.templateEngine = templateEngine;
         this.timeService = timeService;
+        this.mailDeliveryService = mailDeliveryService;
     }
 
     /**
@@ -103,14 +113,8 @@ public class MailService {
     public void sendEmail(User recipient, String subject, String content, boolean isMultipart, boolean isHtml) {
         log.debug("Send email[multipart '{}' and html '{}'] to '{}' with subject '{}' and content={}", isMultipart, isHtml, recipient, subject, content);
 
-        // Prepare message using a Spring helper
-        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
         try {
-            MimeMessageHelper message = new MimeMessageHelper(mimeMessage, isMultipart, StandardCharsets.UTF_8.name());
-            message.setTo(recipient.getEmail());
-            message.setFrom(jHipsterProperties.getMail().getFrom());
-            message.setSubject(subject);
-            message.setText(content, isHtml);
+            MimeMessage mimeMessage = createMimeMessage(recipient, subject, content, isMultipart, isHtml);
             javaMailSender.send(mimeMessage);
             log.info("Sent email with subject '{}' to User '{}'", subject, recipient);
         }
@@ -119,6 +123,17 @@ public class MailService {
         }
     }
 
+    private MimeMessage createMimeMessage(User recipient, String subject, String content, boolean isMultipart, boolean isHtml) throws MessagingException {
+        // Prepare message using a Spring helper
+        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+        MimeMessageHelper message = new MimeMessageHelper(mimeMessage, isMultipart, StandardCharsets.UTF_8.name());
+        message.setTo(recipient.getEmail());
+        message.setFrom(jHipsterProperties.getMail().getFrom());
+        message.setSubject(subject);
+        message.setText(content, isHtml);
+        return mimeMessage;
+    }
+
     /**
      * Sends a predefined mail based on a template
      *
@@ -185,6 +200,22 @@ public class MailService {
         Locale locale = Locale.forLanguageTag(user.getLangKey());
 
         Context context = new Context(locale);
+        String subject = prepareNotificationContextAndSubject(context, notification, notificationType, user, notificationSubject);
+        String content = createContentForNotificationEmailByType(notificationType, context);
+
+        sendEmail(user, subject, content, false, true);
+    }
+
+    /**
+     * Sets the variables of the notification email templates in the given context
+     * @param context that is modified
+     * @param notification which properties are used to create the email
+     * @param notificationType of the notification
+     * @param user who should be contacted
+     * @param notificationSubject that is used to provide further information (e.g. exercise, attachment, post, etc.)
+     * @return the subject of the email
+     */
+    private String prepareNotificationContextAndSubject(Context context, Notification notification, NotificationType notificationType, User user, Object notificationSubject) {
         context.setVariable(USER, user);
         context.setVariable(NOTIFICATION, notification);
         context.setVariable(NOTIFICATION_SUBJECT, notificationSubject);
@@ -194,22 +225,19 @@ public class MailService {
 
         if (notificationSubject instanceof Exercise) {
             context.setVariable(EXERCISE_TYPE, ((Exercise) notificationSubject).getExerciseType());
-            context = checkAndPrepareExerciseSubmissionAssessedCase(notificationType, context, (Exercise) notificationSubject, user);
+            checkAndPrepareExerciseSubmissionAssessedCase(notificationType, context, (Exercise) notificationSubject, user);
         }
 
         if (notificationSubject instanceof Post) {
             // posts use a different mechanism for the url
             context.setVariable(NOTIFICATION_URL, extractNotificationUrl((Post) notificationSubject, artemisServerUrl.toString()));
-            subject = setPostContextAndSubject(context, notificationSubject, locale);
+            subject = setPostContextAndSubject(context, notificationSubject, context.getLocale());
         }
         else {
             context.setVariable(NOTIFICATION_URL, extractNotificationUrl(notification, artemisServerUrl.toString()));
         }
         context.setVariable(BASE_URL, artemisServerUrl);
-
-        String content = createContentForNotificationEmailByType(notificationType, context);
-
-        sendEmail(user, subject, content, false, true);
+        return subject;
     }
 
     /**
@@ -238,9 +266,8 @@ public class MailService {
      * @param context that should be updated with the score property
      * @param exercise that holds the needed information: exercise -> studentParticipation -> results (this information was loaded in previous steps)
      * @param recipientStudent who will receive the email
-     * @return the updated context
      */
-    private Context checkAndPrepareExerciseSubmissionAssessedCase(NotificationType notificationType, Context context, Exercise exercise, User recipientStudent) {
+    private void checkAndPrepareExerciseSubmissionAssessedCase(NotificationType notificationType, Context context, Exercise exercise, User recipientStudent) {
         if (notificationType.equals(EXERCISE_SUBMISSION_ASSESSED)) {
             StudentParticipation studentParticipation = exercise.getStudentParticipations().stream()
                     .filter(participation -> participation.getStudent().orElseThrow().equals(recipientStudent)).findFirst().orElseThrow();
@@ -248,11 +275,48 @@ public class MailService {
             context.setVariable(ASSESSED_SCORE, score);
             context.setVariable(RELATIVE_SCORE, exercise.getMaxPoints() / score);
         }
-        return context;
     }
 
+    /**
+     * Sends a notification based email to multiple users.
+     * The content of the email is only created once per language, only the name of the recipient is replaced for every user.
+     * The emails are delivered in the background by the {@link MailDeliveryService}.
+     *
+     * @param notification which properties are used to create the email
+     * @param users who should be contacted
+     * @param notificationSubject that is used to provide further information (e.g. exercise, attachment, post, etc.)
+     */
     @Async
     public void sendNotificationEmailForMultipleUsers(GroupNotification notification, List<User> users, Object notificationSubject) {
-        users.forEach(user -> sendNotificationEmail(notification, user, notificationSubject));
+        NotificationType notificationType = NotificationTitleTypeConstants.findCorrespondingNotificationType(notification.getTitle());
+        if (notificationType == EXERCISE_SUBMISSION_ASSESSED) {
+            // the email contains the individual score of each user
+            users.forEach(user -> sendNotificationEmail(notification, user, notificationSubject));
+            return;
+        }
+        log.debug("Sending \"{}\" notification email to {} users", notificationType.name(), users.size());
+
+        Map<String, List<User>> usersByLangKey = users.stream()
+                .collect(Collectors.groupingBy(user -> user.getLangKey() != null ? user.getLangKey() : Constants.DEFAULT_LANGUAGE));
+        usersByLangKey.forEach((langKey, usersWithLangKey) -> {
+            User placeholderRecipient = new User();
+            placeholderRecipient.setFirstName(RECIPIENT_NAME_PLACEHOLDER);
+
+            Context context = new Context(Locale.forLanguageTag(langKey));
+            String subject = prepareNotificationContextAndSubject(context, notification, notificationType, placeholderRecipient, notificationSubject);
+            String content = createContentForNotificationEmailByType(notificationType, context);
+
+            for (User user : usersWithLangKey) {
+                // the name is escaped in the same way as the template engine escapes it
+                String recipientName = user.getName() != null ? HtmlUtils.htmlEscape(user.getName(), StandardCharsets.UTF_8.name()) : "";
+                try {
+                    MimeMessage mimeMessage = createMimeMessage(user, subject, content.replace(RECIPIENT_NAME_PLACEHOLDER, recipientName), false, true);
+                    mailDeliveryService.queueMail(mimeMessage, user, subject);
+                }
+                catch (MessagingException e) {
+                    log.warn("Email could not be created for user '{}'", user, e);
+                }
+            }
+        });
     }
 }
@@ -17,6 +17,7 @@ import de.tum.in.www1.artemis.domain.enumeration.IncludedInOverallScore;
 import de.tum.in.www1.artemis.domain.exam.Exam;
 import de.tum.in.www1.artemis.domain.exam.ExerciseGroup;
 import de.tum.in.www1.artemis.repository.*;
+import de.tum.in.www1.artemis.service.scheduled.ParticipantScoreScheduleService;
 import de.tum.in.www1.artemis.web.rest.dto.ParticipantScoreAverageDTO;
 import de.tum.in.www1.artemis.web.rest.dto.ParticipantScoreDTO;
 import de.tum.in.www1.artemis.web.rest.dto.ScoreDTO;
@@ -32,12 +33,15 @@ public class ParticipantScoreService {
 
     private final ParticipantScoreRepository participantScoreRepository;
 
+    private final ParticipantScoreScheduleService participantScoreScheduleService;
+
     public ParticipantScoreService(UserRepository userRepository, StudentScoreRepository studentScoreRepository, TeamScoreRepository teamScoreRepository,
-            ParticipantScoreRepository participantScoreRepository) {
+            ParticipantScoreRepository participantScoreRepository, ParticipantScoreScheduleService participantScoreScheduleService) {
         this.userRepository = userRepository;
         this.studentScoreRepository = studentScoreRepository;
         this.teamScoreRepository = teamScoreRepository;
         this.participantScoreRepository = participantScoreRepository;
+        this.participantScoreScheduleService = participantScoreScheduleService;
     }
 
     /**
@@ -104,6 +108,8 @@ public class ParticipantScoreService {
         if (scoreCalculationDenominator.equals(0.0)) {
             return List.of();
         }
+        // the participant scores of all results that were already saved have to be included
+        participantScoreScheduleService.executeScheduledUpdatesOfExercisesAndWait(getIds(exercises));
 
         Set<Exercise> individualExercises = exercises.stream().filter(exercise -> !exercise.isTeamMode()).collect(Collectors.toSet());
         Set<Exercise> teamExercises = exercises.stream().filter(Exercise::isTeamMode).collect(Collectors.toSet());
@@ -158,6 +164,7 @@ public class ParticipantScoreService {
      * @return all participant scores of the exercises converted to DTOs
      */
     public List<ParticipantScoreDTO> getParticipantScoreDTOs(Pageable pageable, Set<Exercise> exercises) {
+        participantScoreScheduleService.executeScheduledUpdatesOfExercisesAndWait(getIds(exercises));
         Set<Exercise> individualExercisesOfCourse = exercises.stream().filter(exercise -> exercise.getMode().equals(ExerciseMode.INDIVIDUAL)).collect(Collectors.toSet());
         Set<Exercise> teamExercisesOfCourse = exercises.stream().filter(exercise -> exercise.getMode().equals(ExerciseMode.TEAM)).collect(Collectors.toSet());
 
@@ -175,6 +182,7 @@ public class ParticipantScoreService {
      * @return DTOs containing the statistics for every user / team
      */
     public List<ParticipantScoreAverageDTO> getParticipantScoreAverageDTOs(Set<Exercise> exercises) {
+        participantScoreScheduleService.executeScheduledUpdatesOfExercisesAndWait(getIds(exercises));
         Set<Exercise> individualExercises = exercises.stream().filter(exercise -> exercise.getMode().equals(ExerciseMode.INDIVIDUAL)).collect(Collectors.toSet());
         Set<Exercise> teamExercises = exercises.stream().filter(exercise -> exercise.getMode().equals(ExerciseMode.TEAM)).collect(Collectors.toSet());
 
@@ -192,6 +200,7 @@ public class ParticipantScoreService {
      * @return average last score or average last rated score achieved in the given exercises
      */
     public Double getAverageScore(@RequestParam(defaultValue = "true", required = false) boolean onlyConsiderRatedScores, Set<Exercise> includedExercises) {
+        participantScoreScheduleService.executeScheduledUpdatesOfExercisesAndWait(getIds(includedExercises));
         Double averageScore;
         if (onlyConsiderRatedScores) {
             averageScore = participantScoreRepository.findAvgRatedScore(includedExercises);
@@ -202,4 +211,7 @@ public class ParticipantScoreService {
         return averageScore;
     }
 
+    private static Set<Long> getIds(Set<Exercise> exercises) {
+        return exercises.stream().map(Exercise::getId).collect(Collectors.toSet());
+    }
 }
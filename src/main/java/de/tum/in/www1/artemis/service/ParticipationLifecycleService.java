@@ -61,7 +61,14 @@ public class ParticipationLifecycleService {
         }
     }
 
-    private Optional<ZonedDateTime> getDateForLifecycle(Participation participation, ParticipationLifecycle lifecycle) {
+    /**
+     * Finds the date at which a task for the given lifecycle of the participation would be run.
+     *
+     * @param participation for which the date should be determined.
+     * @param lifecycle for which the date should be determined.
+     * @return the date of the lifecycle, or nothing if the participation has no such date.
+     */
+    public Optional<ZonedDateTime> getDateForLifecycle(Participation participation, ParticipationLifecycle lifecycle) {
         return switch (lifecycle) {
             case DUE -> exerciseDateService.getDueDate(participation);
             case BUILD_AND_TEST_AFTER_DUE_DATE -> getBuildAndTestAfterDueDate(participation);
@@ -366,6 +366,8 @@ public class QuizExerciseService {
             // make sure we have all objects available before updating the statistics to avoid lazy / proxy issues
             quizExercise = quizExerciseRepository.findByIdWithQuestionsAndStatisticsElseThrow(quizExercise.getId());
             quizStatisticService.recalculateStatistics(quizExercise);
+            // the cached unrated results used for incremental statistic updates contain the old scores
+            quizScheduleService.clearLatestUnratedResults(quizExercise.getId());
         }
         // fetch the quiz exercise again to make sure the latest changes are included
         return quizExerciseRepository.findByIdWithQuestionsAndStatisticsElseThrow(quizExercise.getId());
@@ -1,8 +1,6 @@
 package de.tum.in.www1.artemis.service;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,7 +8,6 @@ import org.springframework.messaging.simp.SimpMessageSendingOperations;
 import org.springframework.stereotype.Service;
 
 import de.tum.in.www1.artemis.domain.Result;
-import de.tum.in.www1.artemis.domain.participation.Participation;
 import de.tum.in.www1.artemis.domain.quiz.*;
 import de.tum.in.www1.artemis.repository.*;
 
@@ -19,8 +16,6 @@ public class QuizStatisticService {
 
     private final Logger log = LoggerFactory.getLogger(QuizStatisticService.class);
 
-    private final StudentParticipationRepository studentParticipationRepository;
-
     private final ResultRepository resultRepository;
 
     private final QuizPointStatisticRepository quizPointStatisticRepository;
@@ -29,9 +24,8 @@ public class QuizStatisticService {
 
     private final SimpMessageSendingOperations messagingTemplate;
 
-    public QuizStatisticService(StudentParticipationRepository studentParticipationRepository, ResultRepository resultRepository, SimpMessageSendingOperations messagingTemplate,
-            QuizPointStatisticRepository quizPointStatisticRepository, QuizQuestionStatisticRepository quizQuestionStatisticRepository) {
-        this.studentParticipationRepository = studentParticipationRepository;
+    public QuizStatisticService(ResultRepository resultRepository, SimpMessageSendingOperations messagingTemplate, QuizPointStatisticRepository quizPointStatisticRepository,
+            QuizQuestionStatisticRepository quizQuestionStatisticRepository) {
         this.resultRepository = resultRepository;
         this.quizPointStatisticRepository = quizPointStatisticRepository;
         this.quizQuestionStatisticRepository = quizQuestionStatisticRepository;
@@ -62,29 +56,25 @@ public class QuizStatisticService {
             }
         }
 
-        // add the Results in every participation of the given quizExercise to the statistics
-        for (Participation participation : studentParticipationRepository.findByExerciseId(quizExercise.getId())) {
-
-            Result latestRatedResult = null;
-            Result latestUnratedResult = null;
-
-            // update all Results of a participation
-            for (Result result : resultRepository.findAllByParticipationIdOrderByCompletionDateDesc(participation.getId())) {
-
-                // find the latest rated Result
-                if (Boolean.TRUE.equals(result.isRated()) && (latestRatedResult == null || latestRatedResult.getCompletionDate().isBefore(result.getCompletionDate()))) {
-                    latestRatedResult = result;
-                }
-                // find latest unrated Result
-                if (Boolean.FALSE.equals(result.isRated()) && (latestUnratedResult == null || latestUnratedResult.getCompletionDate().isBefore(result.getCompletionDate()))) {
-                    latestUnratedResult = result;
-                }
+        // find the latest rated and unrated Result of every participation of the given quizExercise, all results are loaded with one query (ordered by the completion date)
+        Map<Long, Result> latestRatedResults = new HashMap<>();
+        Map<Long, Result> latestUnratedResults = new HashMap<>();
+        for (Result result : resultRepository.findByParticipationExerciseIdOrderByCompletionDateAsc(quizExercise.getId())) {
+            if (result.getParticipation() == null || result.getCompletionDate() == null) {
+                continue;
+            }
+            if (Boolean.TRUE.equals(result.isRated())) {
+                latestRatedResults.put(result.getParticipation().getId(), result);
+            }
+            else if (Boolean.FALSE.equals(result.isRated())) {
+                latestUnratedResults.put(result.getParticipation().getId(), result);
             }
-            // update statistics with the latest rated und unrated Result
-            quizExercise.addResultToAllStatistics(latestRatedResult);
-            quizExercise.addResultToAllStatistics(latestUnratedResult);
         }
 
+        // update statistics with the latest rated und unrated Result
+        latestRatedResults.values().forEach(quizExercise::addResultToAllStatistics);
+        latestUnratedResults.values().forEach(quizExercise::addResultToAllStatistics);
+
         // save changed Statistics
         quizPointStatisticRepository.save(quizExercise.getQuizPointStatistic());
         quizPointStatisticRepository.flush();
@@ -104,17 +94,39 @@ public class QuizStatisticService {
      * @param quiz    the quizExercise with Questions where the results should contain to
      */
     public void updateStatistics(Set<Result> results, QuizExercise quiz) {
+        updateStatistics(results, quiz, new HashMap<>());
+    }
+
+    /**
+     * 1. check for each result if it's rated -> true: check if there is an old Result -> true: remove the old Result from the statistics 2. add new Result to the
+     * quiz-point-statistic and all question-statistics
+     * <p>
+     * The previous unrated Result of a participation is taken from the given map if possible, so that the database only has to be queried for participations, whose previous
+     * Result is not known (anymore). The map is updated with the new unrated Results.
+     *
+     * @param results              the results, which will be added to the statistics
+     * @param quiz                 the quizExercise with Questions where the results should contain to
+     * @param latestUnratedResults the latest unrated results that are contained in the statistics by their participation id (e.g. cached in the QuizExerciseCache)
+     */
+    public void updateStatistics(Set<Result> results, QuizExercise quiz, Map<Long, Result> latestUnratedResults) {
 
         if (results != null && quiz != null && quiz.getQuizQuestions() != null) {
             log.debug("update statistics with {} new results", results.size());
 
-            for (Result result : results) {
+            // process the results in the order they were created, so that several new results of the same participation replace each other correctly
+            List<Result> sortedResults = new ArrayList<>(results);
+            sortedResults.sort(Comparator.comparing(Result::getCompletionDate, Comparator.nullsFirst(Comparator.naturalOrder())));
+
+            for (Result result : sortedResults) {
                 // check if the result is rated
                 // NOTE: there is never an old Result if the new result is rated
                 if (Boolean.FALSE.equals(result.isRated())) {
-                    quiz.removeResultFromAllStatistics(getPreviousResult(result));
+                    quiz.removeResultFromAllStatistics(getPreviousUnratedResult(result, quiz, latestUnratedResults));
                 }
                 quiz.addResultToAllStatistics(result);
+                if (Boolean.FALSE.equals(result.isRated()) && result.getParticipation() != null) {
+                    latestUnratedResults.put(result.getParticipation().getId(), copyResultForStatistics(result));
+                }
             }
             // save statistics
             quizPointStatisticRepository.save(quiz.getQuizPointStatistic());
@@ -132,6 +144,167 @@ public class QuizStatisticService {
         }
     }
 
+    /**
+     * Return the latest unrated Result before the new Result, which is presented in the Statistics.
+     * The cached Result is used if it is older than the new Result, otherwise all Results of the participation are queried from the database
+     *
+     * @param newResult            the new unrated result object which will replace the old Result in the Statistics
+     * @param quiz                 the quizExercise with Questions, used to reconnect the submitted answers of the cached Result
+     * @param latestUnratedResults the latest unrated results that are contained in the statistics by their participation id
+     * @return the previous Result, which is presented in the Statistics (null if where is no previous Result)
+     */
+    private Result getPreviousUnratedResult(Result newResult, QuizExercise quiz, Map<Long, Result> latestUnratedResults) {
+        if (newResult.getParticipation() == null) {
+            return null;
+        }
+        Result cachedResult = latestUnratedResults.get(newResult.getParticipation().getId());
+        if (cachedResult != null && cachedResult.getCompletionDate() != null && newResult.getCompletionDate() != null && !cachedResult.equals(newResult)
+                && cachedResult.getCompletionDate().isBefore(newResult.getCompletionDate())) {
+            // the scoring of some questions (e.g. short answer) requires the complete question and answers of the submitted answer
+            if (cachedResult.getSubmission() instanceof QuizSubmission quizSubmission && quizSubmission.getSubmittedAnswers() != null) {
+                for (SubmittedAnswer submittedAnswer : quizSubmission.getSubmittedAnswers()) {
+                    if (submittedAnswer.getQuizQuestion() != null) {
+                        QuizQuestion quizQuestion = quiz.findQuestionById(submittedAnswer.getQuizQuestion().getId());
+                        submittedAnswer.setQuizQuestion(quizQuestion);
+                        reconnectSubmittedAnswer(submittedAnswer, quizQuestion);
+                    }
+                }
+            }
+            return cachedResult;
+        }
+        return getPreviousResult(newResult);
+    }
+
+    /**
+     * Creates a copy of the given result, which only contains the information required to remove it from the statistics again, i.e. the score and the submitted answers.
+     * NOTE: the submitted answers are copied as well and their questions, answer options, drag items, drop locations and spots only contain the id, so that the cached copy
+     * does not reference the quiz exercise. The given result is not changed
+     *
+     * @param result the result that was added to the statistics
+     * @return the reduced copy of the result
+     */
+    private Result copyResultForStatistics(Result result) {
+        Result copy = new Result();
+        copy.setId(result.getId());
+        copy.setScore(result.getScore());
+        copy.setRated(result.isRated());
+        copy.setCompletionDate(result.getCompletionDate());
+        if (result.getSubmission() instanceof QuizSubmission quizSubmission) {
+            QuizSubmission submissionCopy = new QuizSubmission();
+            submissionCopy.setId(quizSubmission.getId());
+            if (quizSubmission.getSubmittedAnswers() != null) {
+                for (SubmittedAnswer submittedAnswer : quizSubmission.getSubmittedAnswers()) {
+                    SubmittedAnswer submittedAnswerCopy = copySubmittedAnswerForStatistics(submittedAnswer);
+                    if (submittedAnswerCopy != null) {
+                        submissionCopy.addSubmittedAnswers(submittedAnswerCopy);
+                    }
+                }
+            }
+            copy.setSubmission(submissionCopy);
+        }
+        return copy;
+    }
+
+    /**
+     * Creates a copy of the given submitted answer with its selected options, mappings or submitted texts, whose question only contains the id
+     *
+     * @param submittedAnswer the submitted answer of a result that was added to the statistics
+     * @return the copy of the submitted answer or null if the type of the submitted answer is unknown
+     */
+    private SubmittedAnswer copySubmittedAnswerForStatistics(SubmittedAnswer submittedAnswer) {
+        SubmittedAnswer copy;
+        if (submittedAnswer instanceof MultipleChoiceSubmittedAnswer multipleChoiceSubmittedAnswer) {
+            MultipleChoiceSubmittedAnswer multipleChoiceCopy = new MultipleChoiceSubmittedAnswer();
+            for (AnswerOption answerOption : multipleChoiceSubmittedAnswer.getSelectedOptions()) {
+                AnswerOption answerOptionCopy = new AnswerOption();
+                answerOptionCopy.setId(answerOption.getId());
+                multipleChoiceCopy.addSelectedOptions(answerOptionCopy);
+            }
+            copy = multipleChoiceCopy;
+        }
+        else if (submittedAnswer instanceof DragAndDropSubmittedAnswer dragAndDropSubmittedAnswer) {
+            DragAndDropSubmittedAnswer dragAndDropCopy = new DragAndDropSubmittedAnswer();
+            for (DragAndDropMapping mapping : dragAndDropSubmittedAnswer.getMappings()) {
+                DragAndDropMapping mappingCopy = new DragAndDropMapping();
+                mappingCopy.setId(mapping.getId());
+                mappingCopy.setDragItemIndex(mapping.getDragItemIndex());
+                mappingCopy.setDropLocationIndex(mapping.getDropLocationIndex());
+                mappingCopy.setInvalid(mapping.isInvalid());
+                if (mapping.getDragItem() != null) {
+                    DragItem dragItemCopy = new DragItem();
+                    dragItemCopy.setId(mapping.getDragItem().getId());
+                    mappingCopy.setDragItem(dragItemCopy);
+                }
+                if (mapping.getDropLocation() != null) {
+                    DropLocation dropLocationCopy = new DropLocation();
+                    dropLocationCopy.setId(mapping.getDropLocation().getId());
+                    mappingCopy.setDropLocation(dropLocationCopy);
+                }
+                dragAndDropCopy.addMappings(mappingCopy);
+            }
+            copy = dragAndDropCopy;
+        }
+        else if (submittedAnswer instanceof ShortAnswerSubmittedAnswer shortAnswerSubmittedAnswer) {
+            ShortAnswerSubmittedAnswer shortAnswerCopy = new ShortAnswerSubmittedAnswer();
+            for (ShortAnswerSubmittedText submittedText : shortAnswerSubmittedAnswer.getSubmittedTexts()) {
+                ShortAnswerSubmittedText submittedTextCopy = new ShortAnswerSubmittedText();
+                submittedTextCopy.setId(submittedText.getId());
+                submittedTextCopy.setText(submittedText.getText());
+                submittedTextCopy.setIsCorrect(submittedText.isIsCorrect());
+                if (submittedText.getSpot() != null) {
+                    ShortAnswerSpot spotCopy = new ShortAnswerSpot();
+                    spotCopy.setId(submittedText.getSpot().getId());
+                    submittedTextCopy.setSpot(spotCopy);
+                }
+                shortAnswerCopy.addSubmittedTexts(submittedTextCopy);
+            }
+            copy = shortAnswerCopy;
+        }
+        else {
+            return null;
+        }
+        copy.setId(submittedAnswer.getId());
+        copy.setScoreInPoints(submittedAnswer.getScoreInPoints());
+        if (submittedAnswer.getQuizQuestion() != null) {
+            copy.setQuizQuestion(submittedAnswer.getQuizQuestion().copyQuestionId());
+        }
+        return copy;
+    }
+
+    /**
+     * Replaces the answer options, drag items, drop locations and spots of a cached submitted answer, which only contain the id, with the ones of the given question.
+     * Answers that are not contained in the question anymore keep their id.
+     *
+     * @param submittedAnswer the submitted answer of a cached result
+     * @param quizQuestion    the question of the quiz exercise whose statistics are updated
+     */
+    private void reconnectSubmittedAnswer(SubmittedAnswer submittedAnswer, QuizQuestion quizQuestion) {
+        if (submittedAnswer instanceof MultipleChoiceSubmittedAnswer multipleChoiceSubmittedAnswer && quizQuestion instanceof MultipleChoiceQuestion multipleChoiceQuestion) {
+            Set<AnswerOption> selectedOptions = new HashSet<>();
+            for (AnswerOption answerOption : multipleChoiceSubmittedAnswer.getSelectedOptions()) {
+                selectedOptions.add(Objects.requireNonNullElse(multipleChoiceQuestion.findAnswerOptionById(answerOption.getId()), answerOption));
+            }
+            multipleChoiceSubmittedAnswer.setSelectedOptions(selectedOptions);
+        }
+        else if (submittedAnswer instanceof DragAndDropSubmittedAnswer dragAndDropSubmittedAnswer && quizQuestion instanceof DragAndDropQuestion dragAndDropQuestion) {
+            for (DragAndDropMapping mapping : dragAndDropSubmittedAnswer.getMappings()) {
+                if (mapping.getDragItem() != null) {
+                    mapping.setDragItem(Objects.requireNonNullElse(dragAndDropQuestion.findDragItemById(mapping.getDragItem().getId()), mapping.getDragItem()));
+                }
+                if (mapping.getDropLocation() != null) {
+                    mapping.setDropLocation(Objects.requireNonNullElse(dragAndDropQuestion.findDropLocationById(mapping.getDropLocation().getId()), mapping.getDropLocation()));
+                }
+            }
+        }
+        else if (submittedAnswer instanceof ShortAnswerSubmittedAnswer shortAnswerSubmittedAnswer && quizQuestion instanceof ShortAnswerQuestion shortAnswerQuestion) {
+            for (ShortAnswerSubmittedText submittedText : shortAnswerSubmittedAnswer.getSubmittedTexts()) {
+                if (submittedText.getSpot() != null) {
+                    submittedText.setSpot(Objects.requireNonNullElse(shortAnswerQuestion.findSpotById(submittedText.getSpot().getId()), submittedText.getSpot()));
+                }
+            }
+        }
+    }
+
     /**
      * Go through all Results in the Participation and return the latest one before the new Result,
      *
@@ -106,13 +106,11 @@ public class QuizSubmissionService {
      * @param username the username of the user who has initiated the request
      * @param submitted whether the user has pressed the submit button or not
      *
-     * @return the updated quiz submission object
+     * @return the updated quiz submission object, or the newer cached submission of the user if this save was outdated and dropped
      * @throws QuizSubmissionException handles errors, e.g. when the live quiz has already ended, or when the quiz was already submitted before
      */
     public QuizSubmission saveSubmissionForLiveMode(Long exerciseId, QuizSubmission quizSubmission, String username, boolean submitted) throws QuizSubmissionException {
 
-        // TODO: what happens if a user executes this call twice in the same moment (using 2 threads)
-
         String logText = submitted ? "submit quiz in live mode:" : "save quiz in live mode:";
 
         long start = System.nanoTime();
@@ -131,17 +129,9 @@ public class QuizSubmissionService {
         // TODO: add one additional check: fetch quizSubmission.getId() with the corresponding participation and check that the user of participation is the
         // same as the user who executes this call. This prevents injecting submissions to other users
 
-        // check if user already submitted for this quiz
-        Participation participation = participationService.participationForQuizWithResult(quizExercise, username);
-        log.debug("{} Received participation for user {} in quiz {} in {} µs.", logText, username, exerciseId, (System.nanoTime() - start) / 1000);
-        if (!participation.getResults().isEmpty()) {
-            log.debug("Participation for user {} in quiz {} has results", username, exerciseId);
-            // NOTE: At this point, there can only be one Result because we already checked
-            // if the quiz is active, so there is no way the student could have already practiced
-            Result result = participation.getResults().iterator().next();
-            if (result.getSubmission().isSubmitted()) {
-                throw new QuizSubmissionException("You have already submitted the quiz");
-            }
+        // check if user already submitted for this quiz (the submitted users are cached as long as the quiz is active, so we do not need to access the database here)
+        if (quizScheduleService.hasSubmitted(exerciseId, username)) {
+            throw new QuizSubmissionException("You have already submitted the quiz");
         }
 
         // recreate pointers back to submission in each submitted answer
@@ -152,8 +142,16 @@ public class QuizSubmissionService {
         // set submission date
         quizSubmission.setSubmissionDate(ZonedDateTime.now());
 
-        // save submission to HashMap
-        quizScheduleService.updateSubmission(exerciseId, username, quizSubmission);
+        // save submission to HashMap, unless a newer save of the user overtook this one
+        Optional<QuizSubmission> newerSubmission = quizScheduleService.updateSubmissionIfNewer(exerciseId, username, quizSubmission);
+        if (newerSubmission.isPresent()) {
+            if (Boolean.TRUE.equals(newerSubmission.get().isSubmitted())) {
+                throw new QuizSubmissionException("You have already submitted the quiz");
+            }
+            // the newer save is returned, so that the outdated one is not mistaken for the saved state
+            log.debug("{} Dropped outdated quiz submission {} for user {} in quiz {}", logText, quizSubmission.getSequenceNumber(), username, exerciseId);
+            return newerSubmission.get();
+        }
 
         log.info("{} Saved quiz submission for user {} in quiz {} after {} µs ", logText, username, exerciseId, (System.nanoTime() - start) / 1000);
         return quizSubmission;
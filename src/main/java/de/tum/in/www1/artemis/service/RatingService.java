@@ -2,6 +2,7 @@ package de.tum.in.www1.artemis.service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -96,12 +97,12 @@ public class RatingService {
     }
 
     /**
-     * Computes rating information for the given exercise.
+     * Computes rating information for the given exercises.
      *
-     * @param exerciseId - id of the exercise
-     * @return the rating information of the exercise
+     * @param exerciseIds - ids of the exercises
+     * @return the rating information of the exercises, exercises without completed results are not included
      */
-    public ExerciseRatingCount averageRatingByExerciseId(Long exerciseId) {
-        return ratingRepository.averageRatingByExerciseId(exerciseId);
+    public List<ExerciseRatingCount> averageRatingByExerciseIds(Set<Long> exerciseIds) {
+        return ratingRepository.averageRatingByExerciseIds(exerciseIds);
     }
 }
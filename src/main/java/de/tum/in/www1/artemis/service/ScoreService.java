@@ -2,8 +2,7 @@ package de.tum.in.www1.artemis.service;
 
 import static de.tum.in.www1.artemis.service.util.RoundingUtil.roundScoreSpecifiedByCourseSettings;
 
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -15,7 +14,6 @@ import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import de.tum.in.www1.artemis.domain.*;
-import de.tum.in.www1.artemis.domain.participation.Participation;
 import de.tum.in.www1.artemis.domain.participation.StudentParticipation;
 import de.tum.in.www1.artemis.domain.scores.ParticipantScore;
 import de.tum.in.www1.artemis.domain.scores.StudentScore;
@@ -32,16 +30,13 @@ public class ScoreService {
 
     private final TeamScoreRepository teamScoreRepository;
 
-    private final ParticipationRepository participationRepository;
-
     private final ResultRepository resultRepository;
 
     private final Logger logger = LoggerFactory.getLogger(ScoreService.class);
 
-    public ScoreService(StudentScoreRepository studentScoreRepository, TeamScoreRepository teamScoreRepository, ParticipationRepository participationRepository,
-            ResultRepository resultRepository, ParticipantScoreRepository participantScoreRepository) {
+    public ScoreService(StudentScoreRepository studentScoreRepository, TeamScoreRepository teamScoreRepository, ResultRepository resultRepository,
+            ParticipantScoreRepository participantScoreRepository) {
         this.studentScoreRepository = studentScoreRepository;
-        this.participationRepository = participationRepository;
         this.participantScoreRepository = participantScoreRepository;
         this.teamScoreRepository = teamScoreRepository;
         this.resultRepository = resultRepository;
@@ -120,55 +115,75 @@ public class ScoreService {
     }
 
     /**
-     * Either updates an existing participant score or creates a new participant score if a new result comes in
-     * The annotation "@Transactional" is ok because it means that this method does not support run in an outer transactional context, instead the outer transaction is paused
+     * Either updates the existing participant scores or creates new participant scores for the given, already committed results.
+     * <p>
+     * The results are grouped by their participation, i.e. by exercise and participant, so that the participation and the existing participant score are only loaded once and
+     * the participant score is only saved once, no matter how many results of the participant are contained. Results that do not exist anymore are ignored.
      *
-     * @param createdOrUpdatedResult newly created or updated result
+     * @param resultIds the ids of the newly created or updated results
      */
-    @Transactional(propagation = Propagation.NOT_SUPPORTED) // ok (see JavaDoc)
-    public void updateOrCreateParticipantScore(Result createdOrUpdatedResult) {
-        if (createdOrUpdatedResult.getScore() == null || createdOrUpdatedResult.getCompletionDate() == null) {
-            return;
-        }
-        // There is a deadlock problem with programming exercises here if we use the participation from the result (reason unknown at the moment)
-        // therefore we get the participation from the database
-        Optional<StudentParticipation> studentParticipationOptional = getStudentParticipationForResult(createdOrUpdatedResult);
-        if (studentParticipationOptional.isEmpty()) {
-            return;
-        }
-        StudentParticipation studentParticipation = studentParticipationOptional.get();
-        // we ignore test runs of exams
-        if (studentParticipation.isTestRun()) {
-            return;
+    public void updateOrCreateParticipantScores(Collection<Long> resultIds) {
+        // In this method we use custom @Query methods that will fail if no authentication is available, therefore
+        // we check this here and set a dummy authentication if none is available (this is the case in the background thread)
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            SecurityUtils.setAuthorizationObject();
         }
-        Exercise exercise = studentParticipation.getExercise();
-        ParticipantScore existingParticipationScoreForExerciseAndParticipant = getExistingParticipationScore(studentParticipation, exercise);
-        // there already exists a participant score -> we need to update it
-        if (existingParticipationScoreForExerciseAndParticipant != null) {
-            updateExistingParticipantScore(existingParticipationScoreForExerciseAndParticipant, createdOrUpdatedResult, exercise);
+        try {
+            // the results of each participation are sorted by their id, so that the newest result is applied last
+            Map<Long, List<Result>> resultsByParticipationId = resultRepository.findWithEagerParticipationAndExerciseByIdIn(resultIds).stream()
+                    .filter(result -> result.getScore() != null && result.getCompletionDate() != null && result.getParticipation() instanceof StudentParticipation)
+                    .sorted(Comparator.comparing(Result::getId))
+                    .collect(Collectors.groupingBy(result -> result.getParticipation().getId(), LinkedHashMap::new, Collectors.toList()));
+
+            for (List<Result> resultsOfParticipation : resultsByParticipationId.values()) {
+                StudentParticipation studentParticipation = (StudentParticipation) resultsOfParticipation.get(0).getParticipation();
+                // we ignore test runs of exams
+                if (studentParticipation.isTestRun()) {
+                    continue;
+                }
+                try {
+                    updateOrCreateParticipantScore(studentParticipation, resultsOfParticipation);
+                }
+                catch (Exception ex) {
+                    // the participant scores of the other participations should still be updated
+                    logger.error("Could not update the participant score of participation " + studentParticipation.getId(), ex);
+                }
+            }
         }
-        else { // there does not already exist a participant score -> we need to create it
-            createNewParticipantScore(createdOrUpdatedResult, studentParticipation, exercise);
+        finally {
+            // the dummy authentication must not stay on the pooled background thread
+            if (authentication == null) {
+                SecurityContextHolder.clearContext();
+            }
         }
     }
 
     /**
-     * Gets the student participation for a result from the database
+     * Applies the given results (ordered by their id) to the participant score of the participation and saves it, either by updating the existing participant score or by
+     * creating a new one.
      *
-     * @param result result for which to get the student participation
-     * @return student participation optional
+     * @param studentParticipation participation containing the information about the participant
+     * @param results              the created or updated results of the participation
      */
-    private Optional<StudentParticipation> getStudentParticipationForResult(Result result) {
-        Optional<Participation> participationOptional = participationRepository.findByResults(result);
-        if (participationOptional.isEmpty()) {
-            return Optional.empty();
+    private void updateOrCreateParticipantScore(StudentParticipation studentParticipation, List<Result> results) {
+        Exercise exercise = studentParticipation.getExercise();
+        ParticipantScore participantScore = getExistingParticipationScore(studentParticipation, exercise);
+        String originalParticipantScoreStructure = participantScore != null ? participantScore.toString() : null;
+        // there does not already exist a participant score -> we need to create it
+        if (participantScore == null) {
+            participantScore = createNewParticipantScore(studentParticipation, exercise);
         }
-        Participation participation = participationOptional.get();
-
-        if (!(participation instanceof StudentParticipation)) {
-            return Optional.empty();
+        for (Result result : results) {
+            updateParticipantScore(participantScore, result, exercise);
+        }
+        ParticipantScore savedParticipantScore = participantScoreRepository.saveAndFlush(participantScore);
+        if (originalParticipantScoreStructure == null) {
+            logger.info("Saved a new participant score: " + savedParticipantScore);
+        }
+        else {
+            logger.info("Updated an existing participant score. Was: " + originalParticipantScoreStructure + ". Is: " + savedParticipantScore);
         }
-        return Optional.of((StudentParticipation) participation);
     }
 
     /**
@@ -198,55 +213,35 @@ public class ScoreService {
     }
 
     /**
-     * Create a new Participant Score
+     * Create a new (not yet saved) Participant Score without any result
      *
-     * @param newResult            result containing the information about the score achieved
      * @param studentParticipation participation containing the information about the participant
      * @param exercise             exercise for which to create participant score
+     * @return the new student score or team score
      */
-    private void createNewParticipantScore(Result newResult, StudentParticipation studentParticipation, Exercise exercise) {
+    private ParticipantScore createNewParticipantScore(StudentParticipation studentParticipation, Exercise exercise) {
         if (exercise.isTeamMode()) {
-            createNewTeamScore(newResult, studentParticipation, exercise);
+            TeamScore newTeamScore = new TeamScore();
+            newTeamScore.setExercise(exercise);
+            newTeamScore.setTeam(studentParticipation.getTeam().get());
+            return newTeamScore;
         }
         else {
-            createNewStudentScore(newResult, studentParticipation, exercise);
+            StudentScore newStudentScore = new StudentScore();
+            newStudentScore.setExercise(exercise);
+            newStudentScore.setUser(studentParticipation.getStudent().get());
+            return newStudentScore;
         }
     }
 
-    private void createNewStudentScore(Result newResult, StudentParticipation studentParticipation, Exercise exercise) {
-        StudentScore newStudentScore = new StudentScore();
-        newStudentScore.setExercise(exercise);
-        newStudentScore.setUser(studentParticipation.getStudent().get());
-        setLastAttributes(newStudentScore, newResult, exercise);
-        if (newResult.isRated() != null && newResult.isRated()) {
-            setLastRatedAttributes(newStudentScore, newResult, exercise);
-        }
-        StudentScore studentScore = studentScoreRepository.saveAndFlush(newStudentScore);
-        logger.info("Saved a new student score: " + studentScore);
-    }
-
-    private void createNewTeamScore(Result newResult, StudentParticipation studentParticipation, Exercise exercise) {
-        TeamScore newTeamScore = new TeamScore();
-        newTeamScore.setExercise(exercise);
-        newTeamScore.setTeam(studentParticipation.getTeam().get());
-        setLastAttributes(newTeamScore, newResult, exercise);
-        if (newResult.isRated() != null && newResult.isRated()) {
-            setLastRatedAttributes(newTeamScore, newResult, exercise);
-        }
-        TeamScore teamScore = teamScoreRepository.saveAndFlush(newTeamScore);
-        logger.info("Saved a new team score: " + teamScore);
-    }
-
     /**
-     * Update an existing participant score when a new or updated result comes in
+     * Update a participant score when a new or updated result comes in. The participant score is not saved.
      *
-     * @param participantScore            existing participant score that refers to the same exercise and participant as the result
-     * @param exercise                    the exercise to which the participant score belong
+     * @param participantScore            participant score that refers to the same exercise and participant as the result
      * @param updatedOrNewlyCreatedResult updated or new result
+     * @param exercise                    the exercise to which the participant score belong
      */
-    private void updateExistingParticipantScore(ParticipantScore participantScore, Result updatedOrNewlyCreatedResult, Exercise exercise) {
-        String originalParticipantScoreStructure = participantScore.toString();
-
+    private void updateParticipantScore(ParticipantScore participantScore, Result updatedOrNewlyCreatedResult, Exercise exercise) {
         // update the last result and last score if either it has not been set previously or new result is either the old one (=) or newer (>)
         if (participantScore.getLastResult() == null || updatedOrNewlyCreatedResult.getId() >= participantScore.getLastResult().getId()) {
             setLastAttributes(participantScore, updatedOrNewlyCreatedResult, exercise);
@@ -261,8 +256,6 @@ public class ScoreService {
                 && updatedOrNewlyCreatedResult.equals(participantScore.getLastRatedResult())) {
             setLastRatedAttributes(participantScore, null, exercise);
         }
-        participantScoreRepository.saveAndFlush(participantScore);
-        logger.info("Updated an existing participant score. Was: " + originalParticipantScoreStructure + ". Is: " + participantScore);
     }
 
     /**
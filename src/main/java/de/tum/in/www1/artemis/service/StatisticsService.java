@@ -16,10 +16,13 @@ import de.tum.in.www1.artemis.domain.Exercise;
 import de.tum.in.www1.artemis.domain.enumeration.GraphType;
 import de.tum.in.www1.artemis.domain.enumeration.IncludedInOverallScore;
 import de.tum.in.www1.artemis.domain.enumeration.SpanType;
+import de.tum.in.www1.artemis.domain.enumeration.StatisticsBucket;
 import de.tum.in.www1.artemis.domain.enumeration.StatisticsView;
 import de.tum.in.www1.artemis.domain.statistics.CourseStatisticsAverageScore;
 import de.tum.in.www1.artemis.domain.statistics.ScoreDistribution;
 import de.tum.in.www1.artemis.domain.statistics.StatisticsEntry;
+import de.tum.in.www1.artemis.domain.statistics.StatisticsRollup;
+import de.tum.in.www1.artemis.domain.statistics.StatisticsRollupProgress;
 import de.tum.in.www1.artemis.repository.*;
 import de.tum.in.www1.artemis.web.rest.dto.CourseManagementStatisticsDTO;
 import de.tum.in.www1.artemis.web.rest.dto.ExerciseManagementStatisticsDTO;
@@ -40,9 +43,16 @@ public class StatisticsService {
 
     private final TeamRepository teamRepository;
 
+    private final StatisticsRollupRepository statisticsRollupRepository;
+
+    private final StatisticsRollupProgressRepository statisticsRollupProgressRepository;
+
     public StatisticsService(StatisticsRepository statisticsRepository, ParticipantScoreRepository participantScoreRepository, CourseRepository courseRepository,
-            ExerciseRepository exerciseRepository, UserRepository userRepository, TeamRepository teamRepository) {
+            ExerciseRepository exerciseRepository, UserRepository userRepository, TeamRepository teamRepository, StatisticsRollupRepository statisticsRollupRepository,
+            StatisticsRollupProgressRepository statisticsRollupProgressRepository) {
         this.statisticsRepository = statisticsRepository;
+        this.statisticsRollupRepository = statisticsRollupRepository;
+        this.statisticsRollupProgressRepository = statisticsRollupProgressRepository;
         this.participantScoreRepository = participantScoreRepository;
         this.courseRepository = courseRepository;
         this.exerciseRepository = exerciseRepository;
@@ -77,20 +87,20 @@ public class StatisticsService {
             case DAY -> {
                 startDate = now.minusDays(-periodIndex).withHour(0).withMinute(0).withSecond(0).withNano(0);
                 endDate = now.minusDays(-periodIndex).withHour(23).withMinute(59).withSecond(59);
-                outcome = this.statisticsRepository.getNumberOfEntriesPerTimeSlot(graphType, span, startDate, endDate, view, entityId);
+                outcome = getNumberOfEntriesPerTimeSlot(graphType, span, startDate, endDate, view, entityId);
                 this.statisticsRepository.sortDataIntoHours(outcome, result);
             }
             case WEEK -> {
                 startDate = now.minusWeeks(-periodIndex).minusDays(6).withHour(0).withMinute(0).withSecond(0).withNano(0);
                 endDate = now.minusWeeks(-periodIndex).withHour(23).withMinute(59).withSecond(59);
-                outcome = this.statisticsRepository.getNumberOfEntriesPerTimeSlot(graphType, span, startDate, endDate, view, entityId);
+                outcome = getNumberOfEntriesPerTimeSlot(graphType, span, startDate, endDate, view, entityId);
                 this.statisticsRepository.sortDataIntoDays(outcome, result, startDate);
             }
             case MONTH -> {
                 startDate = now.minusMonths(1 - periodIndex).withHour(0).withMinute(0).withSecond(0).withNano(0);
                 endDate = now.minusMonths(-periodIndex).withHour(23).withMinute(59).withSecond(59);
                 result = new ArrayList<>(Collections.nCopies((int) ChronoUnit.DAYS.between(startDate, endDate), 0));
-                outcome = this.statisticsRepository.getNumberOfEntriesPerTimeSlot(graphType, span, startDate.plusDays(1), endDate, view, entityId);
+                outcome = getNumberOfEntriesPerTimeSlot(graphType, span, startDate.plusDays(1), endDate, view, entityId);
                 this.statisticsRepository.sortDataIntoDays(outcome, result, startDate.plusDays(1));
             }
             case QUARTER -> {
@@ -100,20 +110,79 @@ public class StatisticsService {
                 startDate = localStartDate.atZone(zone).minusWeeks(11 + (12L * (-periodIndex))).withHour(0).withMinute(0).withSecond(0).withNano(0);
                 endDate = periodIndex != 0 ? localEndDate.atZone(zone).minusWeeks(12L * (-periodIndex)).withHour(23).withMinute(59).withSecond(59)
                         : localEndDate.atZone(zone).withHour(23).withMinute(59).withSecond(59);
-                outcome = this.statisticsRepository.getNumberOfEntriesPerTimeSlot(graphType, span, startDate, endDate, view, entityId);
+                outcome = getNumberOfEntriesPerTimeSlot(graphType, span, startDate, endDate, view, entityId);
                 this.statisticsRepository.sortDataIntoWeeks(outcome, result, startDate);
             }
             case YEAR -> {
                 startDate = now.minusYears(1 - periodIndex).plusMonths(1).withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0).withNano(0);
                 lengthOfMonth = YearMonth.of(now.minusYears(-periodIndex).getYear(), now.minusYears(-periodIndex).getMonth()).lengthOfMonth();
                 endDate = now.minusYears(-periodIndex).withDayOfMonth(lengthOfMonth).withHour(23).withMinute(59).withSecond(59);
-                outcome = this.statisticsRepository.getNumberOfEntriesPerTimeSlot(graphType, span, startDate, endDate, view, entityId);
+                outcome = getNumberOfEntriesPerTimeSlot(graphType, span, startDate, endDate, view, entityId);
                 this.statisticsRepository.sortDataIntoMonths(outcome, result, startDate);
             }
         }
         return result;
     }
 
+    /**
+     * Gets the number of entries for the specific graphType in the given time range. For the graph types that are rolled up (see {@link StatisticsRollup}), the entries up to the
+     * last rolled up hour are read from the daily and hourly rollups and only the later entries are counted from the raw entries. All other graph types are directly counted from
+     * the raw entries (see {@link StatisticsRepository#getNumberOfEntriesPerTimeSlot}).
+     *
+     * @param graphType the type of graph the data should be fetched for
+     * @param span      the spanType for which the call is executed
+     * @param startDate the startDate of which the data should be fetched, always at midnight
+     * @param endDate   the endDate of which the data should be fetched
+     * @param view      the view in which the data will be displayed (Artemis, Course, Exercise)
+     * @param entityId  the entityId which is null for a user statistics call and contains the id for the other statistics pages
+     * @return a list of entries, each entry containing the start of a time slot and the number of entries in it
+     */
+    private List<StatisticsEntry> getNumberOfEntriesPerTimeSlot(GraphType graphType, SpanType span, ZonedDateTime startDate, ZonedDateTime endDate, StatisticsView view,
+            @Nullable Long entityId) {
+        if (!StatisticsRollup.ROLLED_UP_GRAPH_TYPES.contains(graphType)) {
+            return statisticsRepository.getNumberOfEntriesPerTimeSlot(graphType, span, startDate, endDate, view, entityId);
+        }
+        var rolledUpUntil = statisticsRollupProgressRepository.findById(graphType).map(StatisticsRollupProgress::getRolledUpUntil).orElse(null);
+        if (rolledUpUntil == null || !rolledUpUntil.isAfter(startDate)) {
+            return statisticsRepository.getNumberOfEntriesPerTimeSlot(graphType, span, startDate, endDate, view, entityId);
+        }
+        rolledUpUntil = rolledUpUntil.withZoneSameInstant(startDate.getZone());
+
+        var exerciseIds = view == StatisticsView.COURSE ? statisticsRepository.findExerciseIdsByCourseId(entityId) : null;
+        List<StatisticsEntry> entries = new ArrayList<>();
+        ZonedDateTime hourlyRollupsFrom = startDate;
+        if (span != SpanType.DAY) {
+            // the days before the day of the last rolled up hour are over, so their daily rollups exist
+            ZonedDateTime dailyRollupsUntil = min(rolledUpUntil.truncatedTo(ChronoUnit.DAYS), endDate);
+            if (dailyRollupsUntil.isAfter(startDate)) {
+                entries.addAll(getRolledUpEntries(graphType, StatisticsBucket.DAY, startDate, dailyRollupsUntil, view, entityId, exerciseIds));
+                hourlyRollupsFrom = dailyRollupsUntil;
+            }
+        }
+        ZonedDateTime hourlyRollupsUntil = min(rolledUpUntil, endDate);
+        if (hourlyRollupsUntil.isAfter(hourlyRollupsFrom)) {
+            entries.addAll(getRolledUpEntries(graphType, StatisticsBucket.HOUR, hourlyRollupsFrom, hourlyRollupsUntil, view, entityId, exerciseIds));
+        }
+        if (!rolledUpUntil.isAfter(endDate)) {
+            // the current hour (and hours the rollup job has not processed yet) are counted from the raw entries
+            entries.addAll(statisticsRepository.getNumberOfEntriesPerTimeSlot(graphType, span, rolledUpUntil, endDate, view, entityId));
+        }
+        return entries;
+    }
+
+    private List<StatisticsEntry> getRolledUpEntries(GraphType graphType, StatisticsBucket bucket, ZonedDateTime startDate, ZonedDateTime endDate, StatisticsView view,
+            @Nullable Long entityId, @Nullable List<Long> exerciseIds) {
+        return switch (view) {
+            case ARTEMIS -> statisticsRollupRepository.getRolledUpEntries(graphType, bucket, startDate, endDate);
+            case COURSE -> statisticsRollupRepository.getRolledUpEntriesForCourse(graphType, bucket, startDate, endDate, exerciseIds);
+            case EXERCISE -> statisticsRollupRepository.getRolledUpEntriesForExercise(graphType, bucket, startDate, endDate, entityId);
+        };
+    }
+
+    private static ZonedDateTime min(ZonedDateTime first, ZonedDateTime second) {
+        return first.isBefore(second) ? first : second;
+    }
+
     /**
      * A map to manage the spanTypes and the corresponding array length of the result
      */
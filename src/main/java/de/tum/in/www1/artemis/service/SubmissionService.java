@@ -38,8 +38,6 @@ public class SubmissionService {
 
     private final ExamDateService examDateService;
 
-    private final ExerciseDateService exerciseDateService;
-
     private final CourseRepository courseRepository;
 
     protected final SubmissionRepository submissionRepository;
@@ -62,7 +60,7 @@ public class SubmissionService {
 
     public SubmissionService(SubmissionRepository submissionRepository, UserRepository userRepository, AuthorizationCheckService authCheckService,
             ResultRepository resultRepository, StudentParticipationRepository studentParticipationRepository, ParticipationService participationService,
-            FeedbackRepository feedbackRepository, ExamDateService examDateService, ExerciseDateService exerciseDateService, CourseRepository courseRepository,
+            FeedbackRepository feedbackRepository, ExamDateService examDateService, CourseRepository courseRepository,
             ParticipationRepository participationRepository, ComplaintRepository complaintRepository) {
         this.submissionRepository = submissionRepository;
         this.userRepository = userRepository;
@@ -72,7 +70,6 @@ public class SubmissionService {
         this.participationService = participationService;
         this.feedbackRepository = feedbackRepository;
         this.examDateService = examDateService;
-        this.exerciseDateService = exerciseDateService;
         this.courseRepository = courseRepository;
         this.participationRepository = participationRepository;
         this.complaintRepository = complaintRepository;
@@ -178,40 +175,36 @@ public class SubmissionService {
      * @return a submission without any manual result or an empty Optional if no submission without manual result could be found
      */
     public Optional<Submission> getRandomSubmissionEligibleForNewAssessment(Exercise exercise, boolean examMode, int correctionRound) {
-        final List<StudentParticipation> participations;
-        if (examMode) {
-            // Get all participations of submissions that are submitted and do not already have a manual result or belong to test run submissions.
-            // No manual result means that no user has started an assessment for the corresponding submission yet.
-            participations = studentParticipationRepository.findByExerciseIdWithLatestSubmissionWithoutManualResultsAndIgnoreTestRunParticipation(exercise.getId(),
-                    correctionRound);
-        }
-        else {
-            // Get all participations of submissions that are submitted and do not already have a manual result.
-            // No manual result means that no user has started an assessment for the corresponding submission yet.
-            // Does not fetch participations for which the due date has not yet passed.
-            participations = studentParticipationRepository.findByExerciseIdWithLatestSubmissionWithoutManualResultsWithPassedIndividualDueDate(exercise.getId(),
-                    ZonedDateTime.now());
-        }
-
-        List<Submission> submissionsWithoutResult = participations.stream().map(Participation::findLatestLegalOrIllegalSubmission).filter(Optional::isPresent).map(Optional::get)
-                .collect(toList());
-
-        if (correctionRound > 0) {
-            // remove submission if user already assessed first correction round
-            // if disabled, please switch tutorAssessUnique within the tests
-            submissionsWithoutResult = submissionsWithoutResult.stream()
-                    .filter(submission -> !submission.getResultForCorrectionRound(correctionRound - 1).getAssessor().equals(userRepository.getUser())).collect(Collectors.toList());
+        // submissions before the due date are preferred, submissions after the due date are only assessed if there are no others left
+        List<Long> submissionIds = findSubmissionIdsEligibleForNewAssessment(exercise, examMode, correctionRound, exercise.getDueDate() != null);
+        if (submissionIds.isEmpty() && exercise.getDueDate() != null) {
+            submissionIds = findSubmissionIdsEligibleForNewAssessment(exercise, examMode, correctionRound, false);
         }
 
-        if (exercise.getDueDate() != null) {
-            submissionsWithoutResult = selectOnlySubmissionsBeforeDueDate(submissionsWithoutResult);
+        if (submissionIds.isEmpty()) {
+            return Optional.empty();
         }
+        // only the randomly chosen submission is loaded with its results and feedbacks
+        Long submissionId = submissionIds.get(ThreadLocalRandom.current().nextInt(submissionIds.size()));
+        return studentParticipationRepository.findWithSubmissionAndResultsAndFeedbacksAndAssessorBySubmissionId(submissionId)
+                .flatMap(Participation::findLatestLegalOrIllegalSubmission);
+    }
 
-        if (submissionsWithoutResult.isEmpty()) {
-            return Optional.empty();
+    private List<Long> findSubmissionIdsEligibleForNewAssessment(Exercise exercise, boolean examMode, int correctionRound, boolean onlyBeforeDueDate) {
+        if (examMode) {
+            // Get all submissions that are submitted and do not already have a manual result or belong to test run submissions.
+            // No manual result means that no user has started an assessment for the corresponding submission yet.
+            // If correctionRound is bigger than 0, submissions the user already assessed in the first correction round are excluded.
+            // if disabled, please switch tutorAssessUnique within the tests
+            return studentParticipationRepository.findLatestSubmissionIdsWithoutManualResultsAndIgnoreTestRunParticipation(exercise.getId(), correctionRound,
+                    userRepository.getUser().getId(), onlyBeforeDueDate);
         }
         else {
-            return Optional.of(submissionsWithoutResult.get(ThreadLocalRandom.current().nextInt(submissionsWithoutResult.size())));
+            // Get all submissions that are submitted and do not already have a manual result.
+            // No manual result means that no user has started an assessment for the corresponding submission yet.
+            // Does not fetch submissions for which the due date has not yet passed.
+            return studentParticipationRepository.findLatestSubmissionIdsWithoutManualResultsWithPassedIndividualDueDate(exercise.getId(), ZonedDateTime.now(),
+                    onlyBeforeDueDate);
         }
     }
 
@@ -386,7 +379,7 @@ public class SubmissionService {
 
     /**
      * Add a result to the last {@link Submission} of a {@link StudentParticipation} if it does not exist yet, see {@link StudentParticipation#findLatestSubmission()}, with a feedback of type {@link FeedbackType#AUTOMATIC}.
-     * The assessment is counted as {@link AssessmentType#SEMI_AUTOMATIC} to make sure it is not considered for manual assessment, see {@link StudentParticipationRepository#findByExerciseIdWithLatestSubmissionWithoutManualResultsAndIgnoreTestRunParticipation}.
+     * The assessment is counted as {@link AssessmentType#SEMI_AUTOMATIC} to make sure it is not considered for manual assessment, see {@link StudentParticipationRepository#findLatestSubmissionIdsWithoutManualResultsAndIgnoreTestRunParticipation}.
      * Sets the feedback text and result score.
      *
      * @param studentParticipation the studentParticipation containing the latest result
@@ -515,33 +508,6 @@ public class SubmissionService {
         });
     }
 
-    /**
-     * Filters the submissions to contain only in-time submissions if there are any.
-     * If not, the original list is returned.
-     * @param submissions The submissions to filter
-     * @param <T> Placeholder for subclass of {@link Submission} e.g. {@link TextSubmission}
-     * @return The filtered list of submissions
-     */
-    protected <T extends Submission> List<T> selectOnlySubmissionsBeforeDueDate(List<T> submissions) {
-        final List<T> submissionsBeforeDueDate = submissions.stream().filter(this::isBeforeDueDate).toList();
-        if (!submissionsBeforeDueDate.isEmpty()) {
-            return submissionsBeforeDueDate;
-        }
-        else {
-            return submissions;
-        }
-    }
-
-    /**
-     * Checks if the submission was created before the due date of the exercise.
-     * @param submission a student’s submission
-     * @return true, if the submission date was before the due date or the exercise has no due date.
-     */
-    private boolean isBeforeDueDate(Submission submission) {
-        return exerciseDateService.getDueDate(submission.getParticipation())
-                .map(dueDate -> submission.getSubmissionDate() != null && submission.getSubmissionDate().isBefore(dueDate)).orElse(true);
-    }
-
     /**
      * Checks if the exercise due date has passed. For exam exercises it checks if the latest possible exam end date has passed.
      *
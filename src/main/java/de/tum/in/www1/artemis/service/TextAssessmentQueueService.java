@@ -2,29 +2,49 @@ package de.tum.in.www1.artemis.service;
 
 import static java.util.stream.Collectors.*;
 
+import java.time.Duration;
 import java.util.*;
 
+import org.hibernate.Hibernate;
 import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import de.tum.in.www1.artemis.domain.*;
 import de.tum.in.www1.artemis.domain.enumeration.Language;
 import de.tum.in.www1.artemis.domain.participation.Participation;
+import de.tum.in.www1.artemis.repository.TextBlockRepository;
+import de.tum.in.www1.artemis.repository.TextBlockRepository.TextBlockIdAndClusterId;
 import de.tum.in.www1.artemis.repository.TextClusterRepository;
 import de.tum.in.www1.artemis.repository.TextSubmissionRepository;
+import de.tum.in.www1.artemis.service.util.BoundedLocalCache;
 
 @Service
 @Profile("athene")
 public class TextAssessmentQueueService {
 
+    // assessments on other server instances and automatic results are only contained in the ranking once it is rebuilt
+    private static final long MAXIMUM_RANKING_AGE_IN_MILLIS = 60 * 1000;
+
+    // rankings of exercises that are not assessed anymore, e.g. because the assessment due date passed, are removed after this time
+    private static final Duration MAXIMUM_RANKING_IDLE_TIME = Duration.ofMinutes(30);
+
+    private static final int MAXIMUM_NUMBER_OF_RANKINGS = 100;
+
     private final TextClusterRepository textClusterRepository;
 
     private final TextSubmissionRepository textSubmissionRepository;
 
-    public TextAssessmentQueueService(TextClusterRepository textClusterRepository, TextSubmissionRepository textSubmissionRepository) {
+    private final TextBlockRepository textBlockRepository;
+
+    // the cluster rankings by the id of the exercise
+    private final BoundedLocalCache<Long, TextClusterRanking> clusterRankings = new BoundedLocalCache<>(MAXIMUM_NUMBER_OF_RANKINGS, MAXIMUM_RANKING_IDLE_TIME);
+
+    public TextAssessmentQueueService(TextClusterRepository textClusterRepository, TextSubmissionRepository textSubmissionRepository, TextBlockRepository textBlockRepository) {
         this.textClusterRepository = textClusterRepository;
         this.textSubmissionRepository = textSubmissionRepository;
+        this.textBlockRepository = textBlockRepository;
     }
 
     /**
@@ -159,38 +179,59 @@ public class TextAssessmentQueueService {
         }
         Participation participation = textSubmissionList.get(0).getParticipation();
         TextExercise currentExercise = (TextExercise) participation.getExercise();
-        List<TextCluster> clusters = textClusterRepository.findAllByExercise(currentExercise);
 
         if (textSubmissionList.stream().map(submission -> submission.getParticipation().getExercise()).anyMatch(elem -> elem != currentExercise)) {
             throw new IllegalArgumentException("All TextSubmissions have to be from the same Exercise");
         }
-        textSubmissionList.forEach(textSubmission -> {
-            textSubmission.getBlocks().forEach(textBlock -> {
-                if (textBlock.getCluster() == null) {
-                    return;
-                }
-                OptionalInt optionalLargestClusterSize = clusters.stream().mapToInt(TextCluster::openTextBlockCount).max();
-
-                // if cluster is empty
-                if (optionalLargestClusterSize.isEmpty()) {
-                    result.put(textBlock, 0.0);
-                    return;
-                }
-                // if cluster is the largest set to smaller percentage to 1
-                if (optionalLargestClusterSize.getAsInt() == textBlock.getCluster().openTextBlockCount()) {
-                    result.put(textBlock, 1.0);
-                    return;
-                }
-
-                int smallerClusterCount = clusters.stream().mapToInt(TextCluster::openTextBlockCount).reduce(0, (sum, elem) -> {
-                    if (elem < textBlock.getCluster().openTextBlockCount()) {
-                        return sum + 1;
-                    }
-                    return sum;
-                });
-                result.put(textBlock, (double) smallerClusterCount / clusters.size());
-            });
-        });
+        TextClusterRanking clusterRanking = getClusterRanking(currentExercise.getId());
+        textSubmissionList.forEach(textSubmission -> textSubmission.getBlocks().forEach(textBlock -> {
+            if (textBlock.getCluster() != null) {
+                result.put(textBlock, clusterRanking.getSmallerClusterPercentage(textBlock.getCluster().getId()));
+            }
+        }));
         return result;
     }
+
+    /**
+     * Updates the cluster ranking of the exercise after the given submission was locked for an assessment, because its text blocks are not open anymore.
+     *
+     * @param exerciseId     the id of the exercise of the submission
+     * @param textSubmission the locked submission
+     */
+    public void onTextSubmissionLocked(Long exerciseId, TextSubmission textSubmission) {
+        TextClusterRanking clusterRanking = clusterRankings.getIfPresent(exerciseId);
+        // blocks that are not loaded are only removed from the ranking once it is rebuilt
+        if (clusterRanking != null && textSubmission.getBlocks() != null && Hibernate.isInitialized(textSubmission.getBlocks())) {
+            clusterRanking.removeOpenTextBlocks(textSubmission.getBlocks().stream().map(TextBlock::getId).toList());
+        }
+    }
+
+    /**
+     * Removes the cluster ranking of the exercise, e.g. because the text blocks were clustered again.
+     *
+     * @param exerciseId the id of the exercise
+     */
+    public void invalidateClusterRanking(Long exerciseId) {
+        clusterRankings.invalidate(exerciseId);
+    }
+
+    /**
+     * Removes the cluster rankings of exercises that were not assessed recently.
+     */
+    @Scheduled(fixedDelay = 60 * 1000, initialDelay = 60 * 1000)
+    public void evictIdleClusterRankings() {
+        clusterRankings.evictIdleEntries();
+    }
+
+    private TextClusterRanking getClusterRanking(Long exerciseId) {
+        // the ranking is built without holding a lock, so that the database queries do not block tutors of other exercises
+        return clusterRankings.get(exerciseId, clusterRanking -> !clusterRanking.isOlderThan(MAXIMUM_RANKING_AGE_IN_MILLIS), this::loadClusterRanking);
+    }
+
+    private TextClusterRanking loadClusterRanking(Long exerciseId) {
+        List<Long> clusterIds = textClusterRepository.findAllIdsByExerciseId(exerciseId);
+        Map<String, Long> clusterByOpenTextBlock = textBlockRepository.findOpenTextBlocksWithClusterByExerciseId(exerciseId).stream()
+                .collect(toMap(TextBlockIdAndClusterId::getBlockId, TextBlockIdAndClusterId::getClusterId));
+        return new TextClusterRanking(clusterIds, clusterByOpenTextBlock);
+    }
 }
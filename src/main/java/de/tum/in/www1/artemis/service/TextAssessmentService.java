@@ -37,6 +37,15 @@ public class TextAssessmentService extends AssessmentService {
         this.feedbackConflictRepository = feedbackConflictRepository;
     }
 
+    /**
+     * Invalidates the feedback suggestions of the exercise (Athene), because feedback of the exercise was saved or deleted.
+     *
+     * @param exerciseId the id of the text exercise
+     */
+    public void invalidateFeedbackSuggestions(Long exerciseId) {
+        automaticTextFeedbackService.ifPresent(service -> service.invalidateFeedbackIndex(exerciseId));
+    }
+
     /**
      * Load entities from database needed for text assessment, set potential feedback impact count & compute
      * Feedback suggestions (Athene):
@@ -0,0 +1,99 @@
+package de.tum.in.www1.artemis.service;
+
+import java.util.*;
+
+import de.tum.in.www1.artemis.domain.TextCluster;
+import de.tum.in.www1.artemis.repository.FeedbackRepository.TextBlockFeedback;
+import de.tum.in.www1.artemis.repository.TextBlockRepository.ClusteredTextBlock;
+
+/**
+ * The clusters of a text exercise with their decoded distance matrices and the existing feedback of their text blocks, see {@link AutomaticTextFeedbackService}.
+ * <p>
+ * The index is built once from all clusters, clustered text blocks and their feedback, so that the feedback suggestions of a submission do not need any queries per text block
+ * and the distance matrix of a cluster is only decoded once. The index is immutable and therefore can be used by multiple threads at the same time.
+ */
+class TextClusterFeedbackIndex {
+
+    /**
+     * The text block with feedback that is most similar to another text block in the same cluster.
+     */
+    record SimilarTextBlock(String blockId, double distance, TextBlockFeedback feedback, Long submissionId, Long participationId) {
+    }
+
+    private record ClusterEntry(double[][] distanceMatrix, List<String> blockIds) {
+    }
+
+    private record BlockEntry(Long clusterId, int indexInCluster, Long submissionId, Long participationId) {
+    }
+
+    private final long creationTimeInMillis = System.currentTimeMillis();
+
+    private final Map<Long, ClusterEntry> clusters = new HashMap<>();
+
+    private final Map<String, BlockEntry> blocks = new HashMap<>();
+
+    private final Map<String, TextBlockFeedback> feedbackByBlock = new HashMap<>();
+
+    /**
+     * Creates the index of the given clusters.
+     *
+     * @param textClusters    the clusters of the exercise
+     * @param clusteredBlocks the text blocks of the clusters
+     * @param feedbacks       the feedback referencing the text blocks of the clusters
+     */
+    TextClusterFeedbackIndex(Collection<TextCluster> textClusters, Collection<ClusteredTextBlock> clusteredBlocks, Collection<TextBlockFeedback> feedbacks) {
+        // if there are multiple feedback elements for the same text block (e.g. of multiple correction rounds), the first one is used
+        feedbacks.forEach(feedback -> feedbackByBlock.putIfAbsent(feedback.getReference(), feedback));
+
+        Map<Long, List<ClusteredTextBlock>> blocksByCluster = new HashMap<>();
+        clusteredBlocks.forEach(block -> blocksByCluster.computeIfAbsent(block.getClusterId(), clusterId -> new ArrayList<>()).add(block));
+
+        for (TextCluster textCluster : textClusters) {
+            // the rows and columns of the distance matrix are in the order of the blocks in the cluster
+            List<ClusteredTextBlock> blocksOfCluster = blocksByCluster.getOrDefault(textCluster.getId(), List.of()).stream()
+                    .sorted(Comparator.comparing(ClusteredTextBlock::getPositionInCluster, Comparator.nullsLast(Comparator.naturalOrder()))).toList();
+            List<String> blockIds = new ArrayList<>(blocksOfCluster.size());
+            for (ClusteredTextBlock block : blocksOfCluster) {
+                blocks.put(block.getBlockId(), new BlockEntry(textCluster.getId(), blockIds.size(), block.getSubmissionId(), block.getParticipationId()));
+                blockIds.add(block.getBlockId());
+            }
+            // the distance matrix is only needed (and decoded) for clusters that contain feedback
+            boolean hasFeedback = blockIds.stream().anyMatch(feedbackByBlock::containsKey);
+            clusters.put(textCluster.getId(), new ClusterEntry(hasFeedback ? textCluster.getDistanceMatrix() : null, blockIds));
+        }
+    }
+
+    boolean isOlderThan(long maximumAgeInMillis) {
+        return System.currentTimeMillis() - creationTimeInMillis > maximumAgeInMillis;
+    }
+
+    /**
+     * Finds the text block with feedback in the same cluster that has the smallest distance to the given text block.
+     *
+     * @param blockId the id of the text block
+     * @return the most similar text block with feedback or empty, if the text block is not part of the index or no other block in its cluster has feedback
+     */
+    Optional<SimilarTextBlock> findMostSimilarTextBlockWithFeedback(String blockId) {
+        BlockEntry block = blocks.get(blockId);
+        if (block == null) {
+            return Optional.empty();
+        }
+        ClusterEntry cluster = clusters.get(block.clusterId());
+        if (cluster.distanceMatrix() == null) {
+            return Optional.empty();
+        }
+        SimilarTextBlock mostSimilarBlock = null;
+        for (String otherBlockId : cluster.blockIds()) {
+            TextBlockFeedback feedback = feedbackByBlock.get(otherBlockId);
+            if (feedback == null || otherBlockId.equals(blockId)) {
+                continue;
+            }
+            BlockEntry otherBlock = blocks.get(otherBlockId);
+            double distance = cluster.distanceMatrix()[block.indexInCluster()][otherBlock.indexInCluster()];
+            if (mostSimilarBlock == null || distance < mostSimilarBlock.distance()) {
+                mostSimilarBlock = new SimilarTextBlock(otherBlockId, distance, feedback, otherBlock.submissionId(), otherBlock.participationId());
+            }
+        }
+        return Optional.ofNullable(mostSimilarBlock);
+    }
+}
@@ -0,0 +1,119 @@
+package de.tum.in.www1.artemis.service;
+
+import java.util.*;
+
+/**
+ * Ranks the text clusters of an exercise by their number of open (not yet assessable) text blocks, see {@link TextAssessmentQueueService}.
+ * <p>
+ * The ranking is built once from the open text blocks of the exercise and then updated whenever text blocks get assessed. The number of clusters with fewer open blocks than a
+ * given cluster is looked up in a Fenwick tree over the open block counts, so that the lookup and the update of a cluster only take logarithmic time in the size of the largest
+ * cluster, independent of the number of clusters.
+ */
+class TextClusterRanking {
+
+    private final long creationTimeInMillis = System.currentTimeMillis();
+
+    // the ids of the open text blocks by the id of their cluster
+    private final Map<Long, Set<String>> openTextBlocksByCluster = new HashMap<>();
+
+    // the id of the cluster by the id of the open text block
+    private final Map<String, Long> clusterByOpenTextBlock = new HashMap<>();
+
+    private final int numberOfClusters;
+
+    // the number of clusters by their number of open text blocks
+    private final int[] clustersWithOpenBlockCount;
+
+    // Fenwick tree over clustersWithOpenBlockCount, index i + 1 belongs to the open block count i
+    private final int[] fenwickTree;
+
+    private int largestOpenBlockCount;
+
+    /**
+     * Creates the ranking of the given clusters.
+     *
+     * @param clusterIds             the ids of all clusters of the exercise, including clusters without open text blocks
+     * @param clusterByOpenTextBlock the id of the cluster of every open text block of the exercise
+     */
+    TextClusterRanking(Collection<Long> clusterIds, Map<String, Long> clusterByOpenTextBlock) {
+        clusterIds.forEach(clusterId -> openTextBlocksByCluster.put(clusterId, new HashSet<>()));
+        clusterByOpenTextBlock.forEach((textBlockId, clusterId) -> {
+            // blocks of clusters that were created after the cluster ids were loaded are ignored, they are contained in the next ranking
+            Set<String> openTextBlocks = openTextBlocksByCluster.get(clusterId);
+            if (openTextBlocks != null) {
+                openTextBlocks.add(textBlockId);
+                this.clusterByOpenTextBlock.put(textBlockId, clusterId);
+            }
+        });
+        numberOfClusters = openTextBlocksByCluster.size();
+        largestOpenBlockCount = openTextBlocksByCluster.values().stream().mapToInt(Set::size).max().orElse(0);
+        clustersWithOpenBlockCount = new int[largestOpenBlockCount + 1];
+        fenwickTree = new int[largestOpenBlockCount + 2];
+        openTextBlocksByCluster.values().forEach(openTextBlocks -> addClusterWithOpenBlockCount(openTextBlocks.size(), 1));
+    }
+
+    boolean isOlderThan(long maximumAgeInMillis) {
+        return System.currentTimeMillis() - creationTimeInMillis > maximumAgeInMillis;
+    }
+
+    /**
+     * Calculates the percentage of clusters that have fewer open text blocks than the given cluster. The cluster with the most open text blocks always has the percentage 1.
+     *
+     * @param clusterId the id of the cluster
+     * @return the percentage of smaller clusters between 0 and 1
+     */
+    synchronized double getSmallerClusterPercentage(Long clusterId) {
+        if (numberOfClusters == 0) {
+            return 0.0;
+        }
+        int openBlockCount = getOpenBlockCount(clusterId);
+        if (openBlockCount == largestOpenBlockCount) {
+            return 1.0;
+        }
+        return (double) countClustersWithFewerOpenBlocks(openBlockCount) / numberOfClusters;
+    }
+
+    synchronized int getOpenBlockCount(Long clusterId) {
+        Set<String> openTextBlocks = openTextBlocksByCluster.get(clusterId);
+        return openTextBlocks != null ? openTextBlocks.size() : 0;
+    }
+
+    /**
+     * Removes the given text blocks from the open text blocks of their clusters. Text blocks that are not open (anymore) are ignored, so that the same text block can be
+     * reported multiple times.
+     *
+     * @param textBlockIds the ids of the text blocks that became assessable
+     */
+    synchronized void removeOpenTextBlocks(Collection<String> textBlockIds) {
+        for (String textBlockId : textBlockIds) {
+            Long clusterId = clusterByOpenTextBlock.remove(textBlockId);
+            if (clusterId == null) {
+                continue;
+            }
+            Set<String> openTextBlocks = openTextBlocksByCluster.get(clusterId);
+            int previousOpenBlockCount = openTextBlocks.size();
+            openTextBlocks.remove(textBlockId);
+            addClusterWithOpenBlockCount(previousOpenBlockCount, -1);
+            addClusterWithOpenBlockCount(previousOpenBlockCount - 1, 1);
+            while (largestOpenBlockCount > 0 && clustersWithOpenBlockCount[largestOpenBlockCount] == 0) {
+                largestOpenBlockCount--;
+            }
+        }
+    }
+
+    private void addClusterWithOpenBlockCount(int openBlockCount, int delta) {
+        clustersWithOpenBlockCount[openBlockCount] += delta;
+        for (int index = openBlockCount + 1; index < fenwickTree.length; index += index & -index) {
+            fenwickTree[index] += delta;
+        }
+    }
+
+    private int countClustersWithFewerOpenBlocks(int openBlockCount) {
+        int count = 0;
+        // the prefix up to index openBlockCount contains the open block counts 0 to openBlockCount - 1
+        for (int index = Math.min(openBlockCount, fenwickTree.length - 1); index > 0; index -= index & -index) {
+            count += fenwickTree[index];
+        }
+        return count;
+    }
+}
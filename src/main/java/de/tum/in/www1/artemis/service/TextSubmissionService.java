@@ -40,7 +40,7 @@ public class TextSubmissionService extends SubmissionService {
             SubmissionVersionService submissionVersionService, FeedbackRepository feedbackRepository, ExamDateService examDateService, ExerciseDateService exerciseDateService,
             CourseRepository courseRepository, ParticipationRepository participationRepository, ComplaintRepository complaintRepository) {
         super(submissionRepository, userRepository, authCheckService, resultRepository, studentParticipationRepository, participationService, feedbackRepository, examDateService,
-                exerciseDateService, courseRepository, participationRepository, complaintRepository);
+                courseRepository, participationRepository, complaintRepository);
         this.textSubmissionRepository = textSubmissionRepository;
         this.textAssessmentQueueService = textAssessmentQueueService;
         this.submissionVersionService = submissionVersionService;
@@ -169,6 +169,7 @@ public class TextSubmissionService extends SubmissionService {
         TextSubmission textSubmission = getRandomTextSubmissionEligibleForNewAssessment(textExercise, ignoreTestRunParticipations, correctionRound)
                 .orElseThrow(() -> new EntityNotFoundException("Text submission for exercise " + textExercise.getId() + " could not be found"));
         lockSubmission(textSubmission, correctionRound);
+        textAssessmentQueueService.ifPresent(service -> service.onTextSubmissionLocked(textExercise.getId(), textSubmission));
         return textSubmission;
     }
 
@@ -180,6 +181,7 @@ public class TextSubmissionService extends SubmissionService {
      */
     public void lockTextSubmissionToBeAssessed(TextSubmission textSubmission, int correctionRound) {
         lockSubmission(textSubmission, correctionRound);
+        textAssessmentQueueService.ifPresent(service -> service.onTextSubmissionLocked(textSubmission.getParticipation().getExercise().getId(), textSubmission));
     }
 
     public TextSubmission findOneWithEagerResultFeedbackAndTextBlocks(Long submissionId) {
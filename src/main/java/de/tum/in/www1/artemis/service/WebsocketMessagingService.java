@@ -4,45 +4,139 @@ import static de.tum.in.www1.artemis.config.Constants.*;
 
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import de.tum.in.www1.artemis.domain.Exercise;
 import de.tum.in.www1.artemis.domain.Result;
 import de.tum.in.www1.artemis.domain.enumeration.AssessmentType;
 import de.tum.in.www1.artemis.domain.participation.Participation;
 import de.tum.in.www1.artemis.domain.participation.StudentParticipation;
 import de.tum.in.www1.artemis.service.exam.ExamDateService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 /**
  * This service sends out websocket messages.
+ * <p>
+ * Messages that are sent asynchronously are serialized once in the calling thread and then sent by a bounded pool of outbound threads, so that slow clients or a burst of
+ * messages (e.g. many build results at the same time) can neither block the caller nor create an unbounded number of threads.
  */
 @Service
 public class WebsocketMessagingService {
 
+    private final Logger log = LoggerFactory.getLogger(WebsocketMessagingService.class);
+
+    private static final String METRIC_PREFIX = "artemis.websocket.outbound.";
+
+    private static final int OUTBOUND_THREADS = 4;
+
+    private static final int OUTBOUND_QUEUE_CAPACITY = 10000;
+
+    private static final Pattern NUMBER_PATTERN = Pattern.compile("\\d+");
+
     private final SimpMessageSendingOperations messagingTemplate;
 
+    private final ObjectMapper objectMapper;
+
+    private final MeterRegistry meterRegistry;
+
     private final ExamDateService examDateService;
 
     private final ExerciseDateService exerciseDateService;
 
-    public WebsocketMessagingService(SimpMessageSendingOperations messagingTemplate, ExamDateService examDateService, ExerciseDateService exerciseDateService) {
+    /**
+     * The coalesced messages by destination and participation whose send is scheduled or running, see {@link #sendCoalescedAsync}
+     */
+    private final Map<String, CoalescedMessage> pendingMessages = new ConcurrentHashMap<>();
+
+    /**
+     * The latest serialized message of a destination and participation, or null if it was already sent. Only accessed within the atomic operations of {@link #pendingMessages}.
+     */
+    private static class CoalescedMessage {
+
+        private byte[] payload;
+
+        private CoalescedMessage(byte[] payload) {
+            this.payload = payload;
+        }
+    }
+
+    private ThreadPoolExecutor outboundExecutor;
+
+    public WebsocketMessagingService(SimpMessageSendingOperations messagingTemplate, MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter,
+            MeterRegistry meterRegistry, ExamDateService examDateService, ExerciseDateService exerciseDateService) {
         this.messagingTemplate = messagingTemplate;
+        this.objectMapper = mappingJackson2HttpMessageConverter.getObjectMapper();
+        this.meterRegistry = meterRegistry;
         this.examDateService = examDateService;
         this.exerciseDateService = exerciseDateService;
     }
 
+    /**
+     * Creates the outbound threads and registers the metrics.
+     */
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        // if the queue is full, the caller sends the message itself, which slows down the producers instead of dropping messages
+        outboundExecutor = new ThreadPoolExecutor(OUTBOUND_THREADS, OUTBOUND_THREADS, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(OUTBOUND_QUEUE_CAPACITY), runnable -> {
+            Thread thread = new Thread(runnable, "websocket-outbound-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.CallerRunsPolicy());
+        Gauge.builder(METRIC_PREFIX + "queue", outboundExecutor, executor -> executor.getQueue().size()).description("Number of websocket messages waiting to be sent")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        outboundExecutor.shutdown();
+    }
+
     /**
      * Wrapper method to send a message over websocket to the given topic
      * @param topic the destination to which subscription the message should be sent
      * @param message any object that should be sent to the destination (topic), this will typically get transformed into json
      */
     public void sendMessage(String topic, Object message) {
-        messagingTemplate.convertAndSend(topic, message);
+        getSendTimer(topic).record(() -> messagingTemplate.convertAndSend(topic, message));
+    }
+
+    /**
+     * Serializes the message in the calling thread and sends it asynchronously to the given topic of the given user.
+     * Use this method if the caller must not be blocked by the outbound channel, e.g. when answering a message of the inbound channel.
+     *
+     * @param user    the login of the user who should receive the message
+     * @param topic   the user specific destination, e.g. /topic/newResults
+     * @param message the object that should be sent as json
+     */
+    public void sendMessageToUserAsync(String user, String topic, Object message) {
+        byte[] payload = serialize(message);
+        if (payload != null) {
+            String destination = getUserDestination(user, topic);
+            outboundExecutor.execute(() -> send(destination, payload));
+        }
     }
 
     /**
@@ -83,7 +177,12 @@ public class WebsocketMessagingService {
                 result.filterSensitiveInformation();
                 result.filterSensitiveFeedbacks(!isWorkingPeriodOver);
 
-                studentParticipation.getStudents().forEach(user -> messagingTemplate.convertAndSendToUser(user.getLogin(), NEW_RESULT_TOPIC, result));
+                // serialize the result only once for all students of the participation (e.g. all members of a team)
+                byte[] studentPayload = serialize(result);
+                if (studentPayload != null) {
+                    studentParticipation.getStudents()
+                            .forEach(user -> sendCoalescedAsync(getUserDestination(user.getLogin(), NEW_RESULT_TOPIC), participation.getId(), studentPayload));
+                }
             }
         }
 
@@ -92,12 +191,100 @@ public class WebsocketMessagingService {
         result.setFeedbacks(originalFeedback);
 
         // Send to tutors, instructors and admins
-        messagingTemplate.convertAndSend(getResultDestination(participation.getExercise().getId()), result);
+        byte[] payload = serialize(result);
+        if (payload != null) {
+            sendCoalescedAsync(getResultDestination(participation.getExercise().getId()), participation.getId(), payload);
+        }
 
         // recover the participation because we might want to use it again after this method
         result.setParticipation(originalParticipation);
     }
 
+    /**
+     * Sends the serialized message asynchronously to the given destination. If a message for the same destination and participation is still waiting to be sent, it is
+     * replaced by the new message, so that a burst of results (e.g. many builds of the same participation) leads to only one message with the latest result.
+     * <p>
+     * The messages of one destination and participation are sent by only one outbound thread at a time and therefore in the order in which they were created: a message
+     * that is created while the previous one is being sent is sent by the same thread afterwards.
+     *
+     * @param destination     the destination of the message
+     * @param participationId the id of the participation the message belongs to
+     * @param payload         the serialized message
+     */
+    private void sendCoalescedAsync(String destination, Long participationId, byte[] payload) {
+        String key = destination + "#" + participationId;
+        AtomicBoolean scheduleSend = new AtomicBoolean();
+        pendingMessages.compute(key, (ignored, pendingMessage) -> {
+            if (pendingMessage == null) {
+                scheduleSend.set(true);
+                return new CoalescedMessage(payload);
+            }
+            // the scheduled or running send picks up the new payload
+            pendingMessage.payload = payload;
+            return pendingMessage;
+        });
+        if (scheduleSend.get()) {
+            outboundExecutor.execute(() -> sendPendingMessages(key, destination));
+        }
+    }
+
+    /**
+     * Sends the latest payload of the given key until no newer payload is pending. The key is only removed once nothing is left to send, so that no other thread sends a
+     * newer message of the key in the meantime.
+     */
+    private void sendPendingMessages(String key, String destination) {
+        while (true) {
+            AtomicReference<byte[]> nextPayload = new AtomicReference<>();
+            pendingMessages.computeIfPresent(key, (ignored, pendingMessage) -> {
+                if (pendingMessage.payload == null) {
+                    return null;
+                }
+                nextPayload.set(pendingMessage.payload);
+                pendingMessage.payload = null;
+                return pendingMessage;
+            });
+            if (nextPayload.get() == null) {
+                return;
+            }
+            send(destination, nextPayload.get());
+        }
+    }
+
+    private void send(String destination, byte[] payload) {
+        try {
+            getSendTimer(destination).record(() -> messagingTemplate.send(destination, MessageBuilder.withPayload(payload).build()));
+        }
+        catch (Exception ex) {
+            log.error("Could not send websocket message to {}", destination, ex);
+        }
+    }
+
+    private byte[] serialize(Object message) {
+        try {
+            return objectMapper.writeValueAsBytes(message);
+        }
+        catch (JsonProcessingException ex) {
+            log.error("Exception occurred while serializing websocket message", ex);
+            return null;
+        }
+    }
+
+    /**
+     * Returns the timer that measures the send latency of the topic. Ids in the topic (e.g. of exercises or users) are replaced with a placeholder to limit the number of timers.
+     */
+    private Timer getSendTimer(String topic) {
+        String normalizedTopic = topic.startsWith("/user/") ? "/user/{login}" + topic.substring(topic.indexOf('/', "/user/".length())) : topic;
+        normalizedTopic = NUMBER_PATTERN.matcher(normalizedTopic).replaceAll("{id}");
+        return Timer.builder(METRIC_PREFIX + "send").tag("topic", normalizedTopic).description("Time to send a websocket message").register(meterRegistry);
+    }
+
+    /**
+     * Returns the destination that reaches all sessions of the given user, see {@link SimpMessageSendingOperations#convertAndSendToUser}
+     */
+    private static String getUserDestination(String user, String topic) {
+        return "/user/" + user.replace("/", "%2F") + topic;
+    }
+
     /**
      * Returns true if the given destination should be handled by this service.
      * This is the case if this is a 'non-personal' subscription (a result subscription for a whole exercise).
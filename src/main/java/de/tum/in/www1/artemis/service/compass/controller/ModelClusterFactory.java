@@ -3,10 +3,10 @@ package de.tum.in.www1.artemis.service.compass.controller;
 import static com.google.gson.JsonParser.parseString;
 
 import java.io.IOException;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
@@ -43,7 +43,7 @@ public class ModelClusterFactory {
      */
     public List<ModelCluster> buildClusters(List<ModelingSubmission> modelingSubmissions, ModelingExercise exercise) {
         // The elements that has no other similar elements or are the first of their kind
-        HashSet<UMLElement> uniqueElements = new HashSet<>();
+        UniqueElementIndex uniqueElements = new UniqueElementIndex();
 
         // The map of similarity id and clusters. We are using similarity id instead of cluster id here since clusters do not exist in database yet
         Map<Integer, ModelCluster> clusters = new ConcurrentHashMap<>();
@@ -118,19 +118,11 @@ public class ModelClusterFactory {
      * @param exercise the exercise that submission of element belongs to
      * @param submission the submission that element belongs to
      */
-    private void selectCluster(UMLElement element, Set<UMLElement> uniqueModelElements, Map<Integer, ModelCluster> clusters, ModelingExercise exercise,
+    private void selectCluster(UMLElement element, UniqueElementIndex uniqueModelElements, Map<Integer, ModelCluster> clusters, ModelingExercise exercise,
             ModelingSubmission submission) {
 
         // Pair of similarity value and cluster ID
-        var bestSimilarityFit = Pair.of(-1.0, -1);
-
-        for (final var knownElement : uniqueModelElements) {
-            final var similarity = knownElement.similarity(element);
-            if (similarity > CompassConfiguration.EQUALITY_THRESHOLD && similarity > bestSimilarityFit.getFirst()) {
-                // element is similar to existing element and has a higher similarity than another element
-                bestSimilarityFit = Pair.of(similarity, knownElement.getSimilarityID());
-            }
-        }
+        var bestSimilarityFit = uniqueModelElements.findMostSimilarElement(element);
 
         ModelCluster cluster;
         if (bestSimilarityFit.getFirst() != -1.0) {
@@ -158,4 +150,56 @@ public class ModelClusterFactory {
         modelElement.setKnowledge(exercise.getKnowledge());
         cluster.addModelElement(modelElement);
     }
+
+    /**
+     * The elements that have no similar elements or are the first of their kind, indexed by their element type. Elements of unrelated types always have a similarity of 0, so a
+     * new element only has to be compared with the known elements of its own type (and of its super or sub types). The known elements of one type are kept in the order of their
+     * similarity ids, so that the most similar element is always the same, independent of the number of types.
+     */
+    private static class UniqueElementIndex {
+
+        private final Map<Class<?>, List<UMLElement>> elementsByType = new LinkedHashMap<>();
+
+        private int size = 0;
+
+        int size() {
+            return size;
+        }
+
+        void add(UMLElement element) {
+            elementsByType.computeIfAbsent(element.getClass(), type -> new ArrayList<>()).add(element);
+            size++;
+        }
+
+        /**
+         * Finds the known element that is most similar to the given element, if the similarity is above the equality threshold. If several known elements have the same
+         * similarity, the one with the smallest similarity id is selected.
+         *
+         * @param element the element to compare with the known elements
+         * @return pair of similarity value and similarity id of the most similar known element, or a similarity of -1 if there is no element above the threshold
+         */
+        Pair<Double, Integer> findMostSimilarElement(UMLElement element) {
+            var bestSimilarityFit = Pair.of(-1.0, -1);
+
+            for (var entry : elementsByType.entrySet()) {
+                Class<?> knownType = entry.getKey();
+                if (!knownType.isAssignableFrom(element.getClass()) && !element.getClass().isAssignableFrom(knownType)) {
+                    continue;
+                }
+                for (final var knownElement : entry.getValue()) {
+                    final var similarity = knownElement.similarity(element);
+                    if (similarity > CompassConfiguration.EQUALITY_THRESHOLD && (similarity > bestSimilarityFit.getFirst()
+                            || similarity == bestSimilarityFit.getFirst() && knownElement.getSimilarityID() < bestSimilarityFit.getSecond())) {
+                        // element is similar to existing element and has a higher similarity than another element
+                        bestSimilarityFit = Pair.of(similarity, knownElement.getSimilarityID());
+                    }
+                    if (similarity >= 1) {
+                        // no later element of this type can be more similar or have a smaller similarity id
+                        break;
+                    }
+                }
+            }
+            return bestSimilarityFit;
+        }
+    }
 }
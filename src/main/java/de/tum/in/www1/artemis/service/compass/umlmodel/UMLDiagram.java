@@ -1,12 +1,19 @@
 package de.tum.in.www1.artemis.service.compass.umlmodel;
 
 import java.io.Serializable;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public abstract class UMLDiagram implements Similarity<UMLDiagram>, Serializable {
 
     private long modelSubmissionId;
 
+    /**
+     * The number of first level model elements per element type, lazily calculated for {@link #maximumSimilarity(UMLDiagram)}
+     */
+    private transient Map<Class<?>, Integer> elementCountsPerType;
+
     /**
      * to make mockito happy
      */
@@ -83,6 +90,55 @@ public abstract class UMLDiagram implements Similarity<UMLDiagram>, Serializable
         return Math.min(Math.max(similarity, 0), 1);
     }
 
+    /**
+     * Calculates an upper bound of {@link #similarity(Similarity)} between this and another diagram without comparing the single model elements. As elements of unrelated types
+     * always have a similarity of 0 and the similarity of two elements is at most 1, the similarity of two diagrams cannot be higher than the share of elements of the smaller
+     * diagram for which an element of a related type exists in the reference diagram.
+     *
+     * @param reference the reference UML diagram to compare this diagram with
+     * @return the maximum similarity the two diagrams can have as number [0-1]
+     */
+    public double maximumSimilarity(UMLDiagram reference) {
+        if (reference == null || !reference.getClass().isInstance(this)) {
+            return 0;
+        }
+
+        // use the same order as in similarity(), i.e. this diagram has less or equally many elements than the reference diagram
+        if (getModelElements().size() > reference.getModelElements().size()) {
+            return reference.maximumSimilarity(this);
+        }
+
+        int maxElementCount = reference.getModelElements().size();
+        if (maxElementCount == 0) {
+            return 0;
+        }
+
+        Map<Class<?>, Integer> referenceElementCountsPerType = reference.getElementCountsPerType();
+        int comparableElementCount = 0;
+        for (Map.Entry<Class<?>, Integer> entry : getElementCountsPerType().entrySet()) {
+            Class<?> elementType = entry.getKey();
+            boolean hasRelatedElement = referenceElementCountsPerType.keySet().stream()
+                    .anyMatch(referenceElementType -> referenceElementType.isAssignableFrom(elementType) || elementType.isAssignableFrom(referenceElementType));
+            if (hasRelatedElement) {
+                comparableElementCount += entry.getValue();
+            }
+        }
+
+        return Math.min((double) comparableElementCount / maxElementCount, 1);
+    }
+
+    private Map<Class<?>, Integer> getElementCountsPerType() {
+        // the map is immutable, so it can safely be shared between threads, even if it is calculated more than once
+        if (elementCountsPerType == null) {
+            Map<Class<?>, Integer> counts = new HashMap<>();
+            for (UMLElement element : getModelElements()) {
+                counts.merge(element.getClass(), 1, Integer::sum);
+            }
+            elementCountsPerType = Map.copyOf(counts);
+        }
+        return elementCountsPerType;
+    }
+
     /**
      * Compares a reference element to the list of model elements of this diagram and returns the maximum similarity score, i.e. the similarity between the reference element and
      * the most similar element of this diagram.
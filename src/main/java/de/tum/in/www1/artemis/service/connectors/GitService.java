@@ -9,10 +9,11 @@ import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.*;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
@@ -40,6 +41,7 @@ import org.eclipse.jgit.transport.sshd.SshdSessionFactoryBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -53,6 +55,9 @@ import de.tum.in.www1.artemis.exception.GitException;
 import de.tum.in.www1.artemis.service.FileService;
 import de.tum.in.www1.artemis.service.ZipFileService;
 import de.tum.in.www1.artemis.web.rest.errors.EntityNotFoundException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 @Service
 public class GitService {
@@ -92,14 +97,29 @@ public class GitService {
     @Value("${artemis.git.email}")
     private String artemisGitEmail;
 
-    private final Map<Path, Repository> cachedRepositories = new ConcurrentHashMap<>();
+    @Value("${artemis.git.repository-cache.max-size:500}")
+    private int repositoryCacheMaxSize;
 
-    private final Map<Path, Path> cloneInProgressOperations = new ConcurrentHashMap<>();
+    @Value("${artemis.git.repository-cache.max-idle-minutes:30}")
+    private int repositoryCacheMaxIdleMinutes;
+
+    private RepositoryCache cachedRepositories;
+
+    @Value("${artemis.git.max-concurrent-clones:10}")
+    private int maxConcurrentClones;
+
+    private final Map<Path, CompletableFuture<Repository>> cloneInProgressOperations = new ConcurrentHashMap<>();
+
+    private Semaphore concurrentClones;
+
+    private Timer cloneTimer;
 
     private final FileService fileService;
 
     private final ZipFileService zipFileService;
 
+    private final MeterRegistry meterRegistry;
+
     private TransportConfigCallback sshCallback;
 
     private static final int JGIT_TIMEOUT_IN_SECONDS = 5;
@@ -108,13 +128,14 @@ public class GitService {
 
     private static final String ANONYMIZED_STUDENT_EMAIL = "";
 
-    public GitService(FileService fileService, ZipFileService zipFileService) {
+    public GitService(FileService fileService, ZipFileService zipFileService, MeterRegistry meterRegistry) {
         log.info("file.encoding={}", System.getProperty("file.encoding"));
         log.info("sun.jnu.encoding={}", System.getProperty("sun.jnu.encoding"));
         log.info("Default Charset={}", Charset.defaultCharset());
         log.info("Default Charset in Use={}", new OutputStreamWriter(new ByteArrayOutputStream()).getEncoding());
         this.fileService = fileService;
         this.zipFileService = zipFileService;
+        this.meterRegistry = meterRegistry;
     }
 
     /**
@@ -126,6 +147,12 @@ public class GitService {
      */
     @PostConstruct
     public void init() {
+        cachedRepositories = new RepositoryCache(repositoryCacheMaxSize, Duration.ofMinutes(repositoryCacheMaxIdleMinutes), meterRegistry);
+        concurrentClones = new Semaphore(maxConcurrentClones, true);
+        cloneTimer = Timer.builder("artemis.git.clone").description("Duration of cloning a repository from the version control system").register(meterRegistry);
+        Gauge.builder("artemis.git.clone.queue", concurrentClones, Semaphore::getQueueLength).description("Number of clone operations waiting for a free clone slot")
+                .register(meterRegistry);
+
         if (useSsh()) {
             log.info("GitService will use ssh keys as authentication method to interact with remote git repositories");
             configureSsh();
@@ -287,7 +314,7 @@ public class GitService {
      * @return the repository if it could be checked out
      * @throws InterruptedException if the repository could not be checked out.
      * @throws GitAPIException      if the repository could not be checked out.
-     * @throws GitException         if the same repository is attempted to be cloned multiple times.
+     * @throws GitException         if the repository could not be cloned (also if another thread failed to clone the same repository at the same time).
      */
     public Repository getOrCheckoutRepository(ProgrammingExerciseParticipation participation, String targetPath) throws InterruptedException, GitAPIException, GitException {
         var repoUrl = participation.getVcsRepositoryUrl();
@@ -349,7 +376,7 @@ public class GitService {
      * @return the repository if it could be checked out.
      * @throws InterruptedException if the repository could not be checked out.
      * @throws GitAPIException      if the repository could not be checked out.
-     * @throws GitException         if the same repository is attempted to be cloned multiple times.
+     * @throws GitException         if the repository could not be cloned (also if another thread failed to clone the same repository at the same time).
      */
     public Repository getOrCheckoutRepository(VcsRepositoryUrl repoUrl, String targetPath, boolean pullOnGet) throws InterruptedException, GitAPIException, GitException {
         Path localPath = getLocalPathOfRepo(targetPath, repoUrl);
@@ -365,7 +392,7 @@ public class GitService {
      * @return the repository if it could be checked out.
      * @throws InterruptedException if the repository could not be checked out.
      * @throws GitAPIException      if the repository could not be checked out.
-     * @throws GitException         if the same repository is attempted to be cloned multiple times.
+     * @throws GitException         if the repository could not be cloned (also if another thread failed to clone the same repository at the same time).
      */
     public Repository getOrCheckoutRepository(VcsRepositoryUrl repoUrl, boolean pullOnGet, String defaultBranch) throws InterruptedException, GitAPIException, GitException {
         Path localPath = getLocalPathOfRepo(repoClonePath, repoUrl);
@@ -393,7 +420,7 @@ public class GitService {
      * @return the repository if it could be checked out.
      * @throws InterruptedException if the repository could not be checked out.
      * @throws GitAPIException      if the repository could not be checked out.
-     * @throws GitException         if the same repository is attempted to be cloned multiple times.
+     * @throws GitException         if the repository could not be cloned (also if another thread failed to clone the same repository at the same time).
      * @throws InvalidPathException if the repository could not be checked out Because it contains unmappable characters.
      */
     public Repository getOrCheckoutRepository(VcsRepositoryUrl sourceRepoUrl, VcsRepositoryUrl targetRepoUrl, Path localPath, boolean pullOnGet)
@@ -412,11 +439,18 @@ public class GitService {
      * @return the repository if it could be checked out.
      * @throws InterruptedException if the repository could not be checked out.
      * @throws GitAPIException      if the repository could not be checked out.
-     * @throws GitException         if the same repository is attempted to be cloned multiple times.
+     * @throws GitException         if the repository could not be cloned (also if another thread failed to clone the same repository at the same time).
      * @throws InvalidPathException if the repository could not be checked out Because it contains unmappable characters.
      */
     public Repository getOrCheckoutRepository(VcsRepositoryUrl sourceRepoUrl, VcsRepositoryUrl targetRepoUrl, Path localPath, boolean pullOnGet, String defaultBranch)
             throws InterruptedException, GitAPIException, GitException, InvalidPathException {
+        // If the repository is currently cloned by another thread, wait for this clone operation instead of accessing the incomplete repository
+        CompletableFuture<Repository> cloneInProgress = cloneInProgressOperations.get(localPath);
+        if (cloneInProgress != null) {
+            log.debug("Clone of {} is already in progress, wait for it to finish", localPath);
+            return waitForCloneOperation(cloneInProgress);
+        }
+
         // First try to just retrieve the git repository from our server, as it might already be checked out.
         // If the sourceRepoUrl differs from the targetRepoUrl, we attempt to clone the source repo into the target directory
         Repository repository = getExistingCheckedOutRepositoryByLocalPath(localPath, targetRepoUrl, defaultBranch);
@@ -430,40 +464,88 @@ public class GitService {
             return repository;
         }
         // If the git repository can't be found on our server, clone it from the remote.
-        else {
-            int numberOfAttempts = 5;
-            // Make sure that multiple clone operations for the same repository cannot happen at the same time.
-            while (cloneInProgressOperations.containsKey(localPath)) {
-                log.warn("Clone is already in progress. This will lead to an error. Wait for a second");
-                Thread.sleep(1000);
-                if (numberOfAttempts == 0) {
-                    throw new GitException("Cannot clone the same repository multiple times");
-                }
-                else {
-                    numberOfAttempts--;
+        // Make sure that multiple clone operations for the same repository cannot happen at the same time: all callers wait for the same clone operation.
+        CompletableFuture<Repository> newCloneOperation = new CompletableFuture<>();
+        cloneInProgress = cloneInProgressOperations.putIfAbsent(localPath, newCloneOperation);
+        if (cloneInProgress != null) {
+            log.debug("Clone of {} is already in progress, wait for it to finish", localPath);
+            return waitForCloneOperation(cloneInProgress);
+        }
+
+        try {
+            // another clone operation might have finished between the first check and starting this clone operation
+            repository = getExistingCheckedOutRepositoryByLocalPath(localPath, targetRepoUrl, defaultBranch);
+            if (repository == null) {
+                cloneRepository(sourceRepoUrl, localPath);
+                // open (and cache) the cloned repository once for all callers waiting for this clone operation
+                repository = getExistingCheckedOutRepositoryByLocalPath(localPath, targetRepoUrl, defaultBranch);
+                if (repository == null) {
+                    throw new GitException("The cloned repository " + localPath + " could not be opened");
                 }
             }
-            // Clone repository.
-            try {
-                var gitUriAsString = getGitUriAsString(sourceRepoUrl);
-                log.debug("Cloning from {} to {}", gitUriAsString, localPath);
-                cloneInProgressOperations.put(localPath, localPath);
-                // make sure the directory to copy into is empty
-                FileUtils.deleteDirectory(localPath.toFile());
-                Git git = cloneCommand().setURI(gitUriAsString).setDirectory(localPath.toFile()).call();
-                git.close();
-            }
-            catch (IOException | URISyntaxException | GitAPIException | InvalidPathException e) {
-                // cleanup the folder to avoid problems in the future.
-                // 'deleteQuietly' is the same as 'deleteDirectory' but is not throwing an exception, thus we avoid another try-catch block.
-                FileUtils.deleteQuietly(localPath.toFile());
-                throw new GitException(e);
-            }
-            finally {
-                // make sure that cloneInProgress is released
-                cloneInProgressOperations.remove(localPath);
+            newCloneOperation.complete(repository);
+            return repository;
+        }
+        catch (Throwable e) {
+            // the waiting callers must not wait forever, so they get the same exception (also for errors, e.g. if the memory was exhausted)
+            newCloneOperation.completeExceptionally(e);
+            throw e;
+        }
+        finally {
+            // make sure that cloneInProgress is released
+            cloneInProgressOperations.remove(localPath, newCloneOperation);
+        }
+    }
+
+    /**
+     * Clones the given remote repository into the local path. At most artemis.git.max-concurrent-clones clone operations are executed at the same time, other clone operations
+     * wait until one of them has finished.
+     *
+     * @param sourceRepoUrl the url of the remote repository
+     * @param localPath     the path to clone the repository into, an existing directory is deleted
+     * @throws InterruptedException if the thread was interrupted while waiting for a free clone slot
+     * @throws GitException         if the repository could not be cloned
+     */
+    private void cloneRepository(VcsRepositoryUrl sourceRepoUrl, Path localPath) throws InterruptedException, GitException {
+        concurrentClones.acquire();
+        long start = System.nanoTime();
+        try {
+            var gitUriAsString = getGitUriAsString(sourceRepoUrl);
+            log.debug("Cloning from {} to {}", gitUriAsString, localPath);
+            // make sure the directory to copy into is empty
+            FileUtils.deleteDirectory(localPath.toFile());
+            Git git = cloneCommand().setURI(gitUriAsString).setDirectory(localPath.toFile()).call();
+            git.close();
+        }
+        catch (IOException | URISyntaxException | GitAPIException | InvalidPathException e) {
+            // cleanup the folder to avoid problems in the future.
+            // 'deleteQuietly' is the same as 'deleteDirectory' but is not throwing an exception, thus we avoid another try-catch block.
+            FileUtils.deleteQuietly(localPath.toFile());
+            throw new GitException(e);
+        }
+        finally {
+            concurrentClones.release();
+            cloneTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Waits until the given clone operation of another thread has finished.
+     *
+     * @param cloneOperation the clone operation in progress
+     * @return the repository cloned by the other thread
+     * @throws InterruptedException if the thread was interrupted while waiting
+     * @throws GitException         if the clone operation failed
+     */
+    private Repository waitForCloneOperation(CompletableFuture<Repository> cloneOperation) throws InterruptedException, GitException {
+        try {
+            return cloneOperation.get();
+        }
+        catch (ExecutionException e) {
+            if (e.getCause() instanceof GitException gitException) {
+                throw gitException;
             }
-            return getExistingCheckedOutRepositoryByLocalPath(localPath, targetRepoUrl, defaultBranch);
+            throw new GitException("The clone operation of the repository failed", e.getCause());
         }
     }
 
@@ -477,7 +559,16 @@ public class GitService {
     public boolean isRepositoryCached(VcsRepositoryUrl repositoryUrl) {
         Path localPath = getLocalPathOfRepo(repoClonePath, repositoryUrl);
         // Check if the repository is already cached in the server's session.
-        return cachedRepositories.containsKey(localPath);
+        return cachedRepositories.contains(localPath);
+    }
+
+    /**
+     * Removes the repositories that have not been used for the configured idle time from the cache. They are not closed, because the callers might still use them, so their
+     * memory is only released once nobody references them anymore.
+     */
+    @Scheduled(fixedDelay = 60 * 1000, initialDelay = 60 * 1000)
+    public void evictIdleRepositories() {
+        cachedRepositories.evictIdleRepositories();
     }
 
     /**
@@ -509,7 +600,8 @@ public class GitService {
 
     /**
      * Get an existing git repository that is checked out on the server. Returns immediately null if the localPath does not exist. Will first try to retrieve a cached repository
-     * from cachedRepositories. Side effect: This method caches retrieved repositories in a HashMap, so continuous retrievals can be avoided (reduces load).
+     * from cachedRepositories. Side effect: This method caches retrieved repositories in a bounded cache, so continuous retrievals can be avoided (reduces load).
+     * Repositories evicted from the cache are transparently opened again.
      *
      * @param localPath           to git repo on server.
      * @param remoteRepositoryUrl the remote repository url for the git repository, will be added to the Repository object for later use, can be null
@@ -521,7 +613,8 @@ public class GitService {
 
     /**
      * Get an existing git repository that is checked out on the server. Returns immediately null if the localPath does not exist. Will first try to retrieve a cached repository
-     * from cachedRepositories. Side effect: This method caches retrieved repositories in a HashMap, so continuous retrievals can be avoided (reduces load).
+     * from cachedRepositories. Side effect: This method caches retrieved repositories in a bounded cache, so continuous retrievals can be avoided (reduces load).
+     * Repositories evicted from the cache are transparently opened again.
      *
      * @param localPath           to git repo on server.
      * @param remoteRepositoryUrl the remote repository url for the git repository, will be added to the Repository object for later use, can be null
@@ -568,8 +661,7 @@ public class GitService {
             refUpdate.link("refs/heads/" + defaultBranch);
 
             // Cache the JGit repository object for later use: avoids the expensive re-opening of local repositories
-            cachedRepositories.put(localPath, repository);
-            return repository;
+            return cachedRepositories.putIfAbsent(localPath, repository);
         }
         catch (IOException | InvalidRefNameException ex) {
             log.warn("Cannot get existing checkout out repository by local path: " + ex.getMessage());
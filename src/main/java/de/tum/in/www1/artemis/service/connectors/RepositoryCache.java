@@ -0,0 +1,163 @@
+package de.tum.in.www1.artemis.service.connectors;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.tum.in.www1.artemis.domain.Repository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Cache for the JGit repository objects opened by the {@link GitService}, so that local repositories do not have to be re-opened for every access.
+ * <p>
+ * The cache is bounded by the number of repositories and by the time since the last access, because every cached repository keeps memory (e.g. of its pack indexes and
+ * references). Evicted repositories are opened again from the file system when they are accessed the next time.
+ * <p>
+ * Evicted repositories are not closed: an operation that got the repository from the cache before might still use it, and the callers of the {@link GitService} do not
+ * release the repositories they use. Once nothing references an evicted repository anymore, the garbage collector frees it. Its pack files are opened by the global
+ * window cache of JGit, which limits the number of open pack files (core.packedGitOpenFiles) and closes the least recently used ones.
+ * <p>
+ * There is therefore no metric of the open repositories or file handles: the cached-repositories gauge only counts the entries of the cache, evicted repositories that are
+ * still referenced elsewhere are not included.
+ */
+class RepositoryCache {
+
+    private static final Logger log = LoggerFactory.getLogger(RepositoryCache.class);
+
+    private static final String METRIC_PREFIX = "artemis.git.repository-cache.";
+
+    private final int maximumSize;
+
+    private final Duration maximumIdleTime;
+
+    // the access order of the LinkedHashMap makes sure that the least recently used repository comes first
+    private final LinkedHashMap<Path, CachedRepository> repositories = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final Counter hitCounter;
+
+    private final Counter missCounter;
+
+    private final Counter sizeEvictionCounter;
+
+    private final Counter idleEvictionCounter;
+
+    private record CachedRepository(Repository repository, long lastAccessInMillis) {
+    }
+
+    RepositoryCache(int maximumSize, Duration maximumIdleTime, MeterRegistry meterRegistry) {
+        this.maximumSize = maximumSize;
+        this.maximumIdleTime = maximumIdleTime;
+        this.hitCounter = Counter.builder(METRIC_PREFIX + "requests").tag("result", "hit").description("Number of accesses to cached repositories").register(meterRegistry);
+        this.missCounter = Counter.builder(METRIC_PREFIX + "requests").tag("result", "miss").description("Number of accesses to repositories that had to be opened")
+                .register(meterRegistry);
+        this.sizeEvictionCounter = Counter.builder(METRIC_PREFIX + "evictions").tag("cause", "size")
+                .description("Number of repositories removed from the cache because it was full, without closing them").register(meterRegistry);
+        this.idleEvictionCounter = Counter.builder(METRIC_PREFIX + "evictions").tag("cause", "idle")
+                .description("Number of repositories removed from the cache because they were not used, without closing them").register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + "cached-repositories", this, RepositoryCache::size).description("Number of repositories referenced by the cache").register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached repository of the given path and marks it as recently used.
+     *
+     * @param localPath the path of the repository
+     * @return the cached repository or null if the repository is not cached
+     */
+    synchronized Repository get(Path localPath) {
+        CachedRepository cachedRepository = repositories.get(localPath);
+        if (cachedRepository == null) {
+            missCounter.increment();
+            return null;
+        }
+        hitCounter.increment();
+        repositories.put(localPath, new CachedRepository(cachedRepository.repository(), System.currentTimeMillis()));
+        return cachedRepository.repository();
+    }
+
+    synchronized boolean contains(Path localPath) {
+        return repositories.containsKey(localPath);
+    }
+
+    /**
+     * Caches the given repository, unless a repository of the same path was cached in the meantime (e.g. by a concurrent request), and closes the given one in this case.
+     * If the cache is full, the least recently used repository is removed.
+     *
+     * @param localPath  the path of the repository
+     * @param repository the repository that was just opened by the caller and is not used by anyone else yet
+     * @return the cached repository of the path, which the caller should use instead of the given one
+     */
+    Repository putIfAbsent(Path localPath, Repository repository) {
+        Repository cachedRepository;
+        synchronized (this) {
+            CachedRepository previous = repositories.get(localPath);
+            if (previous != null) {
+                cachedRepository = previous.repository();
+            }
+            else {
+                cachedRepository = repository;
+                repositories.put(localPath, new CachedRepository(repository, System.currentTimeMillis()));
+                Iterator<CachedRepository> iterator = repositories.values().iterator();
+                while (repositories.size() > maximumSize && iterator.hasNext()) {
+                    iterator.next();
+                    iterator.remove();
+                    sizeEvictionCounter.increment();
+                }
+            }
+        }
+        if (cachedRepository != repository) {
+            // nobody else knows the given repository, so it can be closed right away
+            close(repository);
+        }
+        return cachedRepository;
+    }
+
+    /**
+     * Removes the repository of the given path from the cache without closing it, e.g. because the caller deletes it.
+     *
+     * @param localPath the path of the repository
+     */
+    synchronized void remove(Path localPath) {
+        repositories.remove(localPath);
+    }
+
+    /**
+     * Removes all repositories that have not been accessed within the maximum idle time from the cache. The repositories are not closed, see the class comment.
+     */
+    void evictIdleRepositories() {
+        long oldestAllowedAccess = System.currentTimeMillis() - maximumIdleTime.toMillis();
+        int numberOfEvictedRepositories = 0;
+        synchronized (this) {
+            Iterator<CachedRepository> iterator = repositories.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().lastAccessInMillis() >= oldestAllowedAccess) {
+                    // all following repositories were accessed more recently
+                    break;
+                }
+                iterator.remove();
+                idleEvictionCounter.increment();
+                numberOfEvictedRepositories++;
+            }
+        }
+        if (numberOfEvictedRepositories > 0) {
+            log.debug("Evicted {} repositories that were not used for {}", numberOfEvictedRepositories, maximumIdleTime);
+        }
+    }
+
+    synchronized int size() {
+        return repositories.size();
+    }
+
+    private static void close(Repository repository) {
+        try {
+            repository.close();
+        }
+        catch (Exception ex) {
+            log.warn("Could not close the repository {}: {}", repository.getLocalPath(), ex.getMessage());
+        }
+    }
+}
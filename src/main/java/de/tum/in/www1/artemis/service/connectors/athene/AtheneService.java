@@ -297,6 +297,7 @@ public class AtheneService {
 
         // Save clusters in Database
         textClusterRepository.saveAll(savedClusters);
+        textAssessmentQueueService.invalidateClusterRanking(exerciseId);
     }
 
 }
@@ -0,0 +1,77 @@
+package de.tum.in.www1.artemis.service.exam;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+
+import de.tum.in.www1.artemis.web.rest.dto.ExamScoresDTO;
+
+/**
+ * Caches the scores of an exam, see {@link ExamService#calculateExamScores(Long)}.
+ * <p>
+ * Computing the scores loads all participations of the exam with their submissions and relevant results, which is expensive for large exams, while the scores only change
+ * when results, submissions, participations, student exams, exercises or the grading scale of the exam change.
+ * The scores are removed from the cache in these cases, see {@link de.tum.in.www1.artemis.service.listeners.ExamScoresCacheListener}.
+ */
+@Service
+public class ExamScoresCacheService {
+
+    public static final String EXAM_SCORES_CACHE = "examScores";
+
+    // the time to live covers changes that do not notify the listener, e.g. modifying queries or changed user names
+    public static final int EXAM_SCORES_CACHE_TIME_TO_LIVE_SECONDS = 5 * 60;
+
+    private final IMap<Long, ExamScoresDTO> examScores;
+
+    public ExamScoresCacheService(HazelcastInstance hazelcastInstance) {
+        this.examScores = hazelcastInstance.getMap(EXAM_SCORES_CACHE);
+    }
+
+    /**
+     * Returns the cached scores of the exam with the given id.
+     *
+     * @param examId the id of the exam
+     * @return a copy of the cached scores or null if they are not cached
+     */
+    public ExamScoresDTO getExamScores(Long examId) {
+        return examScores.get(examId);
+    }
+
+    /**
+     * Caches the given scores of an exam.
+     *
+     * @param scores the scores of the exam
+     */
+    public void cacheExamScores(ExamScoresDTO scores) {
+        examScores.set(scores.examId, scores);
+    }
+
+    /**
+     * Removes the scores of the exam with the given id from the cache, e.g. because a result of one of its exercises changed.
+     * If a transaction is active, the scores are removed again after the transaction was completed, because another request might cache the old scores in between.
+     *
+     * @param examId the id of the exam
+     */
+    public void evictExamScores(Long examId) {
+        examScores.delete(examId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCompletion(int status) {
+                    examScores.delete(examId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Removes the scores of all exams from the cache.
+     */
+    public void evictAllExamScores() {
+        examScores.clear();
+    }
+}
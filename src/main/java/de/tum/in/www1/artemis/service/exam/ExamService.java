@@ -93,12 +93,14 @@ public class ExamService {
 
     private final GradingScaleRepository gradingScaleRepository;
 
+    private final ExamScoresCacheService examScoresCacheService;
+
     public ExamService(ExerciseDeletionService exerciseDeletionService, ExamRepository examRepository, StudentExamRepository studentExamRepository, ExamQuizService examQuizService,
             InstanceMessageSendService instanceMessageSendService, TutorLeaderboardService tutorLeaderboardService, AuditEventRepository auditEventRepository,
             StudentParticipationRepository studentParticipationRepository, ComplaintRepository complaintRepository, ComplaintResponseRepository complaintResponseRepository,
             UserRepository userRepository, ProgrammingExerciseRepository programmingExerciseRepository, QuizExerciseRepository quizExerciseRepository,
             ResultRepository resultRepository, SubmissionRepository submissionRepository, CourseExamExportService courseExamExportService, GitService gitService,
-            GroupNotificationService groupNotificationService, GradingScaleRepository gradingScaleRepository) {
+            GroupNotificationService groupNotificationService, GradingScaleRepository gradingScaleRepository, ExamScoresCacheService examScoresCacheService) {
         this.exerciseDeletionService = exerciseDeletionService;
         this.examRepository = examRepository;
         this.studentExamRepository = studentExamRepository;
@@ -118,6 +120,7 @@ public class ExamService {
         this.groupNotificationService = groupNotificationService;
         this.gitService = gitService;
         this.gradingScaleRepository = gradingScaleRepository;
+        this.examScoresCacheService = examScoresCacheService;
     }
 
     /**
@@ -179,6 +182,7 @@ public class ExamService {
         }
         deleteGradingScaleOfExam(exam);
         examRepository.deleteById(exam.getId());
+        examScoresCacheService.evictExamScores(exam.getId());
     }
 
     private void deleteGradingScaleOfExam(Exam exam) {
@@ -212,28 +216,67 @@ public class ExamService {
             }
         }
         studentExamRepository.deleteAll(exam.getStudentExams());
+        examScoresCacheService.evictExamScores(exam.getId());
     }
 
     /**
-     * Puts students, result and exerciseGroups together for ExamScoresDTO
+     * Puts students, result and exerciseGroups together for ExamScoresDTO.
+     * The scores are cached until a result, submission or participation of the exam changes, see {@link ExamScoresCacheService}.
      *
      * @param examId the id of the exam
      * @return return ExamScoresDTO with students, scores and exerciseGroups for exam
      */
     public ExamScoresDTO calculateExamScores(Long examId) {
-        Exam exam = examRepository.findWithExerciseGroupsAndExercisesById(examId).orElseThrow(() -> new EntityNotFoundException("Exam", examId));
+        ExamScoresDTO cachedScores = examScoresCacheService.getExamScores(examId);
+        if (cachedScores != null) {
+            return cachedScores;
+        }
 
+        Exam exam = examRepository.findWithExerciseGroupsAndExercisesById(examId).orElseThrow(() -> new EntityNotFoundException("Exam", examId));
         List<StudentParticipation> studentParticipations = studentParticipationRepository.findByExamIdWithSubmissionRelevantResult(examId); // without test run participations
+        Set<StudentExam> studentExams = studentExamRepository.findByExamId(examId); // fetched without test runs
+        Optional<GradingScale> gradingScale = gradingScaleRepository.findByExamId(examId);
 
+        ExamScoresDTO scores = calculateExamScores(exam, studentParticipations, studentExams, gradingScale);
+        examScoresCacheService.cacheExamScores(scores);
+        return scores;
+    }
+
+    /**
+     * Puts students, result and exerciseGroups together for ExamScoresDTO.
+     * The participations are grouped by student in a single pass, so the computation takes linear time in the number of participations and student exams.
+     *
+     * @param exam                  the exam with its exercise groups and exercises
+     * @param studentParticipations the participations of the exam without test runs, with their submissions and relevant results
+     * @param studentExams          the student exams of the exam without test runs
+     * @param gradingScale          the grading scale of the exam, if one exists
+     * @return return ExamScoresDTO with students, scores and exerciseGroups for exam
+     */
+    public ExamScoresDTO calculateExamScores(Exam exam, List<StudentParticipation> studentParticipations, Set<StudentExam> studentExams, Optional<GradingScale> gradingScale) {
         // Adding exam information to DTO
         ExamScoresDTO scores = new ExamScoresDTO(exam.getId(), exam.getTitle(), exam.getMaxPoints());
 
         // setting multiplicity of correction rounds
         scores.hasSecondCorrectionAndStarted = false;
 
-        // Counts how many participants each exercise has
-        Map<Long, Long> exerciseIdToNumberParticipations = studentParticipations.stream()
-                .collect(Collectors.groupingBy(studentParticipation -> studentParticipation.getExercise().getId(), Collectors.counting()));
+        // Index the exercises of the exam, so that their participants can be counted in an array
+        Map<Long, Integer> exerciseIdToIndex = new HashMap<>();
+        for (ExerciseGroup exerciseGroup : exam.getExerciseGroups()) {
+            for (Exercise exercise : exerciseGroup.getExercises()) {
+                exerciseIdToIndex.putIfAbsent(exercise.getId(), exerciseIdToIndex.size());
+            }
+        }
+
+        // Counts how many participants each exercise has and groups the participations by student
+        long[] numberOfParticipationsPerExercise = new long[exerciseIdToIndex.size()];
+        Map<Long, List<StudentParticipation>> studentIdToParticipations = new HashMap<>();
+        for (StudentParticipation studentParticipation : studentParticipations) {
+            Integer exerciseIndex = exerciseIdToIndex.get(studentParticipation.getExercise().getId());
+            if (exerciseIndex != null) {
+                numberOfParticipationsPerExercise[exerciseIndex]++;
+            }
+            studentIdToParticipations.computeIfAbsent(studentParticipation.getStudent().get().getId(), studentId -> new ArrayList<>()).add(studentParticipation);
+        }
 
         // Adding exercise group information to DTO
         for (ExerciseGroup exerciseGroup : exam.getExerciseGroups()) {
@@ -246,11 +289,7 @@ public class ExamService {
             // Add information about exercise groups and exercises
             var exerciseGroupDTO = new ExamScoresDTO.ExerciseGroup(exerciseGroup.getId(), exerciseGroup.getTitle(), maxPointsGroup);
             for (Exercise exercise : exerciseGroup.getExercises()) {
-                Long participantsForExercise = exerciseIdToNumberParticipations.get(exercise.getId());
-                // If no participation exists for an exercise then no entry exists in the map
-                if (participantsForExercise == null) {
-                    participantsForExercise = 0L;
-                }
+                long participantsForExercise = numberOfParticipationsPerExercise[exerciseIdToIndex.get(exercise.getId())];
                 numberOfExerciseGroupParticipants += participantsForExercise;
                 exerciseGroupDTO.containedExercises.add(new ExamScoresDTO.ExerciseGroup.ExerciseInfo(exercise.getId(), exercise.getTitle(), exercise.getMaxPoints(),
                         participantsForExercise, exercise.getClass().getSimpleName()));
@@ -259,9 +298,12 @@ public class ExamService {
             scores.exerciseGroups.add(exerciseGroupDTO);
         }
 
+        // The grade steps are only loaded once instead of once per student
+        GradeStepLookup gradeStepLookup = gradingScale.map(GradeStepLookup::new).orElse(null);
+
         // Adding registered student information to DTO
-        Set<StudentExam> studentExams = studentExamRepository.findByExamId(examId); // fetched without test runs
         ObjectMapper objectMapper = new ObjectMapper();
+        double sumOverallPoints = 0.0;
         for (StudentExam studentExam : studentExams) {
 
             User user = studentExam.getUser();
@@ -269,8 +311,7 @@ public class ExamService {
                     studentExam.isSubmitted());
 
             // Adding student results information to DTO
-            List<StudentParticipation> participationsOfStudent = studentParticipations.stream()
-                    .filter(studentParticipation -> studentParticipation.getStudent().get().getId().equals(studentResult.userId)).toList();
+            List<StudentParticipation> participationsOfStudent = studentIdToParticipations.getOrDefault(studentResult.userId, List.of());
 
             studentResult.overallPointsAchieved = 0.0;
             studentResult.overallPointsAchievedInFirstCorrection = 0.0;
@@ -328,22 +369,20 @@ public class ExamService {
                 studentResult.overallScoreAchieved = (studentResult.overallPointsAchieved / scores.maxPoints) * 100.0;
                 var overallScoreAchievedInFirstCorrection = (studentResult.overallPointsAchievedInFirstCorrection / scores.maxPoints) * 100.0;
                 // Sets grading scale related properties for exam scores
-                Optional<GradingScale> gradingScale = gradingScaleRepository.findByExamId(examId);
-                if (gradingScale.isPresent()) {
+                if (gradeStepLookup != null) {
                     // Calculate current student grade
-                    GradeStep studentGrade = gradingScaleRepository.matchPercentageToGradeStep(studentResult.overallScoreAchieved, gradingScale.get().getId());
-                    GradeStep studentGradeInFirstCorrection = gradingScaleRepository.matchPercentageToGradeStep(overallScoreAchievedInFirstCorrection, gradingScale.get().getId());
+                    GradeStep studentGrade = gradeStepLookup.matchPercentageToGradeStep(studentResult.overallScoreAchieved);
+                    GradeStep studentGradeInFirstCorrection = gradeStepLookup.matchPercentageToGradeStep(overallScoreAchievedInFirstCorrection);
                     studentResult.overallGrade = studentGrade.getGradeName();
                     studentResult.overallGradeInFirstCorrection = studentGradeInFirstCorrection.getGradeName();
                     studentResult.hasPassed = studentGrade.getIsPassingGrade();
                 }
             }
+            sumOverallPoints += studentResult.overallPointsAchieved;
             scores.studentResults.add(studentResult);
         }
 
         // Updating exam information in DTO
-        double sumOverallPoints = scores.studentResults.stream().mapToDouble(studentResult -> studentResult.overallPointsAchieved).sum();
-
         int numberOfStudentResults = scores.studentResults.size();
 
         if (numberOfStudentResults != 0) {
@@ -799,4 +838,29 @@ public class ExamService {
         exam.getExerciseGroups().stream().flatMap(group -> group.getExercises().stream()).filter(exercise -> exercise instanceof ModelingExercise).map(Exercise::getId)
                 .forEach(instanceMessageSendService::sendModelingExerciseSchedule);
     }
+
+    /**
+     * Matches percentages to the grade steps of a grading scale in the same way as {@link GradingScaleRepository#matchPercentageToGradeStep(double, Long)},
+     * but without loading the grading scale from the database for every student. The grade steps are kept in an array sorted by their lower bound.
+     */
+    private static final class GradeStepLookup {
+
+        private final GradeStep[] gradeSteps;
+
+        private GradeStepLookup(GradingScale gradingScale) {
+            this.gradeSteps = gradingScale.getGradeSteps().stream().sorted(Comparator.comparingDouble(GradeStep::getLowerBoundPercentage)).toArray(GradeStep[]::new);
+        }
+
+        private GradeStep matchPercentageToGradeStep(double percentage) {
+            if (percentage < 0 || percentage > 100) {
+                throw new BadRequestAlertException("Grade percentages must be between 0 and 100", "gradeStep", "invalidGradePercentage");
+            }
+            for (GradeStep gradeStep : gradeSteps) {
+                if (gradeStep.matchingGradePercentage(percentage)) {
+                    return gradeStep;
+                }
+            }
+            throw new EntityNotFoundException("No grade step in selected grading scale matches given percentage");
+        }
+    }
 }
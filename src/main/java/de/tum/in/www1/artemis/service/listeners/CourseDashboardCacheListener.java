@@ -0,0 +1,110 @@
+package de.tum.in.www1.artemis.service.listeners;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.internal.SessionFactoryImpl;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import de.tum.in.www1.artemis.domain.*;
+import de.tum.in.www1.artemis.domain.exam.Exam;
+import de.tum.in.www1.artemis.service.CourseDashboardCacheService;
+
+/**
+ * Removes a course from the {@link CourseDashboardCacheService} whenever the course or one of its exercises, lectures, attachments or exams is created, updated or deleted.
+ * <p>
+ * The listener is registered for the Hibernate events instead of using {@link javax.persistence.EntityListeners} on all of these entities,
+ * because it also has to be notified about changed collections, e.g. the categories of an exercise.
+ */
+@Component
+public class CourseDashboardCacheListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener, PostCollectionRecreateEventListener,
+        PostCollectionUpdateEventListener, PostCollectionRemoveEventListener, SmartInitializingSingleton {
+
+    private final CourseDashboardCacheService courseDashboardCacheService;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * The cache service requires repositories, which require the {@link javax.persistence.EntityManager}. To break this circular dependency we use lazy injection here.
+     *
+     * @param courseDashboardCacheService the service caching the course structures that will be lazily injected by Spring
+     * @param entityManagerFactory        the entity manager factory that will be lazily injected by Spring
+     */
+    public CourseDashboardCacheListener(@Lazy CourseDashboardCacheService courseDashboardCacheService, @Lazy EntityManagerFactory entityManagerFactory) {
+        this.courseDashboardCacheService = courseDashboardCacheService;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        EventListenerRegistry eventListenerRegistry = entityManagerFactory.unwrap(SessionFactoryImpl.class).getServiceRegistry().getService(EventListenerRegistry.class);
+        eventListenerRegistry.appendListeners(EventType.POST_INSERT, this);
+        eventListenerRegistry.appendListeners(EventType.POST_UPDATE, this);
+        eventListenerRegistry.appendListeners(EventType.POST_DELETE, this);
+        eventListenerRegistry.appendListeners(EventType.POST_COLLECTION_RECREATE, this);
+        eventListenerRegistry.appendListeners(EventType.POST_COLLECTION_UPDATE, this);
+        eventListenerRegistry.appendListeners(EventType.POST_COLLECTION_REMOVE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        evictCourseOf(event.getEntity());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        evictCourseOf(event.getEntity());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        evictCourseOf(event.getEntity());
+    }
+
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        evictCourseOf(event.getAffectedOwnerOrNull());
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        evictCourseOf(event.getAffectedOwnerOrNull());
+    }
+
+    @Override
+    public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+        evictCourseOf(event.getAffectedOwnerOrNull());
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return false;
+    }
+
+    private void evictCourseOf(Object entity) {
+        Course course = null;
+        if (entity instanceof Course changedCourse) {
+            course = changedCourse;
+        }
+        else if (entity instanceof Exercise exercise && exercise.isCourseExercise()) {
+            // exam exercises are not cached
+            course = exercise.getCourseViaExerciseGroupOrCourseMember();
+        }
+        else if (entity instanceof Lecture lecture) {
+            course = lecture.getCourse();
+        }
+        else if (entity instanceof Attachment attachment && attachment.getLecture() != null) {
+            course = attachment.getLecture().getCourse();
+        }
+        else if (entity instanceof Exam exam) {
+            course = exam.getCourse();
+        }
+        if (course != null && course.getId() != null) {
+            courseDashboardCacheService.evictCourse(course.getId());
+        }
+    }
+}
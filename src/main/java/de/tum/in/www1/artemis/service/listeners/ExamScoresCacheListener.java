@@ -0,0 +1,118 @@
+package de.tum.in.www1.artemis.service.listeners;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.internal.SessionFactoryImpl;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import de.tum.in.www1.artemis.domain.*;
+import de.tum.in.www1.artemis.domain.exam.Exam;
+import de.tum.in.www1.artemis.domain.exam.ExerciseGroup;
+import de.tum.in.www1.artemis.domain.exam.StudentExam;
+import de.tum.in.www1.artemis.domain.participation.Participation;
+import de.tum.in.www1.artemis.service.exam.ExamScoresCacheService;
+
+/**
+ * Removes the scores of an exam from the {@link ExamScoresCacheService} whenever a result, submission or participation of one of its exercises,
+ * one of its student exams, exercise groups or exercises, its grading scale or the exam itself is created, updated or deleted.
+ * <p>
+ * The listener is registered for the Hibernate events instead of using {@link javax.persistence.EntityListeners} on all of these entities,
+ * because results are saved in many places and all of them have to invalidate the scores.
+ */
+@Component
+public class ExamScoresCacheListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener, SmartInitializingSingleton {
+
+    private final ExamScoresCacheService examScoresCacheService;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * The entity manager factory is only available after the listener was created. To break this circular dependency we use lazy injection here.
+     *
+     * @param examScoresCacheService the service caching the exam scores that will be lazily injected by Spring
+     * @param entityManagerFactory   the entity manager factory that will be lazily injected by Spring
+     */
+    public ExamScoresCacheListener(@Lazy ExamScoresCacheService examScoresCacheService, @Lazy EntityManagerFactory entityManagerFactory) {
+        this.examScoresCacheService = examScoresCacheService;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        EventListenerRegistry eventListenerRegistry = entityManagerFactory.unwrap(SessionFactoryImpl.class).getServiceRegistry().getService(EventListenerRegistry.class);
+        eventListenerRegistry.appendListeners(EventType.POST_INSERT, this);
+        eventListenerRegistry.appendListeners(EventType.POST_UPDATE, this);
+        eventListenerRegistry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        evictExamScoresOf(event.getEntity());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        evictExamScoresOf(event.getEntity());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        evictExamScoresOf(event.getEntity());
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return false;
+    }
+
+    private void evictExamScoresOf(Object entity) {
+        Exam exam = null;
+        if (entity instanceof Result result) {
+            Participation participation = result.getParticipation();
+            if (participation == null && result.getSubmission() != null) {
+                participation = result.getSubmission().getParticipation();
+            }
+            exam = examOf(participation);
+        }
+        else if (entity instanceof Submission submission) {
+            exam = examOf(submission.getParticipation());
+        }
+        else if (entity instanceof Participation participation) {
+            exam = examOf(participation);
+        }
+        else if (entity instanceof Exercise exercise) {
+            exam = exercise.getExamViaExerciseGroupOrCourseMember();
+        }
+        else if (entity instanceof StudentExam studentExam) {
+            exam = studentExam.getExam();
+        }
+        else if (entity instanceof ExerciseGroup exerciseGroup) {
+            exam = exerciseGroup.getExam();
+        }
+        else if (entity instanceof Exam changedExam) {
+            exam = changedExam;
+        }
+        else if (entity instanceof GradingScale gradingScale) {
+            exam = gradingScale.getExam();
+        }
+        else if (entity instanceof GradeStep gradeStep && gradeStep.getGradingScale() != null) {
+            exam = gradeStep.getGradingScale().getExam();
+        }
+        if (exam != null && exam.getId() != null) {
+            examScoresCacheService.evictExamScores(exam.getId());
+        }
+    }
+
+    private static Exam examOf(Participation participation) {
+        if (participation == null || participation.getExercise() == null) {
+            return null;
+        }
+        // course exercises are not part of any exam scores
+        return participation.getExercise().getExamViaExerciseGroupOrCourseMember();
+    }
+}
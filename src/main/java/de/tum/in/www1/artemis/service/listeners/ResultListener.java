@@ -9,6 +9,8 @@ import org.springframework.stereotype.Component;
 
 import de.tum.in.www1.artemis.domain.Result;
 import de.tum.in.www1.artemis.service.ScoreService;
+import de.tum.in.www1.artemis.service.programming.ProgrammingExerciseGradingService;
+import de.tum.in.www1.artemis.service.scheduled.ParticipantScoreScheduleService;
 
 /**
  * Important: As the ResultListener potentially will be called from a situation where no {@link org.springframework.security.core.Authentication}
@@ -17,21 +19,33 @@ import de.tum.in.www1.artemis.service.ScoreService;
  * <p>
  * A workaround can be found in {@link ScoreService#removeOrUpdateAssociatedParticipantScore(Result)} where
  * we check if an authentication is available and if it is not, we set a dummy authentication.
+ * <p>
+ * Participant scores of created or updated results are updated in the background by the {@link ParticipantScoreScheduleService} after the transaction was committed.
+ * The cached grading statistics of programming exercises are removed whenever one of their results changes.
  */
 @Component
 public class ResultListener {
 
     private ScoreService scoreService;
 
+    private ParticipantScoreScheduleService participantScoreScheduleService;
+
+    private ProgrammingExerciseGradingService programmingExerciseGradingService;
+
     /**
      * While {@link javax.persistence.EntityManager} is being initialized it instantiates {@link javax.persistence.EntityListeners} including
      * {@link ResultListener}. Now {@link ResultListener} requires the {@link ScoreService} which requires {@link de.tum.in.www1.artemis.repository.StudentScoreRepository}
-     * which requires {@link javax.persistence.EntityManager}. To break this circular dependency we use lazy injection of the service here.
+     * which requires {@link javax.persistence.EntityManager}. To break this circular dependency we use lazy injection of the services here.
      *
-     * @param scoreService the student score service that will be lazily injected by Spring
+     * @param scoreService                    the student score service that will be lazily injected by Spring
+     * @param participantScoreScheduleService   the service updating the participant scores in the background that will be lazily injected by Spring
+     * @param programmingExerciseGradingService the service caching the grading statistics that will be lazily injected by Spring
      */
-    public ResultListener(@Lazy ScoreService scoreService) {
+    public ResultListener(@Lazy ScoreService scoreService, @Lazy ParticipantScoreScheduleService participantScoreScheduleService,
+            @Lazy ProgrammingExerciseGradingService programmingExerciseGradingService) {
         this.scoreService = scoreService;
+        this.participantScoreScheduleService = participantScoreScheduleService;
+        this.programmingExerciseGradingService = programmingExerciseGradingService;
     }
 
     /**
@@ -43,19 +57,22 @@ public class ResultListener {
      */
     @PreRemove
     public void removeOrUpdateAssociatedParticipantScore(Result resultToBeDeleted) {
+        participantScoreScheduleService.cancelParticipantScoreUpdate(resultToBeDeleted);
         scoreService.removeOrUpdateAssociatedParticipantScore(resultToBeDeleted);
+        programmingExerciseGradingService.evictGradingStatistics(resultToBeDeleted);
     }
 
     /**
-     * Update or create a new participation score after a result is created or updated
+     * Schedule the update or creation of the participation score after a result is created or updated
      * <p>
-     * Will be called by Hibernate AFTER a result is updated or created
+     * Will be called by Hibernate AFTER a result is updated or created, the participant score is updated after the transaction was committed
      *
      * @param createdOrUpdatedResult created or updated result
      */
     @PostUpdate
     @PostPersist
     public void updateOrCreateParticipantScore(Result createdOrUpdatedResult) {
-        scoreService.updateOrCreateParticipantScore(createdOrUpdatedResult);
+        participantScoreScheduleService.scheduleParticipantScoreUpdate(createdOrUpdatedResult);
+        programmingExerciseGradingService.evictGradingStatistics(createdOrUpdatedResult);
     }
 }
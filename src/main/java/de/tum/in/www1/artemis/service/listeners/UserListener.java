@@ -0,0 +1,86 @@
+package de.tum.in.www1.artemis.service.listeners;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.internal.SessionFactoryImpl;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import de.tum.in.www1.artemis.domain.User;
+import de.tum.in.www1.artemis.repository.CachedUserRepository;
+import de.tum.in.www1.artemis.repository.UserRepository;
+
+/**
+ * Removes users from the {@link CachedUserRepository} whenever they are created, updated or deleted.
+ * <p>
+ * Hibernate does not call the JPA callbacks if only the groups or authorities of a user change, because these are collections of the user. Therefore, this listener is also
+ * registered for the Hibernate events of changed collections.
+ */
+@Component
+public class UserListener implements PostCollectionRecreateEventListener, PostCollectionUpdateEventListener, PostCollectionRemoveEventListener, SmartInitializingSingleton {
+
+    private final UserRepository userRepository;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * The user repository requires the {@link javax.persistence.EntityManager}, which instantiates this listener while it is being initialized.
+     * To break this circular dependency we use lazy injection here.
+     *
+     * @param userRepository       the user repository that will be lazily injected by Spring
+     * @param entityManagerFactory the entity manager factory that will be lazily injected by Spring
+     */
+    public UserListener(@Lazy UserRepository userRepository, @Lazy EntityManagerFactory entityManagerFactory) {
+        this.userRepository = userRepository;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        EventListenerRegistry eventListenerRegistry = entityManagerFactory.unwrap(SessionFactoryImpl.class).getServiceRegistry().getService(EventListenerRegistry.class);
+        eventListenerRegistry.appendListeners(EventType.POST_COLLECTION_RECREATE, this);
+        eventListenerRegistry.appendListeners(EventType.POST_COLLECTION_UPDATE, this);
+        eventListenerRegistry.appendListeners(EventType.POST_COLLECTION_REMOVE, this);
+    }
+
+    /**
+     * Will be called by Hibernate AFTER a user is created, updated or deleted.
+     *
+     * @param user the created, updated or deleted user
+     */
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void evictCachedUser(User user) {
+        if (user.getLogin() != null) {
+            userRepository.evictCachedUser(user.getLogin());
+        }
+    }
+
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        evictCachedOwner(event);
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        evictCachedOwner(event);
+    }
+
+    @Override
+    public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+        evictCachedOwner(event);
+    }
+
+    private void evictCachedOwner(AbstractCollectionEvent event) {
+        if (event.getAffectedOwnerOrNull() instanceof User user) {
+            evictCachedUser(user);
+        }
+    }
+}
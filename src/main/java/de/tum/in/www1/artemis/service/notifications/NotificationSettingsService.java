@@ -134,6 +134,35 @@ public class NotificationSettingsService {
         return !deactivatedTypes.contains(type);
     }
 
+    /**
+     * Filters the given users by their notification settings, i.e. only keeps the users that allow the notification (i.e. its type based on title) for the given
+     * communication channel. In contrast to {@link #checkIfNotificationOrEmailIsAllowedBySettingsForGivenUser}, the notification settings of all users are loaded at once.
+     *
+     * @param notification         which type (based on title) should be checked
+     * @param users                whose notification settings will be used for checking
+     * @param communicationChannel which channel to use (e.g. email or webapp)
+     * @return the users that allow the notification in the order of the given users
+     */
+    public List<User> filterUsersBySettingsForNotification(Notification notification, List<User> users, NotificationSettingsCommunicationChannel communicationChannel) {
+        if (users.isEmpty()) {
+            return List.of();
+        }
+        NotificationType type = findCorrespondingNotificationType(notification.getTitle());
+        Set<Long> userIds = users.stream().map(User::getId).collect(Collectors.toSet());
+        Map<Long, Set<NotificationSetting>> notificationSettingsByUserId = notificationSettingRepository.findAllNotificationSettingsForRecipientsWithIds(userIds).stream()
+                .collect(Collectors.groupingBy(notificationSetting -> notificationSetting.getUser().getId(), Collectors.toSet()));
+
+        // users that have not yet changed their settings use the default settings
+        boolean allowedByDefaultSettings = !findDeactivatedNotificationTypes(communicationChannel, DEFAULT_NOTIFICATION_SETTINGS).contains(type);
+        return users.stream().filter(user -> {
+            Set<NotificationSetting> notificationSettings = notificationSettingsByUserId.get(user.getId());
+            if (notificationSettings == null) {
+                return allowedByDefaultSettings;
+            }
+            return !findDeactivatedNotificationTypes(communicationChannel, notificationSettings).contains(type);
+        }).toList();
+    }
+
     /**
      * Checks if the notification type has email support (per default not for an individual user!)
      * For some types there is no need for email support so they will be filtered out here.
@@ -4,8 +4,14 @@ import static com.google.gson.JsonParser.parseString;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,6 +35,13 @@ public class ModelingPlagiarismDetectionService {
 
     private final Logger log = LoggerFactory.getLogger(ModelingPlagiarismDetectionService.class);
 
+    /**
+     * Progress messages are sent at most once per interval
+     */
+    private static final long PROGRESS_NOTIFICATION_INTERVAL_IN_MILLIS = 1000;
+
+    private static final double SIMILARITY_BOUND_TOLERANCE = 1e-9;
+
     private final PlagiarismWebsocketService plagiarismWebsocketService;
 
     public ModelingPlagiarismDetectionService(PlagiarismWebsocketService plagiarismWebsocketService) {
@@ -71,7 +84,8 @@ public class ModelingPlagiarismDetectionService {
     }
 
     /**
-     * Pairwise comparison of text submissions using a TextComparisonStrategy
+     * Pairwise comparison of modeling submissions. Pairs of models that cannot reach the minimum similarity (see {@link UMLDiagram#maximumSimilarity(UMLDiagram)}) are skipped,
+     * all other pairs are compared in parallel.
      *
      * @param modelingSubmissions List of modeling submissions
      * @param minimumSimilarity   the minimum similarity so that the result is considered
@@ -84,10 +98,12 @@ public class ModelingPlagiarismDetectionService {
     public ModelingPlagiarismResult checkPlagiarism(List<ModelingSubmission> modelingSubmissions, double minimumSimilarity, int minimumModelSize, int minimumScore,
             Long exerciseId) {
         String topic = plagiarismWebsocketService.getModelingExercisePlagiarismCheckTopic(exerciseId);
+        ProgressNotifier progressNotifier = new ProgressNotifier(topic);
 
         ModelingPlagiarismResult result = new ModelingPlagiarismResult();
 
-        Map<UMLDiagram, ModelingSubmission> models = new HashMap<>();
+        // the submission information is read in the calling thread, as the comparisons are executed in other threads
+        Map<UMLDiagram, PlagiarismSubmission<ModelingSubmissionElement>> models = new LinkedHashMap<>();
         ObjectMapper objectMapper = new ObjectMapper();
 
         AtomicInteger processedSubmissionCount = new AtomicInteger(1);
@@ -95,15 +111,14 @@ public class ModelingPlagiarismDetectionService {
                 .filter(modelingSubmission -> minimumScore == 0 || modelingSubmission.getLatestResult() != null && modelingSubmission.getLatestResult().getScore() != null
                         && modelingSubmission.getLatestResult().getScore() >= minimumScore)
                 .forEach(modelingSubmission -> {
-                    String progressMessage = "Getting UML diagram for submission: " + processedSubmissionCount + "/" + modelingSubmissions.size();
-                    plagiarismWebsocketService.notifyInstructorAboutPlagiarismState(topic, PlagiarismCheckState.RUNNING, List.of(progressMessage));
+                    progressNotifier.notifyIfDue(() -> "Getting UML diagram for submission: " + processedSubmissionCount + "/" + modelingSubmissions.size());
 
                     try {
                         log.debug("Build UML diagram from json");
                         UMLDiagram model = UMLModelParser.buildModelFromJSON(parseString(modelingSubmission.getModel()).getAsJsonObject(), modelingSubmission.getId());
 
                         if (model.getAllModelElements().size() >= minimumModelSize) {
-                            models.put(model, modelingSubmission);
+                            models.put(model, PlagiarismSubmission.fromModelingSubmission(modelingSubmission));
                         }
                     }
                     catch (IOException e) {
@@ -115,67 +130,131 @@ public class ModelingPlagiarismDetectionService {
 
         log.info("Found {} modeling submissions with at least {} elements to compare", models.size(), minimumModelSize);
 
-        Set<PlagiarismComparison<ModelingSubmissionElement>> comparisons = new HashSet<>();
         List<UMLDiagram> nonEmptyDiagrams = new ArrayList<>(models.keySet());
 
         long timeBeforeStartInMillis = System.currentTimeMillis();
 
-        // It is intended to use the classic for loop here, because we only want to check
-        // similarity between two different submissions once
-        for (int i = 0; i < nonEmptyDiagrams.size(); i++) {
-            String progressMessage = "Comparing submissions: " + (i + 1) + "/" + nonEmptyDiagrams.size();
-            plagiarismWebsocketService.notifyInstructorAboutPlagiarismState(topic, PlagiarismCheckState.RUNNING, List.of(progressMessage));
+        AtomicInteger comparedModelCount = new AtomicInteger();
+        AtomicLong skippedComparisonCount = new AtomicLong();
+        List<PlagiarismComparison<ModelingSubmissionElement>> similarComparisons = executeInParallel(() -> IntStream.range(0, nonEmptyDiagrams.size()).parallel().boxed()
+                .flatMap(i -> {
+                    List<PlagiarismComparison<ModelingSubmissionElement>> comparisonsOfModel = compareWithFollowingModels(i, nonEmptyDiagrams, models, minimumSimilarity,
+                            skippedComparisonCount, result);
+                    int comparedModels = comparedModelCount.incrementAndGet();
+                    progressNotifier.notifyIfDue(() -> "Comparing submissions: " + comparedModels + "/" + nonEmptyDiagrams.size());
+                    return comparisonsOfModel.stream();
+                }).toList());
+
+        Set<PlagiarismComparison<ModelingSubmissionElement>> comparisons = new HashSet<>(similarComparisons);
+
+        log.info("Found {} similar modeling submission combinations (>{}), skipped {} comparisons that could not reach the minimum similarity", comparisons.size(),
+                minimumSimilarity, skippedComparisonCount.get());
+        plagiarismWebsocketService.notifyInstructorAboutPlagiarismState(topic, PlagiarismCheckState.COMPLETED, List.of());
 
-            for (int j = i + 1; j < nonEmptyDiagrams.size(); j++) {
+        long durationInMillis = System.currentTimeMillis() - timeBeforeStartInMillis;
+        int[] similarityDistribution = calculateSimilarityDistribution(comparisons);
 
-                UMLDiagram model1 = nonEmptyDiagrams.get(i);
-                UMLDiagram model2 = nonEmptyDiagrams.get(j);
+        result.setComparisons(comparisons);
+        result.setDuration(durationInMillis);
+        result.setSimilarityDistribution(similarityDistribution);
 
-                final double similarity = model1.similarity(model2);
-                log.debug("Compare result {} with {}: {}", i, j, similarity);
+        return result;
+    }
 
-                if (similarity < minimumSimilarity) {
-                    // ignore comparison results with too small similarity
-                    continue;
-                }
+    /**
+     * Compares the model at the given index with all following models, so that the similarity between two different submissions is only checked once.
+     *
+     * @return the comparisons of the model that reach the minimum similarity
+     */
+    private List<PlagiarismComparison<ModelingSubmissionElement>> compareWithFollowingModels(int i, List<UMLDiagram> nonEmptyDiagrams,
+            Map<UMLDiagram, PlagiarismSubmission<ModelingSubmissionElement>> models, double minimumSimilarity, AtomicLong skippedComparisonCount, ModelingPlagiarismResult result) {
+        List<PlagiarismComparison<ModelingSubmissionElement>> comparisons = new ArrayList<>();
+        UMLDiagram model1 = nonEmptyDiagrams.get(i);
+
+        for (int j = i + 1; j < nonEmptyDiagrams.size(); j++) {
+            UMLDiagram model2 = nonEmptyDiagrams.get(j);
+
+            // the tolerance makes sure that rounding errors of the upper bound never exclude a pair that would reach the minimum similarity
+            if (model1.maximumSimilarity(model2) + SIMILARITY_BOUND_TOLERANCE < minimumSimilarity) {
+                skippedComparisonCount.incrementAndGet();
+                continue;
+            }
 
-                ModelingSubmission modelingSubmissionA = models.get(model1);
-                ModelingSubmission modelingSubmissionB = models.get(model2);
+            final double similarity = model1.similarity(model2);
+            log.debug("Compare result {} with {}: {}", i, j, similarity);
 
-                log.info("Found similar models {} with {}: {}", i, j, similarity);
+            if (similarity < minimumSimilarity) {
+                // ignore comparison results with too small similarity
+                continue;
+            }
 
-                PlagiarismSubmission<ModelingSubmissionElement> submissionA = PlagiarismSubmission.fromModelingSubmission(modelingSubmissionA);
-                submissionA.setSize(model1.getAllModelElements().size());
-                submissionA.setElements(model1.getAllModelElements().stream().map(ModelingSubmissionElement::fromUMLElement).collect(Collectors.toList()));
+            log.info("Found similar models {} with {}: {}", i, j, similarity);
 
-                PlagiarismSubmission<ModelingSubmissionElement> submissionB = PlagiarismSubmission.fromModelingSubmission(modelingSubmissionB);
-                submissionB.setSize(model2.getAllModelElements().size());
-                submissionB.setElements(model2.getAllModelElements().stream().map(ModelingSubmissionElement::fromUMLElement).collect(Collectors.toList()));
+            PlagiarismSubmission<ModelingSubmissionElement> submissionA = createPlagiarismSubmission(models.get(model1), model1);
+            PlagiarismSubmission<ModelingSubmissionElement> submissionB = createPlagiarismSubmission(models.get(model2), model2);
 
-                PlagiarismComparison<ModelingSubmissionElement> comparison = new PlagiarismComparison<>();
+            PlagiarismComparison<ModelingSubmissionElement> comparison = new PlagiarismComparison<>();
 
-                comparison.setPlagiarismResult(result);
-                comparison.setSimilarity(similarity * 100);
-                comparison.setSubmissionA(submissionA);
-                comparison.setSubmissionB(submissionB);
-                // TODO: Add matches to highlight similar modeling elements
-                comparison.setMatches(new HashSet<>());
+            comparison.setPlagiarismResult(result);
+            comparison.setSimilarity(similarity * 100);
+            comparison.setSubmissionA(submissionA);
+            comparison.setSubmissionB(submissionB);
+            // TODO: Add matches to highlight similar modeling elements
+            comparison.setMatches(new HashSet<>());
 
-                comparisons.add(comparison);
-            }
+            comparisons.add(comparison);
         }
+        return comparisons;
+    }
 
-        log.info("Found {} similar modeling submission combinations (>{})", comparisons.size(), minimumSimilarity);
-        plagiarismWebsocketService.notifyInstructorAboutPlagiarismState(topic, PlagiarismCheckState.COMPLETED, List.of());
+    private PlagiarismSubmission<ModelingSubmissionElement> createPlagiarismSubmission(PlagiarismSubmission<ModelingSubmissionElement> submissionInformation, UMLDiagram model) {
+        PlagiarismSubmission<ModelingSubmissionElement> submission = new PlagiarismSubmission<>();
+        submission.setSubmissionId(submissionInformation.getSubmissionId());
+        submission.setStudentLogin(submissionInformation.getStudentLogin());
+        submission.setScore(submissionInformation.getScore());
+        submission.setSize(model.getAllModelElements().size());
+        submission.setElements(model.getAllModelElements().stream().map(ModelingSubmissionElement::fromUMLElement).collect(Collectors.toList()));
+        return submission;
+    }
 
-        long durationInMillis = System.currentTimeMillis() - timeBeforeStartInMillis;
-        int[] similarityDistribution = calculateSimilarityDistribution(comparisons);
+    private <T> T executeInParallel(Callable<T> task) {
+        ForkJoinPool forkJoinPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        try {
+            return forkJoinPool.submit(task).get();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The comparison of the modeling submissions got interrupted", e);
+        }
+        catch (ExecutionException e) {
+            throw new IllegalStateException("The comparison of the modeling submissions failed", e.getCause());
+        }
+        finally {
+            forkJoinPool.shutdown();
+        }
+    }
 
-        result.setComparisons(comparisons);
-        result.setDuration(durationInMillis);
-        result.setSimilarityDistribution(similarityDistribution);
+    /**
+     * Sends the progress of the plagiarism check to the instructor, but at most once per {@link #PROGRESS_NOTIFICATION_INTERVAL_IN_MILLIS}, so that large exercises do not flood
+     * the websocket with thousands of messages. It can be used concurrently.
+     */
+    private class ProgressNotifier {
 
-        return result;
+        private final String topic;
+
+        private final AtomicLong lastNotificationInMillis = new AtomicLong();
+
+        private ProgressNotifier(String topic) {
+            this.topic = topic;
+        }
+
+        private void notifyIfDue(Supplier<String> progressMessage) {
+            long now = System.currentTimeMillis();
+            long lastNotification = lastNotificationInMillis.get();
+            if (now - lastNotification >= PROGRESS_NOTIFICATION_INTERVAL_IN_MILLIS && lastNotificationInMillis.compareAndSet(lastNotification, now)) {
+                plagiarismWebsocketService.notifyInstructorAboutPlagiarismState(topic, PlagiarismCheckState.RUNNING, List.of(progressMessage.get()));
+            }
+        }
     }
 
     /**
@@ -0,0 +1,180 @@
+package de.tum.in.www1.artemis.service.programming;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import de.tum.in.www1.artemis.security.SecurityUtils;
+import de.tum.in.www1.artemis.service.util.AdaptiveRateLimiter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Sends build triggers to the continuous integration server, see {@link ProgrammingSubmissionService#triggerBuildForParticipations}.
+ * <p>
+ * At most a fixed number of triggers run at the same time and the triggers are rate limited with a token bucket. The rate adapts to the load of the continuous integration
+ * server: it is halved whenever a trigger fails or takes longer than expected and slowly increased again with every fast trigger, up to the configured maximum rate.
+ * There is only one continuous integration server per Artemis instance, so all build runs (instructor builds, builds after the due date, ...) share the same limits.
+ */
+@Service
+public class BuildTriggerScheduler {
+
+    private final Logger log = LoggerFactory.getLogger(BuildTriggerScheduler.class);
+
+    private static final String METRIC_PREFIX = "artemis.build-trigger.";
+
+    private static final long SLOW_TRIGGER_IN_MILLIS = 10 * 1000;
+
+    @Value("${artemis.external-system-request.max-concurrent-requests:4}")
+    private int maxConcurrentTriggers;
+
+    @Value("${artemis.external-system-request.max-requests-per-second:2}")
+    private double maxTriggersPerSecond;
+
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicInteger pendingTriggers = new AtomicInteger();
+
+    private ExecutorService executor;
+
+    private AdaptiveRateLimiter rateLimiter;
+
+    public BuildTriggerScheduler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Creates the threads that trigger the builds and registers the metrics.
+     */
+    @PostConstruct
+    public void init() {
+        rateLimiter = new AdaptiveRateLimiter(maxTriggersPerSecond, maxConcurrentTriggers);
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(Math.max(1, maxConcurrentTriggers), runnable -> {
+            Thread thread = new Thread(runnable, "build-trigger-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder(METRIC_PREFIX + "pending", pendingTriggers, AtomicInteger::get).description("Number of build triggers waiting to be sent").register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + "rate", rateLimiter, AdaptiveRateLimiter::getRequestsPerSecond).description("Current maximum number of build triggers per second")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Triggers the builds of all given items and waits until all of them were triggered.
+     * If the calling thread is interrupted while waiting, the builds that were not triggered yet are skipped and the method returns after the running triggers finished.
+     *
+     * @param description describes the build run for logging, e.g. the exercise
+     * @param items       the items for which builds should be triggered, e.g. participations
+     * @param trigger     triggers the build of one item and returns false if the continuous integration server could not be reached
+     * @param <T>         the type of the items
+     * @return true if the trigger was run for all items (some of the triggers might have failed), false if the build run was aborted because of an interrupt
+     */
+    public <T> boolean triggerAll(String description, List<T> items, Predicate<T> trigger) {
+        if (items.isEmpty()) {
+            return true;
+        }
+        pendingTriggers.addAndGet(items.size());
+        AtomicBoolean aborted = new AtomicBoolean();
+        AtomicInteger triggered = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        int progressInterval = Math.max(1, items.size() / 10);
+        List<Future<?>> futures = new ArrayList<>();
+        for (T item : items) {
+            futures.add(executor.submit(() -> {
+                try {
+                    if (aborted.get()) {
+                        return;
+                    }
+                    // the threads of the scheduler can't access the authentication object of the caller
+                    SecurityUtils.setAuthorizationObject();
+                    rateLimiter.acquire();
+                    if (!triggerAndAdaptRate(item, trigger)) {
+                        failed.incrementAndGet();
+                    }
+                    int count = triggered.incrementAndGet();
+                    if (count % progressInterval == 0 || count == items.size()) {
+                        log.info("Triggered {} of {} builds for {} ({} failed), currently at most {} builds per second", count, items.size(), description, failed.get(),
+                                String.format("%.2f", rateLimiter.getRequestsPerSecond()));
+                    }
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    aborted.set(true);
+                }
+                finally {
+                    // the threads are reused for other build runs, which must not run with this authentication
+                    SecurityContextHolder.clearContext();
+                    pendingTriggers.decrementAndGet();
+                }
+            }));
+        }
+        boolean interrupted = false;
+        for (Future<?> future : futures) {
+            while (true) {
+                try {
+                    future.get();
+                    break;
+                }
+                catch (InterruptedException e) {
+                    // the remaining builds are skipped, but the running triggers are awaited, so that no trigger runs after the method returned
+                    if (!interrupted) {
+                        log.warn("Interrupted while waiting for the build triggers for {}, the builds that were not triggered yet are skipped", description);
+                    }
+                    interrupted = true;
+                    aborted.set(true);
+                }
+                catch (ExecutionException e) {
+                    log.error("Build trigger for {} failed", description, e.getCause());
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (aborted.get()) {
+            log.warn("Aborted the build run for {} after {} of {} builds were triggered", description, triggered.get(), items.size());
+            return false;
+        }
+        return true;
+    }
+
+    private <T> boolean triggerAndAdaptRate(T item, Predicate<T> trigger) {
+        long start = System.currentTimeMillis();
+        boolean successful = false;
+        try {
+            successful = trigger.test(item);
+            return successful;
+        }
+        finally {
+            long durationInMillis = System.currentTimeMillis() - start;
+            if (successful && durationInMillis < SLOW_TRIGGER_IN_MILLIS) {
+                rateLimiter.increaseRate();
+            }
+            else {
+                rateLimiter.decreaseRate();
+            }
+        }
+    }
+}
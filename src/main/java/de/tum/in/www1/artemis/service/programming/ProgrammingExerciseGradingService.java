@@ -14,8 +14,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.actuate.audit.AuditEvent;
 import org.springframework.boot.actuate.audit.AuditEventRepository;
+import org.springframework.cache.CacheManager;
 import org.springframework.messaging.simp.SimpMessageSendingOperations;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import de.tum.in.www1.artemis.config.Constants;
 import de.tum.in.www1.artemis.domain.*;
@@ -23,6 +26,8 @@ import de.tum.in.www1.artemis.domain.enumeration.CategoryState;
 import de.tum.in.www1.artemis.domain.enumeration.FeedbackType;
 import de.tum.in.www1.artemis.domain.enumeration.SubmissionType;
 import de.tum.in.www1.artemis.domain.participation.*;
+import de.tum.in.www1.artemis.domain.statistics.FeedbackTextCount;
+import de.tum.in.www1.artemis.domain.statistics.ResultFeedbackTextCount;
 import de.tum.in.www1.artemis.domain.submissionpolicy.LockRepositoryPolicy;
 import de.tum.in.www1.artemis.domain.submissionpolicy.SubmissionPenaltyPolicy;
 import de.tum.in.www1.artemis.domain.submissionpolicy.SubmissionPolicy;
@@ -40,6 +45,8 @@ import de.tum.in.www1.artemis.web.rest.errors.EntityNotFoundException;
 @Service
 public class ProgrammingExerciseGradingService {
 
+    public static final String GRADING_STATISTICS_CACHE = "programmingExerciseGradingStatistics";
+
     private final Logger log = LoggerFactory.getLogger(ProgrammingExerciseGradingService.class);
 
     private final Optional<ContinuousIntegrationService> continuousIntegrationService;
@@ -74,13 +81,18 @@ public class ProgrammingExerciseGradingService {
 
     private final ProgrammingExerciseRepository programmingExerciseRepository;
 
+    private final FeedbackRepository feedbackRepository;
+
+    private final CacheManager cacheManager;
+
     public ProgrammingExerciseGradingService(ProgrammingExerciseTestCaseService testCaseService, ProgrammingSubmissionService programmingSubmissionService,
             StudentParticipationRepository studentParticipationRepository, ResultRepository resultRepository, Optional<ContinuousIntegrationService> continuousIntegrationService,
             SimpMessageSendingOperations messagingTemplate, StaticCodeAnalysisService staticCodeAnalysisService,
             TemplateProgrammingExerciseParticipationRepository templateProgrammingExerciseParticipationRepository,
             SolutionProgrammingExerciseParticipationRepository solutionProgrammingExerciseParticipationRepository, ProgrammingSubmissionRepository programmingSubmissionRepository,
             AuditEventRepository auditEventRepository, GroupNotificationService groupNotificationService, ResultService resultService, ExerciseDateService exerciseDateService,
-            SubmissionPolicyService submissionPolicyService, ProgrammingExerciseRepository programmingExerciseRepository) {
+            SubmissionPolicyService submissionPolicyService, ProgrammingExerciseRepository programmingExerciseRepository, FeedbackRepository feedbackRepository,
+            CacheManager cacheManager) {
         this.testCaseService = testCaseService;
         this.programmingSubmissionService = programmingSubmissionService;
         this.studentParticipationRepository = studentParticipationRepository;
@@ -97,6 +109,8 @@ public class ProgrammingExerciseGradingService {
         this.submissionPolicyService = submissionPolicyService;
         this.programmingExerciseRepository = programmingExerciseRepository;
         this.exerciseDateService = exerciseDateService;
+        this.feedbackRepository = feedbackRepository;
+        this.cacheManager = cacheManager;
     }
 
     /**
@@ -288,7 +302,7 @@ public class ProgrammingExerciseGradingService {
     }
 
     /**
-     * Updates <b>all</b> latest results of the given exercise with the information of the exercises test cases.
+     * Updates the latest results of the given student participations of the exercise with the information of the exercises test cases.
      * <p>
      * This update includes:
      * <ul>
@@ -298,30 +312,28 @@ public class ProgrammingExerciseGradingService {
      * </ul>
      *
      * If there are no test cases stored in the database for the given exercise (i.e. we have a legacy exercise) or the weight has not been changed, then the result will not change.
+     * The updated results are not saved.
      *
-     * @param exercise whose results should be updated.
-     * @return the results of the exercise that have been updated.
+     * @param exercise the participations belong to.
+     * @param testCases the active test cases of the exercise.
+     * @param participationIds the ids of the student participations whose results should be updated.
+     * @return the results of the participations that have been updated (maximum two per participation: latest automatic, and latest manual result).
      */
-    public List<Result> updateAllResults(final ProgrammingExercise exercise) {
-        final Set<ProgrammingExerciseTestCase> testCases = testCaseService.findActiveByExerciseId(exercise.getId());
-
-        final Stream<Result> updatedTemplateAndSolutionResult = updateTemplateAndSolutionResults(exercise, testCases);
-
+    public List<Result> updateResultsOfParticipations(final ProgrammingExercise exercise, final Set<ProgrammingExerciseTestCase> testCases,
+            final Collection<Long> participationIds) {
         final List<StudentParticipation> studentParticipations = new ArrayList<>();
         // We only update the latest automatic results here, later manual assessments are not affected
-        studentParticipations.addAll(studentParticipationRepository.findByExerciseIdWithLatestAutomaticResultAndFeedbacks(exercise.getId()));
+        studentParticipations.addAll(studentParticipationRepository.findByIdsWithLatestAutomaticResultAndFeedbacks(participationIds));
         // Also update manual results
-        studentParticipations.addAll(studentParticipationRepository.findByExerciseIdWithManualResultAndFeedbacks(exercise.getId()));
-
-        final Stream<Result> updatedStudentResults = updateResults(exercise, testCases, studentParticipations);
+        studentParticipations.addAll(studentParticipationRepository.findByIdsWithManualResultAndFeedbacks(participationIds));
 
-        return Stream.concat(updatedTemplateAndSolutionResult, updatedStudentResults).toList();
+        return updateResults(exercise, testCases, studentParticipations).toList();
     }
 
     /**
      * Updates the latest results of all participations that do not have an individual due date. This includes the template and solution participation.
      * <p>
-     * For details what will be updated for individual results, see {@link ProgrammingExerciseGradingService#updateAllResults}.
+     * For details what will be updated for individual results, see {@link ProgrammingExerciseGradingService#updateResultsOfParticipations}.
      * @param exercise whose results should be updated.
      * @return the results of the exercise that have been updated.
      */
@@ -344,7 +356,7 @@ public class ProgrammingExerciseGradingService {
     /**
      * Updates the latest result scores of the given participation.
      * <p>
-     * For details what will be updated, see {@link ProgrammingExerciseGradingService#updateAllResults}.
+     * For details what will be updated, see {@link ProgrammingExerciseGradingService#updateResultsOfParticipations}.
      * @param participation for which the results should be updated.
      * @return a list of updated results (maximum two: latest automatic, and latest manual result).
      */
@@ -384,7 +396,7 @@ public class ProgrammingExerciseGradingService {
      * @return a stream of results that have been updated.
      *         (maximum length two; if template and/or solution do not have a results, then fewer)
      */
-    private Stream<Result> updateTemplateAndSolutionResults(final ProgrammingExercise exercise, final Set<ProgrammingExerciseTestCase> testCases) {
+    public Stream<Result> updateTemplateAndSolutionResults(final ProgrammingExercise exercise, final Set<ProgrammingExerciseTestCase> testCases) {
         final Optional<Result> templateResult = templateProgrammingExerciseParticipationRepository
                 .findWithEagerResultsAndFeedbacksAndSubmissionsByProgrammingExerciseId(exercise.getId())
                 .flatMap(templateParticipation -> updateLatestResult(exercise, templateParticipation, testCases, testCases, testCases, false));
@@ -426,13 +438,13 @@ public class ProgrammingExerciseGradingService {
      * @param user who triggered the re-evaluation.
      * @param exercise for which the evaluation was triggered.
      * @param course the exercise belongs to.
-     * @param results of the exercise.
+     * @param numberOfResults the number of results of the exercise that were updated.
      */
-    public void logReEvaluate(User user, ProgrammingExercise exercise, Course course, List<Result> results) {
+    public void logReEvaluate(User user, ProgrammingExercise exercise, Course course, int numberOfResults) {
         var auditEvent = new AuditEvent(user.getLogin(), Constants.RE_EVALUATE_RESULTS, "exercise=" + exercise.getTitle(), "course=" + course.getTitle(),
-                "results=" + results.size());
+                "results=" + numberOfResults);
         auditEventRepository.add(auditEvent);
-        log.info("User {} triggered a re-evaluation of {} results for exercise {} with id {}", user.getLogin(), results.size(), exercise.getTitle(), exercise.getId());
+        log.info("User {} triggered a re-evaluation of {} results for exercise {} with id {}", user.getLogin(), numberOfResults, exercise.getTitle(), exercise.getId());
     }
 
     /**
@@ -932,81 +944,92 @@ public class ProgrammingExerciseGradingService {
 
     /**
      * Calculates the statistics for the grading page.
+     * <p>
+     * The statistics of the results are aggregated in the database and cached until a result of the exercise is created, updated or deleted (see
+     * {@link #evictGradingStatistics(Result)}). The test cases and categories are not cached, so that changes to them are visible immediately.
+     *
      * @param exerciseId The current exercise
      * @return The statistics object
      */
     public ProgrammingExerciseGradingStatisticsDTO generateGradingStatistics(Long exerciseId) {
+        final var resultStatistics = cacheManager.getCache(GRADING_STATISTICS_CACHE).get(exerciseId, () -> calculateResultStatistics(exerciseId));
+
         // number of passed and failed tests per test case
-        final var testCases = testCaseService.findByExerciseId(exerciseId);
-        final var testCaseStatsMap = new HashMap<String, ProgrammingExerciseGradingStatisticsDTO.TestCaseStats>();
-        for (ProgrammingExerciseTestCase testCase : testCases) {
-            testCaseStatsMap.put(testCase.getTestName(), new ProgrammingExerciseGradingStatisticsDTO.TestCaseStats(0, 0));
+        final var testCaseStatsMap = new HashMap<>(resultStatistics.getTestCaseStatsMap());
+        for (ProgrammingExerciseTestCase testCase : testCaseService.findByExerciseId(exerciseId)) {
+            testCaseStatsMap.putIfAbsent(testCase.getTestName(), new ProgrammingExerciseGradingStatisticsDTO.TestCaseStats(0, 0));
         }
 
         // number of students per amount of detected issues per category
-        final var categories = staticCodeAnalysisService.findByExerciseId(exerciseId);
-        final var categoryIssuesStudentsMap = new HashMap<String, Map<Integer, Integer>>();
-        for (StaticCodeAnalysisCategory category : categories) {
-            categoryIssuesStudentsMap.put(category.getName(), new HashMap<>());
-        }
-
-        final var results = resultRepository.findLatestAutomaticResultsWithEagerFeedbacksForExercise(exerciseId);
-        for (Result result : results) {
-            // number of detected issues per category for this result
-            final var categoryIssuesMap = new HashMap<String, Integer>();
-            for (var feedback : result.getFeedbacks()) {
-                addFeedbackToStatistics(categoryIssuesMap, testCaseStatsMap, feedback);
-            }
-
-            mergeCategoryIssuesMap(categoryIssuesStudentsMap, categoryIssuesMap);
+        final var categoryIssuesStudentsMap = new HashMap<>(resultStatistics.getCategoryIssuesMap());
+        for (StaticCodeAnalysisCategory category : staticCodeAnalysisService.findByExerciseId(exerciseId)) {
+            categoryIssuesStudentsMap.putIfAbsent(category.getName(), new HashMap<>());
         }
 
         final var statistics = new ProgrammingExerciseGradingStatisticsDTO();
-        statistics.setNumParticipations(results.size());
+        statistics.setNumParticipations(resultStatistics.getNumParticipations());
         statistics.setTestCaseStatsMap(testCaseStatsMap);
         statistics.setCategoryIssuesMap(categoryIssuesStudentsMap);
-
         return statistics;
     }
 
     /**
-     * Merges the result map of a single student with the overall issues map
-     * @param issuesAllStudents The overall issues map for all students
-     * @param issuesSingleStudent The issues map for one student
+     * Calculates the statistics of the latest automatic results of the exercise with grouped queries, so that the feedbacks do not have to be loaded.
+     * @param exerciseId The current exercise
+     * @return The statistics object, without test cases and categories that do not occur in the feedbacks
      */
-    private void mergeCategoryIssuesMap(final Map<String, Map<Integer, Integer>> issuesAllStudents, final Map<String, Integer> issuesSingleStudent) {
-        for (var entry : issuesSingleStudent.entrySet()) {
-            final String category = entry.getKey();
-            final Integer issueCount = entry.getValue();
-
-            issuesAllStudents.putIfAbsent(category, new HashMap<>());
+    private ProgrammingExerciseGradingStatisticsDTO calculateResultStatistics(Long exerciseId) {
+        final var testCaseStatsMap = new HashMap<String, ProgrammingExerciseGradingStatisticsDTO.TestCaseStats>();
+        for (FeedbackTextCount feedbackCount : feedbackRepository.countAutomaticFeedbacksOfLatestResultsByTextAndPositive(exerciseId)) {
+            final String testName = feedbackCount.text();
+            // static code analysis feedbacks are counted per category below
+            if (testName == null || testName.startsWith(Feedback.STATIC_CODE_ANALYSIS_FEEDBACK_IDENTIFIER)) {
+                continue;
+            }
+            testCaseStatsMap.computeIfAbsent(testName, name -> new ProgrammingExerciseGradingStatisticsDTO.TestCaseStats(0, 0)).updateWithFeedbacks(feedbackCount.positive(),
+                    (int) feedbackCount.count());
+        }
 
-            var issuesStudentsMap = issuesAllStudents.get(category);
-            issuesStudentsMap.putIfAbsent(issueCount, 0);
+        final var categoryIssuesStudentsMap = new HashMap<String, Map<Integer, Integer>>();
+        for (ResultFeedbackTextCount feedbackCount : feedbackRepository.countStaticCodeAnalysisFeedbacksOfLatestResultsByResultAndText(exerciseId)) {
+            final String categoryName = feedbackCount.text().substring(Feedback.STATIC_CODE_ANALYSIS_FEEDBACK_IDENTIFIER.length());
+            if ("".equals(categoryName)) {
+                continue;
+            }
             // add 1 to the number of students for the category & issues
-            issuesStudentsMap.merge(issueCount, 1, Integer::sum);
+            categoryIssuesStudentsMap.computeIfAbsent(categoryName, name -> new HashMap<>()).merge((int) feedbackCount.count(), 1, Integer::sum);
         }
+
+        final var statistics = new ProgrammingExerciseGradingStatisticsDTO();
+        statistics.setNumParticipations((int) resultRepository.countLatestAutomaticResultsForExercise(exerciseId));
+        statistics.setTestCaseStatsMap(testCaseStatsMap);
+        statistics.setCategoryIssuesMap(categoryIssuesStudentsMap);
+        return statistics;
     }
 
     /**
-     * Analyses the feedback and updates the statistics maps
-     * @param categoryIssuesMap The issues map for sca statistics
-     * @param testCaseStatsMap The map for test case statistics
-     * @param feedback The given feedback object
+     * Removes the cached grading statistics of the exercise of the given result, because the result was created, updated or deleted.
+     * If this happens in a transaction, the statistics are removed after the transaction was committed, so that they are not calculated again with the old results.
+     *
+     * @param result the created, updated or deleted result
      */
-    private void addFeedbackToStatistics(final Map<String, Integer> categoryIssuesMap, final Map<String, ProgrammingExerciseGradingStatisticsDTO.TestCaseStats> testCaseStatsMap,
-            final Feedback feedback) {
-        if (feedback.isStaticCodeAnalysisFeedback()) {
-            String categoryName = feedback.getText().substring(Feedback.STATIC_CODE_ANALYSIS_FEEDBACK_IDENTIFIER.length());
-            if ("".equals(categoryName)) {
-                return;
-            }
-            categoryIssuesMap.compute(categoryName, (category, count) -> count == null ? 1 : count + 1);
+    public void evictGradingStatistics(Result result) {
+        // only the results of students are part of the statistics
+        if (!(result.getParticipation() instanceof ProgrammingExerciseStudentParticipation participation) || participation.getExercise() == null) {
+            return;
         }
-        else if (FeedbackType.AUTOMATIC.equals(feedback.getType())) {
-            String testName = feedback.getText();
-            testCaseStatsMap.putIfAbsent(testName, new ProgrammingExerciseGradingStatisticsDTO.TestCaseStats(0, 0));
-            testCaseStatsMap.get(testName).updateWithFeedback(feedback);
+        final Long exerciseId = participation.getExercise().getId();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCompletion(int status) {
+                    cacheManager.getCache(GRADING_STATISTICS_CACHE).evict(exerciseId);
+                }
+            });
+        }
+        else {
+            cacheManager.getCache(GRADING_STATISTICS_CACHE).evict(exerciseId);
         }
     }
 }
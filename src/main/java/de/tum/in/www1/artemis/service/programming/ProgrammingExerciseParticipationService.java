@@ -14,6 +14,7 @@ import de.tum.in.www1.artemis.domain.enumeration.BuildPlanType;
 import de.tum.in.www1.artemis.domain.enumeration.InitializationState;
 import de.tum.in.www1.artemis.domain.enumeration.RepositoryType;
 import de.tum.in.www1.artemis.domain.participation.*;
+import de.tum.in.www1.artemis.exception.GitException;
 import de.tum.in.www1.artemis.exception.VersionControlException;
 import de.tum.in.www1.artemis.repository.*;
 import de.tum.in.www1.artemis.service.AuthorizationCheckService;
@@ -233,6 +234,7 @@ public class ProgrammingExerciseParticipationService {
      *
      * @param programmingExercise exercise with information about the due date
      * @param participation student participation whose not submitted changes will be stashed
+     * @throws GitException if the changes could not be stashed, so that the caller can retry the operation
      */
     public void stashChangesInStudentRepositoryAfterDueDateHasPassed(ProgrammingExercise programmingExercise, ProgrammingExerciseStudentParticipation participation) {
         if (participation.getInitializationState().hasCompletedState(InitializationState.REPO_CONFIGURED)) {
@@ -244,6 +246,10 @@ public class ProgrammingExerciseParticipationService {
             catch (InterruptedException | GitAPIException e) {
                 log.error("Stashing student repository for participation {} in exercise '{}' did not work as expected: {}", participation.getId(), programmingExercise.getTitle(),
                         e.getMessage());
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new GitException("Stashing the student repository for participation " + participation.getId() + " failed", e);
             }
         }
         else {
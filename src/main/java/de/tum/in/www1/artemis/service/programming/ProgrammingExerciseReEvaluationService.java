@@ -0,0 +1,191 @@
+package de.tum.in.www1.artemis.service.programming;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import de.tum.in.www1.artemis.domain.ProgrammingExercise;
+import de.tum.in.www1.artemis.domain.ProgrammingExerciseTestCase;
+import de.tum.in.www1.artemis.domain.Result;
+import de.tum.in.www1.artemis.repository.ResultRepository;
+import de.tum.in.www1.artemis.repository.StudentParticipationRepository;
+import de.tum.in.www1.artemis.security.SecurityUtils;
+import de.tum.in.www1.artemis.service.WebsocketMessagingService;
+import de.tum.in.www1.artemis.web.rest.dto.ProgrammingExerciseReEvaluationProgressDTO;
+import de.tum.in.www1.artemis.web.rest.dto.ProgrammingExerciseReEvaluationProgressDTO.ReEvaluationState;
+import de.tum.in.www1.artemis.web.rest.errors.ConflictException;
+
+/**
+ * Re-evaluates the latest results of all participations of a programming exercise in the background, e.g. after the weights of the test cases were changed.
+ * <p>
+ * The student participations are processed in pages of a bounded size by a small pool of worker threads, so that only the results and feedbacks of a few pages are in memory
+ * at the same time, no matter how many students participate in the exercise. The updated results of a page are saved together and the progress is sent via websocket.
+ */
+@Service
+public class ProgrammingExerciseReEvaluationService {
+
+    private final Logger log = LoggerFactory.getLogger(ProgrammingExerciseReEvaluationService.class);
+
+    private static final int PARTICIPATIONS_PER_PAGE = 50;
+
+    // every worker thread uses its own database connection while it processes a page
+    private static final int WORKER_THREADS = 4;
+
+    private final ProgrammingExerciseGradingService programmingExerciseGradingService;
+
+    private final ProgrammingExerciseTestCaseService testCaseService;
+
+    private final StudentParticipationRepository studentParticipationRepository;
+
+    private final ResultRepository resultRepository;
+
+    private final WebsocketMessagingService websocketMessagingService;
+
+    private final ExecutorService executor;
+
+    // the running re-evaluations by the id of the exercise
+    private final Map<Long, CompletableFuture<Integer>> runningReEvaluations = new ConcurrentHashMap<>();
+
+    public ProgrammingExerciseReEvaluationService(ProgrammingExerciseGradingService programmingExerciseGradingService, ProgrammingExerciseTestCaseService testCaseService,
+            StudentParticipationRepository studentParticipationRepository, ResultRepository resultRepository, WebsocketMessagingService websocketMessagingService) {
+        this.programmingExerciseGradingService = programmingExerciseGradingService;
+        this.testCaseService = testCaseService;
+        this.studentParticipationRepository = studentParticipationRepository;
+        this.resultRepository = resultRepository;
+        this.websocketMessagingService = websocketMessagingService;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(WORKER_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "programming-exercise-re-evaluation-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Stops the worker threads. Re-evaluations that are still running are aborted, the results that were already saved stay updated.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (!runningReEvaluations.isEmpty()) {
+            log.warn("Abort the running re-evaluations of the programming exercises {}", runningReEvaluations.keySet());
+        }
+        executor.shutdownNow();
+    }
+
+    /**
+     * Starts the re-evaluation of the latest automatic and manual results of all participations of the given exercise, including the template and solution participation.
+     * The method returns immediately, the progress is sent to the topic {@link #getReEvaluationTopic(Long)}.
+     * <p>
+     * For details what will be updated for individual results, see {@link ProgrammingExerciseGradingService#updateResultsOfParticipations}.
+     *
+     * @param exercise whose results should be re-evaluated.
+     * @return a future that completes with the number of updated results once all results have been re-evaluated and saved.
+     * @throws ConflictException if the results of the exercise are already being re-evaluated.
+     */
+    public CompletableFuture<Integer> reEvaluateAllResults(ProgrammingExercise exercise) {
+        final Long exerciseId = exercise.getId();
+        final CompletableFuture<Integer> reEvaluation = new CompletableFuture<>();
+        if (runningReEvaluations.putIfAbsent(exerciseId, reEvaluation) != null) {
+            throw new ConflictException("The results of this exercise are already being re-evaluated", "programmingExercise", "reEvaluationRunning");
+        }
+
+        final Set<ProgrammingExerciseTestCase> testCases;
+        final List<Long> participationIds;
+        try {
+            testCases = testCaseService.findActiveByExerciseId(exerciseId);
+            // only the ids are loaded here, the participations with their results and feedbacks are loaded page by page
+            participationIds = studentParticipationRepository.findIdsByExerciseId(exerciseId);
+        }
+        catch (RuntimeException ex) {
+            runningReEvaluations.remove(exerciseId);
+            throw ex;
+        }
+
+        log.info("Re-evaluate the results of {} participations of the programming exercise {}", participationIds.size(), exerciseId);
+        final AtomicInteger processedParticipations = new AtomicInteger();
+        final AtomicInteger updatedResults = new AtomicInteger();
+        sendProgress(exerciseId, ReEvaluationState.RUNNING, 0, participationIds.size(), 0);
+
+        final List<CompletableFuture<Void>> pages = new ArrayList<>();
+        pages.add(CompletableFuture.runAsync(runWithSystemAuthentication(() -> {
+            updatedResults.addAndGet(saveResults(programmingExerciseGradingService.updateTemplateAndSolutionResults(exercise, testCases).toList()));
+        }), executor));
+        for (int from = 0; from < participationIds.size(); from += PARTICIPATIONS_PER_PAGE) {
+            final List<Long> page = participationIds.subList(from, Math.min(from + PARTICIPATIONS_PER_PAGE, participationIds.size()));
+            pages.add(CompletableFuture.runAsync(runWithSystemAuthentication(() -> {
+                int updatedResultsOfPage = saveResults(programmingExerciseGradingService.updateResultsOfParticipations(exercise, testCases, page));
+                sendProgress(exerciseId, ReEvaluationState.RUNNING, processedParticipations.addAndGet(page.size()), participationIds.size(),
+                        updatedResults.addAndGet(updatedResultsOfPage));
+            }), executor));
+        }
+
+        CompletableFuture.allOf(pages.toArray(CompletableFuture[]::new)).whenComplete((ignored, error) -> {
+            runningReEvaluations.remove(exerciseId);
+            if (error != null) {
+                log.error("The re-evaluation of the programming exercise " + exerciseId + " failed", error);
+                sendProgress(exerciseId, ReEvaluationState.FAILED, processedParticipations.get(), participationIds.size(), updatedResults.get());
+                reEvaluation.completeExceptionally(error);
+            }
+            else {
+                log.info("Re-evaluated {} results of the programming exercise {}", updatedResults.get(), exerciseId);
+                sendProgress(exerciseId, ReEvaluationState.COMPLETED, processedParticipations.get(), participationIds.size(), updatedResults.get());
+                reEvaluation.complete(updatedResults.get());
+            }
+        });
+        return reEvaluation;
+    }
+
+    /**
+     * Checks whether the results of the given exercise are currently being re-evaluated.
+     *
+     * @param exerciseId the id of the programming exercise.
+     * @return true, if a re-evaluation of the exercise is running.
+     */
+    public boolean isReEvaluationRunning(Long exerciseId) {
+        return runningReEvaluations.containsKey(exerciseId);
+    }
+
+    /**
+     * Returns the topic to which the progress of the re-evaluation of the given exercise is sent.
+     *
+     * @param exerciseId the id of the programming exercise.
+     * @return the topic.
+     */
+    public static String getReEvaluationTopic(Long exerciseId) {
+        return "/topic/programming-exercises/" + exerciseId + "/re-evaluation";
+    }
+
+    /**
+     * The worker threads can't access the authentication object of the caller and are reused for the pages of other re-evaluations, so every page sets the system
+     * authentication and clears it afterwards.
+     */
+    private static Runnable runWithSystemAuthentication(Runnable page) {
+        return () -> {
+            SecurityUtils.setAuthorizationObject();
+            try {
+                page.run();
+            }
+            finally {
+                SecurityContextHolder.clearContext();
+            }
+        };
+    }
+
+    private int saveResults(List<Result> results) {
+        // saving the results of a page in one call lets Hibernate batch the updates
+        resultRepository.saveAll(results);
+        return results.size();
+    }
+
+    private void sendProgress(Long exerciseId, ReEvaluationState state, int processedParticipations, int totalParticipations, int updatedResults) {
+        websocketMessagingService.sendMessage(getReEvaluationTopic(exerciseId),
+                new ProgrammingExerciseReEvaluationProgressDTO(state, processedParticipations, totalParticipations, updatedResults));
+    }
+}
@@ -49,12 +49,6 @@ public class ProgrammingSubmissionService extends SubmissionService {
     @Value("${artemis.git.email}")
     private String artemisGitEmail;
 
-    @Value("${artemis.external-system-request.batch-size}")
-    private int externalSystemRequestBatchSize;
-
-    @Value("${artemis.external-system-request.batch-waiting-time}")
-    private int externalSystemRequestBatchWaitingTime;
-
     private final ProgrammingExerciseRepository programmingExerciseRepository;
 
     private final ProgrammingSubmissionRepository programmingSubmissionRepository;
@@ -81,16 +75,19 @@ public class ProgrammingSubmissionService extends SubmissionService {
 
     private final ProgrammingExerciseStudentParticipationRepository programmingExerciseStudentParticipationRepository;
 
+    private final BuildTriggerScheduler buildTriggerScheduler;
+
     public ProgrammingSubmissionService(ProgrammingSubmissionRepository programmingSubmissionRepository, ProgrammingExerciseRepository programmingExerciseRepository,
             GroupNotificationService groupNotificationService, SubmissionRepository submissionRepository, UserRepository userRepository, AuthorizationCheckService authCheckService,
             WebsocketMessagingService websocketMessagingService, Optional<VersionControlService> versionControlService, ResultRepository resultRepository,
             Optional<ContinuousIntegrationService> continuousIntegrationService, ParticipationService participationService, SimpMessageSendingOperations messagingTemplate,
             ProgrammingExerciseParticipationService programmingExerciseParticipationService, ExamSubmissionService examSubmissionService, GitService gitService,
             StudentParticipationRepository studentParticipationRepository, FeedbackRepository feedbackRepository, AuditEventRepository auditEventRepository,
-            ExamDateService examDateService, ExerciseDateService exerciseDateService, CourseRepository courseRepository, ParticipationRepository participationRepository,
-            ProgrammingExerciseStudentParticipationRepository programmingExerciseStudentParticipationRepository, ComplaintRepository complaintRepository) {
+            ExamDateService examDateService, CourseRepository courseRepository, ParticipationRepository participationRepository,
+            ProgrammingExerciseStudentParticipationRepository programmingExerciseStudentParticipationRepository, ComplaintRepository complaintRepository,
+            BuildTriggerScheduler buildTriggerScheduler) {
         super(submissionRepository, userRepository, authCheckService, resultRepository, studentParticipationRepository, participationService, feedbackRepository, examDateService,
-                exerciseDateService, courseRepository, participationRepository, complaintRepository);
+                courseRepository, participationRepository, complaintRepository);
         this.programmingSubmissionRepository = programmingSubmissionRepository;
         this.programmingExerciseRepository = programmingExerciseRepository;
         this.groupNotificationService = groupNotificationService;
@@ -104,6 +101,7 @@ public class ProgrammingSubmissionService extends SubmissionService {
         this.resultRepository = resultRepository;
         this.auditEventRepository = auditEventRepository;
         this.programmingExerciseStudentParticipationRepository = programmingExerciseStudentParticipationRepository;
+        this.buildTriggerScheduler = buildTriggerScheduler;
     }
 
     /**
@@ -285,7 +283,11 @@ public class ProgrammingSubmissionService extends SubmissionService {
         List<ProgrammingExerciseStudentParticipation> participations = new ArrayList<>(
                 programmingExerciseStudentParticipationRepository.findWithSubmissionsByExerciseId(exerciseId));
 
-        triggerBuildForParticipations(participations);
+        if (!triggerBuildForParticipations(participations)) {
+            // the build run was aborted (e.g. because the server shuts down), so the exercise stays 'dirty' and the instructor can trigger the builds again
+            log.warn("The instructor build run for the programming exercise {} was aborted before all builds were triggered", exerciseId);
+            return;
+        }
 
         // When the instructor build was triggered for the programming exercise, it is not considered 'dirty' anymore.
         setTestCasesChanged(programmingExercise, false);
@@ -294,25 +296,17 @@ public class ProgrammingSubmissionService extends SubmissionService {
     }
 
     /**
-     * trigger the build using the batch size approach for all participations
+     * Trigger the build for all participations with a submission, see {@link BuildTriggerScheduler} for the limits of concurrent builds.
+     * The method returns after the builds of all participations were triggered.
+     *
      * @param participations the participations for which the method triggerBuild should be executed.
+     * @return true if the builds of all participations were triggered, false if the build run was aborted because the thread was interrupted
      */
-    public void triggerBuildForParticipations(List<ProgrammingExerciseStudentParticipation> participations) {
-        var index = 0;
-        for (var participation : participations) {
-            // Execute requests in batches instead all at once.
-            if (index > 0 && index % externalSystemRequestBatchSize == 0) {
-                try {
-                    log.info("Sleep for {}s during triggerBuild", externalSystemRequestBatchWaitingTime / 1000);
-                    Thread.sleep(externalSystemRequestBatchWaitingTime);
-                }
-                catch (InterruptedException ex) {
-                    log.error("Exception encountered when pausing before executing successive build for participation " + participation.getId(), ex);
-                }
-            }
-            triggerBuild(participation);
-            index++;
-        }
+    public boolean triggerBuildForParticipations(List<ProgrammingExerciseStudentParticipation> participations) {
+        // participations without submissions are not triggered, so they don't have to wait for the scheduler
+        var participationsWithSubmission = participations.stream().filter(participation -> participation.findLatestSubmission().isPresent()).toList();
+        var description = participationsWithSubmission.isEmpty() ? "" : "exercise " + participationsWithSubmission.get(0).getProgrammingExercise().getId();
+        return buildTriggerScheduler.triggerAll(description, participationsWithSubmission, this::triggerBuild);
     }
 
     public void logTriggerInstructorBuild(User user, Exercise exercise, Course course) {
@@ -407,13 +401,15 @@ public class ProgrammingSubmissionService extends SubmissionService {
 
     /**
      * Trigger a CI build for each submission & notify each user of the participation
-     * Note: Instead of triggering all builds at the same time, we execute the builds in batches to not overload the CIS system (this has to be handled in the invoking method)
+     * Note: Instead of triggering all builds at the same time, we limit the number of concurrent builds to not overload the CIS system (this has to be handled in the invoking
+     * method, see {@link #triggerBuildForParticipations(List)})
      *
      * Note: This call "resumes the exercise", i.e. re-creates the build plan if the build plan was already cleaned before
      *
      * @param participation the participation for which we create a new submission and new result
+     * @return false if the build could not be triggered, true otherwise
      */
-    public void triggerBuild(ProgrammingExerciseStudentParticipation participation) {
+    public boolean triggerBuild(ProgrammingExerciseStudentParticipation participation) {
         Optional<ProgrammingSubmission> submission = participation.findLatestSubmission();
         // we only need to trigger the build if the student actually already made a submission, otherwise this is not needed
         if (submission.isPresent()) {
@@ -431,8 +427,10 @@ public class ProgrammingSubmissionService extends SubmissionService {
                 log.error("Trigger build failed for {} with the exception {}", participation.getBuildPlanId(), e.getMessage());
                 BuildTriggerWebsocketError error = new BuildTriggerWebsocketError(e.getMessage(), participation.getId());
                 notifyUserAboutSubmissionError(participation, error);
+                return false;
             }
         }
+        return true;
     }
 
     /**
@@ -0,0 +1,201 @@
+package de.tum.in.www1.artemis.service.programming;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import de.tum.in.www1.artemis.security.SecurityUtils;
+import de.tum.in.www1.artemis.service.util.AdaptiveRateLimiter;
+import de.tum.in.www1.artemis.web.rest.errors.EntityNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Runs bulk operations on student repositories, e.g. locking, unlocking or stashing all repositories of a programming exercise at its due date.
+ * <p>
+ * The operations run in parallel, but at most a fixed number at the same time and rate limited with an {@link AdaptiveRateLimiter}, whose rate is halved whenever an
+ * operation fails. There is only one version control server per Artemis instance, so all bulk operations of all exercises share the same limits, e.g. when several exams end
+ * at the same time. Failed operations are retried with an increasing delay, unless the participation does not exist anymore.
+ */
+@Service
+public class VersionControlOperationScheduler {
+
+    private final Logger log = LoggerFactory.getLogger(VersionControlOperationScheduler.class);
+
+    private static final String METRIC_PREFIX = "artemis.version-control.bulk-operations.";
+
+    @Value("${artemis.version-control-operations.max-concurrent-operations:8}")
+    private int maxConcurrentOperations;
+
+    @Value("${artemis.version-control-operations.max-operations-per-second:10}")
+    private double maxOperationsPerSecond;
+
+    @Value("${artemis.version-control-operations.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${artemis.version-control-operations.retry-delay:1000}")
+    private long retryDelayInMillis;
+
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicInteger pendingOperations = new AtomicInteger();
+
+    private ExecutorService executor;
+
+    private AdaptiveRateLimiter rateLimiter;
+
+    private Counter failedOperations;
+
+    public VersionControlOperationScheduler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Creates the threads that run the operations and registers the metrics.
+     */
+    @PostConstruct
+    public void init() {
+        rateLimiter = new AdaptiveRateLimiter(maxOperationsPerSecond, maxConcurrentOperations);
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(Math.max(1, maxConcurrentOperations), runnable -> {
+            Thread thread = new Thread(runnable, "vcs-bulk-operation-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder(METRIC_PREFIX + "pending", pendingOperations, AtomicInteger::get).description("Number of repository operations waiting to be run").register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + "rate", rateLimiter, AdaptiveRateLimiter::getRequestsPerSecond).description("Current maximum number of repository operations per second")
+                .register(meterRegistry);
+        failedOperations = Counter.builder(METRIC_PREFIX + "failed").description("Number of repository operations that failed after all attempts").register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * The result of a bulk operation.
+     *
+     * @param failedItems the items for which the operation failed in all attempts or was skipped because the run was aborted
+     * @param aborted     true if the run was aborted because the calling thread was interrupted, e.g. because the scheduled task was cancelled
+     * @param <T>         the type of the items
+     */
+    public record BulkOperationResult<T>(List<T> failedItems, boolean aborted) {
+    }
+
+    /**
+     * Runs the operation for all given items and waits until it was run for all of them.
+     * Callers can therefore rely on the operation having finished for every item before they start the next operation, e.g. stash the repositories only after all of
+     * them were locked.
+     * If the calling thread is interrupted while waiting, the operations that were not started yet are skipped and the method returns after the running operations
+     * finished.
+     *
+     * @param description describes the operation for logging, e.g. the operation name and the exercise
+     * @param items       the items for which the operation should be run, e.g. participations
+     * @param operation   the operation to run for one item, which throws an exception if it failed
+     * @param <T>         the type of the items
+     * @return the items for which the operation failed and whether the run was aborted because of an interrupt
+     */
+    public <T> BulkOperationResult<T> runAll(String description, Collection<T> items, Consumer<T> operation) {
+        if (items.isEmpty()) {
+            return new BulkOperationResult<>(new ArrayList<>(), false);
+        }
+        pendingOperations.addAndGet(items.size());
+        AtomicInteger finished = new AtomicInteger();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        List<T> failedItems = new CopyOnWriteArrayList<>();
+        int progressInterval = Math.max(1, items.size() / 10);
+        List<Future<?>> futures = new ArrayList<>();
+        for (T item : items) {
+            futures.add(executor.submit(() -> {
+                try {
+                    if (cancelled.get()) {
+                        failedItems.add(item);
+                        return;
+                    }
+                    // the threads of the scheduler can't access the authentication object of the caller
+                    SecurityUtils.setAuthorizationObject();
+                    if (!runWithRetries(description, item, operation, cancelled)) {
+                        failedItems.add(item);
+                        failedOperations.increment();
+                    }
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    failedItems.add(item);
+                }
+                finally {
+                    // the threads are reused for other bulk operations, which must not run with this authentication
+                    SecurityContextHolder.clearContext();
+                    pendingOperations.decrementAndGet();
+                    int count = finished.incrementAndGet();
+                    if (count % progressInterval == 0 || count == items.size()) {
+                        log.info("Finished '{}' for {} of {} repositories ({} failed), currently at most {} operations per second", description, count, items.size(),
+                                failedItems.size(), String.format("%.2f", rateLimiter.getRequestsPerSecond()));
+                    }
+                }
+            }));
+        }
+        boolean interrupted = false;
+        for (Future<?> future : futures) {
+            while (true) {
+                try {
+                    future.get();
+                    break;
+                }
+                catch (InterruptedException e) {
+                    // e.g. the scheduled task was cancelled, the remaining operations are skipped, but the running operations are awaited, so that no operation runs
+                    // after the method returned
+                    if (!interrupted) {
+                        log.warn("Interrupted while waiting for '{}', skipping the remaining operations", description);
+                    }
+                    interrupted = true;
+                    cancelled.set(true);
+                }
+                catch (ExecutionException e) {
+                    log.error("'{}' failed", description, e.getCause());
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        return new BulkOperationResult<>(new ArrayList<>(failedItems), interrupted);
+    }
+
+    private <T> boolean runWithRetries(String description, T item, Consumer<T> operation, AtomicBoolean cancelled) throws InterruptedException {
+        for (int attempt = 1;; attempt++) {
+            rateLimiter.acquire();
+            try {
+                operation.accept(item);
+                rateLimiter.increaseRate();
+                return true;
+            }
+            catch (Exception e) {
+                rateLimiter.decreaseRate();
+                // a deleted participation will not come back, other failures (e.g. timeouts of the version control server) are usually transient
+                if (attempt >= maxAttempts || e instanceof EntityNotFoundException || cancelled.get()) {
+                    log.error("'{}' failed for {} in attempt {} of {}", description, item, attempt, maxAttempts, e);
+                    return false;
+                }
+                log.warn("'{}' failed for {} in attempt {} of {} and will be retried: {}", description, item, attempt, maxAttempts, e.getMessage());
+                Thread.sleep(retryDelayInMillis << (attempt - 1));
+            }
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package de.tum.in.www1.artemis.service.scheduled;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Predicate;
+
+import javax.annotation.PreDestroy;
+
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import de.tum.in.www1.artemis.domain.Result;
+import de.tum.in.www1.artemis.domain.participation.Participation;
+import de.tum.in.www1.artemis.service.ScoreService;
+
+/**
+ * Updates the participant scores in the background instead of in the transaction that creates or updates a result.
+ * <p>
+ * Created and updated results are only registered after their transaction was committed and are processed shortly afterwards by a single background thread. Results that are
+ * registered multiple times (e.g. because they are saved again during an assessment) are only processed once, and all results of the same exercise and participant that were
+ * registered in the meantime lead to only one update of the participant score (see {@link ScoreService#updateOrCreateParticipantScores(Collection)}).
+ * <p>
+ * Code that reads the participant scores of some exercises and has to see the scores of all results that were already saved (e.g. the calculation of course scores) can use
+ * {@link #executeScheduledUpdatesOfExercisesAndWait(Collection)}. It only executes the updates that were scheduled on this server instance, results saved on other instances
+ * are included once their instance processed them, i.e. after {@link #UPDATE_DELAY_IN_MILLIS}. Code that deletes results should not wait for their updates, but cancel them
+ * (see {@link #cancelScheduledUpdatesOfExercise(Long)}), because the waiting would keep its transaction open.
+ */
+@Service
+public class ParticipantScoreScheduleService {
+
+    private final Logger log = LoggerFactory.getLogger(ParticipantScoreScheduleService.class);
+
+    // the short delay collects the results of bulk operations (e.g. the re-evaluation of all results of an exercise)
+    private static final long UPDATE_DELAY_IN_MILLIS = 500;
+
+    // limits the size of the IN clause when loading the results
+    private static final int MAX_RESULTS_PER_UPDATE = 500;
+
+    // reading code continues with the participant scores that were already updated if the updates take longer
+    private static final long MAX_WAITING_TIME_IN_MILLIS = 10_000;
+
+    private final ScoreService scoreService;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "participant-score-update");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // the results whose participant scores have to be updated by their id, in the order in which they were registered
+    private final Map<Long, ScheduledUpdate> scheduledUpdates = new LinkedHashMap<>();
+
+    // the results whose participant scores are currently updated by the background thread
+    private List<ScheduledUpdate> runningUpdates = List.of();
+
+    private ScheduledFuture<?> scheduledExecution;
+
+    /**
+     * A result whose participant score has to be updated. The ids of its exercise and participation are null if they were not loaded when the result was saved.
+     */
+    private record ScheduledUpdate(Long resultId, Long exerciseId, Long participationId) {
+
+        private boolean belongsToAnyExerciseOf(Collection<Long> exerciseIds) {
+            return exerciseId == null || exerciseIds.contains(exerciseId);
+        }
+    }
+
+    public ParticipantScoreScheduleService(ScoreService scoreService) {
+        this.scoreService = scoreService;
+    }
+
+    /**
+     * Schedules the update of the participant score of the given created or updated result. If the result is saved in a transaction, the update is only scheduled once the
+     * transaction was committed, so that the background thread sees the saved result and no participant score is updated for a rolled back result.
+     *
+     * @param result the created or updated result
+     */
+    public void scheduleParticipantScoreUpdate(Result result) {
+        if (result.getId() == null) {
+            return;
+        }
+        ScheduledUpdate update = createScheduledUpdate(result);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCommit() {
+                    scheduleParticipantScoreUpdate(update);
+                }
+            });
+        }
+        else {
+            scheduleParticipantScoreUpdate(update);
+        }
+    }
+
+    private static ScheduledUpdate createScheduledUpdate(Result result) {
+        Participation participation = result.getParticipation();
+        if (participation == null) {
+            return new ScheduledUpdate(result.getId(), null, null);
+        }
+        // the exercise is not loaded here, because this is called while Hibernate flushes the result
+        Long exerciseId = Hibernate.isInitialized(participation) && participation.getExercise() != null ? participation.getExercise().getId() : null;
+        return new ScheduledUpdate(result.getId(), exerciseId, participation.getId());
+    }
+
+    private synchronized void scheduleParticipantScoreUpdate(ScheduledUpdate update) {
+        scheduledUpdates.put(update.resultId(), update);
+        if (scheduledExecution == null && !executor.isShutdown()) {
+            scheduledExecution = executor.schedule(() -> executeScheduledUpdates(update -> true), UPDATE_DELAY_IN_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stops the background thread and executes the updates that are still scheduled, so that no participant score update is lost when the server is shut down.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            // the executor still runs the update that is currently running or scheduled
+            if (!executor.awaitTermination(UPDATE_DELAY_IN_MILLIS + 30_000, TimeUnit.MILLISECONDS)) {
+                executor.shutdownNow();
+            }
+        }
+        catch (InterruptedException ex) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        executeScheduledUpdates(update -> true);
+    }
+
+    /**
+     * Removes the given result from the scheduled updates, e.g. because it is about to be deleted.
+     *
+     * @param result the result that should not be processed anymore
+     */
+    public synchronized void cancelParticipantScoreUpdate(Result result) {
+        scheduledUpdates.remove(result.getId());
+    }
+
+    /**
+     * Removes the scheduled updates of the results of the exercise, because the exercise and its participant scores are about to be deleted. An update that is currently
+     * running is not waited for, its participant scores of deleted results can not be saved anymore.
+     *
+     * @param exerciseId the id of the exercise that is deleted
+     */
+    public synchronized void cancelScheduledUpdatesOfExercise(Long exerciseId) {
+        scheduledUpdates.values().removeIf(update -> exerciseId.equals(update.exerciseId()));
+    }
+
+    /**
+     * Removes the scheduled updates of the results of the participation, because its results are about to be deleted.
+     *
+     * @param participationId the id of the participation whose results are deleted
+     */
+    public synchronized void cancelScheduledUpdatesOfParticipation(Long participationId) {
+        scheduledUpdates.values().removeIf(update -> participationId.equals(update.participationId()));
+    }
+
+    /**
+     * Executes the scheduled updates of participant scores of the given exercises immediately and waits until they (and an update of the exercises that is currently running)
+     * are finished. Returns immediately if no update of the exercises is scheduled or running, and stops waiting after {@link #MAX_WAITING_TIME_IN_MILLIS}.
+     * <p>
+     * This must not be called in a transaction, because the transaction would stay open while the participant scores are updated in another one.
+     *
+     * @param exerciseIds the ids of the exercises whose participant scores are read afterwards
+     */
+    public void executeScheduledUpdatesOfExercisesAndWait(Collection<Long> exerciseIds) {
+        executeScheduledUpdatesAndWait(update -> update.belongsToAnyExerciseOf(exerciseIds));
+    }
+
+    /**
+     * Executes all scheduled updates of participant scores immediately and waits until they (and an update that is currently running) are finished, e.g. before tests check
+     * the participant scores. Stops waiting after {@link #MAX_WAITING_TIME_IN_MILLIS}.
+     */
+    public void executeScheduledUpdatesAndWait() {
+        executeScheduledUpdatesAndWait(update -> true);
+    }
+
+    private void executeScheduledUpdatesAndWait(Predicate<ScheduledUpdate> isAffected) {
+        synchronized (this) {
+            if (scheduledUpdates.values().stream().noneMatch(isAffected) && runningUpdates.stream().noneMatch(isAffected)) {
+                return;
+            }
+        }
+        try {
+            // the executor only has one thread, so this also waits for the currently running update
+            executor.submit(() -> executeScheduledUpdates(isAffected)).get(MAX_WAITING_TIME_IN_MILLIS, TimeUnit.MILLISECONDS);
+        }
+        catch (RejectedExecutionException ex) {
+            // the server is shutting down and the background thread is stopped
+            executeScheduledUpdates(isAffected);
+        }
+        catch (TimeoutException ex) {
+            log.warn("The participant scores were not updated within {} ms, continue with the participant scores that are already updated", MAX_WAITING_TIME_IN_MILLIS);
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        catch (ExecutionException ex) {
+            log.error("Could not update the participant scores", ex.getCause());
+        }
+    }
+
+    private void executeScheduledUpdates(Predicate<ScheduledUpdate> isAffected) {
+        List<ScheduledUpdate> updates;
+        synchronized (this) {
+            updates = scheduledUpdates.values().stream().filter(isAffected).toList();
+            updates.forEach(update -> scheduledUpdates.remove(update.resultId()));
+            if (scheduledExecution != null && scheduledUpdates.isEmpty()) {
+                scheduledExecution.cancel(false);
+                scheduledExecution = null;
+            }
+            runningUpdates = updates;
+        }
+        try {
+            if (updates.isEmpty()) {
+                return;
+            }
+            List<Long> resultIds = updates.stream().map(ScheduledUpdate::resultId).toList();
+            log.debug("Update the participant scores of {} results", resultIds.size());
+            for (int from = 0; from < resultIds.size(); from += MAX_RESULTS_PER_UPDATE) {
+                try {
+                    scoreService.updateOrCreateParticipantScores(resultIds.subList(from, Math.min(from + MAX_RESULTS_PER_UPDATE, resultIds.size())));
+                }
+                catch (Exception ex) {
+                    log.error("Could not update the participant scores of the results " + resultIds, ex);
+                }
+            }
+        }
+        finally {
+            synchronized (this) {
+                runningUpdates = List.of();
+            }
+        }
+    }
+}
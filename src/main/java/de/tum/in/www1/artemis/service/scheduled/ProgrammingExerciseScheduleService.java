@@ -4,6 +4,7 @@ import static de.tum.in.www1.artemis.config.Constants.EXAM_START_WAIT_TIME_MINUT
 
 import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -26,7 +27,6 @@ import de.tum.in.www1.artemis.domain.enumeration.ExerciseLifecycle;
 import de.tum.in.www1.artemis.domain.enumeration.ParticipationLifecycle;
 import de.tum.in.www1.artemis.domain.exam.Exam;
 import de.tum.in.www1.artemis.domain.participation.ProgrammingExerciseStudentParticipation;
-import de.tum.in.www1.artemis.domain.participation.StudentParticipation;
 import de.tum.in.www1.artemis.repository.*;
 import de.tum.in.www1.artemis.security.SecurityUtils;
 import de.tum.in.www1.artemis.service.connectors.GitService;
@@ -35,6 +35,8 @@ import de.tum.in.www1.artemis.service.notifications.GroupNotificationService;
 import de.tum.in.www1.artemis.service.programming.ProgrammingExerciseGradingService;
 import de.tum.in.www1.artemis.service.programming.ProgrammingExerciseParticipationService;
 import de.tum.in.www1.artemis.service.programming.ProgrammingSubmissionService;
+import de.tum.in.www1.artemis.service.programming.VersionControlOperationScheduler;
+import de.tum.in.www1.artemis.service.programming.VersionControlOperationScheduler.BulkOperationResult;
 import de.tum.in.www1.artemis.service.util.Tuple;
 import de.tum.in.www1.artemis.web.rest.errors.EntityNotFoundException;
 import tech.jhipster.config.JHipsterConstants;
@@ -45,6 +47,8 @@ public class ProgrammingExerciseScheduleService implements IExerciseScheduleServ
 
     private final Logger log = LoggerFactory.getLogger(ProgrammingExerciseScheduleService.class);
 
+    private static final int MAX_LISTED_FAILED_PARTICIPATIONS = 10;
+
     private final ScheduleService scheduleService;
 
     private final Environment env;
@@ -73,12 +77,14 @@ public class ProgrammingExerciseScheduleService implements IExerciseScheduleServ
 
     private final GitService gitService;
 
+    private final VersionControlOperationScheduler versionControlOperationScheduler;
+
     public ProgrammingExerciseScheduleService(ScheduleService scheduleService, ProgrammingExerciseRepository programmingExerciseRepository,
             ProgrammingExerciseTestCaseRepository programmingExerciseTestCaseRepository, ResultRepository resultRepository, ParticipationRepository participationRepository,
             ProgrammingExerciseStudentParticipationRepository programmingExerciseParticipationRepository, Environment env,
             ProgrammingSubmissionService programmingSubmissionService, ProgrammingExerciseGradingService programmingExerciseGradingService,
             GroupNotificationService groupNotificationService, ExamDateService examDateService, ProgrammingExerciseParticipationService programmingExerciseParticipationService,
-            StudentExamRepository studentExamRepository, GitService gitService) {
+            StudentExamRepository studentExamRepository, GitService gitService, VersionControlOperationScheduler versionControlOperationScheduler) {
         this.scheduleService = scheduleService;
         this.programmingExerciseRepository = programmingExerciseRepository;
         this.programmingExerciseTestCaseRepository = programmingExerciseTestCaseRepository;
@@ -93,6 +99,7 @@ public class ProgrammingExerciseScheduleService implements IExerciseScheduleServ
         this.programmingExerciseGradingService = programmingExerciseGradingService;
         this.env = env;
         this.gitService = gitService;
+        this.versionControlOperationScheduler = versionControlOperationScheduler;
     }
 
     @PostConstruct
@@ -331,29 +338,39 @@ public class ProgrammingExerciseScheduleService implements IExerciseScheduleServ
     }
 
     private void scheduleAfterDueDateForParticipation(ProgrammingExerciseStudentParticipation participation, boolean isScoreUpdateNeeded) {
-        scheduleService.scheduleParticipationTask(participation, ParticipationLifecycle.DUE, () -> {
-            lockStudentRepository(participation).run();
-
-            if (isScoreUpdateNeeded) {
-                final List<Result> updatedResult = programmingExerciseGradingService.updateParticipationResults(participation);
-                resultRepository.saveAll(updatedResult);
+        final Long exerciseId = participation.getProgrammingExercise().getId();
+        scheduleService.scheduleParticipationTask(participation, ParticipationLifecycle.DUE, participations -> {
+            SecurityUtils.setAuthorizationObject();
+            final List<ProgrammingExerciseStudentParticipation> programmingParticipations = participations.stream().map(ProgrammingExerciseStudentParticipation.class::cast)
+                    .toList();
+            // only the repository operations are run (and retried) by the version control operation scheduler, the results are updated exactly once afterwards
+            BulkOperationResult<ProgrammingExerciseStudentParticipation> lockResult = versionControlOperationScheduler.runAll(
+                    "lock the repositories at the individual due date for programming exercise with id " + exerciseId, programmingParticipations,
+                    programmingParticipation -> programmingExerciseParticipationService.lockStudentRepository(programmingParticipation.getProgrammingExercise(),
+                            programmingParticipation));
+
+            if (isScoreUpdateNeeded && !lockResult.aborted()) {
+                for (final var programmingParticipation : programmingParticipations) {
+                    try {
+                        final List<Result> updatedResult = programmingExerciseGradingService.updateParticipationResults(programmingParticipation);
+                        resultRepository.saveAll(updatedResult);
+                    }
+                    catch (RuntimeException ex) {
+                        log.error("Could not update the results of participation {} at the individual due date.", programmingParticipation.getId(), ex);
+                    }
+                }
             }
         });
         log.debug("Scheduled task to lock repository for participation {} at the individual due date.", participation.getId());
     }
 
     private void scheduleBuildAndTestAfterDueDateForParticipation(ProgrammingExerciseStudentParticipation participation) {
-        scheduleService.scheduleParticipationTask(participation, ParticipationLifecycle.BUILD_AND_TEST_AFTER_DUE_DATE, () -> {
-            final ProgrammingExercise exercise = participation.getProgrammingExercise();
+        final Long exerciseId = participation.getProgrammingExercise().getId();
+        scheduleService.scheduleParticipationTask(participation, ParticipationLifecycle.BUILD_AND_TEST_AFTER_DUE_DATE, participations -> {
             SecurityUtils.setAuthorizationObject();
-            try {
-                log.info("Invoking scheduled task for participation {} in programming exercise with id {}.", participation.getId(), exercise.getId());
-                programmingSubmissionService.triggerBuildForParticipations(List.of(participation));
-            }
-            catch (EntityNotFoundException ex) {
-                log.error("Programming participation with id {} in exercise {} is no longer available in database for use in scheduled task.", participation.getId(),
-                        exercise.getId());
-            }
+            log.info("Invoking scheduled task for {} participations in programming exercise with id {}.", participations.size(), exerciseId);
+            // the builds of all participations of the slot are triggered together, limited by the build trigger scheduler
+            programmingSubmissionService.triggerBuildForParticipations(participations.stream().map(ProgrammingExerciseStudentParticipation.class::cast).toList());
         });
     }
 
@@ -501,7 +518,14 @@ public class ProgrammingExerciseScheduleService implements IExerciseScheduleServ
         return () -> {
             SecurityUtils.setAuthorizationObject();
             try {
-                List<ProgrammingExerciseStudentParticipation> failedLockOperations = removeWritePermissionsFromAllStudentRepositories(programmingExerciseId, condition);
+                // All repositories are locked before any changes are stashed, because the operations for all repositories finish before the method returns
+                BulkOperationResult<ProgrammingExerciseStudentParticipation> lockResult = removeWritePermissionsFromAllStudentRepositories(programmingExerciseId, condition);
+                if (lockResult.aborted()) {
+                    // e.g. the task was cancelled because the due date changed, the repositories that were not locked yet must not be stashed
+                    log.warn("Locking the student repositories of programming exercise with id {} was aborted, the changes are not stashed.", programmingExerciseId);
+                    return;
+                }
+                List<ProgrammingExerciseStudentParticipation> failedLockOperations = lockResult.failedItems();
                 // We sent a notification to the instructor about the success of the repository locking and stashing operations.
                 long numberOfFailedLockOperations = failedLockOperations.size();
 
@@ -512,7 +536,7 @@ public class ProgrammingExerciseScheduleService implements IExerciseScheduleServ
                 }
                 if (numberOfFailedLockOperations > 0) {
                     groupNotificationService.notifyEditorAndInstructorGroupAboutExerciseUpdate(programmingExercise.get(),
-                            Constants.PROGRAMMING_EXERCISE_FAILED_LOCK_OPERATIONS_NOTIFICATION + numberOfFailedLockOperations);
+                            Constants.PROGRAMMING_EXERCISE_FAILED_LOCK_OPERATIONS_NOTIFICATION + numberOfFailedLockOperations + describeFailedParticipations(failedLockOperations));
                 }
                 else {
                     groupNotificationService.notifyEditorAndInstructorGroupAboutExerciseUpdate(programmingExercise.get(),
@@ -524,11 +548,12 @@ public class ProgrammingExerciseScheduleService implements IExerciseScheduleServ
                 // in the case they still have saved changes on the Artemis server which have not been committed / pushed
                 // NOTE: we always stash, also when manual assessment is not activated, because instructors might change this after the exam
                 if (Boolean.TRUE.equals(exercise.isAllowOnlineEditor())) {
-                    List<ProgrammingExerciseStudentParticipation> failedStashOperations = stashChangesInAllStudentRepositories(programmingExerciseId, condition);
+                    List<ProgrammingExerciseStudentParticipation> failedStashOperations = stashChangesInAllStudentRepositories(programmingExerciseId, condition).failedItems();
                     long numberOfFailedStashOperations = failedStashOperations.size();
                     if (numberOfFailedStashOperations > 0) {
                         groupNotificationService.notifyEditorAndInstructorGroupAboutExerciseUpdate(programmingExercise.get(),
-                                Constants.PROGRAMMING_EXERCISE_FAILED_STASH_OPERATIONS_NOTIFICATION + numberOfFailedStashOperations);
+                                Constants.PROGRAMMING_EXERCISE_FAILED_STASH_OPERATIONS_NOTIFICATION + numberOfFailedStashOperations
+                                        + describeFailedParticipations(failedStashOperations));
                     }
                     else {
                         groupNotificationService.notifyEditorAndInstructorGroupAboutExerciseUpdate(programmingExercise.get(),
@@ -542,24 +567,6 @@ public class ProgrammingExerciseScheduleService implements IExerciseScheduleServ
         };
     }
 
-    /**
-     * Creates a runnable that will lock the Git repository of the given participation when run.
-     * @param participation of which the Git repository will be locked.
-     * @return a runnable that will lock the Git repository of the participation when run.
-     */
-    @NotNull
-    private Runnable lockStudentRepository(ProgrammingExerciseStudentParticipation participation) {
-        return () -> {
-            SecurityUtils.setAuthorizationObject();
-            try {
-                programmingExerciseParticipationService.lockStudentRepository(participation.getProgrammingExercise(), participation);
-            }
-            catch (EntityNotFoundException ex) {
-                log.error("Participation with id {} is no longer available in the database for a scheduled lock repository task.", participation.getId());
-            }
-        };
-    }
-
     /**
      * Returns a runnable that, once executed, will unlock all student repositories and will schedule all repository lock tasks.
      * Tasks to unlock will be grouped so that for every existing due date (which is the exam start date + the different working times), one task will be scheduled.
@@ -575,24 +582,32 @@ public class ProgrammingExerciseScheduleService implements IExerciseScheduleServ
         return () -> {
             SecurityUtils.setAuthorizationObject();
             try {
-                Set<Tuple<ZonedDateTime, ProgrammingExerciseStudentParticipation>> individualDueDates = new HashSet<>();
+                // The operation runs for several participations at the same time
+                Set<Tuple<ZonedDateTime, ProgrammingExerciseStudentParticipation>> individualDueDates = ConcurrentHashMap.newKeySet();
+                ProgrammingExercise programmingExerciseWithTemplateAndSolutionParticipation = programmingExerciseRepository
+                        .findByIdWithTemplateAndSolutionParticipationElseThrow(programmingExerciseId);
                 // This operation unlocks the repositories and collects all individual due dates
                 BiConsumer<ProgrammingExercise, ProgrammingExerciseStudentParticipation> unlockAndCollectOperation = (programmingExercise, participation) -> {
                     var dueDate = studentExamRepository.getIndividualDueDate(programmingExercise, participation);
                     if (dueDate != null) {
                         individualDueDates.add(new Tuple<>(dueDate, participation));
                     }
-                    programmingExercise = programmingExerciseRepository.findByIdWithTemplateAndSolutionParticipationElseThrow(programmingExercise.getId());
-                    programmingExerciseParticipationService.unlockStudentRepository(programmingExercise, participation);
+                    programmingExerciseParticipationService.unlockStudentRepository(programmingExerciseWithTemplateAndSolutionParticipation, participation);
                 };
-                List<ProgrammingExerciseStudentParticipation> failedUnlockOperations = invokeOperationOnAllParticipationsThatSatisfy(programmingExerciseId,
+                BulkOperationResult<ProgrammingExerciseStudentParticipation> unlockResult = invokeOperationOnAllParticipationsThatSatisfy(programmingExerciseId,
                         unlockAndCollectOperation, participation -> true, "add write permissions to all student repositories");
+                List<ProgrammingExerciseStudentParticipation> failedUnlockOperations = unlockResult.failedItems();
 
                 // We sent a notification to the instructor about the success of the repository unlocking operation.
                 long numberOfFailedUnlockOperations = failedUnlockOperations.size();
-                if (numberOfFailedUnlockOperations > 0) {
+                if (unlockResult.aborted()) {
+                    // the lock tasks are still scheduled below for the repositories that were unlocked
+                    log.warn("Unlocking the student repositories of programming exercise with id {} was aborted.", programmingExerciseId);
+                }
+                else if (numberOfFailedUnlockOperations > 0) {
                     groupNotificationService.notifyEditorAndInstructorGroupAboutExerciseUpdate(exercise,
-                            Constants.PROGRAMMING_EXERCISE_FAILED_UNLOCK_OPERATIONS_NOTIFICATION + failedUnlockOperations.size());
+                            Constants.PROGRAMMING_EXERCISE_FAILED_UNLOCK_OPERATIONS_NOTIFICATION + failedUnlockOperations.size()
+                                    + describeFailedParticipations(failedUnlockOperations));
                 }
                 else {
                     groupNotificationService.notifyEditorAndInstructorGroupAboutExerciseUpdate(exercise, Constants.PROGRAMMING_EXERCISE_SUCCESSFUL_UNLOCK_OPERATION_NOTIFICATION);
@@ -639,55 +654,57 @@ public class ProgrammingExerciseScheduleService implements IExerciseScheduleServ
         return exercise.getExerciseGroup().getExam().getStartDate().minusMinutes(EXAM_START_WAIT_TIME_MINUTES);
     }
 
-    private List<ProgrammingExerciseStudentParticipation> removeWritePermissionsFromAllStudentRepositories(Long programmingExerciseId,
+    private BulkOperationResult<ProgrammingExerciseStudentParticipation> removeWritePermissionsFromAllStudentRepositories(Long programmingExerciseId,
             Predicate<ProgrammingExerciseStudentParticipation> condition) throws EntityNotFoundException {
         return invokeOperationOnAllParticipationsThatSatisfy(programmingExerciseId, programmingExerciseParticipationService::lockStudentRepository, condition,
                 "remove write permissions from all student repositories");
     }
 
-    private List<ProgrammingExerciseStudentParticipation> stashChangesInAllStudentRepositories(Long programmingExerciseId,
+    private BulkOperationResult<ProgrammingExerciseStudentParticipation> stashChangesInAllStudentRepositories(Long programmingExerciseId,
             Predicate<ProgrammingExerciseStudentParticipation> condition) throws EntityNotFoundException {
         return invokeOperationOnAllParticipationsThatSatisfy(programmingExerciseId, programmingExerciseParticipationService::stashChangesInStudentRepositoryAfterDueDateHasPassed,
                 condition, "stash changes from all student repositories");
     }
 
+    /**
+     * Lists the participants of the first failed participations, so that instructors know which repositories they have to check manually.
+     *
+     * @param failedParticipations the participations for which an operation failed
+     * @return a sentence listing the participants, which is appended to a notification
+     */
+    private static String describeFailedParticipations(List<ProgrammingExerciseStudentParticipation> failedParticipations) {
+        String participants = failedParticipations.stream().limit(MAX_LISTED_FAILED_PARTICIPATIONS).map(ProgrammingExerciseStudentParticipation::getParticipantIdentifier)
+                .collect(Collectors.joining(", "));
+        if (failedParticipations.size() > MAX_LISTED_FAILED_PARTICIPATIONS) {
+            participants += " and " + (failedParticipations.size() - MAX_LISTED_FAILED_PARTICIPATIONS) + " more";
+        }
+        return ". Affected participants: " + participants;
+    }
+
     /**
      * Invokes the given <code>operation</code> on all student participations that satisfy the <code>condition</code>-{@link Predicate}.
      * <p>
+     * The operations run in parallel with a limited rate and failed operations are retried, see {@link VersionControlOperationScheduler}.
+     * The method returns after the operation finished for all participations.
      *
      * @param programmingExerciseId the programming exercise whose participations should be processed
      * @param operation the operation to perform
      * @param condition the condition that tests whether to invoke the operation on a participation
      * @param operationName the name of the operation, this is only used for logging
-     * @return a list containing all participations for which the operation has failed with an exception
+     * @return all participations for which the operation has failed with an exception and whether the run was aborted because the task was interrupted
      * @throws EntityNotFoundException if the programming exercise can't be found.
      */
-    private List<ProgrammingExerciseStudentParticipation> invokeOperationOnAllParticipationsThatSatisfy(Long programmingExerciseId,
+    private BulkOperationResult<ProgrammingExerciseStudentParticipation> invokeOperationOnAllParticipationsThatSatisfy(Long programmingExerciseId,
             BiConsumer<ProgrammingExercise, ProgrammingExerciseStudentParticipation> operation, Predicate<ProgrammingExerciseStudentParticipation> condition,
             String operationName) {
         log.info("Invoking (scheduled) task '{}' for programming exercise with id {}.", operationName, programmingExerciseId);
 
         ProgrammingExercise programmingExercise = programmingExerciseRepository.findWithEagerStudentParticipationsById(programmingExerciseId)
                 .orElseThrow(() -> new EntityNotFoundException("ProgrammingExercise", programmingExerciseId));
-        List<ProgrammingExerciseStudentParticipation> failedOperations = new ArrayList<>();
-
-        // TODO: we should think about executing those operations again in batches to avoid issues on the vcs server, however those operations are typically executed
-        // synchronously so this might not be an issue
-
-        for (StudentParticipation studentParticipation : programmingExercise.getStudentParticipations()) {
-            ProgrammingExerciseStudentParticipation programmingExerciseStudentParticipation = (ProgrammingExerciseStudentParticipation) studentParticipation;
-            try {
-                if (condition.test(programmingExerciseStudentParticipation)) {
-                    operation.accept(programmingExercise, programmingExerciseStudentParticipation);
-                }
-            }
-            catch (Exception e) {
-                log.error(String.format("'%s' failed for programming exercise with id %d for student repository with participation id %d", operationName,
-                        programmingExercise.getId(), studentParticipation.getId()), e);
-                failedOperations.add(programmingExerciseStudentParticipation);
-            }
-        }
+        List<ProgrammingExerciseStudentParticipation> participations = programmingExercise.getStudentParticipations().stream()
+                .map(ProgrammingExerciseStudentParticipation.class::cast).filter(condition).toList();
 
-        return failedOperations;
+        return versionControlOperationScheduler.runAll(operationName + " for programming exercise with id " + programmingExerciseId, participations,
+                participation -> operation.accept(programmingExercise, participation));
     }
 }
@@ -1,9 +1,11 @@
 package de.tum.in.www1.artemis.service.scheduled;
 
+import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
-import java.util.stream.Stream;
+import java.util.function.Consumer;
 
 import org.apache.commons.lang3.tuple.Triple;
 import org.slf4j.Logger;
@@ -18,6 +20,12 @@ import de.tum.in.www1.artemis.service.ExerciseLifecycleService;
 import de.tum.in.www1.artemis.service.ParticipationLifecycleService;
 import de.tum.in.www1.artemis.service.util.Tuple;
 
+/**
+ * Keeps track of the scheduled tasks of exercises and participations, so that they can be cancelled or replaced when the exercise changes.
+ * <p>
+ * Tasks of participations, e.g. locking the repository at an individual due date, are grouped into slots: all participations of an exercise for the same lifecycle and the
+ * same date share one scheduled future and are processed by one task, because many students usually get the same extended due date.
+ */
 @Service
 public class ScheduleService {
 
@@ -27,16 +35,33 @@ public class ScheduleService {
 
     private final ParticipationLifecycleService participationLifecycleService;
 
-    private final Map<Tuple<Long, ExerciseLifecycle>, Set<ScheduledFuture<?>>> scheduledExerciseTasks = new HashMap<>();
+    private final Map<Tuple<Long, ExerciseLifecycle>, Set<ScheduledFuture<?>>> scheduledExerciseTasks = new ConcurrentHashMap<>();
 
-    // triple of exercise id, participation id, and lifecycle
-    private final Map<Triple<Long, Long, ParticipationLifecycle>, Set<ScheduledFuture<?>>> scheduledParticipationTasks = new HashMap<>();
+    // triple of exercise id, lifecycle, and the date at which the task of the slot runs
+    private final Map<Triple<Long, ParticipationLifecycle, Instant>, ParticipationTaskSlot> scheduledParticipationTaskSlots = new ConcurrentHashMap<>();
+
+    // triple of exercise id, participation id, and lifecycle mapped to the date of the slot that contains the task
+    private final Map<Triple<Long, Long, ParticipationLifecycle>, Instant> scheduledParticipationTasks = new ConcurrentHashMap<>();
 
     public ScheduleService(ExerciseLifecycleService exerciseLifecycleService, ParticipationLifecycleService participationLifecycleService) {
         this.exerciseLifecycleService = exerciseLifecycleService;
         this.participationLifecycleService = participationLifecycleService;
     }
 
+    /**
+     * The participations of an exercise whose tasks run at the same date for the same lifecycle.
+     */
+    private static class ParticipationTaskSlot {
+
+        // participation id mapped to the participation
+        private final Map<Long, Participation> participations = new ConcurrentHashMap<>();
+
+        // the task that was scheduled last replaces the previous one, because it was created with the latest state of the exercise
+        private volatile Consumer<List<Participation>> task;
+
+        private ScheduledFuture<?> future;
+    }
+
     private void addScheduledTask(Exercise exercise, ExerciseLifecycle lifecycle, Set<ScheduledFuture<?>> futures) {
         Tuple<Long, ExerciseLifecycle> taskId = new Tuple<>(exercise.getId(), lifecycle);
         scheduledExerciseTasks.put(taskId, futures);
@@ -47,16 +72,6 @@ public class ScheduleService {
         scheduledExerciseTasks.remove(taskId);
     }
 
-    private void addScheduledTask(Participation participation, ParticipationLifecycle lifecycle, Set<ScheduledFuture<?>> futures) {
-        Triple<Long, Long, ParticipationLifecycle> taskId = Triple.of(participation.getExercise().getId(), participation.getId(), lifecycle);
-        scheduledParticipationTasks.put(taskId, futures);
-    }
-
-    private void removeScheduledTask(Long exerciseId, Long participationId, ParticipationLifecycle lifecycle) {
-        Triple<Long, Long, ParticipationLifecycle> taskId = Triple.of(exerciseId, participationId, lifecycle);
-        scheduledParticipationTasks.remove(taskId);
-    }
-
     /**
      * Schedule a task for the given Exercise for the provided ExerciseLifecycle.
      *
@@ -89,14 +104,56 @@ public class ScheduleService {
 
     /**
      * Schedule a task for the given participation for the provided lifecycle.
+     * <p>
+     * The participation is added to the slot of all participations of the exercise for this lifecycle at the same date. Only the first participation of a slot schedules a
+     * future. The task is run once for all participations of the slot, so that it can process them as a batch (e.g. trigger all builds at once).
      *
      * @param participation for which a scheduled action should be created.
      * @param lifecycle at which the task should be scheduled.
-     * @param task Runnable task to be executed on the lifecycle hook
+     * @param task the task to be executed on the lifecycle hook with all participations of the slot
      */
-    void scheduleParticipationTask(Participation participation, ParticipationLifecycle lifecycle, Runnable task) {
-        cancelScheduledTaskForParticipationLifecycle(participation.getExercise().getId(), participation.getId(), lifecycle);
-        participationLifecycleService.scheduleTask(participation, lifecycle, task).ifPresent(scheduledTask -> addScheduledTask(participation, lifecycle, Set.of(scheduledTask)));
+    void scheduleParticipationTask(Participation participation, ParticipationLifecycle lifecycle, Consumer<List<Participation>> task) {
+        final Long exerciseId = participation.getExercise().getId();
+        cancelScheduledTaskForParticipationLifecycle(exerciseId, participation.getId(), lifecycle);
+        final Optional<ZonedDateTime> lifecycleDate = participationLifecycleService.getDateForLifecycle(participation, lifecycle);
+        if (lifecycleDate.isEmpty()) {
+            log.warn("Cannot schedule a task for lifecycle {} for participation (id: {}, exercise id: {}) as no appropriate date is known!", lifecycle, participation.getId(),
+                    exerciseId);
+            return;
+        }
+
+        final Instant slotDate = lifecycleDate.get().toInstant();
+        final Triple<Long, ParticipationLifecycle, Instant> slotId = Triple.of(exerciseId, lifecycle, slotDate);
+        scheduledParticipationTaskSlots.compute(slotId, (id, slot) -> {
+            if (slot == null) {
+                slot = new ParticipationTaskSlot();
+                slot.future = participationLifecycleService.scheduleTask(participation, lifecycle, () -> runParticipationTaskSlot(id)).orElseThrow();
+            }
+            slot.participations.put(participation.getId(), participation);
+            slot.task = task;
+            return slot;
+        });
+        scheduledParticipationTasks.put(Triple.of(exerciseId, participation.getId(), lifecycle), slotDate);
+    }
+
+    /**
+     * Runs the task of the given slot for all of its participations.
+     *
+     * @param slotId the exercise id, lifecycle and date of the slot
+     */
+    private void runParticipationTaskSlot(Triple<Long, ParticipationLifecycle, Instant> slotId) {
+        final ParticipationTaskSlot slot = scheduledParticipationTaskSlots.remove(slotId);
+        if (slot == null) {
+            return;
+        }
+        removeParticipationTasksOfSlot(slotId, slot);
+        log.info("Running scheduled task {} for {} participations in exercise (#{}).", slotId.getMiddle(), slot.participations.size(), slotId.getLeft());
+        try {
+            slot.task.accept(List.copyOf(slot.participations.values()));
+        }
+        catch (RuntimeException ex) {
+            log.error("Scheduled task {} for participations in exercise (#{}) failed", slotId.getMiddle(), slotId.getLeft(), ex);
+        }
     }
 
     /**
@@ -116,19 +173,35 @@ public class ScheduleService {
         }
 
         ParticipationLifecycle.fromExerciseLifecycle(lifecycle).ifPresent(participationLifecycle -> {
-            final Stream<Long> participationIds = getScheduledParticipationIdsForExercise(exerciseId);
-            participationIds.forEach(participationId -> cancelScheduledTaskForParticipationLifecycle(exerciseId, participationId, participationLifecycle));
+            final List<Triple<Long, ParticipationLifecycle, Instant>> slotIds = scheduledParticipationTaskSlots.keySet().stream()
+                    .filter(slotId -> Objects.equals(slotId.getLeft(), exerciseId) && slotId.getMiddle() == participationLifecycle).toList();
+            slotIds.forEach(this::cancelParticipationTaskSlot);
         });
     }
 
     /**
-     * Finds all individual participations that belong to the given exercise and are scheduled.
+     * Cancels the scheduled tasks of all participations in the given slot.
      *
-     * @param exerciseId the participations belong to.
-     * @return a stream of the IDs of participations.
+     * @param slotId the exercise id, lifecycle and date of the slot
      */
-    private Stream<Long> getScheduledParticipationIdsForExercise(Long exerciseId) {
-        return scheduledParticipationTasks.keySet().stream().map(Triple::getLeft).filter(scheduledExerciseId -> Objects.equals(scheduledExerciseId, exerciseId));
+    private void cancelParticipationTaskSlot(Triple<Long, ParticipationLifecycle, Instant> slotId) {
+        final ParticipationTaskSlot slot = scheduledParticipationTaskSlots.remove(slotId);
+        if (slot != null) {
+            log.debug("Cancelling scheduled task {} for {} participations in Exercise (#{}).", slotId.getMiddle(), slot.participations.size(), slotId.getLeft());
+            slot.future.cancel(true);
+            removeParticipationTasksOfSlot(slotId, slot);
+        }
+    }
+
+    /**
+     * Removes the scheduled tasks of the participations of a slot that was already removed, unless a participation was moved to another slot in the meantime.
+     *
+     * @param slotId the exercise id, lifecycle and date of the slot
+     * @param slot   the removed slot
+     */
+    private void removeParticipationTasksOfSlot(Triple<Long, ParticipationLifecycle, Instant> slotId, ParticipationTaskSlot slot) {
+        slot.participations.keySet()
+                .forEach(participationId -> scheduledParticipationTasks.remove(Triple.of(slotId.getLeft(), participationId, slotId.getMiddle()), slotId.getRight()));
     }
 
     /**
@@ -138,11 +211,18 @@ public class ScheduleService {
      */
     void cancelScheduledTaskForParticipationLifecycle(Long exerciseId, Long participationId, ParticipationLifecycle lifecycle) {
         Triple<Long, Long, ParticipationLifecycle> taskId = Triple.of(exerciseId, participationId, lifecycle);
-        Set<ScheduledFuture<?>> futures = scheduledParticipationTasks.get(taskId);
-        if (futures != null) {
+        Instant slotDate = scheduledParticipationTasks.remove(taskId);
+        if (slotDate != null) {
             log.debug("Cancelling scheduled task {} for Participation (#{}).", lifecycle, participationId);
-            futures.forEach(future -> future.cancel(true));
-            removeScheduledTask(exerciseId, participationId, lifecycle);
+            // the future of the slot is only cancelled if no other participation has a task in it anymore
+            scheduledParticipationTaskSlots.computeIfPresent(Triple.of(exerciseId, lifecycle, slotDate), (slotId, slot) -> {
+                slot.participations.remove(participationId);
+                if (slot.participations.isEmpty()) {
+                    slot.future.cancel(true);
+                    return null;
+                }
+                return slot;
+            });
         }
     }
 
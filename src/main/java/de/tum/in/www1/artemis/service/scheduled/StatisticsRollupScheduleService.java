@@ -0,0 +1,149 @@
+package de.tum.in.www1.artemis.service.scheduled;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import de.tum.in.www1.artemis.domain.enumeration.GraphType;
+import de.tum.in.www1.artemis.domain.enumeration.StatisticsBucket;
+import de.tum.in.www1.artemis.domain.statistics.ExerciseStatisticsEntry;
+import de.tum.in.www1.artemis.domain.statistics.StatisticsRollup;
+import de.tum.in.www1.artemis.domain.statistics.StatisticsRollupProgress;
+import de.tum.in.www1.artemis.repository.StatisticsRepository;
+import de.tum.in.www1.artemis.repository.StatisticsRollupProgressRepository;
+import de.tum.in.www1.artemis.repository.StatisticsRollupRepository;
+
+/**
+ * Rolls up the entries of the graph types in {@link StatisticsRollup#ROLLED_UP_GRAPH_TYPES} into hourly and daily buckets per exercise.
+ * <p>
+ * Every run continues where the last one stopped ({@link StatisticsRollupProgress}) and only rolls up hours that are already over. The raw entries are processed day by day, so
+ * that the first run on an existing database does not have to load all entries at once. The day before the last rolled up hour is calculated again in every run, so that entries
+ * which are saved or deleted shortly after their hour was rolled up are still taken into account.
+ */
+@Service
+@Profile("scheduling")
+public class StatisticsRollupScheduleService {
+
+    private static final Logger log = LoggerFactory.getLogger(StatisticsRollupScheduleService.class);
+
+    private static final int RECALCULATED_DAYS = 1;
+
+    // limits the duration of a run when the existing entries are rolled up for the first time, later runs continue with the next days
+    private static final int MAX_DAYS_PER_RUN = 90;
+
+    private final StatisticsRepository statisticsRepository;
+
+    private final StatisticsRollupRepository statisticsRollupRepository;
+
+    private final StatisticsRollupProgressRepository statisticsRollupProgressRepository;
+
+    public StatisticsRollupScheduleService(StatisticsRepository statisticsRepository, StatisticsRollupRepository statisticsRollupRepository,
+            StatisticsRollupProgressRepository statisticsRollupProgressRepository) {
+        this.statisticsRepository = statisticsRepository;
+        this.statisticsRollupRepository = statisticsRollupRepository;
+        this.statisticsRollupProgressRepository = statisticsRollupProgressRepository;
+    }
+
+    /**
+     * Rolls up the entries of all hours that are over and not rolled up yet and removes the rollups of deleted exercises.
+     */
+    @Scheduled(cron = "0 5 * * * *") // execute this every hour, 5 minutes after the hour is over
+    public void rollUpStatistics() {
+        ZonedDateTime closedUntil = ZonedDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        for (GraphType graphType : StatisticsRollup.ROLLED_UP_GRAPH_TYPES) {
+            try {
+                rollUpStatistics(graphType, closedUntil);
+            }
+            catch (Exception ex) {
+                log.error("Could not roll up the statistics of the graph type " + graphType, ex);
+            }
+        }
+        int deletedRollups = statisticsRollupRepository.deleteRollupsOfDeletedExercises();
+        if (deletedRollups > 0) {
+            log.info("Deleted {} statistics rollups of deleted exercises", deletedRollups);
+        }
+    }
+
+    private void rollUpStatistics(GraphType graphType, ZonedDateTime closedUntil) {
+        ZoneId zone = closedUntil.getZone();
+        StatisticsRollupProgress progress = statisticsRollupProgressRepository.findById(graphType).orElseGet(() -> new StatisticsRollupProgress(graphType));
+        ZonedDateTime day;
+        if (progress.getRolledUpUntil() != null) {
+            day = progress.getRolledUpUntil().withZoneSameInstant(zone).truncatedTo(ChronoUnit.DAYS).minusDays(RECALCULATED_DAYS);
+        }
+        else {
+            ZonedDateTime earliestEntry = findEarliestEntryDate(graphType);
+            if (earliestEntry == null) {
+                // there is nothing to roll up yet
+                return;
+            }
+            day = earliestEntry.withZoneSameInstant(zone).truncatedTo(ChronoUnit.DAYS);
+        }
+
+        int rolledUpDays = 0;
+        while (day.isBefore(closedUntil) && rolledUpDays < MAX_DAYS_PER_RUN) {
+            ZonedDateTime nextDay = day.plusDays(1);
+            ZonedDateTime rolledUpUntil = nextDay.isBefore(closedUntil) ? nextDay : closedUntil;
+            List<StatisticsRollup> rollups = calculateRollups(graphType, day, rolledUpUntil, !nextDay.isAfter(closedUntil));
+            statisticsRollupRepository.replaceRollups(graphType, day, nextDay, rollups);
+            // the progress is only saved after the rollups, rollups after the saved progress are ignored by the statistics
+            progress.setRolledUpUntil(rolledUpUntil);
+            statisticsRollupProgressRepository.save(progress);
+            day = nextDay;
+            rolledUpDays++;
+        }
+        log.debug("Rolled up the statistics of the graph type {} until {}", graphType, progress.getRolledUpUntil());
+    }
+
+    /**
+     * Calculates the hourly rollups of the given time range within one day and, if the whole day is over, the daily rollups of the day.
+     */
+    private List<StatisticsRollup> calculateRollups(GraphType graphType, ZonedDateTime day, ZonedDateTime until, boolean dayIsOver) {
+        List<ExerciseStatisticsEntry> entries = switch (graphType) {
+            case SUBMISSIONS -> statisticsRepository.getSubmissionsPerExercise(day, until);
+            case CREATED_RESULTS -> statisticsRepository.getCreatedResultsPerExercise(day, until);
+            case CREATED_FEEDBACKS -> statisticsRepository.getResultFeedbacksPerExercise(day, until);
+            default -> throw new UnsupportedOperationException("Unsupported graph type: " + graphType);
+        };
+
+        // the amounts per hour by the id of the exercise
+        Map<Long, Map<ZonedDateTime, Long>> hourlyAmounts = new HashMap<>();
+        for (ExerciseStatisticsEntry entry : entries) {
+            ZonedDateTime hour = entry.date().withZoneSameInstant(day.getZone()).truncatedTo(ChronoUnit.HOURS);
+            hourlyAmounts.computeIfAbsent(entry.exerciseId(), exerciseId -> new HashMap<>()).merge(hour, entry.amount(), Long::sum);
+        }
+
+        List<StatisticsRollup> rollups = new ArrayList<>();
+        hourlyAmounts.forEach((exerciseId, amounts) -> {
+            long dailyAmount = 0;
+            for (var hourlyAmount : amounts.entrySet()) {
+                if (hourlyAmount.getValue() > 0) {
+                    rollups.add(new StatisticsRollup(graphType, StatisticsBucket.HOUR, exerciseId, hourlyAmount.getKey(), hourlyAmount.getValue()));
+                    dailyAmount += hourlyAmount.getValue();
+                }
+            }
+            if (dayIsOver && dailyAmount > 0) {
+                rollups.add(new StatisticsRollup(graphType, StatisticsBucket.DAY, exerciseId, day, dailyAmount));
+            }
+        });
+        return rollups;
+    }
+
+    @Nullable
+    private ZonedDateTime findEarliestEntryDate(GraphType graphType) {
+        return switch (graphType) {
+            case SUBMISSIONS -> statisticsRepository.findEarliestSubmissionDate();
+            case CREATED_RESULTS, CREATED_FEEDBACKS -> statisticsRepository.findEarliestResultCompletionDate();
+            default -> throw new UnsupportedOperationException("Unsupported graph type: " + graphType);
+        };
+    }
+}
@@ -2,6 +2,7 @@ package de.tum.in.www1.artemis.service.scheduled.quiz;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -47,6 +48,23 @@ final class EmptyQuizExerciseCache extends QuizExerciseCache {
         return Map.of();
     }
 
+    @Override
+    QuizSubmission updateSubmissionIfNewer(String username, QuizSubmission quizSubmission) {
+        log.error("EmptyQuizExerciseCache cannot cache submissions");
+        throwModificationAttemptException();
+        return null;
+    }
+
+    @Override
+    Set<String> getLocalSubmissionUsernames() {
+        return Set.of();
+    }
+
+    @Override
+    Map<String, Boolean> getSubmittedUsers() {
+        return Map.of();
+    }
+
     @Override
     Map<String, StudentParticipation> getParticipations() {
         return Map.of();
@@ -62,6 +80,11 @@ final class EmptyQuizExerciseCache extends QuizExerciseCache {
         return Map.of();
     }
 
+    @Override
+    Map<Long, Result> getLatestUnratedResults() {
+        return Map.of();
+    }
+
     @Override
     void setExercise(QuizExercise newExercise) {
         log.error("EmptyQuizExerciseCache cannot have an exercise set");
@@ -54,6 +54,7 @@ final class QuizCache {
      */
     static void configureHazelcast(Config config) {
         QuizExerciseCache.registerSerializers(config);
+        QuizExerciseCache.configureMaps(config);
         // Important to avoid continuous serialization and de-serialization and the implications on transient fields of QuizExerciseCache
         EvictionConfig evictionConfig = new EvictionConfig() //
                 .setEvictionPolicy(EvictionPolicy.NONE);
@@ -40,6 +40,24 @@ abstract class QuizExerciseCache {
      */
     abstract Map<String, QuizSubmission> getSubmissions();
 
+    /**
+     * Caches the submission of the user, unless a newer or submitted submission of the user is already cached, see {@link QuizSubmissionUpdateProcessor}
+     *
+     * @return null if the submission was cached, otherwise the newer or submitted submission that is already cached
+     */
+    abstract QuizSubmission updateSubmissionIfNewer(String username, QuizSubmission quizSubmission);
+
+    /**
+     * The user names of the cached submissions that are stored on this instance, so that each instance can process its own part of the submissions
+     */
+    abstract Set<String> getLocalSubmissionUsernames();
+
+    /**
+     * The user names of all users who have submitted the quiz (mapped to true), as long as the quiz is cached. Contains an empty marker once the users who submitted before
+     * the quiz was cached were loaded from the database, see {@link QuizScheduleService#hasSubmitted(Long, String)}.
+     */
+    abstract Map<String, Boolean> getSubmittedUsers();
+
     /**
      * StudentParticipations by user name
      */
@@ -55,6 +73,13 @@ abstract class QuizExerciseCache {
      */
     abstract Map<Long, Result> getResults();
 
+    /**
+     * The latest unrated results (e.g. of the practice mode) that are currently included in the statistics by their participation id.
+     * <p>
+     * Those results only contain the score and the submitted answers, which are required to remove them from the statistics again, when a newer result arrives.
+     */
+    abstract Map<Long, Result> getLatestUnratedResults();
+
     /**
      * Set the cached {@link QuizExercise} object
      */
@@ -106,5 +131,10 @@ abstract class QuizExerciseCache {
 
     static void registerSerializers(Config config) {
         QuizExerciseDistributedCache.registerSerializer(config);
+        QuizSubmissionStreamSerializer.registerSerializer(config);
+    }
+
+    static void configureMaps(Config config) {
+        QuizExerciseDistributedCache.configureMaps(config);
     }
 }
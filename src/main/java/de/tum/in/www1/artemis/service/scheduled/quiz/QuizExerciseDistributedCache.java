@@ -39,8 +39,17 @@ final class QuizExerciseDistributedCache extends QuizExerciseCache implements Ha
 
     private static final String HAZELCAST_CACHE_SUBMISSIONS = "-submissions";
 
+    private static final String HAZELCAST_CACHE_SUBMITTED_USERS = "-submitted-users";
+
     private static final String HAZELCAST_CACHE_RESULTS = "-results";
 
+    private static final String HAZELCAST_CACHE_LATEST_UNRATED_RESULTS = "-latest-unrated-results";
+
+    /**
+     * Entries of the latest unrated results are evicted after this time without access, the statistic update then falls back to the database
+     */
+    private static final int LATEST_UNRATED_RESULTS_MAX_IDLE_SECONDS = 60 * 60 * 6;
+
     /**
      * All {@link List} classes that are supported by Hazelcast {@link SerializationServiceV1}
      */
@@ -57,18 +66,25 @@ final class QuizExerciseDistributedCache extends QuizExerciseCache implements Ha
     private transient QuizExercise exercise;
 
     /*
-     * All three IMaps are distributed Hazelcast objects and must not be (de-)serialized, they are all set in the setHazelcastInstance method.
+     * All IMaps are distributed Hazelcast objects and must not be (de-)serialized, they are all set in the setHazelcastInstance method.
      */
 
     private transient IMap<String, StudentParticipation> participations;
 
     private transient IMap<String, QuizSubmission> submissions;
 
+    /**
+     * A map instead of a set, so that the users are distributed over all partitions and not stored (and accessed) on one member
+     */
+    private transient IMap<String, Boolean> submittedUsers;
+
     /**
      * Must be a Map because Hazelcast uses serialized objects for set operations and not hashCode()/equals()
      */
     private transient IMap<Long, Result> results;
 
+    private transient IMap<Long, Result> latestUnratedResults;
+
     QuizExerciseDistributedCache(Long exerciseId, List<ScheduledTaskHandler> quizStart, QuizExercise exercise) {
         super(Objects.requireNonNull(exerciseId, "exerciseId must not be null"));
         setQuizStart(quizStart);
@@ -94,6 +110,21 @@ final class QuizExerciseDistributedCache extends QuizExerciseCache implements Ha
         return submissions;
     }
 
+    @Override
+    QuizSubmission updateSubmissionIfNewer(String username, QuizSubmission quizSubmission) {
+        return submissions.executeOnKey(username, new QuizSubmissionUpdateProcessor(quizSubmission));
+    }
+
+    @Override
+    Set<String> getLocalSubmissionUsernames() {
+        return submissions.localKeySet();
+    }
+
+    @Override
+    Map<String, Boolean> getSubmittedUsers() {
+        return submittedUsers;
+    }
+
     @Override
     Map<String, StudentParticipation> getParticipations() {
         return participations;
@@ -109,6 +140,11 @@ final class QuizExerciseDistributedCache extends QuizExerciseCache implements Ha
         return results;
     }
 
+    @Override
+    Map<Long, Result> getLatestUnratedResults() {
+        return latestUnratedResults;
+    }
+
     @Override
     void setExercise(QuizExercise newExercise) {
         this.exercise = newExercise;
@@ -141,7 +177,9 @@ final class QuizExerciseDistributedCache extends QuizExerciseCache implements Ha
         }
         participations.destroy();
         submissions.destroy();
+        submittedUsers.destroy();
         results.destroy();
+        latestUnratedResults.destroy();
         exercise = null;
     }
 
@@ -153,7 +191,9 @@ final class QuizExerciseDistributedCache extends QuizExerciseCache implements Ha
          */
         participations = hazelcastInstance.getMap(Constants.HAZELCAST_QUIZ_PREFIX + getExerciseId() + HAZELCAST_CACHE_PARTICIPATIONS);
         submissions = hazelcastInstance.getMap(Constants.HAZELCAST_QUIZ_PREFIX + getExerciseId() + HAZELCAST_CACHE_SUBMISSIONS);
+        submittedUsers = hazelcastInstance.getMap(Constants.HAZELCAST_QUIZ_PREFIX + getExerciseId() + HAZELCAST_CACHE_SUBMITTED_USERS);
         results = hazelcastInstance.getMap(Constants.HAZELCAST_QUIZ_PREFIX + getExerciseId() + HAZELCAST_CACHE_RESULTS);
+        latestUnratedResults = hazelcastInstance.getMap(Constants.HAZELCAST_QUIZ_PREFIX + getExerciseId() + HAZELCAST_CACHE_LATEST_UNRATED_RESULTS);
     }
 
     /**
@@ -194,4 +234,9 @@ final class QuizExerciseDistributedCache extends QuizExerciseCache implements Ha
         serializerConfig.setImplementation(new QuizExerciseDistributedCacheStreamSerializer());
         config.getSerializationConfig().addSerializerConfig(serializerConfig);
     }
+
+    static void configureMaps(Config config) {
+        // the latest unrated results are kept beyond the removal of the quiz exercise cache (e.g. for the practice mode), but must not grow forever
+        config.getMapConfig(Constants.HAZELCAST_QUIZ_PREFIX + "*" + HAZELCAST_CACHE_LATEST_UNRATED_RESULTS).setMaxIdleSeconds(LATEST_UNRATED_RESULTS_MAX_IDLE_SECONDS);
+    }
 }
@@ -0,0 +1,37 @@
+package de.tum.in.www1.artemis.service.scheduled.quiz;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.concurrent.Callable;
+
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.hazelcast.spring.context.SpringAware;
+
+import de.tum.in.www1.artemis.config.Constants;
+
+/**
+ * Task to process the cached submissions of a quiz that are stored on the instance executing the task, it is executed on all instances
+ */
+@SpringAware
+final class QuizProcessLocalSubmissionsTask implements Callable<Integer>, Serializable {
+
+    static final String HAZELCAST_PROCESS_LOCAL_SUBMISSIONS_EXECUTOR = Constants.HAZELCAST_QUIZ_PREFIX + "process-local-submissions";
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    final Long quizExerciseId;
+
+    @Autowired // ok
+    transient QuizScheduleService quizScheduleService;
+
+    QuizProcessLocalSubmissionsTask(Long quizExerciseId) {
+        this.quizExerciseId = quizExerciseId;
+    }
+
+    @Override
+    public Integer call() {
+        return quizScheduleService.processLocalCachedQuizSubmissions(quizExerciseId);
+    }
+}
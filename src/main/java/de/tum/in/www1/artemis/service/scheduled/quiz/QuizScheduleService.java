@@ -6,19 +6,25 @@ import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import javax.validation.constraints.NotNull;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
 import org.springframework.messaging.simp.SimpMessageSendingOperations;
 import org.springframework.stereotype.Service;
 
+import com.hazelcast.cluster.Member;
 import com.hazelcast.config.Config;
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IExecutorService;
 import com.hazelcast.cp.IAtomicReference;
 import com.hazelcast.scheduledexecutor.*;
 
@@ -43,10 +49,25 @@ public class QuizScheduleService {
 
     private static final String HAZELCAST_PROCESS_CACHE_HANDLER = QuizProcessCacheTask.HAZELCAST_PROCESS_CACHE_TASK + "-handler";
 
+    /**
+     * Marks that the submitted users of a quiz were loaded from the database, see {@link #hasSubmitted(Long, String)}. Logins are never empty.
+     */
+    private static final String SUBMITTED_USERS_LOADED_MARKER = "";
+
+    /**
+     * The marker is stored in one partition, so each instance only checks it again after this time instead of for every save
+     */
+    private static final long SUBMITTED_USERS_LOADED_CHECK_INTERVAL_IN_MILLIS = 60 * 1000;
+
     private final IScheduledExecutorService threadPoolTaskScheduler;
 
     private final IAtomicReference<ScheduledTaskHandler> scheduledProcessQuizSubmissions;
 
+    /**
+     * Executes {@link QuizProcessLocalSubmissionsTask} on all instances
+     */
+    private final IExecutorService submissionProcessingExecutor;
+
     private final StudentParticipationRepository studentParticipationRepository;
 
     private final ResultRepository resultRepository;
@@ -65,9 +86,24 @@ public class QuizScheduleService {
 
     private final QuizExerciseRepository quizExerciseRepository;
 
+    private final QuizSubmissionBatchPersistenceService quizSubmissionBatchPersistenceService;
+
+    private final Object submittedUsersLoadLock = new Object();
+
+    /**
+     * The times at which this instance last saw the loaded marker of the submitted users by the id of the quiz exercise
+     */
+    private final Map<Long, Long> submittedUsersLoadedCheckTimes = new ConcurrentHashMap<>();
+
+    /**
+     * The number of submissions that are saved together in one transaction when processing the cached submissions, 1 disables the batch mode
+     */
+    @Value("${artemis.quiz.submission-batch-size:50}")
+    private int submissionBatchSize;
+
     public QuizScheduleService(SimpMessageSendingOperations messagingTemplate, StudentParticipationRepository studentParticipationRepository, ResultRepository resultRepository,
             UserRepository userRepository, QuizSubmissionRepository quizSubmissionRepository, HazelcastInstance hazelcastInstance, QuizExerciseRepository quizExerciseRepository,
-            QuizMessagingService quizMessagingService, QuizStatisticService quizStatisticService) {
+            QuizMessagingService quizMessagingService, QuizStatisticService quizStatisticService, QuizSubmissionBatchPersistenceService quizSubmissionBatchPersistenceService) {
         this.messagingTemplate = messagingTemplate;
         this.studentParticipationRepository = studentParticipationRepository;
         this.resultRepository = resultRepository;
@@ -76,8 +112,10 @@ public class QuizScheduleService {
         this.quizExerciseRepository = quizExerciseRepository;
         this.quizMessagingService = quizMessagingService;
         this.quizStatisticService = quizStatisticService;
+        this.quizSubmissionBatchPersistenceService = quizSubmissionBatchPersistenceService;
         this.scheduledProcessQuizSubmissions = hazelcastInstance.getCPSubsystem().getAtomicReference(HAZELCAST_PROCESS_CACHE_HANDLER);
         this.threadPoolTaskScheduler = hazelcastInstance.getScheduledExecutorService(Constants.HAZELCAST_QUIZ_SCHEDULER);
+        this.submissionProcessingExecutor = hazelcastInstance.getExecutorService(QuizProcessLocalSubmissionsTask.HAZELCAST_PROCESS_LOCAL_SUBMISSIONS_EXECUTOR);
         this.quizCache = new QuizCache(hazelcastInstance);
     }
 
@@ -111,6 +149,82 @@ public class QuizScheduleService {
         }
     }
 
+    /**
+     * Caches the submission of a user in a live quiz, unless a newer submission of the user is already cached.
+     * <p>
+     * Saves of the same user can be handled concurrently (by different threads or even different instances), so they can overtake each other. The client numbers its saves
+     * and an older save never replaces a newer one. A submitted submission is never replaced by a later save and marks the user as submitted. The cached submission is
+     * updated on the instance that stores it, see {@link QuizSubmissionUpdateProcessor}.
+     *
+     * @param quizExerciseId the quizExerciseId of the quiz the submission belongs to (first Key)
+     * @param username       the username of the user, who submitted the submission (second Key)
+     * @param quizSubmission the quizSubmission, which should be added (Value)
+     * @return empty if the submission was cached, otherwise the newer or submitted submission that is already cached and caused the submission to be dropped
+     */
+    public Optional<QuizSubmission> updateSubmissionIfNewer(Long quizExerciseId, String username, QuizSubmission quizSubmission) {
+        QuizExerciseCache cachedQuiz = quizCache.getTransientWriteCacheFor(quizExerciseId);
+        QuizSubmission cachedSubmission = cachedQuiz.updateSubmissionIfNewer(username, quizSubmission);
+        if (cachedSubmission == null && Boolean.TRUE.equals(quizSubmission.isSubmitted())) {
+            cachedQuiz.getSubmittedUsers().put(username, Boolean.TRUE);
+        }
+        return Optional.ofNullable(cachedSubmission);
+    }
+
+    /**
+     * Checks if the user has already submitted the quiz. The submitted users are cached, so that the database is not accessed for every save of a live quiz.
+     * <p>
+     * The cached users are loaded from the database once per quiz, and again whenever the cached data of the quiz was lost (e.g. because the cluster was restarted), so
+     * that users whose submissions were already saved can't submit again. Each instance checks whether the users are loaded at most once per
+     * {@link #SUBMITTED_USERS_LOADED_CHECK_INTERVAL_IN_MILLIS}, otherwise only the entry of the user is accessed.
+     *
+     * @param quizExerciseId the quizExerciseId of the quiz
+     * @param username       the username of the user
+     * @return true if the user has a cached or saved submitted submission for the quiz
+     */
+    public boolean hasSubmitted(Long quizExerciseId, String username) {
+        if (quizExerciseId == null || username == null) {
+            return false;
+        }
+        Map<String, Boolean> submittedUsers = quizCache.getReadCacheFor(quizExerciseId).getSubmittedUsers();
+        if (!isSubmittedUsersLoaded(quizExerciseId, submittedUsers)) {
+            submittedUsers = loadSubmittedUsers(quizExerciseId);
+        }
+        return Boolean.TRUE.equals(submittedUsers.get(username));
+    }
+
+    private boolean isSubmittedUsersLoaded(Long quizExerciseId, Map<String, Boolean> submittedUsers) {
+        long now = System.currentTimeMillis();
+        Long lastCheckTime = submittedUsersLoadedCheckTimes.get(quizExerciseId);
+        if (lastCheckTime != null && now - lastCheckTime < SUBMITTED_USERS_LOADED_CHECK_INTERVAL_IN_MILLIS) {
+            return true;
+        }
+        if (submittedUsers.containsKey(SUBMITTED_USERS_LOADED_MARKER)) {
+            submittedUsersLoadedCheckTimes.put(quizExerciseId, now);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Adds the users who have a submitted submission for the quiz in the database to the cached submitted users.
+     */
+    private Map<String, Boolean> loadSubmittedUsers(Long quizExerciseId) {
+        // the lock only prevents that concurrent saves of this instance load the same users at the same time
+        synchronized (submittedUsersLoadLock) {
+            Map<String, Boolean> submittedUsers = quizCache.getTransientWriteCacheFor(quizExerciseId).getSubmittedUsers();
+            if (!submittedUsers.containsKey(SUBMITTED_USERS_LOADED_MARKER)) {
+                Set<String> savedSubmittedUsers = studentParticipationRepository.findLoginsOfStudentsWithSubmittedSubmissionByExerciseId(quizExerciseId);
+                log.debug("Loaded {} users who already submitted the quiz {} from the database", savedSubmittedUsers.size(), quizExerciseId);
+                Map<String, Boolean> loadedUsers = new HashMap<>();
+                savedSubmittedUsers.forEach(login -> loadedUsers.put(login, Boolean.TRUE));
+                submittedUsers.putAll(loadedUsers);
+                submittedUsers.put(SUBMITTED_USERS_LOADED_MARKER, Boolean.TRUE);
+            }
+            submittedUsersLoadedCheckTimes.put(quizExerciseId, System.currentTimeMillis());
+            return submittedUsers;
+        }
+    }
+
     /**
      * add a result to resultHashMap for a statistic-update
      * this should only be invoked once, when the quiz was submitted
@@ -346,6 +460,7 @@ public class QuizScheduleService {
      */
     public void clearAllQuizData() {
         quizCache.clear();
+        submittedUsersLoadedCheckTimes.clear();
     }
 
     /**
@@ -356,6 +471,17 @@ public class QuizScheduleService {
      */
     public void clearQuizData(Long quizExerciseId) {
         quizCache.removeAndClear(quizExerciseId);
+        submittedUsersLoadedCheckTimes.remove(quizExerciseId);
+    }
+
+    /**
+     * Clears the cached latest unrated results of one specific quiz exercise, which are used to update the statistics incrementally.
+     * <p>
+     * This is necessary when the statistics are recalculated from the database, e.g. because the scores changed during a re-evaluation.
+     * @param quizExerciseId refers to one specific quiz exercise for which the results should be cleared
+     */
+    public void clearLatestUnratedResults(Long quizExerciseId) {
+        quizCache.getTransientWriteCacheFor(quizExerciseId).getLatestUnratedResults().clear();
     }
 
     /**
@@ -383,7 +509,7 @@ public class QuizScheduleService {
                 // check if quiz has been deleted
                 if (quizExercise == null) {
                     log.debug("Remove quiz {} from resultHashMap", quizExerciseId);
-                    quizCache.removeAndClear(quizExerciseId);
+                    clearQuizData(quizExerciseId);
                     continue;
                 }
 
@@ -414,9 +540,8 @@ public class QuizScheduleService {
 
                 if (hasNewSubmissions) {
                     // Create Participations and Results if the submission was submitted or if the quiz has ended and save them to Database (DB Write)
-                    Map<String, QuizSubmission> submissions = cachedQuiz.getSubmissions();
-                    // This call will remove the processed Submission map entries itself
-                    int numberOfSubmittedSubmissions = saveQuizSubmissionWithParticipationAndResultToDatabase(quizExercise, submissions);
+                    // Each instance processes the submissions it stores itself, which will also remove the processed Submission map entries
+                    int numberOfSubmittedSubmissions = processCachedQuizSubmissionsOnAllInstances(quizExerciseId);
                     // .. and likely generate new participations and results
                     if (numberOfSubmittedSubmissions > 0) {
                         // .. so we set the boolean variables here again if some were submitted
@@ -457,8 +582,8 @@ public class QuizScheduleService {
                     try {
                         // Get a Set because QuizStatisticService needs one (currently)
                         Set<Result> newResultsForQuiz = Set.copyOf(cachedQuiz.getResults().values());
-                        // Update the statistics
-                        quizStatisticService.updateStatistics(newResultsForQuiz, quizExercise);
+                        // Update the statistics, the previous unrated results are taken from the cache to avoid querying all results of each participation
+                        quizStatisticService.updateStatistics(newResultsForQuiz, quizExercise, cachedQuiz.getLatestUnratedResults());
                         log.info("Updated statistics with {} new results in {} for quiz {}", newResultsForQuiz.size(), formatDurationFrom(start), quizExercise.getTitle());
                         // Remove only processed results
                         for (Result result : newResultsForQuiz) {
@@ -514,96 +639,214 @@ public class QuizScheduleService {
         }
     }
 
+    /**
+     * Lets every instance process the cached submissions of the quiz that are stored on the instance and waits until all instances are done.
+     *
+     * @param quizExerciseId the id of the quiz
+     * @return the number of processed submissions (submit or timeout) of all instances
+     */
+    private int processCachedQuizSubmissionsOnAllInstances(Long quizExerciseId) {
+        Map<Member, Future<Integer>> results = submissionProcessingExecutor.submitToAllMembers(new QuizProcessLocalSubmissionsTask(quizExerciseId));
+        int count = 0;
+        for (Entry<Member, Future<Integer>> result : results.entrySet()) {
+            try {
+                count += result.getValue().get();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Interrupted while waiting for the submissions of quiz {} to be processed", quizExerciseId);
+            }
+            catch (ExecutionException e) {
+                log.error("Could not process the submissions of quiz {} on {}", quizExerciseId, result.getKey(), e.getCause());
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Processes the cached submissions of the quiz that are stored on this instance, see {@link QuizProcessLocalSubmissionsTask}.
+     * The submissions are only read and removed locally, so the processing scales with the number of instances.
+     *
+     * @param quizExerciseId the id of the quiz
+     * @return the number of processed submissions (submit or timeout)
+     */
+    int processLocalCachedQuizSubmissions(Long quizExerciseId) {
+        QuizExerciseCache cachedQuiz = quizCache.getReadCacheFor(quizExerciseId);
+        Set<String> usernames = cachedQuiz.getLocalSubmissionUsernames();
+        if (usernames.isEmpty()) {
+            return 0;
+        }
+        QuizExercise quizExercise = quizExerciseRepository.findOneWithQuestionsAndStatistics(quizExerciseId);
+        if (quizExercise == null) {
+            return 0;
+        }
+        return saveQuizSubmissionWithParticipationAndResultToDatabase(quizExercise, usernames, cachedQuiz.getSubmissions());
+    }
+
     /**
      * check if the user submitted the submission or if the quiz has ended: if true: -> Create Participation and Result and save to Database (DB Write) Remove processed Submissions
      * from SubmissionHashMap and write Participations with Result into ParticipationHashMap and Results into ResultHashMap
+     * <p>
+     * The submissions are saved in chunks of {@link #submissionBatchSize} with one transaction per chunk. If a chunk cannot be saved, its submissions are saved one by one, so
+     * that one exception (e.g. duplicated key) cannot destroy multiple student answers.
      *
      * @param quizExercise      the quiz which should be checked
+     * @param usernames         the users whose submissions should be checked
      * @param userSubmissionMap a Map with all submissions for the given quizExercise mapped by the username
      * @return the number of processed submissions (submit or timeout)
      */
-    private int saveQuizSubmissionWithParticipationAndResultToDatabase(@NotNull QuizExercise quizExercise, Map<String, QuizSubmission> userSubmissionMap) {
+    private int saveQuizSubmissionWithParticipationAndResultToDatabase(@NotNull QuizExercise quizExercise, Set<String> usernames, Map<String, QuizSubmission> userSubmissionMap) {
 
         int count = 0;
+        Map<String, QuizSubmission> chunk = new LinkedHashMap<>();
+
+        for (String username : usernames) {
+            QuizSubmission quizSubmission = userSubmissionMap.get(username);
+            if (quizSubmission == null || !prepareQuizSubmissionForSaving(quizExercise, quizSubmission)) {
+                // the quiz is running and the submission was not yet submitted.
+                continue;
+            }
+            count++;
+            chunk.put(username, quizSubmission);
+            if (chunk.size() >= submissionBatchSize) {
+                saveQuizSubmissionsWithParticipationsAndResultsToDatabase(quizExercise, chunk, userSubmissionMap);
+                chunk = new LinkedHashMap<>();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            saveQuizSubmissionsWithParticipationsAndResultsToDatabase(quizExercise, chunk, userSubmissionMap);
+        }
+        return count;
+    }
+
+    /**
+     * Marks the submission as submitted (manually by the user or by a timeout when the quiz has ended)
+     *
+     * @param quizExercise   the quiz the submission belongs to
+     * @param quizSubmission the cached submission
+     * @return true if the submission should be saved to the database, false if the quiz is still running and the submission was not yet submitted
+     */
+    private boolean prepareQuizSubmissionForSaving(QuizExercise quizExercise, QuizSubmission quizSubmission) {
+        // first case: the user submitted the quizSubmission
+        if (quizSubmission.isSubmitted()) {
+            if (quizSubmission.getType() == null) {
+                quizSubmission.setType(SubmissionType.MANUAL);
+            }
+            return true;
+        } // second case: the quiz has ended
+        else if (quizExercise.isEnded()) {
+            quizSubmission.setSubmitted(true);
+            quizSubmission.setType(SubmissionType.TIMEOUT);
+            quizSubmission.setSubmissionDate(ZonedDateTime.now());
+            return true;
+        }
+        return false;
+    }
 
-        for (String username : userSubmissionMap.keySet()) {
+    /**
+     * Saves one chunk of submissions in one transaction (including a single re-read of the saved submissions) and falls back to saving them individually if this fails.
+     *
+     * @param quizExercise      the quiz the submissions belong to
+     * @param chunk             the submissions that should be saved mapped by the username
+     * @param userSubmissionMap the cached submissions of the quiz, from which the processed submissions are removed
+     */
+    private void saveQuizSubmissionsWithParticipationsAndResultsToDatabase(QuizExercise quizExercise, Map<String, QuizSubmission> chunk,
+            Map<String, QuizSubmission> userSubmissionMap) {
+        if (chunk.size() > 1) {
+            Map<String, QuizSubmission> savedSubmissions = null;
             try {
-                // first case: the user submitted the quizSubmission
-                QuizSubmission quizSubmission = userSubmissionMap.get(username);
-                if (quizSubmission.isSubmitted()) {
-                    if (quizSubmission.getType() == null) {
-                        quizSubmission.setType(SubmissionType.MANUAL);
-                    }
-                } // second case: the quiz has ended
-                else if (quizExercise.isEnded()) {
-                    quizSubmission.setSubmitted(true);
-                    quizSubmission.setType(SubmissionType.TIMEOUT);
-                    quizSubmission.setSubmissionDate(ZonedDateTime.now());
-                }
-                else {
-                    // the quiz is running and the submission was not yet submitted.
+                savedSubmissions = quizSubmissionBatchPersistenceService.saveSubmissionsWithParticipationsAndResults(quizExercise, chunk);
+            }
+            catch (Exception e) {
+                log.warn("Could not save {} submissions in one batch in quiz {}, saving them one by one instead: {}", chunk.size(), quizExercise.getId(), e.getMessage());
+            }
+            if (savedSubmissions != null) {
+                quizSubmissionBatchPersistenceService.reloadSubmissions(savedSubmissions)
+                        .forEach((username, participation) -> cacheSavedParticipation(quizExercise, username, participation, userSubmissionMap));
+                return;
+            }
+        }
+
+        for (String username : chunk.keySet()) {
+            try {
+                // the entities of a rolled back batch might already contain ids, therefore we use a fresh copy of the cached submission
+                QuizSubmission quizSubmission = chunk.size() > 1 ? userSubmissionMap.get(username) : chunk.get(username);
+                if (quizSubmission == null || !prepareQuizSubmissionForSaving(quizExercise, quizSubmission)) {
                     continue;
                 }
-
-                count++;
-                // Create Participation and Result and save to Database (DB Write)
-                // Remove processed Submissions from SubmissionHashMap and write Participations with Result into ParticipationHashMap and Results into ResultHashMap
-
-                StudentParticipation participation = new StudentParticipation();
-                // TODO: when this is set earlier for the individual quiz start of a student, we don't need to set this here anymore
-                participation.setInitializationDate(quizSubmission.getSubmissionDate());
-                Optional<User> user = userRepository.findOneByLogin(username);
-                user.ifPresent(participation::setParticipant);
-                // add the quizExercise to the participation
-                participation.setExercise(quizExercise);
-                participation.setInitializationState(InitializationState.FINISHED);
-
-                // create participation
-                participation = studentParticipationRepository.save(participation);
-                quizSubmission.setParticipation(participation);
-                quizSubmission = quizSubmissionRepository.save(quizSubmission);
-                participation.setSubmissions(Set.of(quizSubmission));
-                var savedQuizSubmission = quizSubmissionRepository.findById(quizSubmission.getId()).get();
-
-                // create new result
-                Result result = new Result().participation(participation);
-                result.setRated(true);
-                result.setAssessmentType(AssessmentType.AUTOMATIC);
-                result.setCompletionDate(savedQuizSubmission.getSubmissionDate());
-                result = resultRepository.save(result);
-
-                // set submission, calculate scores and update result and submission accordingly
-                result.setSubmission(savedQuizSubmission);
-                savedQuizSubmission.calculateAndUpdateScores(quizExercise);
-                result.evaluateSubmission();
-
-                // add result to submission
-                savedQuizSubmission.setResults(List.of(result));
-                // save submission to set result index column
-                savedQuizSubmission = quizSubmissionRepository.save(savedQuizSubmission);
-                result = resultRepository.save(result);
-                // NOTE: we save submission and result here individually so that one exception (e.g. duplicated key) cannot destroy multiple student answers
-
-                // reconnect entities after save
-                participation.setSubmissions(Set.of(savedQuizSubmission));
-                participation.setResults(Set.of(result));
-                result.setSubmission(savedQuizSubmission);
-                result.setParticipation(participation);
-
-                // add the participation to the participationHashMap for the send out at the end of the quiz
-                addParticipation(quizExercise.getId(), participation);
-
-                // remove the submission only after the participation has been added to the participation hashmap to avoid duplicated key exceptions for multiple participations for
-                // the same user
-                userSubmissionMap.remove(username);
-
-                // add the result of the participation resultHashMap for the statistic-Update
-                addResultForStatisticUpdate(quizExercise.getId(), result);
+                StudentParticipation participation = saveQuizSubmissionWithParticipationAndResultToDatabase(quizExercise, username, quizSubmission);
+                cacheSavedParticipation(quizExercise, username, participation, userSubmissionMap);
             }
             catch (Exception e) {
                 log.error("Exception in saveQuizSubmissionWithParticipationAndResultToDatabase() for user {} in quiz {}: {}", username, quizExercise.getId(), e.getMessage(), e);
             }
         }
-        return count;
+    }
+
+    /**
+     * Create Participation and Result for a single submission and save them to Database (DB Write)
+     *
+     * @param quizExercise   the quiz the submission belongs to
+     * @param username       the username of the student who submitted the submission
+     * @param quizSubmission the (submitted) submission
+     * @return the saved participation including the saved submission and result
+     */
+    private StudentParticipation saveQuizSubmissionWithParticipationAndResultToDatabase(QuizExercise quizExercise, String username, QuizSubmission quizSubmission) {
+        StudentParticipation participation = new StudentParticipation();
+        // TODO: when this is set earlier for the individual quiz start of a student, we don't need to set this here anymore
+        participation.setInitializationDate(quizSubmission.getSubmissionDate());
+        Optional<User> user = userRepository.findOneByLogin(username);
+        user.ifPresent(participation::setParticipant);
+        // add the quizExercise to the participation
+        participation.setExercise(quizExercise);
+        participation.setInitializationState(InitializationState.FINISHED);
+
+        // create participation
+        participation = studentParticipationRepository.save(participation);
+        quizSubmission.setParticipation(participation);
+        quizSubmission = quizSubmissionRepository.save(quizSubmission);
+        participation.setSubmissions(Set.of(quizSubmission));
+        var savedQuizSubmission = quizSubmissionRepository.findById(quizSubmission.getId()).get();
+
+        // create new result
+        Result result = new Result().participation(participation);
+        result.setRated(true);
+        result.setAssessmentType(AssessmentType.AUTOMATIC);
+        result.setCompletionDate(savedQuizSubmission.getSubmissionDate());
+        result = resultRepository.save(result);
+
+        // set submission, calculate scores and update result and submission accordingly
+        result.setSubmission(savedQuizSubmission);
+        savedQuizSubmission.calculateAndUpdateScores(quizExercise);
+        result.evaluateSubmission();
+
+        // add result to submission
+        savedQuizSubmission.setResults(List.of(result));
+        // save submission to set result index column
+        savedQuizSubmission = quizSubmissionRepository.save(savedQuizSubmission);
+        result = resultRepository.save(result);
+        // NOTE: we save submission and result here individually so that one exception (e.g. duplicated key) cannot destroy multiple student answers
+
+        // reconnect entities after save
+        participation.setSubmissions(Set.of(savedQuizSubmission));
+        participation.setResults(Set.of(result));
+        result.setSubmission(savedQuizSubmission);
+        result.setParticipation(participation);
+        return participation;
+    }
+
+    /**
+     * Write the saved participation into the ParticipationHashMap and its result into the ResultHashMap and remove the processed submission from the SubmissionHashMap
+     */
+    private void cacheSavedParticipation(QuizExercise quizExercise, String username, StudentParticipation participation, Map<String, QuizSubmission> userSubmissionMap) {
+        // add the participation to the participationHashMap for the send out at the end of the quiz
+        addParticipation(quizExercise.getId(), participation);
+
+        // remove the submission only after the participation has been added to the participation hashmap to avoid duplicated key exceptions for multiple participations for
+        // the same user
+        userSubmissionMap.remove(username);
+
+        // add the result of the participation resultHashMap for the statistic-Update
+        addResultForStatisticUpdate(quizExercise.getId(), participation.getResults().iterator().next());
     }
 }
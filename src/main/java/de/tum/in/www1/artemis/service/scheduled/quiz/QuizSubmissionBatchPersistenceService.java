@@ -0,0 +1,134 @@
+package de.tum.in.www1.artemis.service.scheduled.quiz;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.validation.constraints.NotNull;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import de.tum.in.www1.artemis.domain.Result;
+import de.tum.in.www1.artemis.domain.User;
+import de.tum.in.www1.artemis.domain.enumeration.AssessmentType;
+import de.tum.in.www1.artemis.domain.enumeration.InitializationState;
+import de.tum.in.www1.artemis.domain.participation.StudentParticipation;
+import de.tum.in.www1.artemis.domain.quiz.QuizExercise;
+import de.tum.in.www1.artemis.domain.quiz.QuizSubmission;
+import de.tum.in.www1.artemis.repository.QuizSubmissionRepository;
+import de.tum.in.www1.artemis.repository.ResultRepository;
+import de.tum.in.www1.artemis.repository.StudentParticipationRepository;
+import de.tum.in.www1.artemis.repository.UserRepository;
+
+/**
+ * Persists a chunk of cached quiz submissions together with their participations and results in a single transaction.
+ * <p>
+ * All entities of one chunk are written with one flush, so that the updates (e.g. of the result order column) are sent as JDBC batches, and the users of the chunk are loaded
+ * with one query. If anything in the chunk fails, the whole chunk is rolled back and the caller is responsible to fall back to saving the submissions one by one, so that one
+ * invalid submission (e.g. a duplicated key) cannot destroy the answers of other students.
+ */
+@Service
+public class QuizSubmissionBatchPersistenceService {
+
+    private final StudentParticipationRepository studentParticipationRepository;
+
+    private final QuizSubmissionRepository quizSubmissionRepository;
+
+    private final ResultRepository resultRepository;
+
+    private final UserRepository userRepository;
+
+    public QuizSubmissionBatchPersistenceService(StudentParticipationRepository studentParticipationRepository, QuizSubmissionRepository quizSubmissionRepository,
+            ResultRepository resultRepository, UserRepository userRepository) {
+        this.studentParticipationRepository = studentParticipationRepository;
+        this.quizSubmissionRepository = quizSubmissionRepository;
+        this.resultRepository = resultRepository;
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Creates a participation and a rated, automatic result for each of the given (already submitted) quiz submissions and saves all of them to the database in one transaction.
+     * The scores of the submissions and results are calculated before they are written, so that every entity is written only once.
+     *
+     * @param quizExercise          the quiz exercise (including questions) the submissions belong to
+     * @param submissionsByUsername the submitted quiz submissions of one chunk mapped by the username of the student
+     * @return the saved submissions mapped by the username, each one including its participation and result
+     */
+    @Transactional // ok because of the rollback of the whole chunk, in case one of the submissions cannot be saved
+    public Map<String, QuizSubmission> saveSubmissionsWithParticipationsAndResults(@NotNull QuizExercise quizExercise, Map<String, QuizSubmission> submissionsByUsername) {
+        Map<String, User> usersByLogin = userRepository.findAllByLoginIn(submissionsByUsername.keySet()).stream()
+                .collect(Collectors.toMap(User::getLogin, Function.identity()));
+
+        Map<String, StudentParticipation> participationsByUsername = new LinkedHashMap<>();
+        for (var entry : submissionsByUsername.entrySet()) {
+            StudentParticipation participation = new StudentParticipation();
+            participation.setInitializationDate(entry.getValue().getSubmissionDate());
+            participation.setParticipant(usersByLogin.get(entry.getKey()));
+            participation.setExercise(quizExercise);
+            participation.setInitializationState(InitializationState.FINISHED);
+            participationsByUsername.put(entry.getKey(), participation);
+        }
+        studentParticipationRepository.saveAll(participationsByUsername.values());
+
+        List<QuizSubmission> submissions = new ArrayList<>(submissionsByUsername.size());
+        for (var entry : submissionsByUsername.entrySet()) {
+            QuizSubmission quizSubmission = entry.getValue();
+            quizSubmission.setParticipation(participationsByUsername.get(entry.getKey()));
+            submissions.add(quizSubmission);
+        }
+        quizSubmissionRepository.saveAll(submissions);
+
+        List<Result> results = new ArrayList<>(submissions.size());
+        for (QuizSubmission quizSubmission : submissions) {
+            // create new result, calculate the scores and connect it with the submission
+            Result result = new Result().participation(quizSubmission.getParticipation());
+            result.setRated(true);
+            result.setAssessmentType(AssessmentType.AUTOMATIC);
+            result.setCompletionDate(quizSubmission.getSubmissionDate());
+            result.setSubmission(quizSubmission);
+            quizSubmission.calculateAndUpdateScores(quizExercise);
+            result.evaluateSubmission();
+            // the result index column of the submission is written when the transaction is flushed
+            if (quizSubmission.getResults() == null) {
+                quizSubmission.setResults(new ArrayList<>());
+            }
+            quizSubmission.getResults().add(result);
+            results.add(result);
+        }
+        resultRepository.saveAll(results);
+
+        return submissionsByUsername;
+    }
+
+    /**
+     * Re-reads the given, already saved quiz submissions (including their submitted answers) with one query and reconnects them with their participations and results, so that
+     * the returned participations look like the ones created by saving the submissions one by one.
+     *
+     * @param savedSubmissionsByUsername the submissions returned by {@link #saveSubmissionsWithParticipationsAndResults(QuizExercise, Map)}
+     * @return the participations mapped by the username, each one including the re-read submission and its result
+     */
+    public Map<String, StudentParticipation> reloadSubmissions(Map<String, QuizSubmission> savedSubmissionsByUsername) {
+        Set<Long> submissionIds = savedSubmissionsByUsername.values().stream().map(QuizSubmission::getId).collect(Collectors.toSet());
+        Map<Long, QuizSubmission> reloadedSubmissionsById = quizSubmissionRepository.findWithEagerSubmittedAnswersByIdIn(submissionIds).stream()
+                .collect(Collectors.toMap(QuizSubmission::getId, Function.identity()));
+
+        Map<String, StudentParticipation> participationsByUsername = new LinkedHashMap<>();
+        for (var entry : savedSubmissionsByUsername.entrySet()) {
+            QuizSubmission savedSubmission = entry.getValue();
+            // fall back to the submission written in the transaction in the unlikely case it could not be read again
+            QuizSubmission reloadedSubmission = reloadedSubmissionsById.getOrDefault(savedSubmission.getId(), savedSubmission);
+            StudentParticipation participation = (StudentParticipation) savedSubmission.getParticipation();
+            Result result = savedSubmission.getLatestResult();
+
+            // reconnect entities after save
+            reloadedSubmission.setResults(List.of(result));
+            participation.setSubmissions(Set.of(reloadedSubmission));
+            participation.setResults(Set.of(result));
+            result.setSubmission(reloadedSubmission);
+            result.setParticipation(participation);
+            participationsByUsername.put(entry.getKey(), participation);
+        }
+        return participationsByUsername;
+    }
+}
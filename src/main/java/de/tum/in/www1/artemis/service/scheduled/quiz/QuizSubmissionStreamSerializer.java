@@ -0,0 +1,235 @@
+package de.tum.in.www1.artemis.service.scheduled.quiz;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.SerializerConfig;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.StreamSerializer;
+
+import de.tum.in.www1.artemis.config.Constants;
+import de.tum.in.www1.artemis.domain.enumeration.SubmissionType;
+import de.tum.in.www1.artemis.domain.quiz.*;
+
+/**
+ * A compact serializer for the quiz submissions cached in Hazelcast during a live quiz.
+ * <p>
+ * Submitted answers reference the questions, answer options, drag items, drop locations and spots of the quiz. With Java serialization those references contain the whole
+ * objects (including the quiz exercise), although the submission only needs their ids. This serializer only writes the ids (and the few attributes the client needs to
+ * display a restored submission), which makes every save during a live quiz much smaller on the network and in the backups.
+ * <p>
+ * The format starts with a version, so that members of different versions can still read each other's entries during a rolling update. Increase {@link #VERSION} and keep
+ * reading the old format when changing it.
+ */
+final class QuizSubmissionStreamSerializer implements StreamSerializer<QuizSubmission> {
+
+    private static final byte VERSION = 1;
+
+    private static final byte MULTIPLE_CHOICE = 1;
+
+    private static final byte DRAG_AND_DROP = 2;
+
+    private static final byte SHORT_ANSWER = 3;
+
+    @Override
+    public int getTypeId() {
+        return Constants.HAZELCAST_QUIZ_SUBMISSION_SERIALIZER_ID;
+    }
+
+    @Override
+    public void write(ObjectDataOutput out, QuizSubmission quizSubmission) throws IOException {
+        out.writeByte(VERSION);
+        out.writeObject(quizSubmission.getId());
+        out.writeObject(quizSubmission.isSubmitted());
+        out.writeString(quizSubmission.getType() != null ? quizSubmission.getType().name() : null);
+        writeDate(out, quizSubmission.getSubmissionDate());
+        out.writeObject(quizSubmission.getScoreInPoints());
+        out.writeObject(quizSubmission.getSequenceNumber());
+        out.writeInt(quizSubmission.getSubmittedAnswers().size());
+        for (SubmittedAnswer submittedAnswer : quizSubmission.getSubmittedAnswers()) {
+            writeSubmittedAnswer(out, submittedAnswer);
+        }
+    }
+
+    @Override
+    public QuizSubmission read(ObjectDataInput in) throws IOException {
+        byte version = in.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported version " + version + " of a cached quiz submission");
+        }
+        QuizSubmission quizSubmission = new QuizSubmission();
+        quizSubmission.setId(in.readObject());
+        quizSubmission.setSubmitted(in.readObject());
+        String type = in.readString();
+        quizSubmission.setType(type != null ? SubmissionType.valueOf(type) : null);
+        quizSubmission.setSubmissionDate(readDate(in));
+        quizSubmission.setScoreInPoints(in.readObject());
+        quizSubmission.setSequenceNumber(in.readObject());
+        int numberOfSubmittedAnswers = in.readInt();
+        for (int i = 0; i < numberOfSubmittedAnswers; i++) {
+            quizSubmission.addSubmittedAnswers(readSubmittedAnswer(in));
+        }
+        return quizSubmission;
+    }
+
+    private static void writeSubmittedAnswer(ObjectDataOutput out, SubmittedAnswer submittedAnswer) throws IOException {
+        if (submittedAnswer instanceof MultipleChoiceSubmittedAnswer multipleChoiceSubmittedAnswer) {
+            writeSubmittedAnswerHeader(out, MULTIPLE_CHOICE, submittedAnswer);
+            out.writeInt(multipleChoiceSubmittedAnswer.getSelectedOptions().size());
+            for (AnswerOption answerOption : multipleChoiceSubmittedAnswer.getSelectedOptions()) {
+                out.writeObject(answerOption.getId());
+            }
+        }
+        else if (submittedAnswer instanceof DragAndDropSubmittedAnswer dragAndDropSubmittedAnswer) {
+            writeSubmittedAnswerHeader(out, DRAG_AND_DROP, submittedAnswer);
+            out.writeInt(dragAndDropSubmittedAnswer.getMappings().size());
+            for (DragAndDropMapping mapping : dragAndDropSubmittedAnswer.getMappings()) {
+                out.writeObject(mapping.getId());
+                out.writeObject(mapping.getDragItemIndex());
+                out.writeObject(mapping.getDropLocationIndex());
+                out.writeObject(mapping.isInvalid());
+                // the client displays the drag item of the mapping in the drop location
+                DragItem dragItem = mapping.getDragItem();
+                out.writeBoolean(dragItem != null);
+                if (dragItem != null) {
+                    out.writeObject(dragItem.getId());
+                    out.writeString(dragItem.getText());
+                    out.writeString(dragItem.getPictureFilePath());
+                    out.writeObject(dragItem.isInvalid());
+                }
+                out.writeObject(mapping.getDropLocation() != null ? mapping.getDropLocation().getId() : null);
+            }
+        }
+        else if (submittedAnswer instanceof ShortAnswerSubmittedAnswer shortAnswerSubmittedAnswer) {
+            writeSubmittedAnswerHeader(out, SHORT_ANSWER, submittedAnswer);
+            out.writeInt(shortAnswerSubmittedAnswer.getSubmittedTexts().size());
+            for (ShortAnswerSubmittedText submittedText : shortAnswerSubmittedAnswer.getSubmittedTexts()) {
+                out.writeObject(submittedText.getId());
+                out.writeString(submittedText.getText());
+                out.writeObject(submittedText.isIsCorrect());
+                // the client identifies the spot of a submitted text by its number
+                ShortAnswerSpot spot = submittedText.getSpot();
+                out.writeBoolean(spot != null);
+                if (spot != null) {
+                    out.writeObject(spot.getId());
+                    out.writeObject(spot.getSpotNr());
+                }
+            }
+        }
+        else {
+            throw new IOException("Unsupported submitted answer type " + submittedAnswer.getClass().getName());
+        }
+    }
+
+    private static void writeSubmittedAnswerHeader(ObjectDataOutput out, byte type, SubmittedAnswer submittedAnswer) throws IOException {
+        out.writeByte(type);
+        out.writeObject(submittedAnswer.getId());
+        out.writeObject(submittedAnswer.getScoreInPoints());
+        out.writeObject(submittedAnswer.getQuizQuestion() != null ? submittedAnswer.getQuizQuestion().getId() : null);
+    }
+
+    private static SubmittedAnswer readSubmittedAnswer(ObjectDataInput in) throws IOException {
+        byte type = in.readByte();
+        Long id = in.readObject();
+        Double scoreInPoints = in.readObject();
+        Long questionId = in.readObject();
+        SubmittedAnswer submittedAnswer;
+        QuizQuestion quizQuestion;
+        switch (type) {
+            case MULTIPLE_CHOICE -> {
+                MultipleChoiceSubmittedAnswer multipleChoiceSubmittedAnswer = new MultipleChoiceSubmittedAnswer();
+                int numberOfSelectedOptions = in.readInt();
+                for (int i = 0; i < numberOfSelectedOptions; i++) {
+                    AnswerOption answerOption = new AnswerOption();
+                    answerOption.setId(in.readObject());
+                    multipleChoiceSubmittedAnswer.addSelectedOptions(answerOption);
+                }
+                submittedAnswer = multipleChoiceSubmittedAnswer;
+                quizQuestion = new MultipleChoiceQuestion();
+            }
+            case DRAG_AND_DROP -> {
+                DragAndDropSubmittedAnswer dragAndDropSubmittedAnswer = new DragAndDropSubmittedAnswer();
+                int numberOfMappings = in.readInt();
+                for (int i = 0; i < numberOfMappings; i++) {
+                    DragAndDropMapping mapping = new DragAndDropMapping();
+                    mapping.setId(in.readObject());
+                    mapping.setDragItemIndex(in.readObject());
+                    mapping.setDropLocationIndex(in.readObject());
+                    mapping.setInvalid(in.readObject());
+                    if (in.readBoolean()) {
+                        DragItem dragItem = new DragItem();
+                        dragItem.setId(in.readObject());
+                        dragItem.setText(in.readString());
+                        dragItem.setPictureFilePath(in.readString());
+                        dragItem.setInvalid(in.readObject());
+                        mapping.setDragItem(dragItem);
+                    }
+                    Long dropLocationId = in.readObject();
+                    if (dropLocationId != null) {
+                        DropLocation dropLocation = new DropLocation();
+                        dropLocation.setId(dropLocationId);
+                        mapping.setDropLocation(dropLocation);
+                    }
+                    dragAndDropSubmittedAnswer.addMappings(mapping);
+                }
+                submittedAnswer = dragAndDropSubmittedAnswer;
+                quizQuestion = new DragAndDropQuestion();
+            }
+            case SHORT_ANSWER -> {
+                ShortAnswerSubmittedAnswer shortAnswerSubmittedAnswer = new ShortAnswerSubmittedAnswer();
+                int numberOfSubmittedTexts = in.readInt();
+                for (int i = 0; i < numberOfSubmittedTexts; i++) {
+                    ShortAnswerSubmittedText submittedText = new ShortAnswerSubmittedText();
+                    submittedText.setId(in.readObject());
+                    submittedText.setText(in.readString());
+                    submittedText.setIsCorrect(in.readObject());
+                    if (in.readBoolean()) {
+                        ShortAnswerSpot spot = new ShortAnswerSpot();
+                        spot.setId(in.readObject());
+                        spot.setSpotNr(in.readObject());
+                        submittedText.setSpot(spot);
+                    }
+                    shortAnswerSubmittedAnswer.addSubmittedTexts(submittedText);
+                }
+                submittedAnswer = shortAnswerSubmittedAnswer;
+                quizQuestion = new ShortAnswerQuestion();
+            }
+            default -> throw new IOException("Unsupported submitted answer type " + type);
+        }
+        submittedAnswer.setId(id);
+        submittedAnswer.setScoreInPoints(scoreInPoints);
+        if (questionId != null) {
+            quizQuestion.setId(questionId);
+            submittedAnswer.setQuizQuestion(quizQuestion);
+        }
+        return submittedAnswer;
+    }
+
+    private static void writeDate(ObjectDataOutput out, ZonedDateTime date) throws IOException {
+        out.writeBoolean(date != null);
+        if (date != null) {
+            out.writeLong(date.toInstant().getEpochSecond());
+            out.writeInt(date.getNano());
+            out.writeString(date.getZone().getId());
+        }
+    }
+
+    private static ZonedDateTime readDate(ObjectDataInput in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        Instant instant = Instant.ofEpochSecond(in.readLong(), in.readInt());
+        return ZonedDateTime.ofInstant(instant, ZoneId.of(in.readString()));
+    }
+
+    static void registerSerializer(Config config) {
+        SerializerConfig serializerConfig = new SerializerConfig();
+        serializerConfig.setTypeClass(QuizSubmission.class);
+        serializerConfig.setImplementation(new QuizSubmissionStreamSerializer());
+        config.getSerializationConfig().addSerializerConfig(serializerConfig);
+    }
+}
@@ -0,0 +1,68 @@
+package de.tum.in.www1.artemis.service.scheduled.quiz;
+
+import java.io.IOException;
+import java.util.Map;
+
+import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+
+import de.tum.in.www1.artemis.domain.quiz.QuizSubmission;
+
+/**
+ * Replaces the cached submission of a user in a live quiz, unless a newer submission of the user is already cached.
+ * <p>
+ * The processor is executed on the member that owns the entry (and on its backups), so the cached submission is neither sent to the caller nor compared remotely and the
+ * update needs only one network round trip. The new submission is written with the {@link QuizSubmissionStreamSerializer}.
+ * <p>
+ * Saves of the same user can be handled concurrently (by different threads or even different instances), so they can overtake each other. The client numbers its saves
+ * and an older save never replaces a newer one. A submitted submission is never replaced by a later save.
+ * <p>
+ * The processor returns null if the submission was cached, otherwise the cached submission, so that the caller can tell a dropped save from a submitted quiz without
+ * another request.
+ */
+final class QuizSubmissionUpdateProcessor implements EntryProcessor<String, QuizSubmission, QuizSubmission>, DataSerializable {
+
+    private QuizSubmission quizSubmission;
+
+    /**
+     * Required for the deserialization by Hazelcast
+     */
+    public QuizSubmissionUpdateProcessor() {
+    }
+
+    QuizSubmissionUpdateProcessor(QuizSubmission quizSubmission) {
+        this.quizSubmission = quizSubmission;
+    }
+
+    @Override
+    public QuizSubmission process(Map.Entry<String, QuizSubmission> entry) {
+        QuizSubmission cachedSubmission = entry.getValue();
+        if (cachedSubmission != null && !isNewerSubmission(quizSubmission, cachedSubmission)) {
+            return cachedSubmission;
+        }
+        entry.setValue(quizSubmission);
+        return null;
+    }
+
+    private static boolean isNewerSubmission(QuizSubmission quizSubmission, QuizSubmission cachedSubmission) {
+        if (Boolean.TRUE.equals(cachedSubmission.isSubmitted())) {
+            return false;
+        }
+        if (Boolean.TRUE.equals(quizSubmission.isSubmitted()) || quizSubmission.getSequenceNumber() == null || cachedSubmission.getSequenceNumber() == null) {
+            return true;
+        }
+        return quizSubmission.getSequenceNumber() > cachedSubmission.getSequenceNumber();
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeObject(quizSubmission);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        quizSubmission = in.readObject();
+    }
+}
@@ -0,0 +1,78 @@
+package de.tum.in.www1.artemis.service.util;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A token bucket that limits the number of requests per second to an external system, e.g. the continuous integration or the version control server.
+ * <p>
+ * The rate adapts to the load of the external system: callers halve it with {@link #decreaseRate()}, e.g. when a request failed or took too long, and slowly increase it
+ * again with {@link #increaseRate()} after every successful request, up to the maximum rate. The bucket holds at most as many tokens as requests are sent at the same time,
+ * so that an idle period does not allow a large burst of requests afterwards.
+ */
+public class AdaptiveRateLimiter {
+
+    private final double maxRequestsPerSecond;
+
+    private final int capacity;
+
+    // the state of the token bucket, guarded by this
+    private double requestsPerSecond;
+
+    private double availableTokens;
+
+    private long lastRefillNanos;
+
+    /**
+     * Creates a rate limiter that starts with the maximum rate and a full bucket.
+     *
+     * @param maxRequestsPerSecond the maximum number of requests per second
+     * @param capacity             the maximum number of tokens in the bucket, usually the number of requests that are sent at the same time
+     */
+    public AdaptiveRateLimiter(double maxRequestsPerSecond, int capacity) {
+        this.maxRequestsPerSecond = maxRequestsPerSecond;
+        this.capacity = capacity;
+        this.requestsPerSecond = maxRequestsPerSecond;
+        this.availableTokens = capacity;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * Waits until the token bucket contains a token and removes it.
+     *
+     * @throws InterruptedException if the thread was interrupted while waiting
+     */
+    public void acquire() throws InterruptedException {
+        while (true) {
+            long waitingTimeInNanos;
+            synchronized (this) {
+                long now = System.nanoTime();
+                availableTokens = Math.min(capacity, availableTokens + (now - lastRefillNanos) / 1e9 * requestsPerSecond);
+                lastRefillNanos = now;
+                if (availableTokens >= 1) {
+                    availableTokens--;
+                    return;
+                }
+                waitingTimeInNanos = (long) ((1 - availableTokens) / requestsPerSecond * 1e9);
+            }
+            TimeUnit.NANOSECONDS.sleep(waitingTimeInNanos);
+        }
+    }
+
+    /**
+     * Increases the rate by a twentieth of the maximum rate, up to the maximum rate.
+     */
+    public synchronized void increaseRate() {
+        requestsPerSecond = Math.min(maxRequestsPerSecond, requestsPerSecond + maxRequestsPerSecond / 20);
+    }
+
+    /**
+     * Halves the rate, down to a twentieth of the maximum rate, so that a single successful request after an outage already doubles the rate again.
+     */
+    public synchronized void decreaseRate() {
+        requestsPerSecond = Math.max(maxRequestsPerSecond / 20, requestsPerSecond / 2);
+    }
+
+    public synchronized double getRequestsPerSecond() {
+        return requestsPerSecond;
+    }
+}
@@ -0,0 +1,123 @@
+package de.tum.in.www1.artemis.service.util;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Caches values that are expensive to load and only used on this server instance, e.g. data structures that are built per exercise from many database rows.
+ * <p>
+ * The values are loaded outside of any lock, so that loading the value of one key neither blocks the access to other keys nor holds a lock during database queries.
+ * Concurrent requests for the same missing key might load it twice, the value that was cached first is kept. A value that was loaded while its key was invalidated is
+ * returned to the caller, but not cached, because it might have been loaded from the data before the change.
+ * <p>
+ * The cache is bounded by the number of keys, the least recently used key is removed when it is full, and by the time since the last access, see
+ * {@link #evictIdleEntries()}.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the cached values
+ */
+public class BoundedLocalCache<K, V> {
+
+    private final int maximumSize;
+
+    private final Duration maximumIdleTime;
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    /**
+     * A cached value, or a marker without value that the key was invalidated. The identity of the entry tells whether the key was changed while a value was loaded.
+     */
+    private static class Entry<V> {
+
+        private final V value;
+
+        private volatile long lastAccessInMillis = System.currentTimeMillis();
+
+        private Entry(V value) {
+            this.value = value;
+        }
+    }
+
+    public BoundedLocalCache(int maximumSize, Duration maximumIdleTime) {
+        this.maximumSize = maximumSize;
+        this.maximumIdleTime = maximumIdleTime;
+    }
+
+    /**
+     * Returns the cached value of the key if it is up-to-date, otherwise loads and caches a new value.
+     *
+     * @param key        the key of the value
+     * @param isUpToDate checks whether a cached value can still be used, e.g. because it is not too old
+     * @param loader     loads the value of the key, it is called without holding any lock
+     * @return the cached or the newly loaded value
+     */
+    public V get(K key, Predicate<V> isUpToDate, Function<K, V> loader) {
+        final Entry<V> entry = entries.get(key);
+        if (entry != null && entry.value != null && isUpToDate.test(entry.value)) {
+            entry.lastAccessInMillis = System.currentTimeMillis();
+            return entry.value;
+        }
+
+        final V loadedValue = loader.apply(key);
+        final Entry<V> loadedEntry = new Entry<>(loadedValue);
+        // only replaces the entry that was found before loading, so that invalidations and values cached in the meantime are kept
+        final Entry<V> cachedEntry = entries.compute(key, (ignored, currentEntry) -> {
+            if (currentEntry == entry) {
+                return loadedEntry;
+            }
+            return currentEntry;
+        });
+        if (cachedEntry == loadedEntry) {
+            removeLeastRecentlyUsedEntries();
+            return loadedValue;
+        }
+        if (cachedEntry != null && cachedEntry.value != null && isUpToDate.test(cachedEntry.value)) {
+            return cachedEntry.value;
+        }
+        return loadedValue;
+    }
+
+    /**
+     * Returns the cached value of the key without loading it.
+     *
+     * @param key the key of the value
+     * @return the cached value or null if no value is cached for the key
+     */
+    public V getIfPresent(K key) {
+        final Entry<V> entry = entries.get(key);
+        return entry != null ? entry.value : null;
+    }
+
+    /**
+     * Removes the cached value of the key, e.g. because the data it was loaded from changed. A value of the key that is loaded at the same time is not cached.
+     *
+     * @param key the key of the value
+     */
+    public void invalidate(K key) {
+        entries.put(key, new Entry<>(null));
+        removeLeastRecentlyUsedEntries();
+    }
+
+    /**
+     * Removes all keys that have not been accessed within the maximum idle time, e.g. the data of exercises whose assessment is finished.
+     */
+    public void evictIdleEntries() {
+        final long oldestAllowedAccess = System.currentTimeMillis() - maximumIdleTime.toMillis();
+        entries.values().removeIf(entry -> entry.lastAccessInMillis < oldestAllowedAccess);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void removeLeastRecentlyUsedEntries() {
+        while (entries.size() > maximumSize) {
+            entries.entrySet().stream().min(Comparator.comparingLong(entry -> entry.getValue().lastAccessInMillis))
+                    .ifPresent(leastRecentlyUsed -> entries.remove(leastRecentlyUsed.getKey(), leastRecentlyUsed.getValue()));
+        }
+    }
+}
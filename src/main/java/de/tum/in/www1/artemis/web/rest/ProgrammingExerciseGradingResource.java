@@ -1,7 +1,5 @@
 package de.tum.in.www1.artemis.web.rest;
 
-import java.util.List;
-
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
@@ -10,11 +8,11 @@ import org.springframework.web.bind.annotation.*;
 
 import de.tum.in.www1.artemis.domain.*;
 import de.tum.in.www1.artemis.repository.ProgrammingExerciseRepository;
-import de.tum.in.www1.artemis.repository.ResultRepository;
 import de.tum.in.www1.artemis.repository.UserRepository;
 import de.tum.in.www1.artemis.security.Role;
 import de.tum.in.www1.artemis.service.AuthorizationCheckService;
 import de.tum.in.www1.artemis.service.programming.ProgrammingExerciseGradingService;
+import de.tum.in.www1.artemis.service.programming.ProgrammingExerciseReEvaluationService;
 import de.tum.in.www1.artemis.web.rest.dto.ProgrammingExerciseGradingStatisticsDTO;
 
 /**
@@ -39,26 +37,29 @@ public class ProgrammingExerciseGradingResource {
 
     private final UserRepository userRepository;
 
-    private final ResultRepository resultRepository;
+    private final ProgrammingExerciseReEvaluationService programmingExerciseReEvaluationService;
 
     public ProgrammingExerciseGradingResource(ProgrammingExerciseGradingService programmingExerciseGradingService, ProgrammingExerciseRepository programmingExerciseRepository,
-            AuthorizationCheckService authCheckService, UserRepository userRepository, ResultRepository resultRepository) {
+            AuthorizationCheckService authCheckService, UserRepository userRepository, ProgrammingExerciseReEvaluationService programmingExerciseReEvaluationService) {
         this.programmingExerciseGradingService = programmingExerciseGradingService;
         this.programmingExerciseRepository = programmingExerciseRepository;
         this.authCheckService = authCheckService;
         this.userRepository = userRepository;
-        this.resultRepository = resultRepository;
+        this.programmingExerciseReEvaluationService = programmingExerciseReEvaluationService;
     }
 
     /**
      * Use with care: Re-evaluates all latest automatic results for the given programming exercise.
+     * <p>
+     * The re-evaluation runs in the background, its progress and the number of updated results are sent to the topic
+     * {@link ProgrammingExerciseReEvaluationService#getReEvaluationTopic(Long)}.
      *
      * @param exerciseId the id of the exercise to re-evaluate the test case weights of.
-     * @return the number of results that were updated.
+     * @return the ResponseEntity with status 200 (OK) once the re-evaluation was started, or with status 409 (CONFLICT) if it is already running.
      */
     @PutMapping(RE_EVALUATE)
     @PreAuthorize("hasRole('INSTRUCTOR')")
-    public ResponseEntity<Integer> reEvaluateGradedResults(@PathVariable Long exerciseId) {
+    public ResponseEntity<Void> reEvaluateGradedResults(@PathVariable Long exerciseId) {
         log.debug("REST request to re-evaluate the graded results of exercise {}", exerciseId);
         ProgrammingExercise programmingExercise = programmingExerciseRepository.findByIdWithTemplateAndSolutionParticipationWithResultsElseThrow(exerciseId);
         Course course = programmingExercise.getCourseViaExerciseGroupOrCourseMember();
@@ -66,11 +67,10 @@ public class ProgrammingExerciseGradingResource {
 
         authCheckService.checkHasAtLeastRoleForExerciseElseThrow(Role.INSTRUCTOR, programmingExercise, user);
 
-        List<Result> updatedResults = programmingExerciseGradingService.updateAllResults(programmingExercise);
-
-        programmingExerciseGradingService.logReEvaluate(user, programmingExercise, course, updatedResults);
-        resultRepository.saveAll(updatedResults);
-        return ResponseEntity.ok(updatedResults.size());
+        // the audit event is also written if the re-evaluation fails, in this case the number of updated results is unknown
+        programmingExerciseReEvaluationService.reEvaluateAllResults(programmingExercise).whenComplete(
+                (updatedResults, error) -> programmingExerciseGradingService.logReEvaluate(user, programmingExercise, course, updatedResults != null ? updatedResults : 0));
+        return ResponseEntity.ok().build();
     }
 
     /**
@@ -196,6 +196,7 @@ public class TextAssessmentResource extends AssessmentResource {
             resultRepository.delete(latestResult);
             submission.setResults(List.of());
             submissionRepository.save(submission);
+            textAssessmentService.invalidateFeedbackSuggestions(exercise.getId());
         }
 
         return ResponseEntity.noContent().build();
@@ -567,6 +568,7 @@ public class TextAssessmentResource extends AssessmentResource {
                 blocksToUpdate.forEach(tb -> tb.setFeedback(feedbackMap.get(tb.getId())));
                 textBlockService.saveAll(blocksToUpdate);
             }
+            textAssessmentService.invalidateFeedbackSuggestions(exercise.getId());
         }
     }
 }
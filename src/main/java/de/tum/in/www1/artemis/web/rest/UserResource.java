@@ -281,6 +281,8 @@ public class UserResource {
         log.debug("REST request to update notification date for logged in user");
         User user = userRepository.getUser();
         userRepository.updateUserNotificationReadDate(user.getId());
+        // the modifying query does not notify the user listener
+        userRepository.evictCachedUser(user.getLogin());
         return ResponseEntity.ok().build();
     }
 
@@ -298,6 +300,7 @@ public class UserResource {
         // if all notifications (regardless of their creation date) should be shown hideUntil should be null
         ZonedDateTime hideUntil = showAllNotifications ? null : ZonedDateTime.now();
         userService.updateUserNotificationVisibility(user.getId(), hideUntil);
+        userRepository.evictCachedUser(user.getLogin());
         return ResponseEntity.ok().build();
     }
 
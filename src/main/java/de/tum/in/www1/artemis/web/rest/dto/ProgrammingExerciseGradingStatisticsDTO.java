@@ -1,18 +1,17 @@
 package de.tum.in.www1.artemis.web.rest.dto;
 
+import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 
-import de.tum.in.www1.artemis.domain.Feedback;
-
 /**
  * This is a dto for providing statistics for the programming exercise test cases & sca categories.
  */
 @JsonInclude(JsonInclude.Include.NON_EMPTY)
-public class ProgrammingExerciseGradingStatisticsDTO {
+public class ProgrammingExerciseGradingStatisticsDTO implements Serializable {
 
     // number of the participations with a result
     private Integer numParticipations;
@@ -48,7 +47,7 @@ public class ProgrammingExerciseGradingStatisticsDTO {
     }
 
     @JsonInclude(JsonInclude.Include.NON_EMPTY)
-    public static class TestCaseStats {
+    public static class TestCaseStats implements Serializable {
 
         private Integer numPassed;
 
@@ -68,15 +67,16 @@ public class ProgrammingExerciseGradingStatisticsDTO {
         }
 
         /**
-         * Updates the statistics accordingly for a positive or negative feedback.
-         * @param feedback that should be considered in the statistics.
+         * Updates the statistics accordingly for a number of positive or negative feedbacks.
+         * @param positive whether the feedbacks are positive.
+         * @param count the number of feedbacks that should be considered in the statistics.
          */
-        public void updateWithFeedback(final Feedback feedback) {
-            if (Boolean.TRUE.equals(feedback.isPositive())) {
-                numPassed++;
+        public void updateWithFeedbacks(final Boolean positive, final int count) {
+            if (Boolean.TRUE.equals(positive)) {
+                numPassed += count;
             }
             else {
-                numFailed++;
+                numFailed += count;
             }
         }
 
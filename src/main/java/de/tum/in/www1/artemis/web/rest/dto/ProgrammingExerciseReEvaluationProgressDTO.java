@@ -0,0 +1,11 @@
+package de.tum.in.www1.artemis.web.rest.dto;
+
+/**
+ * The progress of the re-evaluation of all results of a programming exercise, which is sent to the clients via websocket.
+ */
+public record ProgrammingExerciseReEvaluationProgressDTO(ReEvaluationState state, int processedParticipations, int totalParticipations, int updatedResults) {
+
+    public enum ReEvaluationState {
+        RUNNING, COMPLETED, FAILED
+    }
+}
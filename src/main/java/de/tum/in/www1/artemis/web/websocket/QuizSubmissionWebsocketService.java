@@ -16,6 +16,7 @@ import de.tum.in.www1.artemis.security.SecurityUtils;
 import de.tum.in.www1.artemis.service.ParticipationService;
 import de.tum.in.www1.artemis.service.QuizExerciseService;
 import de.tum.in.www1.artemis.service.QuizSubmissionService;
+import de.tum.in.www1.artemis.service.WebsocketMessagingService;
 
 @SuppressWarnings("unused")
 @Controller
@@ -31,12 +32,15 @@ public class QuizSubmissionWebsocketService {
 
     private final SimpMessageSendingOperations messagingTemplate;
 
+    private final WebsocketMessagingService websocketMessagingService;
+
     public QuizSubmissionWebsocketService(QuizExerciseService quizExerciseService, ParticipationService participationService, SimpMessageSendingOperations messagingTemplate,
-            QuizSubmissionService quizSubmissionService) {
+            QuizSubmissionService quizSubmissionService, WebsocketMessagingService websocketMessagingService) {
         this.quizExerciseService = quizExerciseService;
         this.participationService = participationService;
         this.messagingTemplate = messagingTemplate;
         this.quizSubmissionService = quizSubmissionService;
+        this.websocketMessagingService = websocketMessagingService;
     }
 
     // TODO it would be nice to have some kind of startQuiz call that creates the participation with an initialization date. This should happen when the quiz is first shown
@@ -63,8 +67,8 @@ public class QuizSubmissionWebsocketService {
             // log.info("WS.Inbound: Sent quiz submission (async) back to user {} in quiz {} after {} µs ", principal.getName(), exerciseId, (System.nanoTime() - start) / 1000);
         }
         catch (QuizSubmissionException ex) {
-            // send error message over websocket (use a thread to prevent that the outbound channel blocks the inbound channel (e.g. due a slow client))
-            new Thread(() -> messagingTemplate.convertAndSendToUser(username, "/topic/quizExercise/" + exerciseId + "/submission", new WebsocketError(ex.getMessage()))).start();
+            // send error message over websocket (asynchronously to prevent that the outbound channel blocks the inbound channel (e.g. due a slow client))
+            websocketMessagingService.sendMessageToUserAsync(username, "/topic/quizExercise/" + exerciseId + "/submission", new WebsocketError(ex.getMessage()));
         }
     }
 
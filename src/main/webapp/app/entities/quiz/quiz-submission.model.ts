@@ -4,6 +4,8 @@ import { Submission, SubmissionExerciseType } from 'app/entities/submission.mode
 export class QuizSubmission extends Submission {
     public scoreInPoints?: number;
     public submittedAnswers?: SubmittedAnswer[];
+    // increasing number of the saves in the live mode, so that the server can drop saves that arrive out of order
+    public sequenceNumber?: number;
 
     // helper attributes
     public adjustedSubmissionDate?: Date;
@@ -115,11 +115,12 @@ export class ProgrammingExerciseGradingService implements IProgrammingExerciseGr
 
     /**
      * Use with care: Re-evaluate the latest automatic results of all student participations.
+     * The re-evaluation runs in the background, its progress is sent to the topic /topic/programming-exercises/{exerciseId}/re-evaluation.
      *
      * @param exerciseId
      */
-    public reEvaluate(exerciseId: number): Observable<number> {
-        return this.http.put<number>(`${this.resourceUrl}/${exerciseId}/grading/re-evaluate`, {});
+    public reEvaluate(exerciseId: number): Observable<void> {
+        return this.http.put<void>(`${this.resourceUrl}/${exerciseId}/grading/re-evaluate`, {});
     }
 
     /**
@@ -1,4 +1,4 @@
-import { Component, Input } from '@angular/core';
+import { Component, Input, OnDestroy } from '@angular/core';
 import { HttpErrorResponse } from '@angular/common/http';
 import { AlertService } from 'app/core/util/alert.service';
 import { ProgrammingExerciseGradingService } from 'app/exercises/programming/manage/services/programming-exercise-grading.service';
@@ -6,6 +6,21 @@ import { FeatureToggle } from 'app/shared/feature-toggle/feature-toggle.service'
 import { ProgrammingExercise } from 'app/entities/programming-exercise.model';
 import { ButtonType } from 'app/shared/components/button.component';
 import { faRedo } from '@fortawesome/free-solid-svg-icons';
+import { JhiWebsocketService } from 'app/core/websocket/websocket.service';
+import { Subscription } from 'rxjs';
+
+export enum ReEvaluationState {
+    RUNNING = 'RUNNING',
+    COMPLETED = 'COMPLETED',
+    FAILED = 'FAILED',
+}
+
+export type ReEvaluationProgress = {
+    state: ReEvaluationState;
+    processedParticipations: number;
+    totalParticipations: number;
+    updatedResults: number;
+};
 
 /**
  * A button that re-evaluates all latest automatic results of the given programming exercise.
@@ -28,7 +43,7 @@ import { faRedo } from '@fortawesome/free-solid-svg-icons';
         </jhi-button>
     `,
 })
-export class ProgrammingExerciseReEvaluateButtonComponent {
+export class ProgrammingExerciseReEvaluateButtonComponent implements OnDestroy {
     FeatureToggle = FeatureToggle;
     ButtonType = ButtonType;
     @Input() exercise: ProgrammingExercise;
@@ -36,25 +51,63 @@ export class ProgrammingExerciseReEvaluateButtonComponent {
 
     isReEvaluationRunning = false;
 
+    private progressTopic?: string;
+    private progressSubscription?: Subscription;
+
     // Icons
     faRedo = faRedo;
 
-    constructor(private testCaseService: ProgrammingExerciseGradingService, private alertService: AlertService) {}
+    constructor(private testCaseService: ProgrammingExerciseGradingService, private alertService: AlertService, private websocketService: JhiWebsocketService) {}
+
+    ngOnDestroy() {
+        this.unsubscribeFromProgress();
+    }
 
     /**
-     * Triggers the re-evaluation of the programming exercise and displays the result in the end using an alert.
+     * Triggers the re-evaluation of the programming exercise. The re-evaluation runs in the background on the server, its result is displayed using an alert once it is finished.
      */
     triggerReEvaluate() {
         this.isReEvaluationRunning = true;
+        this.subscribeToProgress();
         this.testCaseService.reEvaluate(this.exercise.id!).subscribe({
-            next: (updatedResultsCount: number) => {
-                this.isReEvaluationRunning = false;
-                this.alertService.success(`artemisApp.programmingExercise.reEvaluateSuccessful`, { number: updatedResultsCount });
-            },
             error: (error: HttpErrorResponse) => {
                 this.isReEvaluationRunning = false;
+                this.unsubscribeFromProgress();
                 this.alertService.error(`artemisApp.programmingExercise.reEvaluateFailed`, { message: error.message });
             },
         });
     }
+
+    /**
+     * Handles the progress of the re-evaluation that is sent by the server.
+     *
+     * @param progress of the re-evaluation
+     */
+    onProgress(progress: ReEvaluationProgress) {
+        if (progress.state === ReEvaluationState.RUNNING) {
+            return;
+        }
+        this.isReEvaluationRunning = false;
+        this.unsubscribeFromProgress();
+        if (progress.state === ReEvaluationState.COMPLETED) {
+            this.alertService.success(`artemisApp.programmingExercise.reEvaluateSuccessful`, { number: progress.updatedResults });
+        } else {
+            this.alertService.error(`artemisApp.programmingExercise.reEvaluateAborted`, { processed: progress.processedParticipations, total: progress.totalParticipations });
+        }
+    }
+
+    private subscribeToProgress() {
+        this.unsubscribeFromProgress();
+        this.progressTopic = `/topic/programming-exercises/${this.exercise.id}/re-evaluation`;
+        this.websocketService.subscribe(this.progressTopic);
+        this.progressSubscription = this.websocketService.receive(this.progressTopic).subscribe((progress: ReEvaluationProgress) => this.onProgress(progress));
+    }
+
+    private unsubscribeFromProgress() {
+        this.progressSubscription?.unsubscribe();
+        if (this.progressTopic) {
+            this.websocketService.unsubscribe(this.progressTopic);
+            this.progressTopic = undefined;
+        }
+    }
 }
@@ -744,6 +744,8 @@ export class QuizParticipationComponent implements OnInit, OnDestroy {
             if (!this.disconnected) {
                 // this.isSaving = true;
                 this.submission.submissionDate = dayjs().add(this.timeDifference, 'seconds');
+                // use the client time so that the numbers keep increasing after a reload of the page
+                this.submission.sequenceNumber = Math.max(Date.now(), (this.submission.sequenceNumber ?? 0) + 1);
                 this.sendWebsocket(this.submission);
                 this.unsavedChanges = false;
                 this.updateSubmissionTime();
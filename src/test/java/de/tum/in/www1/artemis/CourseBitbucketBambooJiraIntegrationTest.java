@@ -189,6 +189,12 @@ public class CourseBitbucketBambooJiraIntegrationTest extends AbstractSpringInte
         courseTestService.testGetAllCoursesForDashboard();
     }
 
+    @Test
+    @WithMockUser(username = "student1", roles = "USER")
+    public void testGetAllCoursesForDashboard_cachedCourseIsUpdated() throws Exception {
+        courseTestService.testGetAllCoursesForDashboard_cachedCourseIsUpdated();
+    }
+
     @Test
     @WithMockUser(username = "tutor1", roles = "TA")
     public void testGetCoursesWithoutActiveExercises() throws Exception {
@@ -1648,6 +1648,16 @@ public class ExamIntegrationTest extends AbstractSpringIntegrationBambooBitbucke
             }
         }
 
+        // the cached scores are updated when a result of the exam changes
+        Result changedResult = resultRepository.findAll().get(0);
+        changedResult.setScore(100D);
+        resultRepository.save(changedResult);
+        Long changedExerciseId = changedResult.getParticipation().getExercise().getId();
+        var updatedResponse = request.get("/api/courses/" + course.getId() + "/exams/" + exam.getId() + "/scores", HttpStatus.OK, ExamScoresDTO.class);
+        var updatedExerciseResults = updatedResponse.studentResults.stream().flatMap(studentResult -> studentResult.exerciseGroupIdToExerciseResult.values().stream())
+                .filter(exerciseResult -> exerciseResult.exerciseId.equals(changedExerciseId)).toList();
+        assertThat(updatedExerciseResults).extracting(exerciseResult -> exerciseResult.achievedScore).containsOnlyOnce(100D);
+
         // change back to instructor user
         database.changeUser("instructor1");
 
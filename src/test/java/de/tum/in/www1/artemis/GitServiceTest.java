@@ -5,9 +5,14 @@ import static org.junit.jupiter.params.provider.Arguments.arguments;
 import static org.mockito.Mockito.*;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -88,6 +93,33 @@ public class GitServiceTest extends AbstractSpringIntegrationBambooBitbucketJira
         assertThat(gitUtilService.isLocalEqualToRemote()).isTrue();
     }
 
+    @Test
+    public void testCheckoutRepositoryNotOnServer_concurrentCallsShareOneClone() throws Exception {
+        var repoUrl = gitUtilService.getRepoUrlByType(GitUtilService.REPOS.REMOTE);
+        gitUtilService.deleteRepo(GitUtilService.REPOS.LOCAL);
+        gitUtilService.reinitializeLocalRepository();
+
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        try {
+            List<Future<Repository>> repositories = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                repositories.add(executor.submit(() -> gitService.getOrCheckoutRepository(repoUrl, true)));
+            }
+            // all callers get the same repository, none of them fails because of the clone operation of another caller
+            Repository clonedRepository = repositories.get(0).get(30, TimeUnit.SECONDS);
+            assertThat(clonedRepository).isNotNull();
+            for (Future<Repository> repository : repositories) {
+                assertThat(repository.get(30, TimeUnit.SECONDS)).isSameAs(clonedRepository);
+            }
+            assertThat(gitUtilService.isLocalEqualToRemote()).isTrue();
+            // remove the cloned repository from the cache, so that other tests are not affected
+            gitService.deleteLocalRepository(clonedRepository);
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
     @ParameterizedTest(name = "{displayName} [{index}] {argumentsWithNames}")
     @ValueSource(strings = { "master", "main", "someOtherName" })
     public void testResetToOriginHead(String defaultBranch) {
@@ -8,8 +8,12 @@ import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.AfterEach;
@@ -20,19 +24,29 @@ import org.junit.jupiter.params.provider.EnumSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import de.tum.in.www1.artemis.config.Constants;
 import de.tum.in.www1.artemis.domain.Course;
 import de.tum.in.www1.artemis.domain.Result;
+import de.tum.in.www1.artemis.domain.User;
 import de.tum.in.www1.artemis.domain.enumeration.ScoringType;
 import de.tum.in.www1.artemis.domain.exam.ExerciseGroup;
 import de.tum.in.www1.artemis.domain.quiz.*;
 import de.tum.in.www1.artemis.repository.*;
 import de.tum.in.www1.artemis.service.QuizExerciseService;
+import de.tum.in.www1.artemis.service.QuizStatisticService;
+import de.tum.in.www1.artemis.service.QuizSubmissionService;
 import de.tum.in.www1.artemis.service.scheduled.quiz.QuizScheduleService;
+import de.tum.in.www1.artemis.service.scheduled.quiz.QuizSubmissionBatchPersistenceService;
 import de.tum.in.www1.artemis.web.websocket.QuizSubmissionWebsocketService;
+import de.tum.in.www1.artemis.web.websocket.WebsocketError;
 
 public class QuizSubmissionIntegrationTest extends AbstractSpringIntegrationBambooBitbucketJiraTest {
 
@@ -53,9 +67,15 @@ public class QuizSubmissionIntegrationTest extends AbstractSpringIntegrationBamb
     @Autowired
     private QuizScheduleService quizScheduleService;
 
+    @Autowired
+    private QuizStatisticService quizStatisticService;
+
     @Autowired
     private QuizSubmissionWebsocketService quizSubmissionWebsocketService;
 
+    @Autowired
+    private QuizSubmissionService quizSubmissionService;
+
     @Autowired
     private QuizSubmissionRepository quizSubmissionRepository;
 
@@ -68,6 +88,9 @@ public class QuizSubmissionIntegrationTest extends AbstractSpringIntegrationBamb
     @Autowired
     private ResultRepository resultRepository;
 
+    @Autowired
+    private StudentParticipationRepository studentParticipationRepository;
+
     private final int multiplier = 10;
 
     @BeforeEach
@@ -176,6 +199,168 @@ public class QuizSubmissionIntegrationTest extends AbstractSpringIntegrationBamb
         assertThat(submissionRepository.countByExerciseIdSubmitted(quizExercise.getId())).isEqualTo(numberOfParticipants);
     }
 
+    @Test
+    @WithMockUser(username = "instructor1", roles = "INSTRUCTOR")
+    public void testQuizSubmit_invalidSubmissionInBatchDoesNotDropOtherSubmissions() throws Exception {
+        QuizExercise quizExercise = quizExerciseService.save(setupQuizExerciseParameters());
+        int numberOfParticipants = 5;
+        for (int i = 1; i <= numberOfParticipants; i++) {
+            quizScheduleService.updateSubmission(quizExercise.getId(), "student" + i, database.generateSubmissionForThreeQuestions(quizExercise, i, true, ZonedDateTime.now()));
+        }
+        // the answer to a question that does not exist violates a foreign key
+        QuizSubmission invalidSubmission = database.generateSubmissionForThreeQuestions(quizExercise, 3, true, ZonedDateTime.now());
+        MultipleChoiceQuestion unknownQuestion = new MultipleChoiceQuestion();
+        unknownQuestion.setId(Long.MAX_VALUE);
+        MultipleChoiceSubmittedAnswer invalidAnswer = new MultipleChoiceSubmittedAnswer();
+        invalidAnswer.setQuizQuestion(unknownQuestion);
+        invalidSubmission.addSubmittedAnswers(invalidAnswer);
+        quizScheduleService.updateSubmission(quizExercise.getId(), "student3", invalidSubmission);
+
+        // the batch fails before it writes anything, testQuizSubmit_failedBatchIsRolledBackAndOtherSubmissionsAreSavedOnce covers a batch that fails while writing
+        var batchPersistenceService = (QuizSubmissionBatchPersistenceService) ReflectionTestUtils.getField(quizScheduleService, "quizSubmissionBatchPersistenceService");
+        var failingBatchPersistenceService = mock(QuizSubmissionBatchPersistenceService.class);
+        doThrow(new DataIntegrityViolationException("Referential integrity constraint violation")).when(failingBatchPersistenceService)
+                .saveSubmissionsWithParticipationsAndResults(any(), anyMap());
+        ReflectionTestUtils.setField(quizScheduleService, "quizSubmissionBatchPersistenceService", failingBatchPersistenceService);
+        try {
+            quizScheduleService.processCachedQuizSubmissions();
+        }
+        finally {
+            ReflectionTestUtils.setField(quizScheduleService, "quizSubmissionBatchPersistenceService", batchPersistenceService);
+        }
+        verify(failingBatchPersistenceService).saveSubmissionsWithParticipationsAndResults(any(), anyMap());
+
+        // the other submissions of the batch are saved one by one
+        for (int i = 1; i <= numberOfParticipants; i++) {
+            if (i != 3) {
+                var participation = quizScheduleService.getParticipation(quizExercise.getId(), "student" + i);
+                assertThat(participation).as("participation of student%d is cached", i).isNotNull();
+                assertThat(resultRepository.findById(participation.getResults().iterator().next().getId())).isPresent();
+            }
+        }
+        // the invalid submission is kept in the cache
+        assertThat(quizScheduleService.getParticipation(quizExercise.getId(), "student3")).isNull();
+        assertThat(quizScheduleService.getQuizSubmission(quizExercise.getId(), "student3").getSubmittedAnswers()).hasSize(4);
+    }
+
+    @Test
+    @WithMockUser(username = "instructor1", roles = "INSTRUCTOR")
+    public void testQuizSubmit_failedBatchIsRolledBackAndOtherSubmissionsAreSavedOnce() throws Exception {
+        QuizExercise quizExercise = quizExerciseService.save(setupQuizExerciseParameters());
+        int numberOfParticipants = 5;
+        for (int i = 1; i <= numberOfParticipants; i++) {
+            quizScheduleService.updateSubmission(quizExercise.getId(), "student" + i, database.generateSubmissionForThreeQuestions(quizExercise, i, true, ZonedDateTime.now()));
+        }
+        // the answer to a question that does not exist violates a foreign key after the participations of the batch were already written
+        QuizSubmission invalidSubmission = database.generateSubmissionForThreeQuestions(quizExercise, 3, true, ZonedDateTime.now());
+        MultipleChoiceQuestion unknownQuestion = new MultipleChoiceQuestion();
+        unknownQuestion.setId(Long.MAX_VALUE);
+        MultipleChoiceSubmittedAnswer invalidAnswer = new MultipleChoiceSubmittedAnswer();
+        invalidAnswer.setQuizQuestion(unknownQuestion);
+        invalidSubmission.addSubmittedAnswers(invalidAnswer);
+        quizScheduleService.updateSubmission(quizExercise.getId(), "student3", invalidSubmission);
+
+        quizScheduleService.processCachedQuizSubmissions();
+
+        // the batch was rolled back and the other submissions were saved one by one, so each of them is saved exactly once
+        assertThat(submissionRepository.countByExerciseIdSubmitted(quizExercise.getId())).isEqualTo(numberOfParticipants - 1);
+        for (int i = 1; i <= numberOfParticipants; i++) {
+            if (i != 3) {
+                User student = database.getUserByLogin("student" + i);
+                assertThat(studentParticipationRepository.findByExerciseIdAndStudentId(quizExercise.getId(), student.getId())).as("participations of student%d", i).hasSize(1);
+                var participation = quizScheduleService.getParticipation(quizExercise.getId(), "student" + i);
+                assertThat(participation).as("participation of student%d is cached", i).isNotNull();
+                assertThat(resultRepository.findById(participation.getResults().iterator().next().getId())).isPresent();
+            }
+        }
+        // the invalid submission is kept in the cache
+        assertThat(quizScheduleService.getParticipation(quizExercise.getId(), "student3")).isNull();
+        assertThat(quizScheduleService.getQuizSubmission(quizExercise.getId(), "student3").getSubmittedAnswers()).hasSize(4);
+    }
+
+    @Test
+    @WithMockUser(username = "student1", roles = "USER")
+    public void testQuizSubmit_outdatedSavesAreDropped() throws Exception {
+        QuizExercise quizExercise = quizExerciseService.save(setupQuizExerciseParameters());
+        final Principal principal = () -> "student1";
+
+        QuizSubmission newerSubmission = database.generateSubmissionForThreeQuestions(quizExercise, 1, false, null);
+        newerSubmission.setSequenceNumber(2L);
+        quizSubmissionWebsocketService.saveSubmission(quizExercise.getId(), newerSubmission, principal);
+        // the older save arrives after the newer one and must not overwrite it
+        QuizSubmission olderSubmission = database.generateSubmissionForThreeQuestions(quizExercise, 2, false, null);
+        olderSubmission.setSequenceNumber(1L);
+        QuizSubmission replyToOlderSubmission = quizSubmissionService.saveSubmissionForLiveMode(quizExercise.getId(), olderSubmission, "student1", false);
+
+        // the reply to the dropped save contains the newer cached save
+        assertThat(replyToOlderSubmission).isNotSameAs(olderSubmission);
+        assertThat(replyToOlderSubmission.getSequenceNumber()).isEqualTo(2L);
+        assertThat(quizScheduleService.getQuizSubmission(quizExercise.getId(), "student1").getSequenceNumber()).isEqualTo(2L);
+        verify(websocketMessagingService, never()).sendMessageToUserAsync(eq("student1"), anyString(), isA(WebsocketError.class));
+
+        QuizSubmission submittedSubmission = database.generateSubmissionForThreeQuestions(quizExercise, 1, true, null);
+        submittedSubmission.setSequenceNumber(3L);
+        quizSubmissionWebsocketService.saveSubmission(quizExercise.getId(), submittedSubmission, principal);
+        assertThat(quizScheduleService.hasSubmitted(quizExercise.getId(), "student1")).isTrue();
+
+        // saves after the submission are rejected, even if their sequence number is higher
+        QuizSubmission saveAfterSubmission = database.generateSubmissionForThreeQuestions(quizExercise, 2, false, null);
+        saveAfterSubmission.setSequenceNumber(4L);
+        quizSubmissionWebsocketService.saveSubmission(quizExercise.getId(), saveAfterSubmission, principal);
+
+        QuizSubmission cachedSubmission = quizScheduleService.getQuizSubmission(quizExercise.getId(), "student1");
+        assertThat(cachedSubmission.isSubmitted()).isTrue();
+        assertThat(cachedSubmission.getSequenceNumber()).isEqualTo(3L);
+        verify(websocketMessagingService).sendMessageToUserAsync(eq("student1"), anyString(), isA(WebsocketError.class));
+    }
+
+    @Test
+    @WithMockUser(username = "student1", roles = "USER")
+    public void testQuizSubmit_sequenceNumberIsReadFromAndWrittenToJson() throws Exception {
+        QuizExercise quizExercise = quizExerciseService.save(setupQuizExerciseParameters());
+        ObjectMapper objectMapper = request.getObjectMapper();
+
+        // the websocket messages are converted with the same object mapper as the REST requests
+        QuizSubmission savedSubmission = database.generateSubmissionForThreeQuestions(quizExercise, 1, false, null);
+        ObjectNode saveJson = objectMapper.valueToTree(savedSubmission);
+        saveJson.put("sequenceNumber", 2L);
+        QuizSubmission deserializedSave = objectMapper.readValue(saveJson.toString(), QuizSubmission.class);
+        assertThat(deserializedSave.getSequenceNumber()).isEqualTo(2L);
+        quizSubmissionWebsocketService.saveSubmission(quizExercise.getId(), deserializedSave, () -> "student1");
+
+        QuizSubmission submission = database.generateSubmissionForThreeQuestions(quizExercise, 2, false, null);
+        ObjectNode submissionJson = objectMapper.valueToTree(submission);
+        submissionJson.put("sequenceNumber", 3L);
+        String reply = request.postWithResponseBodyString("/api/exercises/" + quizExercise.getId() + "/submissions/live", submissionJson, HttpStatus.OK);
+
+        assertThat(objectMapper.readTree(reply).get("sequenceNumber").asLong()).isEqualTo(3L);
+        assertThat(quizScheduleService.getQuizSubmission(quizExercise.getId(), "student1").getSequenceNumber()).isEqualTo(3L);
+    }
+
+    @Test
+    @WithMockUser(username = "student1", roles = "USER")
+    public void testQuizSubmit_alreadySubmittedAfterTheCacheWasLost() throws Exception {
+        QuizExercise quizExercise = quizExerciseService.save(setupQuizExerciseParameters());
+        final Principal principal = () -> "student1";
+        QuizSubmission submittedSubmission = database.generateSubmissionForThreeQuestions(quizExercise, 1, true, null);
+        submittedSubmission.setSequenceNumber(1L);
+        quizSubmissionWebsocketService.saveSubmission(quizExercise.getId(), submittedSubmission, principal);
+        quizScheduleService.processCachedQuizSubmissions();
+        assertThat(submissionRepository.countByExerciseIdSubmitted(quizExercise.getId())).isEqualTo(1);
+
+        // e.g. the cluster was restarted, the saved submission is only in the database now
+        quizScheduleService.clearAllQuizData();
+
+        QuizSubmission secondSubmission = database.generateSubmissionForThreeQuestions(quizExercise, 2, true, null);
+        secondSubmission.setSequenceNumber(2L);
+        quizSubmissionWebsocketService.saveSubmission(quizExercise.getId(), secondSubmission, principal);
+        verify(websocketMessagingService).sendMessageToUserAsync(eq("student1"), anyString(), isA(WebsocketError.class));
+        assertThat(quizScheduleService.getQuizSubmission(quizExercise.getId(), "student1").getId()).as("the second submission is not cached").isNull();
+
+        quizScheduleService.processCachedQuizSubmissions();
+        assertThat(submissionRepository.countByExerciseIdSubmitted(quizExercise.getId())).isEqualTo(1);
+    }
+
     @Test
     @WithMockUser(username = "student1", roles = "USER")
     public void testQuizSubmit_partial_points() throws Exception {
@@ -410,6 +595,75 @@ public class QuizSubmissionIntegrationTest extends AbstractSpringIntegrationBamb
         }
     }
 
+    @Test
+    @WithMockUser(username = "student1", roles = "USER")
+    public void testQuizSubmitPractice_repeatedSubmissionsReplaceEachOtherInStatistics() throws Exception {
+        List<Course> courses = database.createCoursesWithExercisesAndLectures(false);
+        Course course = courses.get(0);
+        QuizExercise quizExercise = database.createQuiz(course, ZonedDateTime.now().minusSeconds(10), null);
+        quizExercise.setDueDate(ZonedDateTime.now().minusSeconds(8));
+        quizExercise.setDuration(2);
+        quizExercise.setIsPlannedToStart(true);
+        quizExercise.setIsVisibleBeforeStart(true);
+        quizExercise.setIsOpenForPractice(true);
+        quizExerciseService.save(quizExercise);
+
+        // the same student submits three times, the statistics are updated after each submission
+        for (int i = 1; i <= 3; i++) {
+            QuizSubmission quizSubmission = database.generateSubmissionForThreeQuestions(quizExercise, i, true, null);
+            request.postWithResponseBody("/api/exercises/" + quizExercise.getId() + "/submissions/practice", quizSubmission, Result.class, HttpStatus.OK);
+            quizScheduleService.processCachedQuizSubmissions();
+        }
+
+        // only the latest result must be contained in the statistics
+        QuizExercise quizExerciseWithStatistic = quizExerciseRepository.findOneWithQuestionsAndStatistics(quizExercise.getId());
+        assertThat(quizExerciseWithStatistic.getQuizPointStatistic().getParticipantsUnrated()).isEqualTo(1);
+        int unratedPointCounters = quizExerciseWithStatistic.getQuizPointStatistic().getPointCounters().stream().mapToInt(PointCounter::getUnRatedCounter).sum();
+        assertThat(unratedPointCounters).isEqualTo(1);
+        for (var question : quizExerciseWithStatistic.getQuizQuestions()) {
+            assertThat(question.getQuizQuestionStatistic().getParticipantsUnrated()).isEqualTo(1);
+            assertThat(question.getQuizQuestionStatistic().getUnRatedCorrectCounter()).isLessThanOrEqualTo(1);
+        }
+    }
+
+    @Test
+    @WithMockUser(username = "instructor1", roles = "INSTRUCTOR")
+    public void testUpdateStatistics_cachedUnratedResultIsACopy() throws Exception {
+        QuizExercise quizExercise = quizExerciseService.save(setupQuizExerciseParameters());
+        quizExercise = quizExerciseRepository.findOneWithQuestionsAndStatistics(quizExercise.getId());
+        var participation = database.createAndSaveParticipationForExercise(quizExercise, "student1");
+        QuizSubmission quizSubmission = database.generateSubmissionForThreeQuestions(quizExercise, 1, true, ZonedDateTime.now());
+        Result result = new Result().participation(participation).rated(false).completionDate(ZonedDateTime.now()).score(50.0);
+        result.setSubmission(quizSubmission);
+        Map<SubmittedAnswer, QuizQuestion> questionsOfSubmittedAnswers = quizSubmission.getSubmittedAnswers().stream()
+                .collect(Collectors.toMap(Function.identity(), SubmittedAnswer::getQuizQuestion));
+
+        Map<Long, Result> latestUnratedResults = new HashMap<>();
+        quizStatisticService.updateStatistics(Set.of(result), quizExercise, latestUnratedResults);
+
+        // the submitted answers of the result keep their complete questions
+        questionsOfSubmittedAnswers.forEach((submittedAnswer, quizQuestion) -> assertThat(submittedAnswer.getQuizQuestion()).isSameAs(quizQuestion));
+        // the cached result contains copies of the submitted answers, whose questions only contain the id
+        QuizSubmission cachedSubmission = (QuizSubmission) latestUnratedResults.get(participation.getId()).getSubmission();
+        assertThat(cachedSubmission.getSubmittedAnswers()).hasSameSizeAs(questionsOfSubmittedAnswers.keySet());
+        for (SubmittedAnswer cachedAnswer : cachedSubmission.getSubmittedAnswers()) {
+            assertThat(questionsOfSubmittedAnswers.keySet()).noneMatch(submittedAnswer -> submittedAnswer == cachedAnswer);
+            assertThat(cachedAnswer.getQuizQuestion().getTitle()).isNull();
+            assertThat(quizExercise.findQuestionById(cachedAnswer.getQuizQuestion().getId())).isNotNull();
+            // the answers of the copies only contain the id as well, so that the cached result does not reference the quiz exercise
+            if (cachedAnswer instanceof MultipleChoiceSubmittedAnswer multipleChoiceAnswer) {
+                assertThat(multipleChoiceAnswer.getSelectedOptions()).allMatch(answerOption -> answerOption.getId() != null && answerOption.getQuestion() == null);
+            }
+            else if (cachedAnswer instanceof DragAndDropSubmittedAnswer dragAndDropAnswer) {
+                assertThat(dragAndDropAnswer.getMappings()).allMatch(mapping -> (mapping.getDragItem() == null || mapping.getDragItem().getQuestion() == null)
+                        && (mapping.getDropLocation() == null || mapping.getDropLocation().getQuestion() == null));
+            }
+            else if (cachedAnswer instanceof ShortAnswerSubmittedAnswer shortAnswerAnswer) {
+                assertThat(shortAnswerAnswer.getSubmittedTexts()).allMatch(submittedText -> submittedText.getSpot() == null || submittedText.getSpot().getQuestion() == null);
+            }
+        }
+    }
+
     @Test
     @WithMockUser(username = "student1", roles = "USER")
     public void testQuizSubmitPractice_badRequest() throws Exception {
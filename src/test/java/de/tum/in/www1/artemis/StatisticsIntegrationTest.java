@@ -4,8 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
-import java.util.Arrays;
-import java.util.List;
+import java.util.*;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -25,10 +24,12 @@ import de.tum.in.www1.artemis.domain.enumeration.SpanType;
 import de.tum.in.www1.artemis.domain.enumeration.StatisticsView;
 import de.tum.in.www1.artemis.domain.metis.AnswerPost;
 import de.tum.in.www1.artemis.domain.metis.Post;
+import de.tum.in.www1.artemis.repository.StatisticsRollupProgressRepository;
 import de.tum.in.www1.artemis.repository.TextExerciseRepository;
 import de.tum.in.www1.artemis.repository.UserRepository;
 import de.tum.in.www1.artemis.repository.metis.AnswerPostRepository;
 import de.tum.in.www1.artemis.repository.metis.PostRepository;
+import de.tum.in.www1.artemis.service.scheduled.StatisticsRollupScheduleService;
 import de.tum.in.www1.artemis.util.ModelFactory;
 import de.tum.in.www1.artemis.web.rest.dto.CourseManagementStatisticsDTO;
 import de.tum.in.www1.artemis.web.rest.dto.ExerciseManagementStatisticsDTO;
@@ -47,6 +48,12 @@ public class StatisticsIntegrationTest extends AbstractSpringIntegrationBambooBi
     @Autowired
     private AnswerPostRepository answerPostRepository;
 
+    @Autowired
+    private StatisticsRollupScheduleService statisticsRollupScheduleService;
+
+    @Autowired
+    private StatisticsRollupProgressRepository statisticsRollupProgressRepository;
+
     private Course course;
 
     private TextExercise exercise;
@@ -159,6 +166,39 @@ public class StatisticsIntegrationTest extends AbstractSpringIntegrationBambooBi
         }
     }
 
+    @ParameterizedTest(name = "{displayName} [{index}] {argumentsWithNames}")
+    @EnumSource(SpanType.class)
+    @WithMockUser(username = "tutor1", roles = { "ADMIN", "TA" })
+    public void testChartDataIsUnchangedByRollups(SpanType span) throws Exception {
+        // one submission in an hour of today that is already over (or at the end of yesterday, shortly after midnight)
+        TextSubmission textSubmission = new TextSubmission();
+        textSubmission.submissionDate(ZonedDateTime.now().truncatedTo(ChronoUnit.HOURS).minusMinutes(1));
+        database.addSubmission(exercise, textSubmission, "student1");
+
+        Map<String, Integer[]> resultsWithoutRollups = getChartDataOfRolledUpGraphs(span);
+
+        // the first runs are limited to some days, so that the existing entries are rolled up by several runs
+        for (int run = 0; run < 5; run++) {
+            statisticsRollupScheduleService.rollUpStatistics();
+        }
+
+        assertThat(statisticsRollupProgressRepository.findById(GraphType.SUBMISSIONS)).hasValueSatisfying(
+                progress -> assertThat(progress.getRolledUpUntil()).isEqualToIgnoringNanos(ZonedDateTime.now().truncatedTo(ChronoUnit.HOURS)));
+        assertThat(getChartDataOfRolledUpGraphs(span)).containsExactlyInAnyOrderEntriesOf(resultsWithoutRollups);
+    }
+
+    private Map<String, Integer[]> getChartDataOfRolledUpGraphs(SpanType span) throws Exception {
+        Map<String, Integer[]> results = new HashMap<>();
+        for (GraphType graph : List.of(GraphType.SUBMISSIONS, GraphType.CREATED_RESULTS, GraphType.CREATED_FEEDBACKS)) {
+            results.put(graph + " ARTEMIS", request.get("/api/management/statistics/data", HttpStatus.OK, Integer[].class, buildParameters(span, 0, graph)));
+            results.put(graph + " COURSE", request.get("/api/management/statistics/data-for-content", HttpStatus.OK, Integer[].class,
+                    buildParameters(span, 0, graph, StatisticsView.COURSE, course.getId())));
+            results.put(graph + " EXERCISE", request.get("/api/management/statistics/data-for-content", HttpStatus.OK, Integer[].class,
+                    buildParameters(span, 0, graph, StatisticsView.EXERCISE, exercise.getId())));
+        }
+        return results;
+    }
+
     @Test
     @WithMockUser(username = "tutor1", roles = "TA")
     public void testGetCourseStatistics() throws Exception {
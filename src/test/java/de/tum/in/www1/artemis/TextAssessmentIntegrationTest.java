@@ -1452,7 +1452,7 @@ public class TextAssessmentIntegrationTest extends AbstractSpringIntegrationBamb
         assertThat(assessedSubmissionList.size()).isEqualTo(0);
 
         // Student should not have received a result over WebSocket as manual correction is ongoing
-        verify(messagingTemplate, never()).convertAndSendToUser(notNull(), eq(Constants.NEW_RESULT_TOPIC), isA(Result.class));
+        verify(messagingTemplate, after(500).never()).send(endsWith(Constants.NEW_RESULT_TOPIC), any());
     }
 
     @NotNull
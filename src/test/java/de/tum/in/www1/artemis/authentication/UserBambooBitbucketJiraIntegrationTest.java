@@ -231,4 +231,16 @@ public class UserBambooBitbucketJiraIntegrationTest extends AbstractSpringIntegr
     public void initializeUserExternal() throws Exception {
         userTestService.initializeUserExternal();
     }
+
+    @Test
+    @WithMockUser(username = "student1", roles = "USER")
+    public void getUserWithGroupsAndAuthorities_isEvictedWhenGroupsChange() {
+        userTestService.getUserWithGroupsAndAuthorities_isEvictedWhenGroupsChange();
+    }
+
+    @Test
+    @WithMockUser(username = "student1", roles = "USER")
+    public void getUserWithGroupsAndAuthorities_isManagedInTransaction() {
+        userTestService.getUserWithGroupsAndAuthorities_isManagedInTransaction();
+    }
 }
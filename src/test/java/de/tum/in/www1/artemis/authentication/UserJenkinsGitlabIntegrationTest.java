@@ -436,4 +436,16 @@ public class UserJenkinsGitlabIntegrationTest extends AbstractSpringIntegrationJ
     public void initializeUserExternal() throws Exception {
         userTestService.initializeUserExternal();
     }
+
+    @Test
+    @WithMockUser(username = "student1", roles = "USER")
+    public void getUserWithGroupsAndAuthorities_isEvictedWhenGroupsChange() {
+        userTestService.getUserWithGroupsAndAuthorities_isEvictedWhenGroupsChange();
+    }
+
+    @Test
+    @WithMockUser(username = "student1", roles = "USER")
+    public void getUserWithGroupsAndAuthorities_isManagedInTransaction() {
+        userTestService.getUserWithGroupsAndAuthorities_isManagedInTransaction();
+    }
 }
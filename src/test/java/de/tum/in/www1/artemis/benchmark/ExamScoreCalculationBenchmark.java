@@ -0,0 +1,91 @@
+package de.tum.in.www1.artemis.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.*;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import de.tum.in.www1.artemis.AbstractSpringIntegrationBambooBitbucketJiraTest;
+import de.tum.in.www1.artemis.domain.*;
+import de.tum.in.www1.artemis.domain.enumeration.Language;
+import de.tum.in.www1.artemis.domain.exam.Exam;
+import de.tum.in.www1.artemis.domain.exam.ExerciseGroup;
+import de.tum.in.www1.artemis.domain.exam.StudentExam;
+import de.tum.in.www1.artemis.domain.participation.StudentParticipation;
+import de.tum.in.www1.artemis.service.exam.ExamService;
+import de.tum.in.www1.artemis.util.ModelFactory;
+import de.tum.in.www1.artemis.web.rest.dto.ExamScoresDTO;
+
+/**
+ * Measures how long it takes to calculate the scores of an exam with ten exercises for a growing number of students, without loading the data from the database, run it
+ * with ./gradlew benchmark --tests ExamScoreCalculationBenchmark
+ */
+public class ExamScoreCalculationBenchmark extends AbstractSpringIntegrationBambooBitbucketJiraTest {
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    @Autowired
+    private ExamService examService;
+
+    @ParameterizedTest(name = "{displayName} [{index}] {argumentsWithNames}")
+    @ValueSource(ints = { 500, 2000, 5000 })
+    public void calculateExamScores(int numberOfStudents) {
+        int numberOfExercises = 10;
+        Course course = ModelFactory.generateCourse(1L, null, null, new HashSet<>());
+        Exam exam = ModelFactory.generateExam(course);
+        exam.setId(1L);
+        List<Exercise> exercises = new ArrayList<>();
+        for (long exerciseId = 1; exerciseId <= numberOfExercises; exerciseId++) {
+            ExerciseGroup exerciseGroup = ModelFactory.generateExerciseGroup(true, exam);
+            exerciseGroup.setId(exerciseId);
+            TextExercise exercise = ModelFactory.generateTextExerciseForExam(exerciseGroup);
+            exercise.setId(exerciseId);
+            exerciseGroup.addExercise(exercise);
+            exercises.add(exercise);
+        }
+        exam.setMaxPoints((int) exercises.stream().mapToDouble(Exercise::getMaxPoints).sum());
+        GradingScale gradingScale = new GradingScale();
+        gradingScale.setExam(exam);
+        gradingScale.setGradeSteps(database.generateGradeStepSet(gradingScale, true));
+
+        List<User> students = ModelFactory.generateActivatedUsers("benchmark", new String[] { "tumuser" }, Set.of(), numberOfStudents);
+        Set<StudentExam> studentExams = new HashSet<>();
+        List<StudentParticipation> studentParticipations = new ArrayList<>();
+        for (int i = 0; i < numberOfStudents; i++) {
+            User student = students.get(i);
+            student.setId((long) i + 1);
+            StudentExam studentExam = ModelFactory.generateStudentExam(exam);
+            studentExam.setId((long) i + 1);
+            studentExam.setUser(student);
+            studentExam.setSubmitted(true);
+            studentExams.add(studentExam);
+            for (Exercise exercise : exercises) {
+                StudentParticipation participation = new StudentParticipation();
+                participation.setParticipant(student);
+                participation.setExercise(exercise);
+                participation.addSubmission(ModelFactory.generateTextSubmission("Answer", Language.ENGLISH, true));
+                participation.setResults(Set.of(new Result().score((double) (i % 101)).rated(true)));
+                studentParticipations.add(participation);
+            }
+        }
+
+        // the first calculation warms up the JIT compiler
+        examService.calculateExamScores(exam, studentParticipations, studentExams, Optional.of(gradingScale));
+        int repetitions = 5;
+        long start = System.nanoTime();
+        ExamScoresDTO scores = null;
+        for (int repetition = 0; repetition < repetitions; repetition++) {
+            scores = examService.calculateExamScores(exam, studentParticipations, studentExams, Optional.of(gradingScale));
+        }
+        double millis = (System.nanoTime() - start) / 1_000_000.0 / repetitions;
+
+        assertThat(scores.studentResults).hasSize(numberOfStudents);
+        assertThat(scores.studentResults).allSatisfy(studentResult -> assertThat(studentResult.exerciseGroupIdToExerciseResult).hasSize(numberOfExercises));
+        log.info("Calculated the scores of {} students with {} participations in {} ms", numberOfStudents, studentParticipations.size(), String.format("%.1f", millis));
+    }
+}
@@ -0,0 +1,104 @@
+package de.tum.in.www1.artemis.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.security.Principal;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import de.tum.in.www1.artemis.AbstractSpringIntegrationBambooBitbucketJiraTest;
+import de.tum.in.www1.artemis.domain.Course;
+import de.tum.in.www1.artemis.domain.quiz.QuizExercise;
+import de.tum.in.www1.artemis.domain.quiz.QuizSubmission;
+import de.tum.in.www1.artemis.service.QuizExerciseService;
+import de.tum.in.www1.artemis.service.scheduled.quiz.QuizScheduleService;
+import de.tum.in.www1.artemis.web.websocket.QuizSubmissionWebsocketService;
+
+/**
+ * Measures how many live quiz saves per second are handled and their 99th percentile latency, run it with ./gradlew benchmark --tests LiveQuizSubmissionBenchmark
+ * <p>
+ * The clients are simulated by a thread pool of the size of the inbound channel of the websocket broker, which calls the {@link QuizSubmissionWebsocketService} directly.
+ * The STOMP connections themselves are not part of the measurement.
+ */
+public class LiveQuizSubmissionBenchmark extends AbstractSpringIntegrationBambooBitbucketJiraTest {
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    @Autowired
+    private QuizExerciseService quizExerciseService;
+
+    @Autowired
+    private QuizScheduleService quizScheduleService;
+
+    @Autowired
+    private QuizSubmissionWebsocketService quizSubmissionWebsocketService;
+
+    @BeforeEach
+    public void init() {
+        quizScheduleService.stopSchedule();
+        database.addUsers(0, 0, 0, 1);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        quizScheduleService.clearAllQuizData();
+        database.resetDatabase();
+    }
+
+    @ParameterizedTest(name = "{displayName} [{index}] {argumentsWithNames}")
+    @ValueSource(ints = { 100, 1500 })
+    @WithMockUser(username = "instructor1", roles = "INSTRUCTOR")
+    public void saveLiveQuizSubmissions(int numberOfClients) throws Exception {
+        Course course = database.addEmptyCourse();
+        QuizExercise quizExercise = database.createQuiz(course, ZonedDateTime.now(), null);
+        quizExercise.duration(240);
+        QuizExercise savedQuizExercise = quizExerciseService.save(quizExercise);
+        int savesPerClient = 10;
+        long[] latenciesInNanos = new long[numberOfClients * savesPerClient];
+        // the inbound channel of the websocket broker handles the messages of all clients with a limited number of threads
+        ExecutorService inboundChannel = Executors.newFixedThreadPool(Math.min(numberOfClients, 2 * Runtime.getRuntime().availableProcessors()));
+        List<Callable<Void>> clients = new ArrayList<>();
+        for (int client = 0; client < numberOfClients; client++) {
+            final int clientIndex = client;
+            final Principal principal = () -> "benchmark" + clientIndex;
+            clients.add(() -> {
+                for (int save = 0; save < savesPerClient; save++) {
+                    QuizSubmission quizSubmission = database.generateSubmissionForThreeQuestions(savedQuizExercise, save, save == savesPerClient - 1, null);
+                    quizSubmission.setSequenceNumber((long) save);
+                    long start = System.nanoTime();
+                    quizSubmissionWebsocketService.saveSubmission(savedQuizExercise.getId(), quizSubmission, principal);
+                    latenciesInNanos[clientIndex * savesPerClient + save] = System.nanoTime() - start;
+                }
+                return null;
+            });
+        }
+
+        long start = System.nanoTime();
+        for (Future<Void> client : inboundChannel.invokeAll(clients)) {
+            client.get();
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        inboundChannel.shutdown();
+
+        assertThat(quizScheduleService.hasSubmitted(savedQuizExercise.getId(), "benchmark" + (numberOfClients - 1))).isTrue();
+        Arrays.sort(latenciesInNanos);
+        long p99InMicros = latenciesInNanos[(int) Math.ceil(latenciesInNanos.length * 0.99) - 1] / 1000;
+        log.info("{} clients saved {} live quiz submissions in {} s ({} saves per second, p99 latency {} µs)", numberOfClients, latenciesInNanos.length,
+                String.format("%.2f", seconds), Math.round(latenciesInNanos.length / seconds), p99InMicros);
+    }
+}
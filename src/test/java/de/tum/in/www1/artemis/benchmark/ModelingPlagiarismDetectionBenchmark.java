@@ -0,0 +1,50 @@
+package de.tum.in.www1.artemis.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.util.*;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.tum.in.www1.artemis.domain.modeling.ModelingSubmission;
+import de.tum.in.www1.artemis.domain.plagiarism.modeling.ModelingPlagiarismResult;
+import de.tum.in.www1.artemis.service.plagiarism.ModelingPlagiarismDetectionService;
+import de.tum.in.www1.artemis.service.plagiarism.PlagiarismWebsocketService;
+import de.tum.in.www1.artemis.util.ModelingPlagiarismTestUtil;
+
+/**
+ * Measures how long the modeling plagiarism check takes for synthetic class diagrams, run it with ./gradlew benchmark --tests ModelingPlagiarismDetectionBenchmark
+ */
+class ModelingPlagiarismDetectionBenchmark {
+
+    private final Logger log = LoggerFactory.getLogger(ModelingPlagiarismDetectionBenchmark.class);
+
+    private final ModelingPlagiarismDetectionService modelingPlagiarismDetectionService = new ModelingPlagiarismDetectionService(mock(PlagiarismWebsocketService.class));
+
+    /**
+     * Compares the check with the previous implementation, i.e. all pairs compared in a single thread, for a growing number of synthetic class diagrams
+     */
+    @ParameterizedTest
+    @ValueSource(ints = { 100, 400, 800 })
+    void checkPlagiarism(int numberOfSubmissions) throws IOException {
+        List<ModelingSubmission> submissions = ModelingPlagiarismTestUtil.generateClassDiagramSubmissions(numberOfSubmissions, new Random(numberOfSubmissions));
+        double minimumSimilarity = 0.8;
+
+        long start = System.nanoTime();
+        ModelingPlagiarismResult result = modelingPlagiarismDetectionService.checkPlagiarism(submissions, minimumSimilarity, 1, 0, 1L);
+        long checkDurationInMillis = (System.nanoTime() - start) / 1_000_000;
+
+        start = System.nanoTime();
+        Map<Set<Long>, Double> expectedSimilarities = ModelingPlagiarismTestUtil.compareAllPairs(submissions, minimumSimilarity);
+        long allPairsDurationInMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(result.getComparisons()).hasSize(expectedSimilarities.size());
+        log.info("Modeling plagiarism check of {} submissions: {} ms (all pairs in one thread: {} ms), {} similar pairs", numberOfSubmissions, checkDurationInMillis,
+                allPairsDurationInMillis, expectedSimilarities.size());
+    }
+}
@@ -0,0 +1,81 @@
+package de.tum.in.www1.artemis.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.ZonedDateTime;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import de.tum.in.www1.artemis.AbstractSpringIntegrationBambooBitbucketJiraTest;
+import de.tum.in.www1.artemis.domain.Course;
+import de.tum.in.www1.artemis.domain.quiz.QuizExercise;
+import de.tum.in.www1.artemis.domain.quiz.QuizSubmission;
+import de.tum.in.www1.artemis.repository.SubmissionRepository;
+import de.tum.in.www1.artemis.repository.UserRepository;
+import de.tum.in.www1.artemis.service.QuizExerciseService;
+import de.tum.in.www1.artemis.service.scheduled.quiz.QuizScheduleService;
+import de.tum.in.www1.artemis.util.ModelFactory;
+
+/**
+ * Measures how many cached quiz submissions are saved to the database per second when a quiz is processed, run it with ./gradlew benchmark --tests
+ * QuizSubmissionProcessingBenchmark
+ */
+public class QuizSubmissionProcessingBenchmark extends AbstractSpringIntegrationBambooBitbucketJiraTest {
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    @Autowired
+    private QuizExerciseService quizExerciseService;
+
+    @Autowired
+    private QuizScheduleService quizScheduleService;
+
+    @Autowired
+    private SubmissionRepository submissionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    public void init() {
+        quizScheduleService.stopSchedule();
+        database.addUsers(0, 0, 0, 1);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        quizScheduleService.clearAllQuizData();
+        database.resetDatabase();
+    }
+
+    @ParameterizedTest(name = "{displayName} [{index}] {argumentsWithNames}")
+    @ValueSource(ints = { 100, 1000, 5000 })
+    @WithMockUser(username = "instructor1", roles = "INSTRUCTOR")
+    public void processSubmittedQuizSubmissions(int numberOfStudents) {
+        Course course = database.addEmptyCourse();
+        QuizExercise quizExercise = database.createQuiz(course, ZonedDateTime.now(), null);
+        quizExercise.duration(240);
+        quizExercise = quizExerciseService.save(quizExercise);
+        userRepository.saveAll(ModelFactory.generateActivatedUsers("benchmark", new String[] { "tumuser" }, Set.of(), numberOfStudents));
+
+        for (int i = 1; i <= numberOfStudents; i++) {
+            QuizSubmission quizSubmission = database.generateSubmissionForThreeQuestions(quizExercise, i, true, ZonedDateTime.now());
+            quizScheduleService.updateSubmission(quizExercise.getId(), "benchmark" + i, quizSubmission);
+        }
+
+        long start = System.nanoTime();
+        quizScheduleService.processCachedQuizSubmissions();
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        assertThat(submissionRepository.countByExerciseIdSubmitted(quizExercise.getId())).isEqualTo(numberOfStudents);
+        log.info("Persisted {} quiz submissions in {} s ({} submissions per second)", numberOfStudents, String.format("%.2f", seconds), Math.round(numberOfStudents / seconds));
+    }
+}
@@ -27,6 +27,7 @@ import de.tum.in.www1.artemis.domain.scores.StudentScore;
 import de.tum.in.www1.artemis.domain.scores.TeamScore;
 import de.tum.in.www1.artemis.repository.*;
 import de.tum.in.www1.artemis.security.SecurityUtils;
+import de.tum.in.www1.artemis.service.scheduled.ParticipantScoreScheduleService;
 
 public class ResultListenerIntegrationTest extends AbstractSpringIntegrationBambooBitbucketJiraTest {
 
@@ -56,6 +57,9 @@ public class ResultListenerIntegrationTest extends AbstractSpringIntegrationBamb
     @Autowired
     private TeamRepository teamRepository;
 
+    @Autowired
+    private ParticipantScoreScheduleService participantScoreScheduleService;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -392,6 +396,7 @@ public class ResultListenerIntegrationTest extends AbstractSpringIntegrationBamb
         }
 
         Result persistedResult = database.createParticipationSubmissionAndResult(idOfExercise, participant, 10.0, 10.0, 200, isRatedResult);
+        participantScoreScheduleService.executeScheduledUpdatesAndWait();
         savedParticipantScores = participantScoreRepository.findAllEagerly();
         assertThat(savedParticipantScores).isNotEmpty();
         assertThat(savedParticipantScores).size().isEqualTo(1);
@@ -406,7 +411,7 @@ public class ResultListenerIntegrationTest extends AbstractSpringIntegrationBamb
                     pointsAchieved, null);
 
         }
-        verify(this.scoreService, times(1)).updateOrCreateParticipantScore(any());
+        verify(this.scoreService, times(1)).updateOrCreateParticipantScores(any());
         return savedParticipantScore;
     }
 
@@ -422,6 +427,7 @@ public class ResultListenerIntegrationTest extends AbstractSpringIntegrationBamb
             participant = userRepository.findOneByLogin("student1").get();
             idOfExercise = idOfIndividualTextExercise;
         }
+        participantScoreScheduleService.executeScheduledUpdatesAndWait();
         SecurityUtils.setAuthorizationObject();
         List<ParticipantScore> savedParticipantScore = participantScoreRepository.findAllEagerly();
         assertThat(savedParticipantScore).isNotEmpty();
@@ -438,7 +444,7 @@ public class ResultListenerIntegrationTest extends AbstractSpringIntegrationBamb
 
         assertParticipantScoreStructure(updatedParticipantScore, idOfExercise, participant.getId(), expectedLastResultId, expectedLastScore, expectedLastRatedResultId,
                 expectedLastRatedScore, lastPoints, lastRatedPoints);
-        verify(this.scoreService, times(2)).updateOrCreateParticipantScore(any(Result.class));
+        verify(this.scoreService, times(2)).updateOrCreateParticipantScores(any());
     }
 
 }
@@ -823,7 +823,7 @@ public class ProgrammingAssessmentIntegrationTest extends AbstractSpringIntegrat
         assertThat(assessedSubmissionList.size()).isEqualTo(0);
 
         // Student should not have received a result over WebSocket as manual correction is ongoing
-        verify(messagingTemplate, never()).convertAndSendToUser(notNull(), eq(Constants.NEW_RESULT_TOPIC), isA(Result.class));
+        verify(messagingTemplate, after(500).never()).send(endsWith(Constants.NEW_RESULT_TOPIC), any());
     }
 
     @Test
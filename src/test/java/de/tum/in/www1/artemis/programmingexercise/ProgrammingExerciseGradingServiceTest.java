@@ -3,12 +3,17 @@ package de.tum.in.www1.artemis.programmingexercise;
 import static de.tum.in.www1.artemis.config.Constants.TEST_CASES_DUPLICATE_NOTIFICATION;
 import static de.tum.in.www1.artemis.web.rest.ProgrammingExerciseResourceEndpoints.ROOT;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 
 import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.assertj.core.data.Offset;
 import org.junit.jupiter.api.AfterEach;
@@ -21,6 +26,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.test.context.TestSecurityContextHolder;
 import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import de.tum.in.www1.artemis.AbstractSpringIntegrationBambooBitbucketJiraTest;
 import de.tum.in.www1.artemis.domain.*;
@@ -31,14 +37,16 @@ import de.tum.in.www1.artemis.domain.exam.Exam;
 import de.tum.in.www1.artemis.domain.exam.ExerciseGroup;
 import de.tum.in.www1.artemis.domain.participation.Participation;
 import de.tum.in.www1.artemis.domain.participation.ProgrammingExerciseStudentParticipation;
-import de.tum.in.www1.artemis.domain.participation.SolutionProgrammingExerciseParticipation;
 import de.tum.in.www1.artemis.domain.participation.StudentParticipation;
 import de.tum.in.www1.artemis.repository.*;
 import de.tum.in.www1.artemis.service.programming.ProgrammingExerciseGradingService;
+import de.tum.in.www1.artemis.service.programming.ProgrammingExerciseReEvaluationService;
 import de.tum.in.www1.artemis.service.programming.ProgrammingExerciseTestCaseService;
 import de.tum.in.www1.artemis.util.ModelFactory;
 import de.tum.in.www1.artemis.web.rest.ProgrammingExerciseGradingResource;
 import de.tum.in.www1.artemis.web.rest.dto.ProgrammingExerciseGradingStatisticsDTO;
+import de.tum.in.www1.artemis.web.rest.dto.ProgrammingExerciseReEvaluationProgressDTO;
+import de.tum.in.www1.artemis.web.rest.dto.ProgrammingExerciseReEvaluationProgressDTO.ReEvaluationState;
 
 /**
  * Tests the {@link ProgrammingExerciseGradingService}.
@@ -77,6 +85,12 @@ public abstract class ProgrammingExerciseGradingServiceTest extends AbstractSpri
     @Autowired
     private ProgrammingExerciseGradingService gradingService;
 
+    @Autowired
+    private ProgrammingExerciseReEvaluationService programmingExerciseReEvaluationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
     private ProgrammingExercise programmingExerciseSCAEnabled;
 
     private ProgrammingExercise programmingExercise;
@@ -585,8 +599,8 @@ public abstract class ProgrammingExerciseGradingServiceTest extends AbstractSpri
 
         // re-evaluate
         final var endpoint = ProgrammingExerciseGradingResource.RE_EVALUATE.replace("{exerciseId}", programmingExercise.getId().toString());
-        final var response = request.putWithResponseBody(ROOT + endpoint, "{}", Integer.class, HttpStatus.OK);
-        assertThat(response).isEqualTo(7);
+        request.put(ROOT + endpoint, "{}", HttpStatus.OK);
+        verifyReEvaluationCompleted(5, 7);
 
         // this fixes an issue with the authentication context after a mock request
         SecurityContextHolder.setContext(TestSecurityContextHolder.getContext());
@@ -617,6 +631,78 @@ public abstract class ProgrammingExerciseGradingServiceTest extends AbstractSpri
         verifyStudentScoreCalculations(testParticipations);
     }
 
+    @Test
+    @WithMockUser(username = "instructor1", roles = "INSTRUCTOR")
+    public void shouldReEvaluateTheResultsOfAllPages() throws Exception {
+        programmingExercise = (ProgrammingExercise) database.addMaxScoreAndBonusPointsToExercise(programmingExercise);
+        programmingExercise = database.addTemplateParticipationForProgrammingExercise(programmingExercise);
+        programmingExercise = database.addSolutionParticipationForProgrammingExercise(programmingExercise);
+        programmingExercise = programmingExerciseRepository.findByIdWithTemplateAndSolutionParticipationWithResultsElseThrow(programmingExercise.getId());
+
+        var testCases = createTestCases(false);
+        var testParticipations = createTestParticipations();
+        // together with the five students, the participations are re-evaluated in three pages
+        int additionalStudents = 115;
+        userRepository.saveAll(ModelFactory.generateActivatedUsers("pagedstudent", null, null, additionalStudents));
+        for (int student = 1; student <= additionalStudents; student++) {
+            var participation = database.addStudentParticipationForProgrammingExercise(programmingExercise, "pagedstudent" + student);
+            var result = new Result().participation(participation).resultString("x of y passed").successful(false).rated(true).score(100D);
+            updateAndSaveAutomaticResult(result, true, true, false);
+        }
+        changeTestCaseWeights(testCases);
+
+        final int updatedResults = programmingExerciseReEvaluationService.reEvaluateAllResults(programmingExercise).get();
+        assertThat(updatedResults).isEqualTo(7 + additionalStudents);
+        verifyReEvaluationCompleted(5 + additionalStudents, 7 + additionalStudents);
+
+        verifyStudentScoreCalculations(testParticipations);
+        // the additional students passed the same tests as student1
+        final var participations = studentParticipationRepository.findByExerciseIdWithLatestAutomaticResultAndFeedbacks(programmingExercise.getId());
+        final Double expectedScore = participations.stream().filter(participation -> "student1".equals(participation.getParticipantIdentifier())).findFirst().orElseThrow()
+                .findLatestLegalResult().getScore();
+        final var scoresOfAdditionalStudents = participations.stream().filter(participation -> participation.getParticipantIdentifier().startsWith("pagedstudent"))
+                .map(participation -> participation.findLatestLegalResult().getScore()).toList();
+        assertThat(scoresOfAdditionalStudents).hasSize(additionalStudents).containsOnly(expectedScore);
+    }
+
+    @Test
+    @WithMockUser(username = "instructor1", roles = "INSTRUCTOR")
+    public void shouldNotStartASecondReEvaluationOfTheSameExercise() throws Exception {
+        programmingExercise = (ProgrammingExercise) database.addMaxScoreAndBonusPointsToExercise(programmingExercise);
+        programmingExercise = database.addTemplateParticipationForProgrammingExercise(programmingExercise);
+        programmingExercise = database.addSolutionParticipationForProgrammingExercise(programmingExercise);
+        programmingExercise = programmingExerciseRepository.findByIdWithTemplateAndSolutionParticipationWithResultsElseThrow(programmingExercise.getId());
+
+        var testCases = createTestCases(false);
+        var testParticipations = createTestParticipations();
+        changeTestCaseWeights(testCases);
+
+        // keep all worker threads busy, so that the first re-evaluation is still running when the second one is requested
+        final var executor = (ExecutorService) ReflectionTestUtils.getField(programmingExerciseReEvaluationService, "executor");
+        final var workersBlocked = new CountDownLatch(1);
+        final var endpoint = ProgrammingExerciseGradingResource.RE_EVALUATE.replace("{exerciseId}", programmingExercise.getId().toString());
+        try {
+            for (int worker = 0; worker < 4; worker++) {
+                executor.submit(() -> {
+                    workersBlocked.await(10, TimeUnit.SECONDS);
+                    return null;
+                });
+            }
+            request.put(ROOT + endpoint, "{}", HttpStatus.OK);
+            assertThat(programmingExerciseReEvaluationService.isReEvaluationRunning(programmingExercise.getId())).isTrue();
+            request.put(ROOT + endpoint, "{}", HttpStatus.CONFLICT);
+        }
+        finally {
+            workersBlocked.countDown();
+        }
+        verifyReEvaluationCompleted(5, 7);
+
+        // this fixes an issue with the authentication context after a mock request
+        SecurityContextHolder.setContext(TestSecurityContextHolder.getContext());
+        verifyStudentScoreCalculations(testParticipations);
+        assertThat(programmingExerciseReEvaluationService.isReEvaluationRunning(programmingExercise.getId())).isFalse();
+    }
+
     @ValueSource(booleans = { false, true })
     @ParameterizedTest(name = "{displayName} [{index}] {argumentsWithNames}")
     @WithMockUser(username = "instructor1", roles = "INSTRUCTOR")
@@ -644,8 +730,8 @@ public abstract class ProgrammingExerciseGradingServiceTest extends AbstractSpri
 
         // re-evaluate
         final var endpoint = ProgrammingExerciseGradingResource.RE_EVALUATE.replace("{exerciseId}", programmingExercise.getId().toString());
-        final var response = request.putWithResponseBody(ROOT + endpoint, "{}", Integer.class, HttpStatus.OK);
-        assertThat(response).isEqualTo(7);
+        request.put(ROOT + endpoint, "{}", HttpStatus.OK);
+        verifyReEvaluationCompleted(5, 7);
 
         // this fixes an issue with the authentication context after a mock request
         SecurityContextHolder.setContext(TestSecurityContextHolder.getContext());
@@ -729,7 +815,7 @@ public abstract class ProgrammingExerciseGradingServiceTest extends AbstractSpri
 
     @Test
     @WithMockUser(username = "instructor1", roles = "INSTRUCTOR")
-    public void testWeightSumZero() {
+    public void testWeightSumZero() throws Exception {
         programmingExercise = (ProgrammingExercise) database.addMaxScoreAndBonusPointsToExercise(programmingExercise);
         programmingExercise = database.addTemplateParticipationForProgrammingExercise(programmingExercise);
         programmingExercise = database.addSolutionParticipationForProgrammingExercise(programmingExercise);
@@ -744,15 +830,19 @@ public abstract class ProgrammingExerciseGradingServiceTest extends AbstractSpri
         testCases.get("test1").setBonusMultiplier(1.4D);
         testCaseRepository.saveAll(testCases.values());
 
-        final var updatedResults = programmingExerciseGradingService.updateAllResults(programmingExercise);
-        assertThat(updatedResults).hasSize(7);
+        final int updatedResults = programmingExerciseReEvaluationService.reEvaluateAllResults(programmingExercise).get();
+        assertThat(updatedResults).isEqualTo(7);
 
         // even though the test case weights are all zero, the solution should receive a score
         // => every test case is weighted with 1.0 in that case
-        final var updatedSolution = updatedResults.stream().filter(result -> result.getParticipation() instanceof SolutionProgrammingExerciseParticipation).findFirst().get();
+        programmingExercise = programmingExerciseRepository.findByIdWithTemplateAndSolutionParticipationWithResultsElseThrow(programmingExercise.getId());
+        final var updatedSolution = programmingExercise.getSolutionParticipation().findLatestLegalResult();
         assertThat(updatedSolution.getScore()).isCloseTo(66.6667, Offset.offset(offsetByTenThousandth));
 
-        final var updatedStudentResults = updatedResults.stream().filter(result -> result.getParticipation() instanceof StudentParticipation).toList();
+        final var updatedStudentResults = Stream
+                .concat(studentParticipationRepository.findByExerciseIdWithLatestAutomaticResultAndFeedbacks(programmingExercise.getId()).stream(),
+                        studentParticipationRepository.findByExerciseIdWithManualResultAndFeedbacks(programmingExercise.getId()).stream())
+                .map(Participation::findLatestLegalResult).toList();
         assertThat(updatedStudentResults).hasSize(5);
 
         for (final var result : updatedStudentResults) {
@@ -787,6 +877,11 @@ public abstract class ProgrammingExerciseGradingServiceTest extends AbstractSpri
         testCaseRepository.saveAll(testCases.values());
     }
 
+    private void verifyReEvaluationCompleted(int participations, int updatedResults) {
+        final var completed = new ProgrammingExerciseReEvaluationProgressDTO(ReEvaluationState.COMPLETED, participations, participations, updatedResults);
+        verify(websocketMessagingService, timeout(5000)).sendMessage(ProgrammingExerciseReEvaluationService.getReEvaluationTopic(programmingExercise.getId()), completed);
+    }
+
     private void verifyStudentScoreCalculations(final Participation[] testParticipations) {
         for (int student = 1; student <= 5; ++student) {
             verifyStudentScoreCalculation(testParticipations, student);
@@ -1198,6 +1293,25 @@ public abstract class ProgrammingExerciseGradingServiceTest extends AbstractSpri
 
     }
 
+    @Test
+    @WithMockUser(username = "instructor1", roles = "INSTRUCTOR")
+    public void shouldRecalculateStatisticsAfterNewResult() throws Exception {
+        activateAllTestCases(false);
+        final var participations = createTestParticipationsWithResults();
+
+        final var endpoint = ProgrammingExerciseGradingResource.STATISTICS.replace("{exerciseId}", programmingExerciseSCAEnabled.getId().toString());
+        var statistics = request.get(ROOT + endpoint, HttpStatus.OK, ProgrammingExerciseGradingStatisticsDTO.class);
+        assertThat(statistics.getTestCaseStatsMap().get("test2")).isEqualTo(new ProgrammingExerciseGradingStatisticsDTO.TestCaseStats(2, 3));
+
+        // the new result of the first student passes all tests and replaces the cached statistics
+        final var newResult = new Result().participation(participations.get(0));
+        updateAndSaveAutomaticResult(newResult, true, true, true, 0, 0, ZonedDateTime.now().plusMinutes(1));
+
+        statistics = request.get(ROOT + endpoint, HttpStatus.OK, ProgrammingExerciseGradingStatisticsDTO.class);
+        assertThat(statistics.getNumParticipations()).isEqualTo(5);
+        assertThat(statistics.getTestCaseStatsMap().get("test2")).isEqualTo(new ProgrammingExerciseGradingStatisticsDTO.TestCaseStats(3, 2));
+    }
+
     @Test
     @WithMockUser(username = "instructor1", roles = "INSTRUCTOR")
     public void shouldGetCorrectLatestAutomaticResults() {
@@ -0,0 +1,64 @@
+package de.tum.in.www1.artemis.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import de.tum.in.www1.artemis.domain.BuildLogEntry;
+import de.tum.in.www1.artemis.domain.enumeration.ProgrammingLanguage;
+
+public class BuildLogEntryServiceTest {
+
+    private final BuildLogEntryService buildLogEntryService = new BuildLogEntryService(null, null);
+
+    @Test
+    public void testUnnecessaryBuildLogs() {
+        assertThat(buildLogEntryService.isUnnecessaryBuildLogForProgrammingLanguage("[INFO] Building exercise", ProgrammingLanguage.PYTHON)).isTrue();
+        assertThat(buildLogEntryService.isUnnecessaryBuildLogForProgrammingLanguage("[INFO] compilation error in Test.java", ProgrammingLanguage.PYTHON)).isFalse();
+        assertThat(buildLogEntryService.isUnnecessaryBuildLogForProgrammingLanguage("[ERROR] ", ProgrammingLanguage.PYTHON)).isTrue();
+        assertThat(buildLogEntryService.isUnnecessaryBuildLogForProgrammingLanguage("[ERROR] Test.java:[3,5] cannot find symbol", ProgrammingLanguage.PYTHON)).isFalse();
+        assertThat(buildLogEntryService.isUnnecessaryBuildLogForProgrammingLanguage("Digest: sha256:" + "a".repeat(64), null)).isTrue();
+        assertThat(buildLogEntryService.isUnnecessaryBuildLogForProgrammingLanguage("0123456789ab: Pull complete", null)).isTrue();
+        assertThat(buildLogEntryService.isUnnecessaryBuildLogForProgrammingLanguage("0123456789abc: Pull complete", null)).isFalse();
+
+        // language specific logs
+        assertThat(buildLogEntryService.isUnnecessaryBuildLogForProgrammingLanguage("[withMaven] Artifacts", ProgrammingLanguage.JAVA)).isTrue();
+        assertThat(buildLogEntryService.isUnnecessaryBuildLogForProgrammingLanguage("[withMaven] Artifacts", ProgrammingLanguage.SWIFT)).isFalse();
+        assertThat(buildLogEntryService.isUnnecessaryBuildLogForProgrammingLanguage("Fetching https://github.com/apple/swift-format", ProgrammingLanguage.SWIFT)).isTrue();
+        assertThat(buildLogEntryService.isUnnecessaryBuildLogForProgrammingLanguage("Fetching https://github.com/apple/swift-format", ProgrammingLanguage.JAVA)).isFalse();
+
+        assertThat(buildLogEntryService.isIllegalReflectionLog("WARNING: Illegal reflective access by org.example")).isTrue();
+        assertThat(buildLogEntryService.isIllegalReflectionLog("Illegal reflective access by org.example")).isFalse();
+    }
+
+    @Test
+    public void testRemoveDuplicateLogs() {
+        List<BuildLogEntry> buildLogs = buildLogs("error: missing return", "[INFO] Building", "error: missing return", "note: declared here", "error: missing return");
+
+        assertThat(buildLogEntryService.removeUnnecessaryLogsForProgrammingLanguage(buildLogs, ProgrammingLanguage.SWIFT)).extracting(BuildLogEntry::getLog)
+                .containsExactly("error: missing return", "note: declared here");
+        // C outputs duplicate but necessary logs
+        assertThat(buildLogEntryService.removeUnnecessaryLogsForProgrammingLanguage(buildLogs, ProgrammingLanguage.C)).extracting(BuildLogEntry::getLog)
+                .containsExactly("error: missing return", "error: missing return", "note: declared here", "error: missing return");
+    }
+
+    @Test
+    public void testRemoveUnnecessaryLogsOfLargeBuildLog() {
+        List<BuildLogEntry> buildLogs = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            buildLogs.add(new BuildLogEntry(ZonedDateTime.now(), i % 2 == 0 ? "Test.swift:" + (i % 1000) + ": error: failed" : "[INFO] Downloading dependency " + i));
+        }
+
+        List<BuildLogEntry> filteredLogs = buildLogEntryService.removeUnnecessaryLogsForProgrammingLanguage(buildLogs, ProgrammingLanguage.SWIFT);
+        assertThat(filteredLogs).hasSize(500);
+    }
+
+    private List<BuildLogEntry> buildLogs(String... logs) {
+        return Stream.of(logs).map(log -> new BuildLogEntry(ZonedDateTime.now(), log)).toList();
+    }
+}
@@ -0,0 +1,129 @@
+package de.tum.in.www1.artemis.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import de.tum.in.www1.artemis.service.programming.BuildTriggerScheduler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class BuildTriggerSchedulerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private BuildTriggerScheduler buildTriggerScheduler;
+
+    @BeforeEach
+    public void init() {
+        meterRegistry = new SimpleMeterRegistry();
+        buildTriggerScheduler = new BuildTriggerScheduler(meterRegistry);
+        ReflectionTestUtils.setField(buildTriggerScheduler, "maxConcurrentTriggers", 3);
+        ReflectionTestUtils.setField(buildTriggerScheduler, "maxTriggersPerSecond", 1000.0);
+        buildTriggerScheduler.init();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        buildTriggerScheduler.shutdown();
+    }
+
+    @Test
+    public void testTriggersAllItemsWithLimitedConcurrency() {
+        Set<Integer> triggeredItems = ConcurrentHashMap.newKeySet();
+        AtomicInteger runningTriggers = new AtomicInteger();
+        AtomicInteger maxRunningTriggers = new AtomicInteger();
+
+        buildTriggerScheduler.triggerAll("test", IntStream.range(0, 30).boxed().toList(), item -> {
+            maxRunningTriggers.accumulateAndGet(runningTriggers.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(5);
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            runningTriggers.decrementAndGet();
+            return triggeredItems.add(item);
+        });
+
+        assertThat(triggeredItems).hasSize(30);
+        assertThat(maxRunningTriggers.get()).isBetween(1, 3);
+        assertThat(meterRegistry.get("artemis.build-trigger.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    public void testReducesRateAfterFailedTriggers() {
+        buildTriggerScheduler.triggerAll("test", List.of(1, 2, 3), item -> false);
+
+        assertThat(meterRegistry.get("artemis.build-trigger.rate").gauge().value()).isEqualTo(1000.0 / 8);
+
+        buildTriggerScheduler.triggerAll("test", List.of(1), item -> true);
+
+        assertThat(meterRegistry.get("artemis.build-trigger.rate").gauge().value()).isEqualTo(1000.0 / 8 + 1000.0 / 20);
+    }
+
+    @Test
+    public void testSkipsRemainingTriggersWhenInterrupted() throws Exception {
+        CountDownLatch firstTriggersStarted = new CountDownLatch(3);
+        CountDownLatch releaseTriggers = new CountDownLatch(1);
+        AtomicInteger triggeredItems = new AtomicInteger();
+        AtomicBoolean completed = new AtomicBoolean(true);
+
+        Thread caller = new Thread(() -> completed.set(buildTriggerScheduler.triggerAll("test", IntStream.range(0, 30).boxed().toList(), item -> {
+            triggeredItems.incrementAndGet();
+            firstTriggersStarted.countDown();
+            try {
+                releaseTriggers.await();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return true;
+        })));
+        caller.start();
+        assertThat(firstTriggersStarted.await(10, TimeUnit.SECONDS)).isTrue();
+        caller.interrupt();
+        // the caller waits for the running triggers before it returns
+        caller.join(200);
+        assertThat(caller.isAlive()).isTrue();
+        releaseTriggers.countDown();
+        caller.join(10000);
+
+        assertThat(caller.isAlive()).isFalse();
+        assertThat(completed.get()).isFalse();
+        assertThat(triggeredItems.get()).isEqualTo(3);
+        assertThat(meterRegistry.get("artemis.build-trigger.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    public void testClearsTheAuthenticationOfTheThreads() throws Exception {
+        buildTriggerScheduler.triggerAll("test", IntStream.range(0, 30).boxed().toList(), item -> SecurityContextHolder.getContext().getAuthentication() != null);
+
+        // run a task on every thread of the scheduler
+        ExecutorService executor = (ExecutorService) ReflectionTestUtils.getField(buildTriggerScheduler, "executor");
+        CyclicBarrier allThreads = new CyclicBarrier(3);
+        List<Future<Authentication>> authentications = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            authentications.add(executor.submit(() -> {
+                allThreads.await(10, TimeUnit.SECONDS);
+                return SecurityContextHolder.getContext().getAuthentication();
+            }));
+        }
+        for (Future<Authentication> authentication : authentications) {
+            assertThat(authentication.get()).isNull();
+        }
+        assertThat(meterRegistry.get("artemis.build-trigger.rate").gauge().value()).isEqualTo(1000.0);
+    }
+}
@@ -0,0 +1,84 @@
+package de.tum.in.www1.artemis.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.mail.internet.MimeMessage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import de.tum.in.www1.artemis.domain.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class MailDeliveryServiceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private JavaMailSender javaMailSender;
+
+    private MailDeliveryService mailDeliveryService;
+
+    @BeforeEach
+    public void init() {
+        meterRegistry = new SimpleMeterRegistry();
+        javaMailSender = mock(JavaMailSender.class);
+        mailDeliveryService = new MailDeliveryService(javaMailSender, meterRegistry);
+        ReflectionTestUtils.setField(mailDeliveryService, "queueCapacity", 1);
+        ReflectionTestUtils.setField(mailDeliveryService, "maxMailsPerSecond", 1000);
+        ReflectionTestUtils.setField(mailDeliveryService, "maxAttempts", 1);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        mailDeliveryService.shutdown();
+    }
+
+    @Test
+    public void testMailsWaitForAFreePlaceInTheFullQueue() {
+        ReflectionTestUtils.setField(mailDeliveryService, "maxQueueWaitSeconds", 10);
+        mailDeliveryService.init();
+
+        for (int i = 0; i < 5; i++) {
+            mailDeliveryService.queueMail(mock(MimeMessage.class), new User(), "subject");
+        }
+
+        await().untilAsserted(() -> verify(javaMailSender, times(5)).send(any(MimeMessage.class)));
+        assertThat(meterRegistry.get("artemis.mail.delivery.mails").tag("result", "rejected").counter().count()).isZero();
+    }
+
+    @Test
+    public void testMailsAreDroppedAndCountedIfTheQueueStaysFull() throws Exception {
+        ReflectionTestUtils.setField(mailDeliveryService, "maxQueueWaitSeconds", 0);
+        CountDownLatch deliveryStarted = new CountDownLatch(1);
+        CountDownLatch blockedDelivery = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            deliveryStarted.countDown();
+            blockedDelivery.await();
+            return null;
+        }).when(javaMailSender).send(any(MimeMessage.class));
+        mailDeliveryService.init();
+
+        try {
+            // the first email blocks the delivery, the second one fills the queue and the third one is dropped
+            mailDeliveryService.queueMail(mock(MimeMessage.class), new User(), "subject");
+            assertThat(deliveryStarted.await(10, TimeUnit.SECONDS)).isTrue();
+            mailDeliveryService.queueMail(mock(MimeMessage.class), new User(), "subject");
+            mailDeliveryService.queueMail(mock(MimeMessage.class), new User(), "subject");
+
+            assertThat(meterRegistry.get("artemis.mail.delivery.mails").tag("result", "rejected").counter().count()).isEqualTo(1);
+            assertThat(meterRegistry.get("artemis.mail.delivery.queue-size").gauge().value()).isEqualTo(1);
+        }
+        finally {
+            blockedDelivery.countDown();
+        }
+    }
+}
@@ -1,17 +1,29 @@
 package de.tum.in.www1.artemis.service;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import java.net.URL;
+import java.util.List;
+
 import javax.mail.internet.MimeMessage;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.springframework.context.MessageSource;
 import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.thymeleaf.context.Context;
 import org.thymeleaf.spring5.SpringTemplateEngine;
 
 import de.tum.in.www1.artemis.domain.User;
+import de.tum.in.www1.artemis.domain.enumeration.NotificationType;
+import de.tum.in.www1.artemis.domain.notification.GroupNotification;
+import de.tum.in.www1.artemis.domain.notification.NotificationTarget;
+import de.tum.in.www1.artemis.domain.notification.NotificationTitleTypeConstants;
 import tech.jhipster.config.JHipsterProperties;
 
 /**
@@ -44,6 +56,9 @@ public class MailServiceTest {
     @Mock
     private TimeService timeService;
 
+    @Mock
+    private MailDeliveryService mailDeliveryService;
+
     private User student1;
 
     private String subject;
@@ -54,7 +69,7 @@ public class MailServiceTest {
      * Prepares the needed values and objects for testing
      */
     @BeforeEach
-    public void setUp() {
+    public void setUp() throws Exception {
         student1 = new User();
         student1.setId(555L);
         String EMAIL_ADDRESS_A = "benige8246@omibrown.com";
@@ -75,7 +90,11 @@ public class MailServiceTest {
         jHipsterProperties = mock(JHipsterProperties.class);
         when(jHipsterProperties.getMail()).thenReturn(mail);
 
-        mailService = new MailService(jHipsterProperties, javaMailSender, messageSource, templateEngine, timeService);
+        templateEngine = mock(SpringTemplateEngine.class);
+        mailDeliveryService = mock(MailDeliveryService.class);
+
+        mailService = new MailService(jHipsterProperties, javaMailSender, messageSource, templateEngine, timeService, mailDeliveryService);
+        ReflectionTestUtils.setField(mailService, "artemisServerUrl", new URL("http://localhost:9000"));
     }
 
     /**
@@ -86,4 +105,40 @@ public class MailServiceTest {
         mailService.sendEmail(student1, subject, content, false, true);
         verify(javaMailSender, times(1)).send(mimeMessage);
     }
+
+    /**
+     * Checks that the content of a notification email for multiple users is only created once per language and contains the name of each recipient
+     */
+    @Test
+    public void testSendNotificationEmailForMultipleUsers() throws Exception {
+        User student2 = new User();
+        student2.setEmail("student2@example.com");
+        student2.setFirstName("Jane");
+        student2.setLastName("<Doe>");
+        student2.setLangKey("en");
+        student1.setFirstName("John");
+        student1.setLangKey("en");
+
+        GroupNotification notification = new GroupNotification();
+        notification.setTitle(NotificationTitleTypeConstants.findCorrespondingNotificationTitle(NotificationType.ATTACHMENT_CHANGE));
+        notification.setTransientAndStringTarget(new NotificationTarget(1L, 2L));
+        when(templateEngine.process(anyString(), any(Context.class))).thenAnswer(invocation -> {
+            User recipient = (User) invocation.getArgument(1, Context.class).getVariable("user");
+            return "Dear " + recipient.getName();
+        });
+        MimeMessage secondMimeMessage = mock(MimeMessage.class);
+        when(javaMailSender.createMimeMessage()).thenReturn(mimeMessage, secondMimeMessage);
+
+        mailService.sendNotificationEmailForMultipleUsers(notification, List.of(student1, student2), null);
+
+        verify(templateEngine, times(1)).process(anyString(), any(Context.class));
+        verify(mailDeliveryService, times(1)).queueMail(eq(mimeMessage), eq(student1), any());
+        verify(mailDeliveryService, times(1)).queueMail(eq(secondMimeMessage), eq(student2), any());
+        ArgumentCaptor<Object> content = ArgumentCaptor.forClass(Object.class);
+        verify(mimeMessage).setContent(content.capture(), anyString());
+        assertThat(content.getValue()).isEqualTo("Dear John");
+        verify(secondMimeMessage).setContent(content.capture(), anyString());
+        assertThat(content.getValue()).isEqualTo("Dear Jane &lt;Doe&gt;");
+        verify(javaMailSender, never()).send(any(MimeMessage.class));
+    }
 }
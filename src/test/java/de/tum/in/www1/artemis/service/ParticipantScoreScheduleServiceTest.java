@@ -0,0 +1,100 @@
+package de.tum.in.www1.artemis.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import de.tum.in.www1.artemis.domain.Result;
+import de.tum.in.www1.artemis.domain.TextExercise;
+import de.tum.in.www1.artemis.domain.participation.StudentParticipation;
+import de.tum.in.www1.artemis.service.scheduled.ParticipantScoreScheduleService;
+
+public class ParticipantScoreScheduleServiceTest {
+
+    @Test
+    public void testShutdownExecutesScheduledUpdates() {
+        ScoreService scoreService = mock(ScoreService.class);
+        ParticipantScoreScheduleService participantScoreScheduleService = new ParticipantScoreScheduleService(scoreService);
+        Result result = new Result();
+        result.setId(42L);
+
+        participantScoreScheduleService.scheduleParticipantScoreUpdate(result);
+        participantScoreScheduleService.shutdown();
+
+        verify(scoreService).updateOrCreateParticipantScores(List.of(42L));
+    }
+
+    @Test
+    public void testUpdatesAfterShutdownAreExecutedOnWait() {
+        ScoreService scoreService = mock(ScoreService.class);
+        ParticipantScoreScheduleService participantScoreScheduleService = new ParticipantScoreScheduleService(scoreService);
+        participantScoreScheduleService.shutdown();
+        Result result = new Result();
+        result.setId(42L);
+
+        participantScoreScheduleService.scheduleParticipantScoreUpdate(result);
+        participantScoreScheduleService.executeScheduledUpdatesAndWait();
+
+        verify(scoreService, times(1)).updateOrCreateParticipantScores(any());
+        verify(scoreService).updateOrCreateParticipantScores(List.of(42L));
+    }
+
+    @Test
+    public void testWaitingForExercisesOnlyExecutesTheirUpdates() {
+        ScoreService scoreService = mock(ScoreService.class);
+        ParticipantScoreScheduleService participantScoreScheduleService = new ParticipantScoreScheduleService(scoreService);
+
+        participantScoreScheduleService.scheduleParticipantScoreUpdate(createResult(1L, 10L, 100L));
+        participantScoreScheduleService.scheduleParticipantScoreUpdate(createResult(2L, 20L, 200L));
+        participantScoreScheduleService.executeScheduledUpdatesOfExercisesAndWait(List.of(10L));
+        participantScoreScheduleService.shutdown();
+
+        // the update of the other exercise is executed later in the background
+        InOrder inOrder = inOrder(scoreService);
+        inOrder.verify(scoreService).updateOrCreateParticipantScores(List.of(1L));
+        inOrder.verify(scoreService).updateOrCreateParticipantScores(List.of(2L));
+    }
+
+    @Test
+    public void testWaitingForExercisesWithoutUpdatesReturnsImmediately() {
+        ScoreService scoreService = mock(ScoreService.class);
+        ParticipantScoreScheduleService participantScoreScheduleService = new ParticipantScoreScheduleService(scoreService);
+
+        participantScoreScheduleService.executeScheduledUpdatesOfExercisesAndWait(List.of(10L));
+
+        verifyNoInteractions(scoreService);
+        participantScoreScheduleService.shutdown();
+    }
+
+    @Test
+    public void testCancelledUpdatesOfDeletedExerciseAndParticipationAreNotExecuted() {
+        ScoreService scoreService = mock(ScoreService.class);
+        ParticipantScoreScheduleService participantScoreScheduleService = new ParticipantScoreScheduleService(scoreService);
+
+        participantScoreScheduleService.scheduleParticipantScoreUpdate(createResult(1L, 10L, 100L));
+        participantScoreScheduleService.scheduleParticipantScoreUpdate(createResult(2L, 20L, 200L));
+        participantScoreScheduleService.scheduleParticipantScoreUpdate(createResult(3L, 20L, 201L));
+        participantScoreScheduleService.cancelScheduledUpdatesOfExercise(10L);
+        participantScoreScheduleService.cancelScheduledUpdatesOfParticipation(200L);
+        participantScoreScheduleService.shutdown();
+
+        verify(scoreService, times(1)).updateOrCreateParticipantScores(any());
+        verify(scoreService).updateOrCreateParticipantScores(List.of(3L));
+    }
+
+    private Result createResult(Long resultId, Long exerciseId, Long participationId) {
+        TextExercise exercise = new TextExercise();
+        exercise.setId(exerciseId);
+        StudentParticipation participation = new StudentParticipation();
+        participation.setId(participationId);
+        participation.setExercise(exercise);
+        Result result = new Result();
+        result.setId(resultId);
+        result.setParticipation(participation);
+        return result;
+    }
+}
@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.fail;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.time.ZonedDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
@@ -19,13 +20,16 @@ import de.tum.in.www1.artemis.AbstractSpringIntegrationBambooBitbucketJiraTest;
 import de.tum.in.www1.artemis.domain.*;
 import de.tum.in.www1.artemis.domain.enumeration.AssessmentType;
 import de.tum.in.www1.artemis.domain.enumeration.ComplaintType;
+import de.tum.in.www1.artemis.domain.enumeration.Language;
 import de.tum.in.www1.artemis.domain.exam.Exam;
 import de.tum.in.www1.artemis.domain.modeling.ModelingExercise;
 import de.tum.in.www1.artemis.domain.modeling.ModelingSubmission;
 import de.tum.in.www1.artemis.repository.ComplaintRepository;
 import de.tum.in.www1.artemis.repository.ExamRepository;
 import de.tum.in.www1.artemis.repository.ResultRepository;
+import de.tum.in.www1.artemis.repository.TextExerciseRepository;
 import de.tum.in.www1.artemis.repository.UserRepository;
+import de.tum.in.www1.artemis.util.ModelFactory;
 import de.tum.in.www1.artemis.web.rest.dto.SubmissionWithComplaintDTO;
 import de.tum.in.www1.artemis.web.rest.errors.AccessForbiddenException;
 
@@ -46,6 +50,9 @@ public class SubmissionServiceTest extends AbstractSpringIntegrationBambooBitbuc
     @Autowired
     private ComplaintRepository complaintRepository;
 
+    @Autowired
+    private TextExerciseRepository textExerciseRepository;
+
     private User student1;
 
     private User tutor1;
@@ -264,6 +271,30 @@ public class SubmissionServiceTest extends AbstractSpringIntegrationBambooBitbuc
         assertThat(submissionListTutor2CorrectionRound1.size()).isEqualTo(0);
     }
 
+    @Test
+    @WithMockUser(username = "tutor1", roles = "TA")
+    public void testCourseExerciseGetRandomSubmissionEligibleForNewAssessmentPrefersSubmissionsBeforeDueDate() {
+        Course course = database.addCourseWithOneReleasedTextExercise();
+        TextExercise textExercise = (TextExercise) course.getExercises().iterator().next();
+        textExercise.setDueDate(ZonedDateTime.now().minusHours(1));
+        textExercise = textExerciseRepository.save(textExercise);
+
+        TextSubmission submissionBeforeDueDate = ModelFactory.generateTextSubmission("in time", Language.ENGLISH, true);
+        submissionBeforeDueDate.setSubmissionDate(ZonedDateTime.now().minusHours(2));
+        submissionBeforeDueDate = database.saveTextSubmission(textExercise, submissionBeforeDueDate, "student1");
+        TextSubmission submissionAfterDueDate = ModelFactory.generateTextSubmission("too late", Language.ENGLISH, true);
+        submissionAfterDueDate.setSubmissionDate(ZonedDateTime.now().minusMinutes(30));
+        database.saveTextSubmission(textExercise, submissionAfterDueDate, "student2");
+
+        // the late submission is only proposed once all submissions before the due date are assessed
+        for (int i = 0; i < 5; i++) {
+            Optional<Submission> submission = submissionService.getRandomSubmissionEligibleForNewAssessment(textExercise, false, 0);
+            assertThat(submission).isPresent();
+            assertThat(submission.get().getId()).isEqualTo(submissionBeforeDueDate.getId());
+            assertThat(submission.get().getParticipation()).isNotNull();
+        }
+    }
+
     @Test
     @WithMockUser(username = "tutor1", roles = "TA")
     public void testTextExerciseGetRandomSubmissionEligibleForNewAssessmentOneAssessmentsWithoutLock() {
@@ -84,7 +84,8 @@ public class TextAssessmentQueueServiceTest extends AbstractSpringIntegrationBam
         textBlocks.forEach(TextBlock::computeId);
         List<TextCluster> clusters = textExerciseUtilService.addTextBlocksToCluster(new HashSet<>(textBlocks), clusterSizes, textExercise);
         textClusterRepository.saveAll(clusters);
-        textBlockRepository.saveAll(textBlocks);
+        // the open text blocks are counted in the database, so they have to be flushed in this (read only) transaction
+        textBlockRepository.saveAllAndFlush(textBlocks);
         List<TextSubmission> textSubmissions = textSubmissionService.getAllSubmissionsForExercise(textExercise.getId(), true, false);
         Map<TextBlock, Double> smallerClusterPercentages = textAssessmentQueueService.calculateSmallerClusterPercentageBatch(textSubmissions);
         textBlocks.forEach(textBlock -> {
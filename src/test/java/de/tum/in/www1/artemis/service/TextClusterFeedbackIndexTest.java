@@ -0,0 +1,107 @@
+package de.tum.in.www1.artemis.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import de.tum.in.www1.artemis.domain.GradingInstruction;
+import de.tum.in.www1.artemis.domain.TextCluster;
+import de.tum.in.www1.artemis.repository.FeedbackRepository.TextBlockFeedback;
+import de.tum.in.www1.artemis.repository.TextBlockRepository.ClusteredTextBlock;
+import de.tum.in.www1.artemis.service.TextClusterFeedbackIndex.SimilarTextBlock;
+
+public class TextClusterFeedbackIndexTest {
+
+    @Test
+    public void testFindsMostSimilarTextBlockWithFeedback() {
+        TextCluster cluster = cluster(1L, new double[][] { { 0.0, 0.8, 0.3 }, { 0.8, 0.0, 0.5 }, { 0.3, 0.5, 0.0 } });
+        // the blocks are loaded in arbitrary order, the position in the cluster defines their row in the distance matrix
+        List<ClusteredTextBlock> blocks = List.of(block("c", 1L, 2, 30L), block("a", 1L, 0, 10L), block("b", 1L, 1, 20L));
+        TextClusterFeedbackIndex index = new TextClusterFeedbackIndex(List.of(cluster), blocks, List.of(feedback("b", 1.0), feedback("c", 2.0)));
+
+        SimilarTextBlock similarBlock = index.findMostSimilarTextBlockWithFeedback("a").orElseThrow();
+        assertThat(similarBlock.blockId()).isEqualTo("c");
+        assertThat(similarBlock.distance()).isEqualTo(0.3);
+        assertThat(similarBlock.feedback().getCredits()).isEqualTo(2.0);
+        assertThat(similarBlock.submissionId()).isEqualTo(30L);
+        assertThat(similarBlock.participationId()).isEqualTo(300L);
+
+        // the feedback of a block itself is never suggested for the same block
+        assertThat(index.findMostSimilarTextBlockWithFeedback("b").orElseThrow().blockId()).isEqualTo("c");
+    }
+
+    @Test
+    public void testNoSuggestionWithoutFeedbackInCluster() {
+        TextCluster firstCluster = cluster(1L, new double[][] { { 0.0, 0.1 }, { 0.1, 0.0 } });
+        TextCluster secondCluster = cluster(2L, new double[][] { { 0.0 } });
+        List<ClusteredTextBlock> blocks = List.of(block("a", 1L, 0, 10L), block("b", 1L, 1, 20L), block("c", 2L, 0, 30L));
+        TextClusterFeedbackIndex index = new TextClusterFeedbackIndex(List.of(firstCluster, secondCluster), blocks, List.of(feedback("c", 1.0)));
+
+        assertThat(index.findMostSimilarTextBlockWithFeedback("a")).isEmpty();
+        assertThat(index.findMostSimilarTextBlockWithFeedback("c")).isEmpty();
+        assertThat(index.findMostSimilarTextBlockWithFeedback("unknown")).isEmpty();
+    }
+
+    private TextCluster cluster(Long id, double[][] distanceMatrix) {
+        TextCluster cluster = new TextCluster().distanceMatrix(distanceMatrix);
+        cluster.setId(id);
+        return cluster;
+    }
+
+    private ClusteredTextBlock block(String blockId, Long clusterId, int positionInCluster, Long submissionId) {
+        return new ClusteredTextBlock() {
+
+            @Override
+            public String getBlockId() {
+                return blockId;
+            }
+
+            @Override
+            public Long getClusterId() {
+                return clusterId;
+            }
+
+            @Override
+            public Integer getPositionInCluster() {
+                return positionInCluster;
+            }
+
+            @Override
+            public Long getSubmissionId() {
+                return submissionId;
+            }
+
+            @Override
+            public Long getParticipationId() {
+                return submissionId * 10;
+            }
+        };
+    }
+
+    private TextBlockFeedback feedback(String reference, Double credits) {
+        return new TextBlockFeedback() {
+
+            @Override
+            public String getReference() {
+                return reference;
+            }
+
+            @Override
+            public Double getCredits() {
+                return credits;
+            }
+
+            @Override
+            public String getDetailText() {
+                return "Feedback for " + reference;
+            }
+
+            @Override
+            public GradingInstruction getGradingInstruction() {
+                return null;
+            }
+        };
+    }
+}
@@ -0,0 +1,59 @@
+package de.tum.in.www1.artemis.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.*;
+
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.Test;
+
+public class TextClusterRankingTest {
+
+    private final Offset<Double> errorRate = Offset.offset(0.0001);
+
+    @Test
+    public void testSmallerClusterPercentages() {
+        // cluster 1 has 1 open block, cluster 2 has 3, cluster 3 has 5 and cluster 4 has none
+        TextClusterRanking ranking = new TextClusterRanking(List.of(1L, 2L, 3L, 4L), openTextBlocks(Map.of(1L, 1, 2L, 3, 3L, 5)));
+
+        assertThat(ranking.getSmallerClusterPercentage(1L)).isCloseTo(0.25, errorRate);
+        assertThat(ranking.getSmallerClusterPercentage(2L)).isCloseTo(0.5, errorRate);
+        assertThat(ranking.getSmallerClusterPercentage(3L)).isCloseTo(1.0, errorRate);
+        assertThat(ranking.getSmallerClusterPercentage(4L)).isCloseTo(0.0, errorRate);
+    }
+
+    @Test
+    public void testRankingIsUpdatedWhenTextBlocksAreAssessed() {
+        TextClusterRanking ranking = new TextClusterRanking(List.of(1L, 2L), openTextBlocks(Map.of(1L, 2, 2L, 3)));
+
+        // after two blocks of the largest cluster are assessed, the other cluster is the largest one
+        ranking.removeOpenTextBlocks(List.of("2-0", "2-1"));
+        // blocks that are reported again or are not open are ignored
+        ranking.removeOpenTextBlocks(List.of("2-0", "unknown"));
+
+        assertThat(ranking.getOpenBlockCount(1L)).isEqualTo(2);
+        assertThat(ranking.getOpenBlockCount(2L)).isEqualTo(1);
+        assertThat(ranking.getSmallerClusterPercentage(1L)).isCloseTo(1.0, errorRate);
+        assertThat(ranking.getSmallerClusterPercentage(2L)).isCloseTo(0.0, errorRate);
+    }
+
+    @Test
+    public void testEmptyRanking() {
+        TextClusterRanking ranking = new TextClusterRanking(List.of(), Map.of());
+
+        assertThat(ranking.getSmallerClusterPercentage(1L)).isZero();
+    }
+
+    /**
+     * Creates the given number of open text blocks per cluster, the ids of the blocks are "clusterId-index".
+     */
+    private Map<String, Long> openTextBlocks(Map<Long, Integer> openBlockCounts) {
+        Map<String, Long> clusterByOpenTextBlock = new HashMap<>();
+        openBlockCounts.forEach((clusterId, count) -> {
+            for (int i = 0; i < count; i++) {
+                clusterByOpenTextBlock.put(clusterId + "-" + i, clusterId);
+            }
+        });
+        return clusterByOpenTextBlock;
+    }
+}
@@ -0,0 +1,167 @@
+package de.tum.in.www1.artemis.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import de.tum.in.www1.artemis.exception.VersionControlException;
+import de.tum.in.www1.artemis.service.programming.VersionControlOperationScheduler;
+import de.tum.in.www1.artemis.service.programming.VersionControlOperationScheduler.BulkOperationResult;
+import de.tum.in.www1.artemis.web.rest.errors.EntityNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class VersionControlOperationSchedulerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private VersionControlOperationScheduler versionControlOperationScheduler;
+
+    @BeforeEach
+    public void init() {
+        meterRegistry = new SimpleMeterRegistry();
+        versionControlOperationScheduler = new VersionControlOperationScheduler(meterRegistry);
+        ReflectionTestUtils.setField(versionControlOperationScheduler, "maxConcurrentOperations", 3);
+        ReflectionTestUtils.setField(versionControlOperationScheduler, "maxOperationsPerSecond", 1000.0);
+        ReflectionTestUtils.setField(versionControlOperationScheduler, "maxAttempts", 3);
+        ReflectionTestUtils.setField(versionControlOperationScheduler, "retryDelayInMillis", 1L);
+        versionControlOperationScheduler.init();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        versionControlOperationScheduler.shutdown();
+    }
+
+    @Test
+    public void testRunsOperationForAllItemsWithLimitedConcurrency() {
+        Set<Integer> processedItems = ConcurrentHashMap.newKeySet();
+        AtomicInteger runningOperations = new AtomicInteger();
+        AtomicInteger maxRunningOperations = new AtomicInteger();
+
+        List<Integer> failedItems = versionControlOperationScheduler.runAll("test", IntStream.range(0, 30).boxed().toList(), item -> {
+            maxRunningOperations.accumulateAndGet(runningOperations.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(5);
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            runningOperations.decrementAndGet();
+            processedItems.add(item);
+        }).failedItems();
+
+        // all operations finished when the method returns
+        assertThat(processedItems).hasSize(30);
+        assertThat(failedItems).isEmpty();
+        assertThat(maxRunningOperations.get()).isBetween(1, 3);
+        assertThat(meterRegistry.get("artemis.version-control.bulk-operations.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    public void testRetriesFailedOperations() {
+        Map<Integer, AtomicInteger> attempts = new ConcurrentHashMap<>();
+
+        List<Integer> failedItems = versionControlOperationScheduler.runAll("test", List.of(1, 2), item -> {
+            int attempt = attempts.computeIfAbsent(item, key -> new AtomicInteger()).incrementAndGet();
+            // item 1 fails once, item 2 always fails
+            if (item == 2 || attempt == 1) {
+                throw new VersionControlException("The version control server is not available");
+            }
+        }).failedItems();
+
+        assertThat(failedItems).containsExactly(2);
+        assertThat(attempts.get(1).get()).isEqualTo(2);
+        assertThat(attempts.get(2).get()).isEqualTo(3);
+        assertThat(meterRegistry.get("artemis.version-control.bulk-operations.failed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void testDoesNotRetryDeletedParticipations() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        List<Integer> failedItems = versionControlOperationScheduler.runAll("test", List.of(1), item -> {
+            attempts.incrementAndGet();
+            throw new EntityNotFoundException("Participation", 1L);
+        }).failedItems();
+
+        assertThat(failedItems).containsExactly(1);
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testWaitsForRunningOperationsWhenInterrupted() throws Exception {
+        CountDownLatch operationsStarted = new CountDownLatch(3);
+        Set<Integer> processedItems = ConcurrentHashMap.newKeySet();
+        Thread caller = Thread.currentThread();
+
+        // interrupts the caller while the first operations are running
+        Thread interrupter = new Thread(() -> {
+            try {
+                operationsStarted.await(10, TimeUnit.SECONDS);
+                caller.interrupt();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        interrupter.start();
+        BulkOperationResult<Integer> result = versionControlOperationScheduler.runAll("test", IntStream.range(0, 30).boxed().toList(), item -> {
+            operationsStarted.countDown();
+            long end = System.currentTimeMillis() + 50;
+            // busy waiting, so that the operation is not ended early by the interrupt of the scheduler thread
+            while (System.currentTimeMillis() < end) {
+                Thread.onSpinWait();
+            }
+            processedItems.add(item);
+        });
+        boolean wasInterrupted = Thread.interrupted();
+        interrupter.join();
+
+        assertThat(wasInterrupted).isTrue();
+        assertThat(result.aborted()).isTrue();
+        // the running operations finished before the method returned, the remaining operations were skipped
+        Set<Integer> processedWhenReturned = Set.copyOf(processedItems);
+        assertThat(processedWhenReturned).hasSizeBetween(3, 29);
+        assertThat(result.failedItems()).hasSize(30 - processedWhenReturned.size()).doesNotContainAnyElementsOf(processedWhenReturned);
+        Thread.sleep(100);
+        assertThat(processedItems).isEqualTo(processedWhenReturned);
+        assertThat(meterRegistry.get("artemis.version-control.bulk-operations.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    public void testClearsTheAuthenticationOfTheThreads() throws Exception {
+        List<Integer> failedItems = versionControlOperationScheduler.runAll("test", IntStream.range(0, 30).boxed().toList(), item -> {
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                throw new IllegalStateException("The operation runs without authentication");
+            }
+        }).failedItems();
+        assertThat(failedItems).isEmpty();
+
+        // run a task on every thread of the scheduler
+        ExecutorService executor = (ExecutorService) ReflectionTestUtils.getField(versionControlOperationScheduler, "executor");
+        CyclicBarrier allThreads = new CyclicBarrier(3);
+        List<Future<Authentication>> authentications = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            authentications.add(executor.submit(() -> {
+                allThreads.await(10, TimeUnit.SECONDS);
+                return SecurityContextHolder.getContext().getAuthentication();
+            }));
+        }
+        for (Future<Authentication> authentication : authentications) {
+            assertThat(authentication.get()).isNull();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package de.tum.in.www1.artemis.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import de.tum.in.www1.artemis.domain.ProgrammingExercise;
+import de.tum.in.www1.artemis.domain.Result;
+import de.tum.in.www1.artemis.domain.participation.SolutionProgrammingExerciseParticipation;
+import de.tum.in.www1.artemis.service.exam.ExamDateService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class WebsocketMessagingServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private SimpMessageSendingOperations messagingTemplate;
+
+    private WebsocketMessagingService websocketMessagingService;
+
+    private SolutionProgrammingExerciseParticipation participation;
+
+    // the ids of the results in the order in which they were sent
+    private final List<Long> sentResultIds = new CopyOnWriteArrayList<>();
+
+    private final AtomicInteger sends = new AtomicInteger();
+
+    private final CountDownLatch firstSendStarted = new CountDownLatch(1);
+
+    private final CountDownLatch releaseFirstSend = new CountDownLatch(1);
+
+    @BeforeEach
+    public void init() {
+        messagingTemplate = mock(SimpMessageSendingOperations.class);
+        doAnswer(invocation -> {
+            Message<?> message = invocation.getArgument(1);
+            if (sends.incrementAndGet() == 1) {
+                firstSendStarted.countDown();
+                releaseFirstSend.await();
+            }
+            sentResultIds.add(objectMapper.readTree((byte[]) message.getPayload()).get("id").asLong());
+            return null;
+        }).when(messagingTemplate).send(anyString(), any(Message.class));
+        websocketMessagingService = new WebsocketMessagingService(messagingTemplate, new MappingJackson2HttpMessageConverter(), new SimpleMeterRegistry(),
+                mock(ExamDateService.class), mock(ExerciseDateService.class));
+        websocketMessagingService.init();
+
+        ProgrammingExercise exercise = new ProgrammingExercise();
+        exercise.setId(1L);
+        participation = new SolutionProgrammingExerciseParticipation();
+        participation.setId(2L);
+        participation.setProgrammingExercise(exercise);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        releaseFirstSend.countDown();
+        websocketMessagingService.shutdown();
+    }
+
+    @Test
+    public void testResultsOfAParticipationAreCoalescedAndSentInOrder() throws Exception {
+        websocketMessagingService.broadcastNewResult(participation, createResult(1L));
+        firstSendStarted.await();
+
+        // the results are created while the first one is being sent
+        for (long resultId = 2; resultId <= 10; resultId++) {
+            websocketMessagingService.broadcastNewResult(participation, createResult(resultId));
+        }
+        Thread.sleep(100);
+        assertThat(sentResultIds).as("no newer result overtakes the one that is being sent").isEmpty();
+
+        releaseFirstSend.countDown();
+        await().untilAsserted(() -> assertThat(sentResultIds).containsExactly(1L, 10L));
+        Thread.sleep(100);
+        assertThat(sentResultIds).as("the results in between are skipped").containsExactly(1L, 10L);
+    }
+
+    @Test
+    public void testResultsAreSentAgainOnceThePreviousOneWasSent() {
+        releaseFirstSend.countDown();
+        websocketMessagingService.broadcastNewResult(participation, createResult(1L));
+        await().untilAsserted(() -> assertThat(sentResultIds).containsExactly(1L));
+
+        websocketMessagingService.broadcastNewResult(participation, createResult(2L));
+        await().untilAsserted(() -> assertThat(sentResultIds).containsExactly(1L, 2L));
+    }
+
+    private Result createResult(Long id) {
+        Result result = new Result();
+        result.setId(id);
+        result.setParticipation(participation);
+        return result;
+    }
+}
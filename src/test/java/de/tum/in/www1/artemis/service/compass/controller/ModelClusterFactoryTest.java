@@ -2,7 +2,8 @@ package de.tum.in.www1.artemis.service.compass.controller;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
-import java.util.List;
+import java.util.*;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,6 +13,8 @@ import de.tum.in.www1.artemis.domain.modeling.ModelCluster;
 import de.tum.in.www1.artemis.domain.modeling.ModelElement;
 import de.tum.in.www1.artemis.domain.modeling.ModelingExercise;
 import de.tum.in.www1.artemis.domain.modeling.ModelingSubmission;
+import de.tum.in.www1.artemis.service.compass.umlmodel.UMLElement;
+import de.tum.in.www1.artemis.service.compass.utils.CompassConfiguration;
 import de.tum.in.www1.artemis.util.FileUtils;
 import de.tum.in.www1.artemis.util.ModelFactory;
 
@@ -52,4 +55,53 @@ public class ModelClusterFactoryTest {
             assertThat(element.getCluster()).as("created elements keeps the cluster").isEqualTo(modelCluster);
         }
     }
+
+    @Test
+    public void testBuildingClustersSameAsComparingWithAllKnownElements() throws Exception {
+        List<String> models = List.of("model.54727.json", "model.54727.cpy.json", "model.54727.partial.json", "model.54727_old.json", "model.54742.json", "model.54745.json",
+                "model.conflict.1.json", "model.conflict.2.json", "model.different-context.json", "model.inheritance.json", "model.inheritance.cpy.json",
+                "example-class-diagram.json", "example-class-diagram-package-relationship.json");
+        List<ModelingSubmission> submissions = new ArrayList<>();
+        for (int i = 0; i < models.size(); i++) {
+            ModelingSubmission submission = ModelFactory.generateModelingSubmission(FileUtils.loadFileFromResources("test-data/model-submission/" + models.get(i)), true);
+            submission.setId((long) i + 1);
+            submissions.add(submission);
+        }
+
+        List<ModelCluster> modelClusters = modelClusterFactory.buildClusters(submissions, new ModelingExercise());
+
+        // every element is compared with all known unique elements in the order of their similarity ids
+        Map<String, Integer> expectedSimilarityIds = new HashMap<>();
+        List<UMLElement> uniqueElements = new ArrayList<>();
+        for (ModelingSubmission submission : submissions) {
+            for (UMLElement element : modelClusterFactory.getModelElements(submission)) {
+                double bestSimilarity = -1;
+                int bestSimilarityId = -1;
+                for (UMLElement knownElement : uniqueElements) {
+                    double similarity = knownElement.similarity(element);
+                    if (similarity > CompassConfiguration.EQUALITY_THRESHOLD && similarity > bestSimilarity) {
+                        bestSimilarity = similarity;
+                        bestSimilarityId = knownElement.getSimilarityID();
+                    }
+                }
+                if (bestSimilarityId == -1) {
+                    bestSimilarityId = uniqueElements.size();
+                    uniqueElements.add(element);
+                }
+                element.setSimilarityID(bestSimilarityId);
+                expectedSimilarityIds.put(submission.getId() + "-" + element.getJSONElementID(), bestSimilarityId);
+            }
+        }
+
+        long expectedClusterCount = expectedSimilarityIds.values().stream().collect(Collectors.groupingBy(id -> id, Collectors.counting()))
+                .values().stream().filter(count -> count > 1).count();
+        assertThat(modelClusters).hasSize((int) expectedClusterCount);
+        for (ModelCluster modelCluster : modelClusters) {
+            Set<Integer> similarityIds = new HashSet<>();
+            for (ModelElement element : modelCluster.getModelElements()) {
+                similarityIds.add(expectedSimilarityIds.get(element.getSubmission().getId() + "-" + element.getModelElementId()));
+            }
+            assertThat(similarityIds).as("all elements of a cluster have the same expected similarity id").hasSize(1);
+        }
+    }
 }
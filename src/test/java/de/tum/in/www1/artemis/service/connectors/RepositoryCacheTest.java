@@ -0,0 +1,115 @@
+package de.tum.in.www1.artemis.service.connectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.eclipse.jgit.api.Git;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import de.tum.in.www1.artemis.domain.Repository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class RepositoryCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void initTestCase() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    public void testLeastRecentlyUsedRepositoryIsEvictedWhenFull() throws Exception {
+        RepositoryCache cache = new RepositoryCache(2, Duration.ofMinutes(30), meterRegistry);
+        Path path1 = tempDir.resolve("repo1");
+        Path path2 = tempDir.resolve("repo2");
+        Path path3 = tempDir.resolve("repo3");
+        cache.putIfAbsent(path1, openRepository(path1));
+        cache.putIfAbsent(path2, openRepository(path2));
+
+        // access the first repository, so that the second one is the least recently used
+        assertThat(cache.get(path1)).isNotNull();
+        cache.putIfAbsent(path3, openRepository(path3));
+
+        assertThat(cache.contains(path1)).isTrue();
+        assertThat(cache.contains(path2)).isFalse();
+        assertThat(cache.contains(path3)).isTrue();
+        assertThat(cache.get(path2)).isNull();
+        assertThat(meterRegistry.get("artemis.git.repository-cache.evictions").tag("cause", "size").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("artemis.git.repository-cache.requests").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("artemis.git.repository-cache.requests").tag("result", "miss").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("artemis.git.repository-cache.cached-repositories").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    public void testIdleRepositoriesAreEvicted() throws Exception {
+        RepositoryCache cache = new RepositoryCache(10, Duration.ZERO, meterRegistry);
+        Path path = tempDir.resolve("repo");
+        cache.putIfAbsent(path, openRepository(path));
+        Thread.sleep(5);
+
+        cache.evictIdleRepositories();
+
+        assertThat(cache.size()).isZero();
+        assertThat(meterRegistry.get("artemis.git.repository-cache.evictions").tag("cause", "idle").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void testRecentlyUsedRepositoriesAreNotEvicted() throws Exception {
+        RepositoryCache cache = new RepositoryCache(10, Duration.ofMinutes(30), meterRegistry);
+        Path path = tempDir.resolve("repo");
+        Repository repository = openRepository(path);
+        cache.putIfAbsent(path, repository);
+
+        cache.evictIdleRepositories();
+
+        assertThat(cache.get(path)).isSameAs(repository);
+    }
+
+    @Test
+    public void testRepositoryThatIsAlreadyCachedIsKept() throws Exception {
+        RepositoryCache cache = new RepositoryCache(10, Duration.ofMinutes(30), meterRegistry);
+        Path path = tempDir.resolve("repo");
+        Repository cachedRepository = openRepository(path);
+        cache.putIfAbsent(path, cachedRepository);
+
+        // e.g. a concurrent request opened the same repository before it was cached
+        Repository concurrentlyOpenedRepository = new Repository(path.resolve(".git").toString(), null);
+        assertThat(cache.putIfAbsent(path, concurrentlyOpenedRepository)).isSameAs(cachedRepository);
+
+        // the cached repository, which other requests might use, is still open
+        assertThat(cache.get(path)).isSameAs(cachedRepository);
+        assertThat(cachedRepository.getRefDatabase().getRefs()).isNotNull();
+    }
+
+    @Test
+    public void testEvictedRepositoryCanStillBeUsed() throws Exception {
+        RepositoryCache cache = new RepositoryCache(1, Duration.ofMinutes(30), meterRegistry);
+        Path path1 = tempDir.resolve("repo1");
+        Path path2 = tempDir.resolve("repo2");
+        Repository repository = openRepository(path1);
+        cache.putIfAbsent(path1, repository);
+        try (Git git = new Git(repository)) {
+            git.commit().setMessage("Initial commit").setAllowEmpty(true).call();
+
+            cache.putIfAbsent(path2, openRepository(path2));
+
+            // an operation that got the repository before the eviction continues to use it
+            assertThat(cache.contains(path1)).isFalse();
+            git.commit().setMessage("Second commit").setAllowEmpty(true).call();
+            assertThat(git.log().call()).hasSize(2);
+        }
+    }
+
+    private Repository openRepository(Path path) throws Exception {
+        Git.init().setDirectory(path.toFile()).call().close();
+        return new Repository(path.resolve(".git").toString(), null);
+    }
+}
@@ -34,6 +34,8 @@ public class NotificationSettingsServiceTest extends AbstractSpringIntegrationBa
 
     private User student1;
 
+    private User student2;
+
     private NotificationSetting completeNotificationSettingA;
 
     private NotificationSetting[] unsavedNotificationSettings;
@@ -47,8 +49,9 @@ public class NotificationSettingsServiceTest extends AbstractSpringIntegrationBa
     public void setUp() {
         SecurityUtils.setAuthorizationObject();
 
-        List<User> users = database.addUsers(1, 0, 0, 0);
+        List<User> users = database.addUsers(2, 0, 0, 0);
         student1 = users.get(0);
+        student2 = users.get(1);
 
         NotificationSetting unsavedNotificationSettingA = new NotificationSetting(false, true, NOTIFICATION__EXERCISE_NOTIFICATION__EXERCISE_OPEN_FOR_PRACTICE);
         NotificationSetting unsavedNotificationSettingB = new NotificationSetting(true, true, NOTIFICATION__LECTURE_NOTIFICATION__ATTACHMENT_CHANGES);
@@ -127,6 +130,25 @@ public class NotificationSettingsServiceTest extends AbstractSpringIntegrationBa
                 .as("Emails with type EXAM_ARCHIVE_STARTED should not be allowed for the given user").isFalse();
     }
 
+    /**
+     * Tests the method filterUsersBySettingsForNotification
+     * Users without notification settings are filtered based on the default settings
+     */
+    @Test
+    public void testFilterUsersBySettingsForNotification() {
+        notification.setTitle(NotificationTitleTypeConstants.findCorrespondingNotificationTitle(ATTACHMENT_CHANGE));
+        assertThat(notificationSettingsService.filterUsersBySettingsForNotification(notification, List.of(student1, student2), EMAIL))
+                .as("Only the user that activated emails with type ATTACHMENT_CHANGE should receive an email").containsExactly(student1);
+
+        notification.setTitle(NotificationTitleTypeConstants.findCorrespondingNotificationTitle(NEW_ANNOUNCEMENT_POST));
+        assertThat(notificationSettingsService.filterUsersBySettingsForNotification(notification, List.of(student1, student2), EMAIL))
+                .as("Emails with type NEW_ANNOUNCEMENT_POST are activated by default").containsExactly(student1, student2);
+
+        notification.setTitle(NotificationTitleTypeConstants.findCorrespondingNotificationTitle(EXAM_ARCHIVE_STARTED));
+        assertThat(notificationSettingsService.filterUsersBySettingsForNotification(notification, List.of(student1, student2), EMAIL))
+                .as("Emails with type EXAM_ARCHIVE_STARTED are deactivated for both users").isEmpty();
+    }
+
     /**
      * Tests the method checkLoadedNotificationSettingsForCorrectness with an empty input
      */
@@ -0,0 +1,52 @@
+package de.tum.in.www1.artemis.service.plagiarism;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.util.*;
+
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import de.tum.in.www1.artemis.domain.modeling.ModelingSubmission;
+import de.tum.in.www1.artemis.domain.plagiarism.PlagiarismComparison;
+import de.tum.in.www1.artemis.domain.plagiarism.modeling.ModelingPlagiarismResult;
+import de.tum.in.www1.artemis.domain.plagiarism.modeling.ModelingSubmissionElement;
+import de.tum.in.www1.artemis.util.ModelingPlagiarismTestUtil;
+
+class ModelingPlagiarismDetectionServiceTest {
+
+    private final PlagiarismWebsocketService plagiarismWebsocketService = mock(PlagiarismWebsocketService.class);
+
+    private final ModelingPlagiarismDetectionService modelingPlagiarismDetectionService = new ModelingPlagiarismDetectionService(plagiarismWebsocketService);
+
+    @ParameterizedTest
+    @ValueSource(doubles = { 0.0, 0.5, 0.8, 0.95 })
+    void testCheckPlagiarism_sameComparisonsAsAllPairs(double minimumSimilarity) throws IOException {
+        List<ModelingSubmission> submissions = ModelingPlagiarismTestUtil.generateClassDiagramSubmissions(60, new Random(42));
+
+        ModelingPlagiarismResult result = modelingPlagiarismDetectionService.checkPlagiarism(submissions, minimumSimilarity, 1, 0, 1L);
+
+        Map<Set<Long>, Double> expectedSimilarities = ModelingPlagiarismTestUtil.compareAllPairs(submissions, minimumSimilarity);
+        assertThat(result.getComparisons()).hasSize(expectedSimilarities.size());
+        for (PlagiarismComparison<ModelingSubmissionElement> comparison : result.getComparisons()) {
+            var submissionIds = Set.of(comparison.getSubmissionA().getSubmissionId(), comparison.getSubmissionB().getSubmissionId());
+            assertThat(expectedSimilarities).containsKey(submissionIds);
+            assertThat(comparison.getSimilarity()).isEqualTo(expectedSimilarities.get(submissionIds) * 100, Offset.offset(1e-9));
+            assertThat(comparison.getSubmissionA().getElements()).isNotEmpty();
+        }
+    }
+
+    @Test
+    void testCheckPlagiarism_throttlesProgressMessages() {
+        List<ModelingSubmission> submissions = ModelingPlagiarismTestUtil.generateClassDiagramSubmissions(100, new Random(7));
+
+        modelingPlagiarismDetectionService.checkPlagiarism(submissions, 0.8, 1, 0, 1L);
+
+        // one message per submission and compared model was sent before, now only the first messages and the completion are sent for such a fast check
+        verify(plagiarismWebsocketService, atMost(10)).notifyInstructorAboutPlagiarismState(any(), any(), any());
+    }
+}
@@ -165,7 +165,7 @@ class ProgrammingExerciseScheduleServiceTest extends AbstractSpringIntegrationBa
         verifyLockStudentRepositoryOperation(false, 0);
         verify(programmingSubmissionService, never()).triggerInstructorBuildForExercise(programmingExercise.getId());
         // Update all scores should not have been triggered.
-        verify(programmingExerciseGradingService, never()).updateAllResults(programmingExercise);
+        verify(programmingExerciseGradingService, never()).updateResultsOfParticipations(eq(programmingExercise), any(), any());
     }
 
     @Test
@@ -205,7 +205,7 @@ class ProgrammingExerciseScheduleServiceTest extends AbstractSpringIntegrationBa
 
         verifyLockStudentRepositoryOperation(false, 0);
         verify(programmingSubmissionService, never()).triggerInstructorBuildForExercise(programmingExercise.getId());
-        verify(programmingExerciseGradingService, never()).updateAllResults(programmingExercise);
+        verify(programmingExerciseGradingService, never()).updateResultsOfParticipations(eq(programmingExercise), any(), any());
     }
 
     @Test
@@ -269,7 +269,7 @@ class ProgrammingExerciseScheduleServiceTest extends AbstractSpringIntegrationBa
         // has AFTER_DUE_DATE tests and no additional build after due date => update the scores to show those test cases in it
         verify(programmingExerciseGradingService, timeout(5000).times(1)).updateResultsOnlyRegularDueDateParticipations(programmingExercise);
         // make sure to trigger the update only for participants who do not have got an individual due date
-        verify(programmingExerciseGradingService, never()).updateAllResults(programmingExercise);
+        verify(programmingExerciseGradingService, never()).updateResultsOfParticipations(eq(programmingExercise), any(), any());
     }
 
     @Test
@@ -291,7 +291,7 @@ class ProgrammingExerciseScheduleServiceTest extends AbstractSpringIntegrationBa
         verifyLockStudentRepositoryOperation(true, dueDateDelayMS / 2);
         verify(programmingSubmissionService, timeout(dueDateDelayMS).times(1)).triggerInstructorBuildForExercise(programmingExercise.getId());
         // has AFTER_DUE_DATE tests, but also buildAfterDueDate => do not update results, but use the results created on additional build run
-        verify(programmingExerciseGradingService, never()).updateAllResults(programmingExercise);
+        verify(programmingExerciseGradingService, never()).updateResultsOfParticipations(eq(programmingExercise), any(), any());
     }
 
     @ParameterizedTest(name = "{displayName} [{index}] {argumentsWithNames}")
@@ -324,7 +324,7 @@ class ProgrammingExerciseScheduleServiceTest extends AbstractSpringIntegrationBa
             verify(programmingSubmissionService, never()).triggerInstructorBuildForExercise(programmingExercise.getId());
         }
         // no tests marked as AFTER_DUE_DATE => do not update scores on due date
-        verify(programmingExerciseGradingService, never()).updateAllResults(programmingExercise);
+        verify(programmingExerciseGradingService, never()).updateResultsOfParticipations(eq(programmingExercise), any(), any());
     }
 
     @Test
@@ -371,6 +371,75 @@ class ProgrammingExerciseScheduleServiceTest extends AbstractSpringIntegrationBa
         verifyLockStudentRepositoryOperation(true, participationIndividualDueDate, 3 * delayMS + SCHEDULER_TASK_TRIGGER_DELAY_MS);
     }
 
+    @Test
+    @WithMockUser(username = "admin", roles = "ADMIN")
+    public void scheduleSameIndividualDueDateForMultipleParticipations() throws Exception {
+        mockStudentRepoLocks();
+        final long delayMS = 200;
+        final ZonedDateTime now = ZonedDateTime.now();
+
+        setupProgrammingExerciseDates(now, delayMS / 2, null);
+        // both participations are locked by the same scheduled task
+        var participationIndividualDueDate1 = setupParticipationIndividualDueDate(now, 3 * delayMS, "student2");
+        var participationIndividualDueDate2 = setupParticipationIndividualDueDate(now, 3 * delayMS, "student3");
+        programmingExercise = programmingExerciseRepository.findWithAllParticipationsById(programmingExercise.getId()).get();
+
+        instanceMessageReceiveService.processScheduleProgrammingExercise(programmingExercise.getId());
+
+        verify(scheduleService, timeout(5000).times(1)).scheduleParticipationTask(eq(participationIndividualDueDate1), eq(ParticipationLifecycle.DUE), any());
+        verify(scheduleService, timeout(5000).times(1)).scheduleParticipationTask(eq(participationIndividualDueDate2), eq(ParticipationLifecycle.DUE), any());
+
+        // the regular due date only locks the participation without individual due date
+        verifyLockStudentRepositoryOperation(true, getParticipationsWithoutIndividualDueDate(), delayMS + SCHEDULER_TASK_TRIGGER_DELAY_MS);
+        verifyLockStudentRepositoryOperation(false, participationIndividualDueDate1, 0);
+        verifyLockStudentRepositoryOperation(false, participationIndividualDueDate2, 0);
+
+        verifyLockStudentRepositoryOperation(true, List.of(participationIndividualDueDate1, participationIndividualDueDate2), 3 * delayMS + SCHEDULER_TASK_TRIGGER_DELAY_MS);
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = "ADMIN")
+    public void cancelIndividualScheduleOfOneParticipationWithSameIndividualDueDate() throws Exception {
+        mockStudentRepoLocks();
+        final long delayMS = 200;
+        final ZonedDateTime now = ZonedDateTime.now();
+
+        setupProgrammingExerciseDates(now, delayMS / 2, null);
+        var participationIndividualDueDate1 = setupParticipationIndividualDueDate(now, 3 * delayMS, "student2");
+        var participationIndividualDueDate2 = setupParticipationIndividualDueDate(now, 3 * delayMS, "student3");
+        programmingExercise = programmingExerciseRepository.findWithAllParticipationsById(programmingExercise.getId()).get();
+
+        instanceMessageReceiveService.processScheduleProgrammingExercise(programmingExercise.getId());
+        verify(scheduleService, timeout(5000).times(1)).scheduleParticipationTask(eq(participationIndividualDueDate2), eq(ParticipationLifecycle.DUE), any());
+
+        // cancelling the task of one participation keeps the task of the other participation with the same due date
+        scheduleService.cancelScheduledTaskForParticipationLifecycle(programmingExercise.getId(), participationIndividualDueDate1.getId(), ParticipationLifecycle.DUE);
+
+        verifyLockStudentRepositoryOperation(true, participationIndividualDueDate2, 3 * delayMS + SCHEDULER_TASK_TRIGGER_DELAY_MS);
+        verifyLockStudentRepositoryOperation(false, participationIndividualDueDate1, 0);
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = "ADMIN")
+    public void scheduleSameIndividualDueDateAfterBuildAndTestDateForMultipleParticipations() throws Exception {
+        mockStudentRepoLocks();
+        final long delayMS = 200;
+        final ZonedDateTime now = ZonedDateTime.now();
+
+        setupProgrammingExerciseDates(now, delayMS / 2, delayMS);
+        var participationIndividualDueDate1 = setupParticipationIndividualDueDate(now, 2 * delayMS, "student2");
+        var participationIndividualDueDate2 = setupParticipationIndividualDueDate(now, 2 * delayMS, "student3");
+        programmingExercise = programmingExerciseRepository.findWithAllParticipationsById(programmingExercise.getId()).get();
+
+        instanceMessageReceiveService.processScheduleProgrammingExercise(programmingExercise.getId());
+
+        // the builds of both participations are triggered together
+        verify(programmingSubmissionService, timeout(5000).times(1)).triggerBuildForParticipations(argThat(participations -> participations.size() == 2
+                && participations.containsAll(List.of(participationIndividualDueDate1, participationIndividualDueDate2))));
+        verify(programmingSubmissionService, never()).triggerBuildForParticipations(List.of(participationIndividualDueDate1));
+        verify(programmingSubmissionService, never()).triggerBuildForParticipations(List.of(participationIndividualDueDate2));
+    }
+
     @Test
     @WithMockUser(username = "admin", roles = "ADMIN")
     public void scheduleIndividualDueDateBetweenDueDateAndBuildAndTestDate() throws Exception {
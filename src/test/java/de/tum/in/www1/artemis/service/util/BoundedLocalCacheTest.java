@@ -0,0 +1,68 @@
+package de.tum.in.www1.artemis.service.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class BoundedLocalCacheTest {
+
+    @Test
+    public void testValueIsLoadedOnceWhileUpToDate() {
+        BoundedLocalCache<Long, String> cache = new BoundedLocalCache<>(10, Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(cache.get(1L, value -> true, key -> "value-" + loads.incrementAndGet())).isEqualTo("value-1");
+        assertThat(cache.get(1L, value -> true, key -> "value-" + loads.incrementAndGet())).isEqualTo("value-1");
+        // outdated values are loaded again
+        assertThat(cache.get(1L, value -> false, key -> "value-" + loads.incrementAndGet())).isEqualTo("value-2");
+        assertThat(cache.getIfPresent(1L)).isEqualTo("value-2");
+    }
+
+    @Test
+    public void testValueLoadedDuringInvalidationIsNotCached() {
+        BoundedLocalCache<Long, String> cache = new BoundedLocalCache<>(10, Duration.ofMinutes(1));
+
+        String loadedValue = cache.get(1L, value -> true, key -> {
+            // the data changes while the value is loaded
+            cache.invalidate(key);
+            return "stale";
+        });
+
+        assertThat(loadedValue).isEqualTo("stale");
+        assertThat(cache.getIfPresent(1L)).isNull();
+        assertThat(cache.get(1L, value -> true, key -> "fresh")).isEqualTo("fresh");
+    }
+
+    @Test
+    public void testLeastRecentlyUsedValueIsRemovedWhenFull() throws InterruptedException {
+        BoundedLocalCache<Long, String> cache = new BoundedLocalCache<>(2, Duration.ofMinutes(1));
+        cache.get(1L, value -> true, key -> "one");
+        Thread.sleep(5);
+        cache.get(2L, value -> true, key -> "two");
+        Thread.sleep(5);
+        // accessing the first value makes the second one the least recently used
+        cache.get(1L, value -> true, key -> "other");
+        Thread.sleep(5);
+        cache.get(3L, value -> true, key -> "three");
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getIfPresent(1L)).isEqualTo("one");
+        assertThat(cache.getIfPresent(2L)).isNull();
+        assertThat(cache.getIfPresent(3L)).isEqualTo("three");
+    }
+
+    @Test
+    public void testIdleValuesAreEvicted() throws InterruptedException {
+        BoundedLocalCache<Long, String> cache = new BoundedLocalCache<>(10, Duration.ofMillis(10));
+        cache.get(1L, value -> true, key -> "one");
+        cache.invalidate(2L);
+
+        Thread.sleep(20);
+        cache.evictIdleEntries();
+
+        assertThat(cache.size()).isZero();
+    }
+}
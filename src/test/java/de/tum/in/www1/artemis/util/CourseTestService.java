@@ -600,6 +600,24 @@ public class CourseTestService {
         }
     }
 
+    // Test
+    public void testGetAllCoursesForDashboard_cachedCourseIsUpdated() throws Exception {
+        database.createCoursesWithExercisesAndLecturesAndLectureUnits(true);
+        Course course = request.getList("/api/courses/for-dashboard", HttpStatus.OK, Course.class).get(0);
+
+        Exercise exercise = exerciseRepo.findByCourseIdWithCategories(course.getId()).stream().filter(TextExercise.class::isInstance).findFirst().orElseThrow();
+        exercise.setTitle("Changed title");
+        exercise.getCategories().add("changed");
+        exerciseRepo.save(exercise);
+        database.createIndividualTextExercise(course, ZonedDateTime.now().minusDays(1), ZonedDateTime.now().plusDays(1), ZonedDateTime.now().plusDays(2));
+
+        List<Course> courses = request.getList("/api/courses/for-dashboard", HttpStatus.OK, Course.class);
+        assertThat(courses.get(0).getExercises()).as("The new exercise is returned").hasSize(6);
+        Exercise changedExercise = courses.get(0).getExercises().stream().filter(courseExercise -> courseExercise.getId().equals(exercise.getId())).findFirst().orElseThrow();
+        assertThat(changedExercise.getTitle()).isEqualTo("Changed title");
+        assertThat(changedExercise.getCategories()).contains("changed");
+    }
+
     // Test
     public void testGetCoursesWithoutActiveExercises() throws Exception {
         Course course = ModelFactory.generateCourse(1L, null, null, new HashSet<>(), "tumuser", "tutor", "editor", "instructor");
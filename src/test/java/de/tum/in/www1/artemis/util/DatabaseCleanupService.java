@@ -15,6 +15,10 @@ import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import de.tum.in.www1.artemis.repository.UserRepository;
+import de.tum.in.www1.artemis.service.CourseDashboardCacheService;
+import de.tum.in.www1.artemis.service.exam.ExamScoresCacheService;
+
 /**
  * Test utility service that allows to truncate all tables in the test database.
  * Inspired by: https://medium.com/@dSebastien/cleaning-up-database-tables-after-each-integration-test-method-with-spring-boot-2-and-kotlin-7279abcdd5cc
@@ -24,12 +28,22 @@ public class DatabaseCleanupService implements InitializingBean {
 
     private final EntityManager entityManager;
 
+    private final UserRepository userRepository;
+
+    private final CourseDashboardCacheService courseDashboardCacheService;
+
+    private final ExamScoresCacheService examScoresCacheService;
+
     private List<String> tableNames;
 
     private List<String> joinTableNames;
 
-    public DatabaseCleanupService(EntityManager entityManager) {
+    public DatabaseCleanupService(EntityManager entityManager, UserRepository userRepository, CourseDashboardCacheService courseDashboardCacheService,
+            ExamScoresCacheService examScoresCacheService) {
         this.entityManager = entityManager;
+        this.userRepository = userRepository;
+        this.courseDashboardCacheService = courseDashboardCacheService;
+        this.examScoresCacheService = examScoresCacheService;
     }
 
     /**
@@ -66,6 +80,9 @@ public class DatabaseCleanupService implements InitializingBean {
         tableNames.forEach(tableName -> entityManager.createNativeQuery("TRUNCATE TABLE " + tableName).executeUpdate());
         joinTableNames.forEach(joinTableName -> entityManager.createNativeQuery("TRUNCATE TABLE " + joinTableName).executeUpdate());
         entityManager.createNativeQuery("SET REFERENTIAL_INTEGRITY TRUE").executeUpdate();
-
+        // the truncated users, courses and exams must not be returned from the caches
+        userRepository.evictAllCachedUsers();
+        courseDashboardCacheService.evictAllCourses();
+        examScoresCacheService.evictAllExamScores();
     }
 }
@@ -62,6 +62,7 @@ import de.tum.in.www1.artemis.repository.metis.AnswerPostRepository;
 import de.tum.in.www1.artemis.repository.metis.PostRepository;
 import de.tum.in.www1.artemis.security.Role;
 import de.tum.in.www1.artemis.service.*;
+import de.tum.in.www1.artemis.service.scheduled.ParticipantScoreScheduleService;
 import de.tum.in.www1.artemis.web.rest.dto.PageableSearchDTO;
 
 /**
@@ -159,6 +160,9 @@ public class DatabaseUtilService {
     @Autowired
     private ParticipationService participationService;
 
+    @Autowired
+    private ParticipantScoreScheduleService participantScoreScheduleService;
+
     @Autowired
     private TextBlockRepository textBlockRepo;
 
@@ -515,6 +519,8 @@ public class DatabaseUtilService {
         result.completionDate(ZonedDateTime.now());
         submission.addResult(result);
         submission = submissionRepository.saveAndFlush(submission);
+        // the participant score of the result is updated in the background, the tests expect it to be available immediately
+        participantScoreScheduleService.executeScheduledUpdatesAndWait();
         return submission.getResults().get(0);
     }
 
@@ -0,0 +1,136 @@
+package de.tum.in.www1.artemis.util;
+
+import static com.google.gson.JsonParser.parseString;
+
+import java.io.IOException;
+import java.util.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import de.tum.in.www1.artemis.domain.User;
+import de.tum.in.www1.artemis.domain.modeling.ModelingSubmission;
+import de.tum.in.www1.artemis.domain.participation.StudentParticipation;
+import de.tum.in.www1.artemis.service.compass.umlmodel.UMLDiagram;
+import de.tum.in.www1.artemis.service.compass.umlmodel.parsers.UMLModelParser;
+
+public class ModelingPlagiarismTestUtil {
+
+    private static final List<String> CLASS_NAMES = List.of("Developer", "Repository", "Commit", "Branch", "Issue", "Project", "User", "Team", "Review", "Build", "Pipeline",
+            "Artifact", "Release", "Milestone", "Label");
+
+    private static final List<String> ATTRIBUTE_NAMES = List.of("name: String", "id: Long", "date: Date", "author: User", "message: String", "open: Boolean");
+
+    private static final List<String> METHOD_NAMES = List.of("+ commit()", "+ checkout()", "+ merge(Branch)", "+ close(): Boolean", "+ getName(): String");
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * Compares all pairs of the given submissions in a single thread, like the modeling plagiarism check did before it pruned and parallelized the comparisons
+     *
+     * @param submissions       the modeling submissions to compare
+     * @param minimumSimilarity the minimum similarity of the pairs that are returned
+     * @return the similarity of all pairs with at least the minimum similarity, keyed by the ids of both submissions
+     * @throws IOException if a model can't be parsed
+     */
+    public static Map<Set<Long>, Double> compareAllPairs(List<ModelingSubmission> submissions, double minimumSimilarity) throws IOException {
+        List<UMLDiagram> models = new ArrayList<>();
+        for (ModelingSubmission submission : submissions) {
+            models.add(UMLModelParser.buildModelFromJSON(parseString(submission.getModel()).getAsJsonObject(), submission.getId()));
+        }
+        Map<Set<Long>, Double> similarities = new HashMap<>();
+        for (int i = 0; i < models.size(); i++) {
+            for (int j = i + 1; j < models.size(); j++) {
+                double similarity = models.get(i).similarity(models.get(j));
+                if (similarity >= minimumSimilarity) {
+                    similarities.put(Set.of(models.get(i).getModelSubmissionId(), models.get(j).getModelSubmissionId()), similarity);
+                }
+            }
+        }
+        return similarities;
+    }
+
+    /**
+     * Generates submissions with random class diagrams for the modeling plagiarism check
+     *
+     * @param numberOfSubmissions the number of submissions to generate, they get the ids 1 to numberOfSubmissions
+     * @param random              the source of randomness, seed it to generate the same submissions again
+     * @return the generated submissions with a participation of a student
+     */
+    public static List<ModelingSubmission> generateClassDiagramSubmissions(int numberOfSubmissions, Random random) {
+        List<ModelingSubmission> submissions = new ArrayList<>();
+        for (long id = 1; id <= numberOfSubmissions; id++) {
+            var submission = new ModelingSubmission();
+            submission.setId(id);
+            submission.setModel(generateClassDiagram(random).toString());
+            var participation = new StudentParticipation();
+            var user = new User();
+            user.setLogin("student" + id);
+            participation.setParticipant(user);
+            submission.setParticipation(participation);
+            submissions.add(submission);
+        }
+        return submissions;
+    }
+
+    /**
+     * Generates a class diagram that is a random variation of the same solution (like students solving the same exercise), so that some of the diagrams are very similar.
+     */
+    private static ObjectNode generateClassDiagram(Random random) {
+        ObjectNode model = OBJECT_MAPPER.createObjectNode();
+        model.put("version", "2.0.0");
+        model.put("type", "ClassDiagram");
+        ArrayNode elements = model.putArray("elements");
+        ArrayNode relationships = model.putArray("relationships");
+
+        List<String> classIds = new ArrayList<>();
+        for (int i = 0; i < CLASS_NAMES.size(); i++) {
+            // the first classes belong to the solution, the other ones are only added by some students
+            boolean partOfSolution = i < 8;
+            if (partOfSolution ? random.nextInt(10) == 0 : random.nextInt(4) != 0) {
+                continue;
+            }
+            String classId = UUID.randomUUID().toString();
+            classIds.add(classId);
+            ObjectNode umlClass = createElement(elements, classId, CLASS_NAMES.get(i), i % 5 == 0 ? "Interface" : "Class", null);
+            ArrayNode attributes = umlClass.putArray("attributes");
+            for (int j = 0; j < i % 4; j++) {
+                String attributeId = UUID.randomUUID().toString();
+                attributes.add(attributeId);
+                String attributeName = random.nextInt(8) == 0 ? ATTRIBUTE_NAMES.get(random.nextInt(ATTRIBUTE_NAMES.size())) : ATTRIBUTE_NAMES.get((i + j) % ATTRIBUTE_NAMES.size());
+                createElement(elements, attributeId, attributeName, "ClassAttribute", classId);
+            }
+            ArrayNode methods = umlClass.putArray("methods");
+            for (int j = 0; j < i % 3; j++) {
+                String methodId = UUID.randomUUID().toString();
+                methods.add(methodId);
+                createElement(elements, methodId, METHOD_NAMES.get((i + j) % METHOD_NAMES.size()), "ClassMethod", classId);
+            }
+        }
+        for (int i = random.nextInt(3); i > 0; i--) {
+            createElement(elements, UUID.randomUUID().toString(), "package" + i, "Package", null);
+        }
+        for (int i = 1; i < classIds.size(); i++) {
+            if (random.nextInt(4) == 0) {
+                continue;
+            }
+            ObjectNode relationship = relationships.addObject();
+            relationship.put("id", UUID.randomUUID().toString());
+            relationship.put("name", "");
+            relationship.put("type", i % 3 == 0 ? "ClassInheritance" : "ClassBidirectional");
+            relationship.putObject("source").put("element", classIds.get(i - 1));
+            relationship.putObject("target").put("element", classIds.get(i));
+        }
+        return model;
+    }
+
+    private static ObjectNode createElement(ArrayNode elements, String id, String name, String type, String owner) {
+        ObjectNode element = elements.addObject();
+        element.put("id", id);
+        element.put("name", name);
+        element.put("type", type);
+        element.put("owner", owner);
+        return element;
+    }
+}
@@ -12,10 +12,14 @@ import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import javax.persistence.EntityManager;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.CacheManager;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.LinkedMultiValueMap;
 
 import de.tum.in.www1.artemis.domain.LtiUserId;
@@ -57,6 +61,12 @@ public class UserTestService {
     @Autowired
     private CacheManager cacheManager;
 
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @Autowired
     private CourseRepository courseRepository;
 
@@ -262,6 +272,42 @@ public class UserTestService {
         assertThat(updatedUser.getGroups()).contains("tutor");
     }
 
+    // Test
+    public void getUserWithGroupsAndAuthorities_isEvictedWhenGroupsChange() {
+        final var cache = cacheManager.getCache(UserRepository.USERS_CACHE);
+        var cachedUser = userRepository.getUserWithGroupsAndAuthorities();
+        assertThat(cachedUser.getId()).isEqualTo(student.getId());
+        assertThat(cache.get(student.getLogin())).as("user is cached").isNotNull();
+        assertThat(userRepository.getUserWithGroupsAndAuthorities()).as("the same user is returned within a request").isSameAs(cachedUser);
+
+        student = userRepository.findOneWithGroupsAndAuthoritiesByLogin(student.getLogin()).get();
+        final var newGroups = new HashSet<>(student.getGroups());
+        newGroups.add("newgroup");
+        student.setGroups(newGroups);
+        userRepository.save(student);
+        assertThat(cache.get(student.getLogin())).as("user is evicted after its groups changed").isNull();
+
+        assertThat(userRepository.getUserWithGroupsAndAuthorities().getGroups()).contains("newgroup");
+    }
+
+    // Test
+    public void getUserWithGroupsAndAuthorities_isManagedInTransaction() {
+        final var cache = cacheManager.getCache(UserRepository.USERS_CACHE);
+        // cache the user outside a transaction
+        var cachedUser = userRepository.getUserWithGroupsAndAuthorities();
+        assertThat(cache.get(student.getLogin())).as("user is cached").isNotNull();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            var user = userRepository.getUserWithGroupsAndAuthorities();
+            assertThat(user).isNotSameAs(cachedUser);
+            assertThat(entityManager.contains(user)).as("the managed user is returned within a transaction").isTrue();
+            // changes of the managed user are saved when the transaction is committed
+            user.setFirstName("changed in transaction");
+        });
+
+        assertThat(userRepository.findOneByLogin(student.getLogin()).get().getFirstName()).isEqualTo("changed in transaction");
+    }
+
     // Test
     public void createUser_asAdmin_isSuccessful() throws Exception {
         student.setId(null);
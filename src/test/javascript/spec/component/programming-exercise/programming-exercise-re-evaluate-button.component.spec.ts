@@ -8,8 +8,14 @@ import { MockDirective, MockPipe } from 'ng-mocks';
 import { NgModel } from '@angular/forms';
 import { ButtonComponent } from 'app/shared/components/button.component';
 import { ArtemisTranslatePipe } from 'app/shared/pipes/artemis-translate.pipe';
-import { ProgrammingExerciseReEvaluateButtonComponent } from 'app/exercises/programming/shared/actions/programming-exercise-re-evaluate-button.component';
+import {
+    ProgrammingExerciseReEvaluateButtonComponent,
+    ReEvaluationState,
+} from 'app/exercises/programming/shared/actions/programming-exercise-re-evaluate-button.component';
 import { ProgrammingExerciseGradingService } from 'app/exercises/programming/manage/services/programming-exercise-grading.service';
+import { JhiWebsocketService } from 'app/core/websocket/websocket.service';
+import { MockWebsocketService } from '../../helpers/mocks/service/mock-websocket.service';
+import { AlertService } from 'app/core/util/alert.service';
 
 describe('ProgrammingExercise Re-Evaluate Button Component', () => {
     const course = { id: 123 } as Course;
@@ -20,6 +26,8 @@ describe('ProgrammingExercise Re-Evaluate Button Component', () => {
     let comp: ProgrammingExerciseReEvaluateButtonComponent;
     let fixture: ComponentFixture<ProgrammingExerciseReEvaluateButtonComponent>;
     let gradingService: ProgrammingExerciseGradingService;
+    let websocketService: JhiWebsocketService;
+    let alertService: AlertService;
 
     beforeEach(() => {
         TestBed.configureTestingModule({
@@ -28,12 +36,15 @@ describe('ProgrammingExercise Re-Evaluate Button Component', () => {
             providers: [
                 { provide: LocalStorageService, useClass: MockSyncStorage },
                 { provide: SessionStorageService, useClass: MockSyncStorage },
+                { provide: JhiWebsocketService, useClass: MockWebsocketService },
             ],
         }).compileComponents();
 
         fixture = TestBed.createComponent(ProgrammingExerciseReEvaluateButtonComponent);
         comp = fixture.componentInstance;
         gradingService = fixture.debugElement.injector.get(ProgrammingExerciseGradingService);
+        websocketService = fixture.debugElement.injector.get(JhiWebsocketService);
+        alertService = fixture.debugElement.injector.get(AlertService);
 
         comp.exercise = programmingExercise;
     });
@@ -51,4 +62,26 @@ describe('ProgrammingExercise Re-Evaluate Button Component', () => {
         expect(gradingService.reEvaluate).toHaveBeenCalledTimes(1);
         expect(gradingService.reEvaluate).toHaveBeenCalledWith(programmingExercise.id);
     });
+
+    it('Should subscribe to the progress of the re-evaluation', () => {
+        jest.spyOn(websocketService, 'subscribe');
+
+        const button = fixture.debugElement.nativeElement.querySelector('#re-evaluate-button button');
+        button.click();
+
+        expect(websocketService.subscribe).toHaveBeenCalledWith(`/topic/programming-exercises/${programmingExercise.id}/re-evaluation`);
+        expect(comp.isReEvaluationRunning).toBeTrue();
+    });
+
+    it('Should show the number of updated results once the re-evaluation is completed', () => {
+        jest.spyOn(alertService, 'success');
+        comp.isReEvaluationRunning = true;
+
+        comp.onProgress({ state: ReEvaluationState.RUNNING, processedParticipations: 50, totalParticipations: 100, updatedResults: 48 });
+        expect(comp.isReEvaluationRunning).toBeTrue();
+
+        comp.onProgress({ state: ReEvaluationState.COMPLETED, processedParticipations: 100, totalParticipations: 100, updatedResults: 97 });
+        expect(comp.isReEvaluationRunning).toBeFalse();
+        expect(alertService.success).toHaveBeenCalledWith('artemisApp.programmingExercise.reEvaluateSuccessful', { number: 97 });
+    });
 });